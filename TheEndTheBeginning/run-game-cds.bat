@@ -0,0 +1,16 @@
+@echo off
+cd /d "%~dp0"
+echo Starting The End The Beginning (class-data sharing)...
+if not exist target\cds\game.jsa (
+    echo No CDS archive found. Building it with the appcds profile...
+    call .\mvnw.cmd -Pappcds package
+)
+set GAME_JAR=
+for %%f in (target\theendthebeginning-*.jar) do set GAME_JAR=%%f
+if "%GAME_JAR%"=="" (
+    echo No game jar found in target. Run .\mvnw.cmd -Pappcds package first.
+    pause
+    exit /b 1
+)
+java -XX:SharedArchiveFile=target\cds\game.jsa -p target\lib --add-modules ALL-MODULE-PATH -cp "%GAME_JAR%" gameproject.TheEndTheBeginning
+pause
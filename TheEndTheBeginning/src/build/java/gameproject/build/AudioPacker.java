@@ -0,0 +1,221 @@
+package gameproject.build;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Build-time audio packer: bundles everything under the audio resources
+ * directory into one indexed archive, {@code audio.pack}, read at runtime by
+ * {@code gameproject.audio.AudioPack}.
+ *
+ * Run by the {@code pack-audio} execution in pom.xml during generate-resources
+ * (single-file source launch):
+ * <pre>
+ *   java src/build/java/gameproject/build/AudioPacker.java \
+ *        src/main/resources/audio target/classes/audio.pack
+ * </pre>
+ *
+ * <ul>
+ *   <li>Uncompressed formats Java Sound can read (WAV, AIFF, AU) are converted
+ *       to 16-bit little-endian PCM, so sound effects are played straight from
+ *       the pack without decoding.</li>
+ *   <li>Everything else (MP3, M4A) is stored as is; music stays compressed.</li>
+ *   <li>Identical contents are stored once, whatever the file is called.</li>
+ * </ul>
+ *
+ * Layout (big-endian): magic, version, entry count, then per entry its name
+ * ("/audio/music/main_theme.mp3"), kind, sample rate, channels, file
+ * extension, CRC-32, absolute offset and length; then the data. The index size
+ * does not depend on the offsets, so it is written first and the runtime maps
+ * it without scanning the data. Must match {@code AudioPack}.
+ *
+ * @version 5.0.0
+ */
+public final class AudioPacker {
+
+    static final int MAGIC = 0x47504B31;    // "GPK1"
+    static final int VERSION = 1;
+    static final byte KIND_PCM = 1;
+    static final byte KIND_ENCODED = 2;
+
+    /** Resource path prefix of the packed directory's contents */
+    private static final String RESOURCE_ROOT = "/audio/";
+
+    private static final Set<String> PCM_SOURCES = Set.of("wav", "aif", "aiff", "au");
+    private static final Set<String> ENCODED_SOURCES = Set.of("mp3", "m4a", "aac");
+
+    private record Entry(String name, byte kind, int sampleRate, int channels, String extension, Blob blob) {
+    }
+
+    private record Blob(byte[] data, long crc) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AudioPacker <audio dir> <output pack>");
+            System.exit(2);
+        }
+        Path audioDir = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(audioDir)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        Map<String, Blob> blobsByDigest = new HashMap<>();
+        long sourceBytes = 0;
+        for (Path file : files) {
+            String extension = extensionOf(file);
+            if (!PCM_SOURCES.contains(extension) && !ENCODED_SOURCES.contains(extension)) {
+                continue;
+            }
+            String name = RESOURCE_ROOT + audioDir.relativize(file).toString().replace('\\', '/');
+            sourceBytes += Files.size(file);
+
+            Entry entry = PCM_SOURCES.contains(extension) ? toPcm(name, file, extension) : null;
+            if (entry == null) {
+                entry = new Entry(name, KIND_ENCODED, 0, 0, extension, new Blob(Files.readAllBytes(file), 0));
+            }
+            // Share identical contents between entries
+            byte[] data = entry.blob().data();
+            Blob shared = blobsByDigest.computeIfAbsent(digest(data), d -> new Blob(data, crc32(data)));
+            entries.add(new Entry(entry.name(), entry.kind(), entry.sampleRate(), entry.channels(),
+                entry.extension(), shared));
+        }
+
+        byte[] pack = write(entries);
+        if (Files.exists(output) && Arrays.equals(Files.readAllBytes(output), pack)) {
+            System.out.println("[AUDIO] " + output.getFileName() + " is up to date");
+            return;
+        }
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.write(output, pack);
+        System.out.println("[AUDIO] Packed " + entries.size() + " files (" + blobsByDigest.size()
+            + " unique) into " + output.getFileName() + ": " + sourceBytes / 1024 + " KB -> "
+            + pack.length / 1024 + " KB");
+    }
+
+    /**
+     * Convert to 16-bit little-endian PCM, keeping rate and channel count.
+     * Returns null (store as is) if Java Sound cannot convert the file.
+     */
+    private static Entry toPcm(String name, Path file, String extension) throws IOException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(file.toFile())) {
+            AudioFormat in = source.getFormat();
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, in.getSampleRate(), 16,
+                in.getChannels(), in.getChannels() * 2, in.getSampleRate(), false);
+            if (!AudioSystem.isConversionSupported(pcm, in)) {
+                System.out.println("[AUDIO] Storing " + name + " unconverted (" + in + ")");
+                return null;
+            }
+            try (AudioInputStream converted = AudioSystem.getAudioInputStream(pcm, source)) {
+                byte[] data = converted.readAllBytes();
+                return new Entry(name, KIND_PCM, Math.round(in.getSampleRate()), in.getChannels(),
+                    extension, new Blob(data, 0));
+            }
+        } catch (UnsupportedAudioFileException e) {
+            System.out.println("[AUDIO] Storing " + name + " unconverted (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private static byte[] write(List<Entry> entries) throws IOException {
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(index);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            writeIndexEntry(out, entry, 0L);
+        }
+        long dataStart = out.size();
+
+        // Second pass with real offsets; the index is exactly as long as before
+        Map<Blob, Long> offsets = new HashMap<>();
+        List<Blob> blobs = new ArrayList<>();
+        long offset = dataStart;
+        for (Entry entry : entries) {
+            if (!offsets.containsKey(entry.blob())) {
+                offsets.put(entry.blob(), offset);
+                blobs.add(entry.blob());
+                offset += entry.blob().data().length;
+            }
+        }
+
+        ByteArrayOutputStream pack = new ByteArrayOutputStream((int) offset);
+        DataOutputStream packOut = new DataOutputStream(pack);
+        packOut.writeInt(MAGIC);
+        packOut.writeInt(VERSION);
+        packOut.writeInt(entries.size());
+        for (Entry entry : entries) {
+            writeIndexEntry(packOut, entry, offsets.get(entry.blob()));
+        }
+        if (packOut.size() != dataStart) {
+            throw new IllegalStateException("Index size changed between passes");
+        }
+        for (Blob blob : blobs) {
+            writeBlob(pack, blob);
+        }
+        return pack.toByteArray();
+    }
+
+    private static void writeIndexEntry(DataOutputStream out, Entry entry, long offset) throws IOException {
+        out.writeUTF(entry.name());
+        out.writeByte(entry.kind());
+        out.writeInt(entry.sampleRate());
+        out.writeShort(entry.channels());
+        out.writeUTF(entry.extension());
+        out.writeLong(entry.blob().crc());
+        out.writeLong(offset);
+        out.writeLong(entry.blob().data().length);
+    }
+
+    private static void writeBlob(OutputStream out, Blob blob) throws IOException {
+        out.write(blob.data());
+    }
+
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static long crc32(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private static String digest(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,715 @@
+package gameproject.build;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Build-time FXML compiler: turns each {@code *.fxml} under the resources
+ * directory into a plain Java class that builds the same node tree with
+ * constructor and setter calls, so the game does not parse XML and reflect
+ * over JavaFX classes at runtime.
+ *
+ * Run by the {@code compile-fxml} execution in pom.xml during generate-sources
+ * (single-file source launch, so it needs no compilation of its own):
+ * <pre>
+ *   java -cp &lt;compile classpath&gt; src/build/java/gameproject/build/FxmlCompiler.java \
+ *        src/main/resources target/generated-sources/fxml
+ * </pre>
+ *
+ * {@code ui/MainMenu.fxml} becomes {@code gameproject.ui.generated.MainMenuScreen},
+ * {@code game.fxml} becomes {@code GameScreen}. Every class implements
+ * {@code gameproject.ui.GeneratedScreen}; fx:id nodes become public fields and
+ * get their node id set, so lookup-based wiring keeps working. A root
+ * fx:controller is instantiated, its @FXML fields injected and
+ * {@code initialize} called, as FXMLLoader does.
+ *
+ * Supported FXML is the subset the game's screens use: imports, instance
+ * elements, attribute and element properties, static properties
+ * ({@code HBox.hgrow}, {@code <VBox.margin>}), default properties, Insets and
+ * Font builders, and {@code @} stylesheet locations. Attribute values are
+ * coerced like FXMLLoader does (primitives, enums, {@code valueOf(String)}),
+ * using reflection on the compile classpath. A file using anything else is
+ * skipped with a warning and keeps loading through FXMLLoader at runtime.
+ *
+ * @version 5.0.0
+ */
+public final class FxmlCompiler {
+
+    static final String TARGET_PACKAGE = "gameproject.ui.generated";
+    private static final String FX_NAMESPACE = "http://javafx.com/fxml";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: FxmlCompiler <resources dir> <output dir>");
+            System.exit(2);
+        }
+        Path resources = Paths.get(args[0]);
+        Path outputDir = Paths.get(args[1]).resolve(TARGET_PACKAGE.replace('.', '/'));
+        // Start from an empty package, so a renamed or deleted FXML leaves no class behind
+        deleteRecursively(outputDir);
+        Files.createDirectories(outputDir);
+
+        List<Path> fxmlFiles;
+        try (Stream<Path> files = Files.walk(resources)) {
+            fxmlFiles = files.filter(p -> p.toString().endsWith(".fxml")).sorted().toList();
+        }
+
+        int generated = 0;
+        for (Path fxml : fxmlFiles) {
+            String resourcePath = "/" + resources.relativize(fxml).toString().replace('\\', '/');
+            String className = classNameFor(resourcePath);
+            try {
+                String source = new FxmlCompiler(resourcePath, className).compile(fxml);
+                Files.writeString(outputDir.resolve(className + ".java"), source, StandardCharsets.UTF_8);
+                generated++;
+            } catch (UnsupportedFxmlException e) {
+                System.out.println("[FXML] Skipping " + resourcePath + " (stays on FXMLLoader): " + e.getMessage());
+            } catch (Exception e) {
+                System.out.println("[FXML] Skipping " + resourcePath + " (stays on FXMLLoader): " + e);
+            }
+        }
+        System.out.println("[FXML] Generated " + generated + "/" + fxmlFiles.size() + " screens into " + outputDir);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * "/ui/MainMenu.fxml" -> "MainMenuScreen". Must match GeneratedScreens.classNameFor.
+     */
+    static String classNameFor(String resourcePath) {
+        String file = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+        String base = file.substring(0, file.length() - ".fxml".length());
+        return Character.toUpperCase(base.charAt(0)) + base.substring(1) + "Screen";
+    }
+
+    static class UnsupportedFxmlException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedFxmlException(String message) {
+            super(message);
+        }
+    }
+
+    // ===== PER-FILE STATE =====
+
+    private final String resourcePath;
+    private final String className;
+    private final List<String> explicitImports = new ArrayList<>();
+    private final List<String> packageImports = new ArrayList<>();
+    private final Map<String, String> fields = new LinkedHashMap<>(); // fx:id -> type
+    private final StringBuilder body = new StringBuilder();
+    private String controllerType;
+    private String rootType;
+    private int counter;
+
+    private FxmlCompiler(String resourcePath, String className) {
+        this.resourcePath = resourcePath;
+        this.className = className;
+    }
+
+    private String compile(Path fxml) throws Exception {
+        Element rootElement = parse(fxml);
+        String controller = fxAttribute(rootElement, "controller");
+        if (controller != null) {
+            controllerType = controller;
+        }
+        String root = buildInstance(rootElement);
+        rootType = typeOf(rootElement);
+        return render(root);
+    }
+
+    // ===== XML =====
+
+    /** One FXML attribute; unlike DOM, the parser keeps them in document order. */
+    private record Attribute(String name, String namespace, String value) { }
+
+    /** Minimal element tree, enough for FXML. */
+    private static final class Element {
+        final String tag;
+        final List<Attribute> attributes = new ArrayList<>();
+        final List<Element> children = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+
+        Element(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Read the document into an Element tree, collecting import instructions.
+     * FXMLLoader applies attributes in document order (a Slider's min before its
+     * value), so order has to survive parsing.
+     */
+    private Element parse(Path fxml) throws IOException, XMLStreamException, UnsupportedFxmlException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        Deque<Element> open = new ArrayDeque<>();
+        Element root = null;
+        try (InputStream in = Files.newInputStream(fxml)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION -> {
+                        if (reader.getPITarget().equals("import")) {
+                            String name = reader.getPIData().trim();
+                            if (name.endsWith(".*")) {
+                                packageImports.add(name.substring(0, name.length() - 2));
+                            } else {
+                                explicitImports.add(name);
+                            }
+                        }
+                    }
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String prefix = reader.getPrefix();
+                        if (prefix != null && !prefix.isEmpty()) {
+                            throw new UnsupportedFxmlException("<" + prefix + ":" + reader.getLocalName() + ">");
+                        }
+                        Element element = new Element(reader.getLocalName());
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            String attributePrefix = reader.getAttributePrefix(i);
+                            String name = attributePrefix == null || attributePrefix.isEmpty()
+                                ? reader.getAttributeLocalName(i) : attributePrefix + ":" + reader.getAttributeLocalName(i);
+                            element.attributes.add(new Attribute(name, reader.getAttributeNamespace(i),
+                                                                 reader.getAttributeValue(i)));
+                        }
+                        if (open.isEmpty()) {
+                            root = element;
+                        } else {
+                            open.peek().children.add(element);
+                        }
+                        open.push(element);
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (!open.isEmpty()) {
+                            open.peek().text.append(reader.getText());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> open.pop();
+                    default -> { }
+                }
+            }
+            reader.close();
+        }
+        return root;
+    }
+
+    // ===== ELEMENTS =====
+
+    /**
+     * Emit code creating the element's object; returns the expression holding it.
+     */
+    private String buildInstance(Element element) throws UnsupportedFxmlException {
+        String tag = element.tag;
+        String type = resolveType(tag);
+        Class<?> cls = load(type);
+
+        String builderExpression = builderExpression(element, type);
+        String fxId = fxAttribute(element, "id");
+        if (builderExpression != null) {
+            if (fxId == null) {
+                return builderExpression;
+            }
+            declare(fxId, type, builderExpression);
+            return fxId;
+        }
+
+        if (cls != null) {
+            if (Modifier.isAbstract(cls.getModifiers()) || !hasPublicNoArgConstructor(cls)) {
+                throw new UnsupportedFxmlException(tag + " has no public no-arg constructor");
+            }
+        }
+
+        String var = fxId != null ? fxId : "n$" + counter++;
+        declare(var, type, "new " + type + "()");
+        if (fxId != null) {
+            body.append("        ").append(var).append(".setId(").append(literal(fxId)).append(");\n");
+        }
+
+        // Attributes, in document order
+        for (Attribute attribute : element.attributes) {
+            if (FX_NAMESPACE.equals(namespaceBase(attribute.namespace()))) {
+                continue;
+            }
+            applyAttribute(cls, type, var, attribute.name(), attribute.value());
+        }
+
+        // Children: property elements, static property elements or default-property instances
+        for (Element child : element.children) {
+            String childTag = child.tag;
+            int dot = childTag.lastIndexOf('.');
+            if (dot > 0 && Character.isLowerCase(childTag.charAt(dot + 1))) {
+                String owner = resolveType(childTag.substring(0, dot));
+                String property = childTag.substring(dot + 1);
+                for (Element value : child.children) {
+                    applyStaticProperty(owner, var, property, buildInstance(value), typeOf(value));
+                }
+            } else if (Character.isLowerCase(childTag.charAt(0))) {
+                if (child.children.isEmpty()) {
+                    applyAttribute(cls, type, var, childTag, child.text.toString().trim());
+                }
+                for (Element value : child.children) {
+                    applyObjectProperty(cls, type, var, childTag, buildInstance(value), typeOf(value));
+                }
+            } else {
+                String defaultProperty = defaultPropertyOf(cls, tag);
+                applyObjectProperty(cls, type, var, defaultProperty, buildInstance(child), typeOf(child));
+            }
+        }
+
+        if (!element.text.toString().isBlank()) {
+            throw new UnsupportedFxmlException("text content in <" + tag + ">");
+        }
+        return var;
+    }
+
+    /**
+     * Insets and Font have no setters; FXMLLoader builds them through builders.
+     */
+    private String builderExpression(Element element, String type) throws UnsupportedFxmlException {
+        if (type.equals("javafx.geometry.Insets")) {
+            Map<String, String> values = plainAttributes(element);
+            for (String key : values.keySet()) {
+                if (!List.of("top", "right", "bottom", "left").contains(key)) {
+                    throw new UnsupportedFxmlException("Insets attribute " + key);
+                }
+            }
+            return "new javafx.geometry.Insets("
+                + number(values.getOrDefault("top", "0")) + ", "
+                + number(values.getOrDefault("right", "0")) + ", "
+                + number(values.getOrDefault("bottom", "0")) + ", "
+                + number(values.getOrDefault("left", "0")) + ")";
+        }
+        if (type.equals("javafx.scene.text.Font")) {
+            Map<String, String> values = plainAttributes(element);
+            if (!values.containsKey("name") || values.size() > 2) {
+                throw new UnsupportedFxmlException("Font needs exactly name and optional size");
+            }
+            return "new javafx.scene.text.Font(" + literal(values.get("name")) + ", "
+                + number(values.getOrDefault("size", "12")) + ")";
+        }
+        return null;
+    }
+
+    // ===== PROPERTIES =====
+
+    private void applyAttribute(Class<?> cls, String type, String var, String name, String value)
+            throws UnsupportedFxmlException {
+        if (value.startsWith("$") || value.startsWith("%") || value.startsWith("\\")) {
+            throw new UnsupportedFxmlException("expression/resource value " + name + "=\"" + value + "\"");
+        }
+
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            String owner = resolveType(name.substring(0, dot));
+            String property = name.substring(dot + 1);
+            Class<?> ownerClass = require(owner);
+            Method setter = findStaticSetter(ownerClass, property);
+            body.append("        ").append(owner).append('.').append(setter.getName()).append('(')
+                .append(var).append(", ").append(coerce(setter.getParameterTypes()[1], value)).append(");\n");
+            return;
+        }
+
+        if (value.startsWith("@")) {
+            if (!name.equals("stylesheets")) {
+                throw new UnsupportedFxmlException("location value for " + name);
+            }
+            String location = resolveLocation(value.substring(1));
+            body.append("        ").append(var).append(".getStylesheets().add(")
+                .append(className).append(".class.getResource(").append(literal(location))
+                .append(").toExternalForm());\n");
+            return;
+        }
+
+        if (cls == null) {
+            // Class not on the build classpath (project code): only Node-level basics
+            switch (name) {
+                case "styleClass" -> addListValues(var, "getStyleClass", value);
+                case "style" -> body.append("        ").append(var).append(".setStyle(").append(literal(value)).append(");\n");
+                case "id" -> body.append("        ").append(var).append(".setId(").append(literal(value)).append(");\n");
+                default -> throw new UnsupportedFxmlException(type + "." + name + " on a class unknown at build time");
+            }
+            return;
+        }
+
+        Method setter = findValueSetter(cls, name);
+        if (setter != null) {
+            body.append("        ").append(var).append('.').append(setter.getName()).append('(')
+                .append(coerce(setter.getParameterTypes()[0], value)).append(");\n");
+            return;
+        }
+        Method listGetter = findListGetter(cls, name);
+        if (listGetter != null) {
+            addListValues(var, listGetter.getName(), value);
+            return;
+        }
+        throw new UnsupportedFxmlException("no property " + name + " on " + cls.getSimpleName());
+    }
+
+    private void addListValues(String var, String getter, String value) {
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (!trimmed.isEmpty()) {
+                body.append("        ").append(var).append('.').append(getter).append("().add(")
+                    .append(literal(trimmed)).append(");\n");
+            }
+        }
+    }
+
+    private void applyObjectProperty(Class<?> cls, String type, String var, String name,
+                                     String valueExpression, String valueType) throws UnsupportedFxmlException {
+        if (cls == null) {
+            throw new UnsupportedFxmlException("child elements of " + type + ", unknown at build time");
+        }
+        Method setter = findObjectSetter(cls, name, load(valueType));
+        if (setter != null) {
+            body.append("        ").append(var).append('.').append(setter.getName()).append('(')
+                .append(valueExpression).append(");\n");
+            return;
+        }
+        Method listGetter = findListGetter(cls, name);
+        if (listGetter != null) {
+            body.append("        ").append(var).append('.').append(listGetter.getName()).append("().add(")
+                .append(valueExpression).append(");\n");
+            return;
+        }
+        throw new UnsupportedFxmlException("no property " + name + " on " + cls.getSimpleName());
+    }
+
+    private void applyStaticProperty(String owner, String var, String property,
+                                     String valueExpression, String valueType) throws UnsupportedFxmlException {
+        Method setter = findStaticSetter(require(owner), property);
+        body.append("        ").append(owner).append('.').append(setter.getName()).append('(')
+            .append(var).append(", ").append(valueExpression).append(");\n");
+    }
+
+    private String defaultPropertyOf(Class<?> cls, String tag) throws UnsupportedFxmlException {
+        if (cls != null) {
+            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+                for (var annotation : c.getDeclaredAnnotations()) {
+                    if (annotation.annotationType().getName().equals("javafx.beans.DefaultProperty")) {
+                        try {
+                            return (String) annotation.annotationType().getMethod("value").invoke(annotation);
+                        } catch (ReflectiveOperationException e) {
+                            throw new UnsupportedFxmlException("unreadable @DefaultProperty on " + c.getName());
+                        }
+                    }
+                }
+            }
+        }
+        throw new UnsupportedFxmlException("<" + tag + "> has no default property for child elements");
+    }
+
+    // ===== REFLECTION HELPERS =====
+
+    /**
+     * Setter taking a value coerced from attribute text.
+     */
+    private static Method findValueSetter(Class<?> cls, String property) {
+        for (Method method : setters(cls, property)) {
+            if (isCoercible(method.getParameterTypes()[0])) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Setter taking an element's object. A value class unknown at build time
+     * (project code) matches any reference-typed setter.
+     */
+    private static Method findObjectSetter(Class<?> cls, String property, Class<?> valueClass) {
+        for (Method method : setters(cls, property)) {
+            Class<?> parameter = method.getParameterTypes()[0];
+            if (valueClass != null ? parameter.isAssignableFrom(valueClass) : !parameter.isPrimitive()) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static List<Method> setters(Class<?> cls, String property) {
+        String name = "set" + capitalize(property);
+        List<Method> setters = new ArrayList<>();
+        for (Method method : cls.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())) {
+                setters.add(method);
+            }
+        }
+        return setters;
+    }
+
+    private static Method findListGetter(Class<?> cls, String property) {
+        try {
+            Method getter = cls.getMethod("get" + capitalize(property));
+            return List.class.isAssignableFrom(getter.getReturnType()) ? getter : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Method findStaticSetter(Class<?> owner, String property) throws UnsupportedFxmlException {
+        String name = "set" + capitalize(property);
+        for (Method method : owner.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 2
+                    && Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        throw new UnsupportedFxmlException("no static property " + owner.getSimpleName() + "." + property);
+    }
+
+    private static boolean isCoercible(Class<?> type) {
+        return type.isPrimitive() || type == String.class || type == Object.class
+            || Number.class.isAssignableFrom(type) || type == Boolean.class
+            || type.isEnum() || hasValueOf(type);
+    }
+
+    private static boolean hasValueOf(Class<?> type) {
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            return Modifier.isStatic(valueOf.getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Java expression for an attribute value, following FXMLLoader's coercion rules.
+     */
+    private static String coerce(Class<?> type, String value) throws UnsupportedFxmlException {
+        try {
+            if (type == String.class || type == Object.class || type == CharSequence.class) {
+                return literal(value);
+            }
+            if (type == double.class || type == Double.class) {
+                return Double.toString(Double.parseDouble(value));
+            }
+            if (type == float.class || type == Float.class) {
+                return Float.parseFloat(value) + "f";
+            }
+            if (type == int.class || type == Integer.class) {
+                return Integer.toString((int) Double.parseDouble(value));
+            }
+            if (type == long.class || type == Long.class) {
+                return Long.parseLong(value) + "L";
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return Boolean.toString(Boolean.parseBoolean(value));
+            }
+        } catch (NumberFormatException e) {
+            throw new UnsupportedFxmlException("bad number '" + value + "' for " + type.getSimpleName());
+        }
+        if (type.isEnum()) {
+            String constant = value.toUpperCase(Locale.ROOT).replace('-', '_');
+            for (Object candidate : type.getEnumConstants()) {
+                if (((Enum<?>) candidate).name().equals(constant)) {
+                    return type.getCanonicalName() + "." + constant;
+                }
+            }
+            throw new UnsupportedFxmlException("no constant " + value + " in " + type.getSimpleName());
+        }
+        if (hasValueOf(type)) {
+            return type.getCanonicalName() + ".valueOf(" + literal(value) + ")";
+        }
+        throw new UnsupportedFxmlException("cannot coerce \"" + value + "\" to " + type.getSimpleName());
+    }
+
+    private static boolean hasPublicNoArgConstructor(Class<?> cls) {
+        try {
+            return Modifier.isPublic(cls.getConstructor().getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Class<?> load(String type) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            // initialize=false: never run JavaFX static initializers at build time
+            return Class.forName(type, false, FxmlCompiler.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Class<?> require(String type) throws UnsupportedFxmlException {
+        Class<?> cls = load(type);
+        if (cls == null) {
+            throw new UnsupportedFxmlException(type + " is not on the build classpath");
+        }
+        return cls;
+    }
+
+    // ===== NAME RESOLUTION =====
+
+    private String resolveType(String simpleName) throws UnsupportedFxmlException {
+        if (simpleName.contains(".") && Character.isLowerCase(simpleName.charAt(0))) {
+            return simpleName; // already fully qualified
+        }
+        for (String imported : explicitImports) {
+            if (imported.endsWith("." + simpleName)) {
+                return imported;
+            }
+        }
+        for (String pkg : packageImports) {
+            String candidate = pkg + "." + simpleName;
+            if (load(candidate) != null) {
+                return candidate;
+            }
+        }
+        if (load("java.lang." + simpleName) != null) {
+            return "java.lang." + simpleName;
+        }
+        throw new UnsupportedFxmlException("cannot resolve <" + simpleName + ">");
+    }
+
+    private String typeOf(Element element) throws UnsupportedFxmlException {
+        return resolveType(element.tag);
+    }
+
+    private String resolveLocation(String relative) {
+        if (relative.startsWith("/")) {
+            return relative;
+        }
+        String dir = resourcePath.substring(0, resourcePath.lastIndexOf('/') + 1);
+        return dir + relative;
+    }
+
+    // ===== ATTRIBUTE HELPERS =====
+
+    private static String fxAttribute(Element element, String name) {
+        for (Attribute attribute : element.attributes) {
+            if (FX_NAMESPACE.equals(namespaceBase(attribute.namespace()))
+                    && attribute.name().endsWith(":" + name)) {
+                return attribute.value();
+            }
+        }
+        return null;
+    }
+
+    /** "http://javafx.com/fxml/1" -> "http://javafx.com/fxml" */
+    private static String namespaceBase(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        return uri.replaceAll("/\\d+$", "");
+    }
+
+    private static Map<String, String> plainAttributes(Element element) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Attribute attribute : element.attributes) {
+            if (attribute.namespace() == null || attribute.namespace().isEmpty()) {
+                values.put(attribute.name(), attribute.value());
+            }
+        }
+        return values;
+    }
+
+    // ===== SOURCE OUTPUT =====
+
+    private void declare(String var, String type, String expression) {
+        if (var.startsWith("n$")) {
+            body.append("        ").append(type).append(' ').append(var).append(" = ").append(expression).append(";\n");
+        } else {
+            fields.put(var, type);
+            body.append("        this.").append(var).append(" = ").append(expression).append(";\n");
+        }
+    }
+
+    private String render(String root) {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(TARGET_PACKAGE).append(";\n\n");
+        out.append("/**\n * Generated from ").append(resourcePath)
+           .append(" by gameproject.build.FxmlCompiler. Do not edit.\n */\n");
+        out.append("public final class ").append(className).append(" implements gameproject.ui.GeneratedScreen {\n\n");
+        out.append("    public static final String SOURCE = ").append(literal(resourcePath)).append(";\n\n");
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            out.append("    public final ").append(field.getValue()).append(' ').append(field.getKey()).append(";\n");
+        }
+        out.append("    private final ").append(rootType).append(" root;\n");
+        if (controllerType != null) {
+            out.append("    private final ").append(controllerType).append(" controller;\n");
+        }
+        out.append("\n    public ").append(className).append("() {\n");
+        out.append(body);
+        out.append("        this.root = ").append(root).append(";\n");
+        if (controllerType != null) {
+            out.append("        this.controller = new ").append(controllerType).append("();\n");
+            for (String id : fields.keySet()) {
+                out.append("        gameproject.ui.GeneratedScreens.injectField(controller, ")
+                   .append(literal(id)).append(", ").append(id).append(");\n");
+            }
+            out.append("        if ((Object) controller instanceof javafx.fxml.Initializable initializable) {\n");
+            out.append("            initializable.initialize(").append(className)
+               .append(".class.getResource(SOURCE), null);\n");
+            out.append("        }\n");
+        }
+        out.append("    }\n\n");
+        out.append("    @Override\n    public javafx.scene.Parent getRoot() {\n        return root;\n    }\n\n");
+        out.append("    @Override\n    public Object getController() {\n        return ")
+           .append(controllerType != null ? "controller" : "null").append(";\n    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static String number(String value) throws UnsupportedFxmlException {
+        return coerce(double.class, value);
+    }
+
+    private static String literal(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
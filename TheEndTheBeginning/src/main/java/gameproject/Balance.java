@@ -1,5 +1,7 @@
 package gameproject;
 
+import main.model.Player;
+
 /**
  * Centralized balance constants for difficulty settings.
  * Contains multipliers and bonuses for different difficulty levels.
@@ -26,6 +28,91 @@ public final class Balance {
     public static final double HARD_DEF_BONUS = 0.00;
     public static final double HARD_HEAL_MOD = 0.95;
     
+    // Death difficulty constants (not tuned by the optimizer)
+    public static final double DEATH_HP = 1.50;
+    public static final double DEATH_ATK = 1.30;
+    public static final double DEATH_DEF_BONUS = 0.00;
+    public static final double DEATH_HEAL_MOD = 0.80;
+    
+    /**
+     * One difficulty's multipliers as a value. The game applies them through
+     * {@link #scale(Monster)}, {@link #applyTo(Player)} and {@link #heal}, and
+     * tools build and compare candidate settings (see {@link BalanceOptimizer}).
+     *
+     * @param monsterHp Multiplier on monster health
+     * @param monsterAtk Multiplier on monster attack
+     * @param defBonus Extra player defense, as a fraction of the player's own
+     * @param healMod Multiplier on potion and spring healing
+     */
+    public record Profile(String name, double monsterHp, double monsterAtk, double defBonus, double healMod) {
+
+        public static final Profile EASY = new Profile("EASY", EASY_HP, EASY_ATK, EASY_DEF_BONUS, EASY_HEAL_MOD);
+        public static final Profile NORMAL = new Profile("NORMAL", NORM_HP, NORM_ATK, NORM_DEF_BONUS, NORM_HEAL_MOD);
+        public static final Profile HARD = new Profile("HARD", HARD_HP, HARD_ATK, HARD_DEF_BONUS, HARD_HEAL_MOD);
+        public static final Profile DEATH = new Profile("DEATH", DEATH_HP, DEATH_ATK, DEATH_DEF_BONUS, DEATH_HEAL_MOD);
+
+        /**
+         * The difficulties the optimizer tunes.
+         */
+        public static Profile[] values() {
+            return new Profile[] { EASY, NORMAL, HARD };
+        }
+
+        /**
+         * The built-in profile for a difficulty name ("easy", "NORMAL", "DEATH", ...), or null.
+         */
+        public static Profile forDifficulty(String difficulty) {
+            for (Profile profile : values()) {
+                if (profile.name.equalsIgnoreCase(difficulty)) {
+                    return profile;
+                }
+            }
+            return DEATH.name.equalsIgnoreCase(difficulty) ? DEATH : null;
+        }
+
+        /**
+         * This difficulty's version of a newly created monster.
+         */
+        public Monster scale(Monster monster) {
+            if (monsterHp == 1.0 && monsterAtk == 1.0) {
+                return monster;
+            }
+            return monster.scaled(monsterHp, monsterAtk);
+        }
+
+        /**
+         * Give a new or loaded player this difficulty's defense bonus.
+         */
+        public void applyTo(Player player) {
+            player.setDefenseBonus(defBonus);
+        }
+
+        /**
+         * Run a healing effect (a spring, a potion) and scale what it restored.
+         *
+         * @return Health actually restored
+         */
+        public int heal(Player player, Runnable effect) {
+            int before = player.getCurrentHealth();
+            effect.run();
+            int healed = player.getCurrentHealth() - before;
+            if (healed > 0 && healMod != 1.0) {
+                player.setCurrentHealth(before + (int) Math.round(healed * healMod));
+            }
+            return player.getCurrentHealth() - before;
+        }
+
+        public Profile with(double monsterHp, double monsterAtk, double defBonus, double healMod) {
+            return new Profile(name, monsterHp, monsterAtk, defBonus, healMod);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s HP %.2f ATK %.2f DEF_BONUS %.2f HEAL %.2f",
+                name, monsterHp, monsterAtk, defBonus, healMod);
+        }
+    }
+    
     private Balance() {
         // Private constructor to prevent instantiation
     }
@@ -0,0 +1,427 @@
+package gameproject;
+
+import gameproject.session.GameSession;
+import main.model.Player;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Searches the {@link Balance} constants for multipliers that give each
+ * difficulty its intended survival curve.
+ *
+ * A survival curve is the share of runs still alive on reaching each floor in
+ * {@link #CHECKPOINTS}, over every class, played by {@link BalanceSimulator}.
+ * For each difficulty the optimizer starts from the current constants and runs
+ * a (1+λ) evolution strategy: every iteration it perturbs the best profile so
+ * far into {@link Config#candidates} candidates, plays them all on the same
+ * run seeds (common random numbers, so a candidate only wins on merit, not on
+ * luckier dice) and keeps whichever comes closest to the target curve. The
+ * step size grows after an improvement and shrinks otherwise. The current and
+ * tuned profiles are then replayed on a larger set of fresh seeds and reported
+ * with 95% Wilson score intervals.
+ *
+ * Runs are split into chunks over a thread pool; each chunk tallies its own
+ * counts, so the only shared state is the read-only simulator.
+ *
+ * Usage: {@code BalanceOptimizer [runsPerClass] [iterations] [seed]}
+ *
+ * @version 5.0.0
+ */
+public final class BalanceOptimizer {
+
+    /** Floors where the survival curve is measured */
+    public static final int[] CHECKPOINTS = { 10, 20, 30, 40, GameSession.VICTORY_FLOOR };
+
+    /** z for a two-sided 95% interval */
+    static final double Z_95 = 1.959964;
+
+    static final int RUNS_PER_TASK = 50;
+
+    /**
+     * How hard to search, and what to aim for.
+     */
+    public static final class Config {
+        /** Runs per class for every candidate during the search */
+        public int runsPerClass = 500;
+        /** Runs per class when confirming the current and tuned profiles */
+        public int confirmRunsPerClass = 5_000;
+        public int iterations = 40;
+        public int candidates = 8;
+        public int dungeons = 256;
+        public long seed = 20_240_601L;
+        public int threads = Runtime.getRuntime().availableProcessors();
+        public boolean progress = true;
+        public List<Balance.Profile> difficulties = List.of(Balance.Profile.values());
+        /** Target survival at each checkpoint, by difficulty name */
+        public Map<String, double[]> targets = defaultTargets();
+
+        public double minMultiplier = 0.20;
+        public double maxMultiplier = 2.00;
+        public double maxDefBonus = 1.00;
+        public double minHealMod = 0.50;
+        public double maxHealMod = 3.00;
+    }
+
+    /**
+     * Outcome of playing one profile; {@code reached[i]} runs got to {@code CHECKPOINTS[i]}.
+     */
+    public record Evaluation(Balance.Profile profile, int runs, int[] reached,
+                             int[] classRuns, int[] classWins, long fights) {
+
+        public double survival(int checkpoint) {
+            return (double) reached[checkpoint] / runs;
+        }
+
+        public double[] interval(int checkpoint) {
+            return wilson(reached[checkpoint], runs);
+        }
+
+        /**
+         * Sum of squared distances from the target curve.
+         */
+        public double loss(double[] target) {
+            double loss = 0;
+            for (int i = 0; i < CHECKPOINTS.length; i++) {
+                double error = survival(i) - target[i];
+                loss += error * error;
+            }
+            return loss;
+        }
+    }
+
+    /**
+     * The search for one difficulty: the current and tuned profiles replayed
+     * on the same fresh seeds.
+     */
+    public record Tuning(double[] target, Evaluation current, Evaluation tuned, int candidatesTried) {
+    }
+
+    public record Result(List<Tuning> tunings, long runs, long fights, long nanos, int threads) {
+
+        public double fightsPerMinute() {
+            return fights * 60e9 / Math.max(1, nanos);
+        }
+
+        public String format() {
+            StringBuilder out = new StringBuilder("=== Balance Optimizer ===\n");
+            out.append("Survival: share of runs alive on reaching each floor, all classes, 95% CI\n");
+            for (Tuning tuning : tunings) {
+                Evaluation current = tuning.current();
+                Evaluation tuned = tuning.tuned();
+                out.append('\n').append(current.profile().name())
+                    .append(String.format(" (%d candidates, %,d runs each to confirm)%n",
+                        tuning.candidatesTried(), tuned.runs()));
+                out.append(String.format("  current  %s  loss %.4f%n",
+                    describe(current.profile()), current.loss(tuning.target())));
+                out.append(String.format("  tuned    %s  loss %.4f%n",
+                    describe(tuned.profile()), tuned.loss(tuning.target())));
+                out.append("  floor  target  current              tuned\n");
+                for (int i = 0; i < CHECKPOINTS.length; i++) {
+                    out.append(String.format("  %5d  %6.2f  %s  %s%n", CHECKPOINTS[i], tuning.target()[i],
+                        formatRate(current.survival(i), current.interval(i)),
+                        formatRate(tuned.survival(i), tuned.interval(i))));
+                }
+                out.append("  clear rate by class   current              tuned\n");
+                Player.PlayerClass[] classes = Player.PlayerClass.values();
+                for (int c = 0; c < classes.length; c++) {
+                    out.append(String.format("  %-20s  %s  %s%n", classes[c],
+                        formatRate(current, c), formatRate(tuned, c)));
+                }
+            }
+
+            out.append("\nSuggested Balance constants:\n");
+            for (Tuning tuning : tunings) {
+                Balance.Profile profile = tuning.tuned().profile();
+                String prefix = profile.name().equals("NORMAL") ? "NORM" : profile.name();
+                out.append(String.format("    public static final double %s_HP = %.2f;%n", prefix, profile.monsterHp()));
+                out.append(String.format("    public static final double %s_ATK = %.2f;%n", prefix, profile.monsterAtk()));
+                out.append(String.format("    public static final double %s_DEF_BONUS = %.2f;%n", prefix, profile.defBonus()));
+                out.append(String.format("    public static final double %s_HEAL_MOD = %.2f;%n", prefix, profile.healMod()));
+            }
+
+            out.append(String.format("%n%,d runs, %,d fights in %.1f s on %d threads (%.1fM fights/min)%n",
+                runs, fights, nanos / 1e9, threads, fightsPerMinute() / 1e6));
+            return out.toString();
+        }
+
+        private static String describe(Balance.Profile profile) {
+            return String.format("HP %.2f ATK %.2f DEF_BONUS %.2f HEAL %.2f",
+                profile.monsterHp(), profile.monsterAtk(), profile.defBonus(), profile.healMod());
+        }
+
+        private static String formatRate(Evaluation evaluation, int playerClass) {
+            int runs = evaluation.classRuns()[playerClass];
+            int wins = evaluation.classWins()[playerClass];
+            return formatRate((double) wins / runs, wilson(wins, runs));
+        }
+
+        private static String formatRate(double rate, double[] interval) {
+            return String.format("%.3f [%.3f-%.3f]", rate, interval[0], interval[1]);
+        }
+    }
+
+    /**
+     * One chunk's counts, merged into an {@link Evaluation}.
+     */
+    private record Tally(int profile, int playerClass, int runs, int wins, int[] reached, long fights) {
+    }
+
+    private final Config config;
+    private final BalanceSimulator simulator;
+    private long runs;
+    private long fights;
+
+    public BalanceOptimizer(Config config) {
+        this.config = config;
+        this.simulator = new BalanceSimulator(config.dungeons, config.seed);
+    }
+
+    public static void main(String[] args) {
+        Config config = new Config();
+        if (args.length > 0) {
+            config.runsPerClass = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            config.iterations = Integer.parseInt(args[1]);
+        }
+        if (args.length > 2) {
+            config.seed = Long.parseLong(args[2]);
+        }
+        System.out.print(new BalanceOptimizer(config).run().format());
+    }
+
+    /**
+     * Survival targets at each of {@link #CHECKPOINTS}: most players should
+     * clear EASY, a determined one NORMAL, and few HARD.
+     */
+    public static Map<String, double[]> defaultTargets() {
+        Map<String, double[]> targets = new LinkedHashMap<>();
+        targets.put("EASY", new double[] { 0.97, 0.90, 0.80, 0.70, 0.60 });
+        targets.put("NORMAL", new double[] { 0.92, 0.75, 0.55, 0.40, 0.30 });
+        targets.put("HARD", new double[] { 0.80, 0.50, 0.30, 0.17, 0.10 });
+        return targets;
+    }
+
+    /**
+     * 95% Wilson score interval for {@code successes} out of {@code trials}.
+     */
+    public static double[] wilson(int successes, int trials) {
+        if (trials == 0) {
+            return new double[] { 0, 1 };
+        }
+        double p = (double) successes / trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2.0 * trials)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] { Math.max(0, center - margin), Math.min(1, center + margin) };
+    }
+
+    /**
+     * Tune every difficulty in {@link Config#difficulties}, listed easiest first.
+     *
+     * The middle one is tuned freely; then each neighbour outwards is kept no
+     * harder (or no easier) than the one tuned before it. The four multipliers
+     * can largely stand in for each other, so without this HARD could end up
+     * healing more than NORMAL and still hit its curve.
+     */
+    public Result run() {
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads, task -> {
+            Thread thread = new Thread(task, "balance-sim");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Balance.Profile> difficulties = config.difficulties;
+            Tuning[] tunings = new Tuning[difficulties.size()];
+            SplittableRandom seeds = new SplittableRandom(config.seed);
+            int anchor = difficulties.size() / 2;
+            tunings[anchor] = tune(pool, difficulties.get(anchor), null, null, seeds.split());
+            for (int i = anchor - 1; i >= 0; i--) {
+                tunings[i] = tune(pool, difficulties.get(i), null, tunings[i + 1].tuned().profile(), seeds.split());
+            }
+            for (int i = anchor + 1; i < difficulties.size(); i++) {
+                tunings[i] = tune(pool, difficulties.get(i), tunings[i - 1].tuned().profile(), null, seeds.split());
+            }
+            return new Result(List.of(tunings), runs, fights, System.nanoTime() - start, config.threads);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Tuning tune(ExecutorService pool, Balance.Profile current, Balance.Profile easier,
+                        Balance.Profile harder, SplittableRandom search) {
+        double[] target = config.targets.get(current.name());
+        double[][] bounds = bounds(easier, harder);
+        Balance.Profile best = clamp(current, values(current), bounds);
+        double[] step = { 0.15, 0.15, 0.10, 0.20 };
+        int tried = 0;
+        for (int iteration = 1; iteration <= config.iterations; iteration++) {
+            // The incumbent is replayed on this iteration's seeds alongside its challengers
+            List<Balance.Profile> candidates = new ArrayList<>();
+            candidates.add(best);
+            for (int i = 0; i < config.candidates; i++) {
+                double[] values = values(best);
+                for (int v = 0; v < values.length; v++) {
+                    values[v] += search.nextGaussian() * step[v];
+                }
+                candidates.add(clamp(best, values, bounds));
+            }
+            tried += config.candidates;
+
+            List<Evaluation> evaluations = evaluate(pool, candidates, config.runsPerClass, search.nextLong());
+            int winner = 0;
+            for (int i = 1; i < evaluations.size(); i++) {
+                if (evaluations.get(i).loss(target) < evaluations.get(winner).loss(target)) {
+                    winner = i;
+                }
+            }
+            double scale = winner == 0 ? 0.85 : 1.2;
+            for (int i = 0; i < step.length; i++) {
+                step[i] *= scale;
+            }
+            if (winner != 0) {
+                best = candidates.get(winner);
+                if (config.progress) {
+                    System.out.printf("[BALANCE] %s iteration %d/%d: %s loss %.4f%n", current.name(),
+                        iteration, config.iterations, best, evaluations.get(winner).loss(target));
+                }
+            }
+        }
+
+        List<Evaluation> confirmed = evaluate(pool, List.of(current, best), config.confirmRunsPerClass, search.nextLong());
+        return new Tuning(target, confirmed.get(0), confirmed.get(1), tried);
+    }
+
+    /**
+     * Lower and upper limits for HP, ATK, DEF_BONUS and HEAL_MOD: the configured
+     * range, narrowed so the profile is no easier than {@code easier} and no
+     * harder than {@code harder} (either may be null).
+     */
+    private double[][] bounds(Balance.Profile easier, Balance.Profile harder) {
+        double[] min = { config.minMultiplier, config.minMultiplier, 0, config.minHealMod };
+        double[] max = { config.maxMultiplier, config.maxMultiplier, config.maxDefBonus, config.maxHealMod };
+        if (easier != null) {
+            min[0] = easier.monsterHp();
+            min[1] = easier.monsterAtk();
+            max[2] = easier.defBonus();
+            max[3] = easier.healMod();
+        }
+        if (harder != null) {
+            max[0] = harder.monsterHp();
+            max[1] = harder.monsterAtk();
+            min[2] = harder.defBonus();
+            min[3] = harder.healMod();
+        }
+        return new double[][] { min, max };
+    }
+
+    private static double[] values(Balance.Profile profile) {
+        return new double[] { profile.monsterHp(), profile.monsterAtk(), profile.defBonus(), profile.healMod() };
+    }
+
+    /**
+     * {@code values} clamped into {@code bounds} and rounded to two places, as
+     * they would be written in Balance.
+     */
+    private static Balance.Profile clamp(Balance.Profile profile, double[] values, double[][] bounds) {
+        double[] clamped = new double[values.length];
+        for (int v = 0; v < values.length; v++) {
+            double value = Math.max(bounds[0][v], Math.min(bounds[1][v], values[v]));
+            clamped[v] = Math.round(value * 100) / 100.0;
+        }
+        return profile.with(clamped[0], clamped[1], clamped[2], clamped[3]);
+    }
+
+    /**
+     * Play every profile on the same run seeds, derived from {@code seed}.
+     */
+    List<Evaluation> evaluate(ExecutorService pool, List<Balance.Profile> profiles, int runsPerClass, long seed) {
+        Player.PlayerClass[] classes = Player.PlayerClass.values();
+        List<Callable<Tally>> tasks = new ArrayList<>();
+        for (int p = 0; p < profiles.size(); p++) {
+            for (int c = 0; c < classes.length; c++) {
+                for (int first = 0; first < runsPerClass; first += RUNS_PER_TASK) {
+                    int profile = p;
+                    int playerClass = c;
+                    int from = first;
+                    int to = Math.min(runsPerClass, first + RUNS_PER_TASK);
+                    tasks.add(() -> play(profile, profiles.get(profile), playerClass, from, to, seed));
+                }
+            }
+        }
+
+        int[][] reached = new int[profiles.size()][CHECKPOINTS.length];
+        int[][] classRuns = new int[profiles.size()][classes.length];
+        int[][] classWins = new int[profiles.size()][classes.length];
+        long[] profileFights = new long[profiles.size()];
+        try {
+            for (Future<Tally> future : pool.invokeAll(tasks)) {
+                Tally tally = future.get();
+                for (int i = 0; i < CHECKPOINTS.length; i++) {
+                    reached[tally.profile()][i] += tally.reached()[i];
+                }
+                classRuns[tally.profile()][tally.playerClass()] += tally.runs();
+                classWins[tally.profile()][tally.playerClass()] += tally.wins();
+                profileFights[tally.profile()] += tally.fights();
+                runs += tally.runs();
+                fights += tally.fights();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Balance simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Balance simulation failed", e.getCause());
+        }
+
+        List<Evaluation> evaluations = new ArrayList<>();
+        for (int p = 0; p < profiles.size(); p++) {
+            evaluations.add(new Evaluation(profiles.get(p), runsPerClass * classes.length,
+                reached[p], classRuns[p], classWins[p], profileFights[p]));
+        }
+        return evaluations;
+    }
+
+    private Tally play(int profileIndex, Balance.Profile profile, int playerClass, int from, int to, long seed) {
+        Player.PlayerClass type = Player.PlayerClass.values()[playerClass];
+        int[] reached = new int[CHECKPOINTS.length];
+        int wins = 0;
+        long runFights = 0;
+        for (int run = from; run < to; run++) {
+            long runSeed = runSeed(seed, playerClass, run);
+            BalanceSimulator.RunResult result = simulator.run(type, profile,
+                (int) Math.floorMod(runSeed, (long) simulator.getDungeonCount()), new Random(runSeed));
+            for (int i = 0; i < CHECKPOINTS.length; i++) {
+                if (result.floorReached() >= CHECKPOINTS[i]) {
+                    reached[i]++;
+                }
+            }
+            if (result.won()) {
+                wins++;
+            }
+            runFights += result.fights();
+        }
+        return new Tally(profileIndex, playerClass, to - from, wins, reached, runFights);
+    }
+
+    /**
+     * Seed of one run (SplitMix64), the same for every profile played on {@code seed}.
+     */
+    static long runSeed(long seed, int playerClass, int run) {
+        long z = seed + ((long) playerClass << 32 | run) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
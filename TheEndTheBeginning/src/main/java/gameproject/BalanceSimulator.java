@@ -0,0 +1,158 @@
+package gameproject;
+
+import gameproject.combat.CombatEngine;
+import gameproject.dungeon.Floor;
+import gameproject.dungeon.FloorGenerator;
+import gameproject.dungeon.Room;
+import gameproject.dungeon.RoomType;
+import gameproject.session.GameSession;
+import main.model.Item;
+import main.model.Player;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete headless runs, floor 1 to {@link GameSession#VICTORY_FLOOR},
+ * under one {@link Balance.Profile}.
+ *
+ * A run is a {@link GameSession} player who moves on from every room: one
+ * room per floor, taken from the generated floor's path. Monsters, springs,
+ * potions and experience come from {@link DungeonRules}, the same code the
+ * game calls, so the profile is applied exactly as in play. The player plays
+ * a fixed, sensible policy: fights to the death with normal attacks, a
+ * healing potion below {@link #POTION_THRESHOLD} of max health, and better
+ * weapons and armor equipped as they turn up.
+ *
+ * Floors are generated once per dungeon up front, so a run only costs its
+ * fights, and fights use CombatEngine's uninstrumented resolve methods so
+ * threads share nothing. One simulator can be shared between threads; each
+ * run takes its own RNG and everything it touches is confined to the run.
+ *
+ * @version 5.0.0
+ */
+public final class BalanceSimulator {
+
+    public static final double POTION_THRESHOLD = 0.35;
+
+    /** Consumables the policy drinks to heal; the Mysterious Vial is left alone */
+    static final Set<String> HEALING_ITEMS = Set.of(
+        "Health Potion", "Minor Healing Potion", "Healing Elixir", "Dungeon Ration");
+
+    /**
+     * How one run ended.
+     *
+     * @param floorReached The floor the player died on, or the victory floor
+     */
+    public record RunResult(boolean won, int floorReached, int fights, int rounds) {
+    }
+
+    private final RoomType[][] rooms;
+    private final int[][] lootTiers;
+
+    /**
+     * @param dungeons Number of distinct dungeon layouts to play, derived from {@code seed}
+     */
+    public BalanceSimulator(int dungeons, long seed) {
+        rooms = new RoomType[dungeons][GameSession.VICTORY_FLOOR];
+        lootTiers = new int[dungeons][GameSession.VICTORY_FLOOR];
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int dungeon = 0; dungeon < dungeons; dungeon++) {
+            long dungeonSeed = seeds.nextLong();
+            for (int number = 1; number < GameSession.VICTORY_FLOOR; number++) {
+                Floor floor = FloorGenerator.generate(dungeonSeed, number);
+                Room room = floor.roomOnPath(0);
+                rooms[dungeon][number] = room.type();
+                lootTiers[dungeon][number] = room.lootTier();
+            }
+        }
+    }
+
+    public int getDungeonCount() {
+        return rooms.length;
+    }
+
+    /**
+     * Play one run of {@code playerClass} through dungeon {@code dungeon}.
+     */
+    public RunResult run(Player.PlayerClass playerClass, Balance.Profile profile, int dungeon, Random random) {
+        Player player = new Player("Simulated", playerClass);
+        profile.applyTo(player);
+        int fights = 0;
+        int rounds = 0;
+
+        for (int floor = 1; floor < GameSession.VICTORY_FLOOR; floor++) {
+            player.setDungeonLevel(floor);
+            switch (rooms[dungeon][floor]) {
+                case MONSTER -> {
+                    Monster monster = DungeonRules.spawnMonster(floor, profile, random);
+                    fights++;
+                    int fightRounds = fight(player, monster, profile, random);
+                    if (fightRounds < 0) {
+                        return new RunResult(false, floor, fights, rounds - fightRounds);
+                    }
+                    rounds += fightRounds;
+                    player.gainExperience(DungeonRules.combatExperience(floor), random);
+                }
+                case TREASURE, SECRET -> takeLoot(player, Item.generateRandomItem(lootTiers[dungeon][floor], random));
+                case SPRING -> DungeonRules.drinkFromSpring(player, profile, random);
+                case SHRINE -> player.gainExperience(DungeonRules.shrineExperience(floor), random);
+                default -> { }
+            }
+        }
+        return new RunResult(true, GameSession.VICTORY_FLOOR, fights, rounds);
+    }
+
+    /**
+     * Fight until one side falls; returns the rounds taken, negated if the player lost.
+     */
+    private static int fight(Player player, Monster monster, Balance.Profile profile, Random random) {
+        int rounds = 0;
+        while (true) {
+            rounds++;
+            if (player.getHealthPercentage() >= POTION_THRESHOLD || !drinkPotion(player, profile)) {
+                CombatEngine.resolvePlayerAttack(player, monster, CombatEngine.AttackType.NORMAL_ATTACK, random);
+                if (!monster.isAlive()) {
+                    return rounds;
+                }
+            }
+            CombatEngine.resolveMonsterAttack(monster, player, random);
+            if (!player.isAlive()) {
+                return -rounds;
+            }
+        }
+    }
+
+    private static boolean drinkPotion(Player player, Balance.Profile profile) {
+        for (Item item : player.getInventory()) {
+            if (item.getType() == Item.ItemType.CONSUMABLE && HEALING_ITEMS.contains(item.getName())) {
+                return DungeonRules.useItem(player, item.getName(), profile);
+            }
+        }
+        return false;
+    }
+
+    private static void takeLoot(Player player, Item item) {
+        switch (item.getType()) {
+            case WEAPON -> {
+                Item equipped = player.getEquippedWeapon();
+                if (equipped == null || item.getValue() > equipped.getValue()) {
+                    player.equipWeapon(item);
+                }
+            }
+            case ARMOR -> {
+                Item equipped = player.getEquippedArmor();
+                if (equipped == null || item.getValue() > equipped.getValue()) {
+                    player.equipArmor(item);
+                }
+            }
+            case CONSUMABLE -> {
+                if (HEALING_ITEMS.contains(item.getName())) {
+                    player.addItem(item);
+                }
+            }
+            default -> { }
+        }
+    }
+}
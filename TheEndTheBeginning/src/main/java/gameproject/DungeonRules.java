@@ -0,0 +1,58 @@
+package gameproject;
+
+import main.model.Player;
+
+import java.util.Random;
+
+/**
+ * The dungeon's encounter and reward rules, with the difficulty applied.
+ *
+ * The desktop controller, headless sessions and {@link BalanceSimulator} all
+ * call these, so monsters, healing and experience follow one set of numbers
+ * and one {@link Balance.Profile} wherever a run is played.
+ *
+ * @version 5.0.0
+ */
+public final class DungeonRules {
+
+    private DungeonRules() {
+        // Static rules only
+    }
+
+    /**
+     * The monster met on a floor, scaled for the difficulty.
+     */
+    public static Monster spawnMonster(int floor, Balance.Profile profile, Random random) {
+        return profile.scale(Monster.createForDungeonLevel(floor, random));
+    }
+
+    /**
+     * Drink from a health spring: 10-29 health before the difficulty's healing modifier.
+     *
+     * @return Health actually restored
+     */
+    public static int drinkFromSpring(Player player, Balance.Profile profile, Random random) {
+        return profile.heal(player, () -> player.heal(10 + random.nextInt(20)));
+    }
+
+    /**
+     * Use an inventory item, with any healing it does scaled for the difficulty.
+     *
+     * @return true if the player had the item and used it
+     */
+    public static boolean useItem(Player player, String itemName, Balance.Profile profile) {
+        boolean[] used = new boolean[1];
+        profile.heal(player, () -> used[0] = player.useItem(itemName));
+        return used[0];
+    }
+
+    /** Experience for reading a shrine's runes */
+    public static int shrineExperience(int floor) {
+        return 20 + floor * 5;
+    }
+
+    /** Experience for defeating a monster */
+    public static int combatExperience(int floor) {
+        return 30 + floor * 10;
+    }
+}
@@ -0,0 +1,69 @@
+package gameproject;
+
+import gameproject.achievements.AchievementManager;
+import gameproject.audio.AudioManager;
+
+/**
+ * Per-session bundle of the game's stateful managers.
+ *
+ * The desktop game uses {@link #shared()}, which wraps the process-wide
+ * {@code getInstance()} singletons. Headless sessions, parallel tests and
+ * simulations call {@link #create()} to get their own quest progress,
+ * achievement state and (silent) audio settings, so nothing leaks between them.
+ *
+ * Creating a context is cheap: quest and achievement definitions are built
+ * once per JVM and shared read-only, and only per-session state is allocated.
+ * {@link #reset()} returns a context to its initial state so a simulation can
+ * reuse one context per worker thread instead of allocating a new one per run.
+ *
+ * @version 5.0.0
+ */
+public final class GameContext {
+
+    private final QuestManager quests;
+    private final AchievementManager achievements;
+    private final AudioManager audio;
+
+    private GameContext(QuestManager quests, AchievementManager achievements, AudioManager audio) {
+        this.quests = quests;
+        this.achievements = achievements;
+        this.audio = audio;
+    }
+
+    /**
+     * A fresh, isolated context with silent audio and console logging off.
+     */
+    public static GameContext create() {
+        QuestManager quests = new QuestManager();
+        quests.setConsoleLogging(false);
+        AchievementManager achievements = new AchievementManager();
+        achievements.setConsoleLogging(false);
+        return new GameContext(quests, achievements, AudioManager.createSilent());
+    }
+
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class Holder {
+        private static final GameContext SHARED = new GameContext(
+            QuestManager.getInstance(), AchievementManager.getInstance(), AudioManager.getInstance());
+    }
+
+    /**
+     * The desktop game's context, backed by the process-wide managers.
+     */
+    public static GameContext shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Clear quest progress, unlocked achievements and progress counters.
+     * Audio settings are left alone; they are user preferences, not game state.
+     */
+    public void reset() {
+        quests.reset();
+        achievements.reset();
+    }
+
+    public QuestManager getQuests() { return quests; }
+    public AchievementManager getAchievements() { return achievements; }
+    public AudioManager getAudio() { return audio; }
+}
@@ -1,5 +1,7 @@
 package gameproject;
 
+import gameproject.command.CommandTokenizer;
+
 /**
  * Utility class for input normalization and validation.
  * Centralizes all input cleaning operations to ensure consistent behavior.
@@ -14,12 +16,13 @@ public final class InputUtil {
     
     /**
      * Normalizes user input by trimming, collapsing spaces, and converting to uppercase.
+     * Scans the characters directly; no regular expression is compiled per call.
      * 
      * @param s The input string to normalize
      * @return Normalized string, or empty string if input is null
      */
     public static String norm(String s) {
-        return s == null ? "" : s.trim().replaceAll("\\s+", " ").toUpperCase();
+        return s == null ? "" : CommandTokenizer.normalize(s, 0, s.length());
     }
     
     /**
@@ -29,6 +32,6 @@ public final class InputUtil {
      * @return true if the string is empty or null, false otherwise
      */
     public static boolean isEmpty(String s) {
-        return norm(s).isEmpty();
+        return s == null || CommandTokenizer.skipSpace(s, 0, s.length()) == s.length();
     }
 }
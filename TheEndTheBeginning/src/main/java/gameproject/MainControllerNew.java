@@ -3,14 +3,14 @@ package gameproject;
 import java.net.URL;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ThreadLocalRandom;
 
 import javafx.animation.PauseTransition;
-import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.util.Duration;
 import org.controlsfx.control.Notifications;
@@ -21,9 +21,23 @@ import main.model.Player;
 
 // NEW V4.0.0 IMPORTS - Advanced Systems
 import gameproject.combat.CombatEngine;
+import gameproject.command.Command;
+import gameproject.command.CommandParser;
+import gameproject.command.CommandTable;
+import gameproject.command.CommandType;
+import gameproject.dungeon.Exploration;
+import gameproject.dungeon.Floor;
+import gameproject.dungeon.FloorCache;
+import gameproject.dungeon.FloorStore;
+import gameproject.dungeon.Room;
+import gameproject.dungeon.RoomType;
+import gameproject.flow.GameFlow;
+import gameproject.flow.GameFlowState;
 import gameproject.audio.AudioManager;
 import gameproject.achievements.AchievementManager;
+import gameproject.achievements.AchievementEventQueue;
 import gameproject.achievements.Achievement;
+import gameproject.stats.StartupProfiler;
 
 
 /**
@@ -50,7 +64,7 @@ public class MainControllerNew implements Initializable {
     @FXML private javafx.scene.layout.StackPane rootContainer; // Root container for UI routing
     
     // Legacy UI components (kept for compatibility during transition)
-    @FXML private TextArea gameTextArea;    // Main game text display area
+    @FXML private gameproject.ui.GameLogView gameLogView; // Main game text display (bounded, virtualized)
     @FXML private TextField inputField;     // Player text input field
     @FXML private Label healthLabel;        // Player health display
     @FXML private Label defenseLabel;       // Player defense display
@@ -96,22 +110,28 @@ public class MainControllerNew implements Initializable {
     private Player player;                  // Enhanced player system
     private GameState gameState;            // Legacy compatibility system
     private boolean isGameRunning = false;
-    private boolean waitingForInput = false;
-    private String expectedInputType = "";
+    private final GameFlow flow = new GameFlow();   // Which prompt is waiting for input
     private Monster currentMonster;
+    private Room currentRoom;               // Room of the current floor the player is standing in
+    private final FloorCache floors = FloorCache.persistent(new FloorStore(SaveManager.getFloorDirectory()));
     
     // ===== V3.1.0 FEATURES =====
     private Settings settings;              // Game settings
     private int invalidInputCount = 0;      // For contextual hints
-    private String lastGameState = "";      // Track state for hints
+    private GameFlowState lastHintState = GameFlowState.IDLE;   // Track state for hints
     private String difficulty = "NORMAL";   // Current difficulty
     
     // ===== V4.0.0 ADVANCED SYSTEMS =====
-    private AudioManager audioManager;     // Audio management system
-    private AchievementManager achievementManager; // Achievement tracking system
+    private AchievementManager achievementManager; // Achievement tracking system, see achievements()
+    private AchievementEventQueue achievementEvents; // Unlocks waiting to be presented
+    private gameproject.ui.AchievementToastPresenter achievementPresenter; // Per-frame toast delivery
     
     // ===== V5.0.0 UI ROUTING =====
     private gameproject.ui.UiRouter uiRouter; // UI router for screen navigation
+    private gameproject.ui.PerfOverlay perfOverlay; // F3 performance overlay
+    private gameproject.ui.UiUpdateScheduler uiUpdates; // Applies text/label updates once per frame
+    private static final Object STATS_REFRESH = new Object(); // Scheduler key for updateUI()
+    private final gameproject.ui.PlayerViewModel playerView = new gameproject.ui.PlayerViewModel(); // HUD bindings source
     // V5.0.0 UI Controllers - Removed, using direct button wiring instead
     
     @Override
@@ -123,27 +143,40 @@ public class MainControllerNew implements Initializable {
         gameState = new GameState();
         
         // Load settings
+        StartupProfiler.Phase phase = StartupProfiler.global().phase("settings");
         settings = Settings.load();
+        configureGameLog();
         applySettings();
+        phase.end();
+        
+        // Game text, status and stat updates are coalesced into one pulse per frame
+        phase = StartupProfiler.global().phase("hud bindings");
+        uiUpdates = new gameproject.ui.UiUpdateScheduler(
+            text -> { if (gameLogView != null) gameLogView.append(text); },
+            text -> { if (gameLogView != null) gameLogView.showText(text); });
+        uiUpdates.start();
+        bindHud();
+        phase.end();
         
         // ===== V4.0.0 INITIALIZE ADVANCED SYSTEMS =====
-        // Initialize audio manager
-        audioManager = AudioManager.getInstance();
-        audioManager.setGameStateMusic("menu");
-        
-        // Initialize achievement system with listener for UI notifications
-        achievementManager = AchievementManager.getInstance();
-        achievementManager.addAchievementListener(achievement -> {
-            showAchievementNotification(achievement);
-            audioManager.playUISound("achievement");
-        });
+        // Audio, quests and achievements are created on first use (see audio() and
+        // achievements()) and warmed up in the background after the main menu is up.
+        // Unlocks are only queued; the presenter drains them once per frame so combat
+        // never waits on notification UI.
+        achievementEvents = new AchievementEventQueue();
+        achievementPresenter = new gameproject.ui.AchievementToastPresenter(
+            achievementEvents, this::showAchievementNotifications);
+        achievementPresenter.start();
         
         // ===== V5.0.0 INITIALIZE UI ROUTER =====
-        Platform.runLater(() -> {
+        gameproject.ui.FxMetrics.runLater(() -> {
             if (rootContainer != null) {
+                StartupProfiler.Phase menuPhase = StartupProfiler.global().phase("main menu");
                 uiRouter = new gameproject.ui.UiRouter(rootContainer, settings);
                 uiRouter.setMainController(this);
+                installPerfOverlay();
                 showMainMenu();
+                menuPhase.end();
             } else {
                 // Fallback to legacy UI
                 displayWelcomeMessage();
@@ -156,9 +189,90 @@ public class MainControllerNew implements Initializable {
                 setupKeyboardShortcuts();
                 setupButtonIcons();
             }
+            warmUpSubsystems();
         });
     }
     
+    /**
+     * Initialize the subsystems the main menu does not need on a background
+     * thread, then start the menu music. Each one is also created on first use,
+     * so a player who clicks before this finishes just initializes it on the spot;
+     * class initialization runs once and is thread-safe either way.
+     */
+    private void warmUpSubsystems() {
+        Thread warmUp = new Thread(() -> {
+            StartupProfiler profiler = StartupProfiler.global();
+            try {
+                StartupProfiler.Phase phase = profiler.phase("audio registry");
+                AudioManager.getInstance();
+                phase.end();
+                phase = profiler.phase("combat sounds");
+                AudioManager.getInstance().preloadSounds("sword_hit", "sword_miss", "critical_hit",
+                    "block", "dodge", "player_hurt", "monster_death", "button_click");
+                phase.end();
+                phase = profiler.phase("quest definitions");
+                QuestManager.getInstance();
+                phase.end();
+                phase = profiler.phase("achievement definitions");
+                AchievementManager.getInstance();
+                phase.end();
+                phase = profiler.phase("icon fonts");
+                org.kordamp.ikonli.javafx.IkonResolver.getInstance().resolve("fas-play");
+                phase.end();
+            } catch (Exception e) {
+                System.err.println("Background initialization failed: " + e.getMessage());
+            }
+            gameproject.ui.FxMetrics.runLater(() -> {
+                if (!isGameRunning) {
+                    audio().setGameStateMusic("menu");
+                }
+            });
+        }, "startup-warmup");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+    
+    /**
+     * Put the performance overlay above every screen; F3 toggles it. Shown at
+     * startup if enabled in the settings or with -Dgame.perfOverlay=true.
+     */
+    private void installPerfOverlay() {
+        perfOverlay = new gameproject.ui.PerfOverlay();
+        uiRouter.addOverlay(perfOverlay.getNode());
+        // Filter, not handler: screens consume key presses before they reach the root
+        rootContainer.addEventFilter(javafx.scene.input.KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == javafx.scene.input.KeyCode.F3) {
+                event.consume();
+                perfOverlay.toggle();
+            }
+        });
+        if (settings.perfOverlay || Boolean.getBoolean(gameproject.ui.PerfOverlay.PROPERTY)) {
+            perfOverlay.setShowing(true);
+        }
+    }
+    
+    /**
+     * The screen router, or null before the main menu is up (or in the legacy UI).
+     */
+    gameproject.ui.UiRouter getUiRouter() {
+        return uiRouter;
+    }
+
+    private AudioManager audio() {
+        return AudioManager.getInstance();
+    }
+    
+    /**
+     * The achievement manager, registering the unlock queue on first use.
+     */
+    private AchievementManager achievements() {
+        if (achievementManager == null) {
+            achievementManager = AchievementManager.getInstance();
+            achievementManager.addAchievementListener(achievementEvents);
+        }
+        return achievementManager;
+    }
+    
     /**
      * Set up Ikonli icons for buttons.
      */
@@ -251,8 +365,8 @@ public class MainControllerNew implements Initializable {
      * Set up keyboard shortcuts for quick actions (v4.0.0 Feature).
      */
     private void setupKeyboardShortcuts() {
-        if (gameTextArea.getScene() != null) {
-            gameTextArea.getScene().setOnKeyPressed(event -> {
+        if (gameLogView.getScene() != null) {
+            gameLogView.getScene().setOnKeyPressed(event -> {
                 // Check for Ctrl/Command key combinations
                 if (event.isControlDown() || event.isMetaDown()) {
                     switch (event.getCode()) {
@@ -275,7 +389,7 @@ public class MainControllerNew implements Initializable {
                     // F1: Show help/hints
                     event.consume();
                     showHelp();
-                } else if (currentMonster != null && currentMonster.isAlive() && !waitingForInput) {
+                } else if (currentMonster != null && currentMonster.isAlive() && !flow.isAwaitingInput()) {
                     // Number keys for combat when in combat
                     switch (event.getCode()) {
                         case DIGIT1, NUMPAD1 -> {
@@ -314,7 +428,7 @@ public class MainControllerNew implements Initializable {
     private void quickSave() {
         appendToGameText("\n💾 Quick saving...\n");
         syncPlayerToGameState();
-        boolean success = SaveManager.saveGame(player, gameState.getLevel());
+        boolean success = SaveManager.saveGame(player, gameState.getLevel(), createSaveData());
         if (success) {
             appendToGameText("✅ Game saved successfully!\n\n");
             showNotification("Game Saved", "Your progress has been saved successfully.", "INFORMATION");
@@ -324,7 +438,7 @@ public class MainControllerNew implements Initializable {
             showNotification("Save Failed", "Could not save game. Please try again.", "ERROR");
             updateStatus("Save failed");
         }
-        audioManager.playUISound("click");
+        audio().playUISound("click");
     }
     
     /**
@@ -389,7 +503,7 @@ public class MainControllerNew implements Initializable {
      * Show a notification using ControlsFX.
      */
     private void showNotification(String title, String text, String type) {
-        Platform.runLater(() -> {
+        uiUpdates.post(() -> {
             Notifications notification = Notifications.create()
                 .title(title)
                 .text(text)
@@ -416,35 +530,46 @@ public class MainControllerNew implements Initializable {
      * Update status bar text.
      */
     private void updateStatus(String status) {
-        Platform.runLater(() -> {
-            if (statusLabel != null) {
-                statusLabel.setText(status);
-            }
-        });
+        uiUpdates.setText(statusLabel, status);
     }
     
     
+    /**
+     * Size the game log from settings and, if enabled, keep the full history on disk.
+     */
+    private void configureGameLog() {
+        if (gameLogView == null) {
+            return;
+        }
+        gameproject.ui.GameLog log = new gameproject.ui.GameLog(settings.gameLogLines);
+        if (settings.gameLogHistory) {
+            log.setSpillFile(Settings.getConfigDirectory().resolve("logs")
+                .resolve("game-log-" + System.currentTimeMillis() + ".txt"));
+        }
+        gameLogView.setLog(log);
+    }
+    
     /**
      * Applies current settings to the game UI.
      */
     public void applySettings() {
         // Guard against null components (may not be initialized yet)
-        if (gameTextArea == null || gameTextArea.getScene() == null) {
+        if (gameLogView == null || gameLogView.getScene() == null) {
             return;
         }
         
         if (settings.highContrast) {
             try {
-                gameTextArea.getScene().getStylesheets().clear();
-                gameTextArea.getScene().getStylesheets().add(
+                gameLogView.getScene().getStylesheets().clear();
+                gameLogView.getScene().getStylesheets().add(
                     getClass().getResource("/high-contrast.css").toExternalForm());
             } catch (Exception e) {
                 System.err.println("Error loading high-contrast theme: " + e.getMessage());
             }
         } else {
             try {
-                gameTextArea.getScene().getStylesheets().clear();
-                gameTextArea.getScene().getStylesheets().add(
+                gameLogView.getScene().getStylesheets().clear();
+                gameLogView.getScene().getStylesheets().add(
                     getClass().getResource("/game-style.css").toExternalForm());
             } catch (Exception e) {
                 // Normal stylesheet might not exist yet, that's ok
@@ -491,7 +616,7 @@ public class MainControllerNew implements Initializable {
     @FXML
     public void handleSubmit() {
         String input = inputField.getText().trim();
-        if (!input.isEmpty() && waitingForInput) {
+        if (!input.isEmpty() && flow.isAwaitingInput()) {
             processInput(input);
             inputField.clear();
         }
@@ -524,58 +649,58 @@ public class MainControllerNew implements Initializable {
         }
         
         // Play dismissal sound
-        audioManager.playUISound("click");
+        audio().playUISound("click");
         
         // Return focus to input field
-        Platform.runLater(() -> inputField.requestFocus());
+        gameproject.ui.FxMetrics.runLater(() -> inputField.requestFocus());
     }
     
     @FXML
     public void performNormalAttack() {
         if (currentMonster != null && currentMonster.isAlive()) {
-            processCombatAction("1"); // Normal attack
+            processCombatAction(Command.of(CommandType.ATTACK));
         }
     }
     
     @FXML
     public void performDefend() {
         if (currentMonster != null && currentMonster.isAlive()) {
-            processCombatAction("2"); // Defend
+            processCombatAction(Command.of(CommandType.DEFEND));
         }
     }
     
     @FXML
     public void performHeavyAttack() {
         if (currentMonster != null && currentMonster.isAlive()) {
-            processCombatAction("3"); // Heavy attack
+            processCombatAction(Command.of(CommandType.HEAVY));
         }
     }
     
     @FXML
     public void performQuickAttack() {
         if (currentMonster != null && currentMonster.isAlive()) {
-            processCombatAction("4"); // Quick attack
+            processCombatAction(Command.of(CommandType.QUICK));
         }
     }
     
     @FXML
     public void useItemInCombat() {
         if (currentMonster != null && currentMonster.isAlive()) {
-            processCombatAction("5"); // Use item
+            processCombatAction(Command.of(CommandType.ITEM));
         }
     }
     
     @FXML
     public void attemptToRun() {
         if (currentMonster != null && currentMonster.isAlive()) {
-            processCombatAction("6"); // Run away
+            processCombatAction(Command.of(CommandType.RUN));
         }
     }
     
     @FXML
     public void showAchievements() {
         if (player != null) {
-            appendToGameText("\n" + achievementManager.getAchievementSummary() + "\n");
+            appendToGameText("\n" + achievements().getAchievementSummary() + "\n");
         } else {
             appendToGameText("\n🏆 No achievements yet. Start playing to unlock achievements!\n");
         }
@@ -585,7 +710,7 @@ public class MainControllerNew implements Initializable {
         player = new Player();
         gameState.resetGame();
         isGameRunning = true;
-        gameTextArea.clear();
+        uiUpdates.showText("");
         
         appendToGameText("═══ BEGINNING YOUR ADVENTURE ═══\n\n");
         
@@ -594,8 +719,7 @@ public class MainControllerNew implements Initializable {
             appendToGameText("💾 A saved game was found!\n");
             appendToGameText("   Do you want to LOAD it or start a NEW game?\n");
             appendToGameText("   Type LOAD or NEW: ");
-            waitingForInput = true;
-            expectedInputType = "LOAD_OR_NEW";
+            flow.prompt(GameFlowState.LOAD_OR_NEW);
             return;
         }
         
@@ -603,89 +727,94 @@ public class MainControllerNew implements Initializable {
         appendToGameText("🕰️ Your fate awaits within these cursed halls.\n\n");
         
         appendToGameText("🤔 Do you dare to enter the depths? (YES/NO): ");
-        waitingForInput = true;
-        expectedInputType = "START_CONFIRMATION";
+        flow.prompt(GameFlowState.START_CONFIRMATION);
         syncPlayerToGameState();
         updateUI();
     }
     
     private void processInput(String input) {
-        waitingForInput = false;
+        if (flow.getState().isFreeText()) {
+            flow.holdInput();
+            // Validate name is not empty
+            String normalizedName = input.trim();
+            if (normalizedName.isEmpty()) {
+                appendToGameText("\n❌ Your name cannot be empty! Please enter a valid name: ");
+                flow.awaitInput();
+            } else {
+                player.setName(normalizedName);
+                startGameplay();
+            }
+            return;
+        }
         
-        // Check for quick-use command (Feature 3)
-        String normalizedInput = InputUtil.norm(input);
-        if (normalizedInput.startsWith("USE ") && isGameRunning) {
-            String itemName = normalizedInput.substring(4).trim();
-            handleQuickUse(itemName);
+        Command command = flow.parse(input);
+        
+        // Quick-use command (Feature 3), in states that allow items
+        if (command.is(CommandType.USE) && isGameRunning) {
+            handleQuickUse(command.argument());
+            return;
+        }
+        if (command.is(CommandType.HELP)) {
+            showContextualHint(flow.getState());
+            flow.awaitInput();
             return;
         }
         
-        switch (expectedInputType) {
-            case "LOAD_OR_NEW" -> {
-                if (input.equalsIgnoreCase("LOAD") || input.equalsIgnoreCase("L")) {
+        switch (flow.getState()) {
+            case LOAD_OR_NEW -> {
+                if (command.is(CommandType.LOAD)) {
                     loadSavedGame();
-                } else if (input.equalsIgnoreCase("NEW") || input.equalsIgnoreCase("N")) {
+                } else if (command.is(CommandType.NEW)) {
                     appendToGameText("\n🗑️ Starting fresh adventure (old save will be overwritten)...\n\n");
                     appendToGameText("🏰 The ancient dungeon looms before you...\n");
                     appendToGameText("🕰️ Your fate awaits within these cursed halls.\n\n");
                     appendToGameText("🤔 Do you dare to enter the depths? (YES/NO): ");
-                    waitingForInput = true;
-                    expectedInputType = "START_CONFIRMATION";
+                    flow.prompt(GameFlowState.START_CONFIRMATION);
                 } else {
                     appendToGameText("Please enter LOAD or NEW: ");
-                    waitingForInput = true;
+                    flow.awaitInput();
                 }
             }
-            case "START_CONFIRMATION" -> {
-                if (input.equalsIgnoreCase("YES") || input.equalsIgnoreCase("Y")) {
+            case START_CONFIRMATION -> {
+                if (command.is(CommandType.YES)) {
                     askForPlayerClass();
-                } else if (input.equalsIgnoreCase("NO") || input.equalsIgnoreCase("N")) {
+                } else if (command.is(CommandType.NO)) {
                     showCredits();
                     isGameRunning = false;
+                    flow.reset();
                 } else {
                     appendToGameText("Please enter YES or NO: ");
-                    waitingForInput = true;
-                }
-            }
-            case "CLASS_SELECTION" -> handleClassSelection(input);
-            case "DIFFICULTY" -> handleDifficultySelection(input);
-            case "PLAYER_NAME" -> {
-                // Validate name is not empty
-                String normalizedName = input.trim();
-                if (normalizedName.isEmpty()) {
-                    appendToGameText("\n❌ Your name cannot be empty! Please enter a valid name: ");
-                    waitingForInput = true;
-                    expectedInputType = "PLAYER_NAME";
-                } else {
-                    player.setName(normalizedName);
-                    startGameplay();
+                    flow.awaitInput();
                 }
             }
-            case "ROOM_ACTION" -> {
-                handleRoomAction(input);
+            case CLASS_SELECTION -> handleClassSelection(command);
+            case DIFFICULTY -> handleDifficultySelection(command);
+            case EXPLORING -> {
+                handleRoomAction(command);
                 resetInvalidInputCount();
             }
-            case "MONSTER_ACTION" -> {
-                handleMonsterAction(input);
+            case COMBAT -> {
+                handleMonsterAction(command);
                 resetInvalidInputCount();
             }
-            case "COMBAT_ACTION" -> {
-                handleCombatAction(input);
+            case COMBAT_MENU -> {
+                handleCombatAction(command);
                 resetInvalidInputCount();
             }
-            case "INVENTORY_ACTION" -> {
-                handleInventoryAction(input);
+            case INVENTORY -> {
+                handleInventoryAction(command);
                 resetInvalidInputCount();
             }
+            default -> { }
         }
     }
     
     /**
      * Tracks invalid inputs for contextual hint system (Feature 4 - v3.1.0).
      */
-    private void trackInvalidInput(String context) {
-        if (!lastGameState.equals(context)) {
-            lastGameState = context;
+    private void trackInvalidInput(GameFlowState context) {
+        if (lastHintState != context) {
+            lastHintState = context;
             invalidInputCount = 0;
         }
         
@@ -707,16 +836,16 @@ public class MainControllerNew implements Initializable {
     /**
      * Shows contextual hints based on current game state (Feature 4 - v3.1.0).
      */
-    private void showContextualHint(String context) {
+    private void showContextualHint(GameFlowState context) {
         StringBuilder hint = new StringBuilder();
         hint.append("\n💡 HINT: ");
         
         switch (context) {
-            case "ROOM_ACTION" -> hint.append("Enter 1 to search, 2 to move, 3 for stats, or 4 for inventory. You can also type 'use <item>' to use items quickly!");
-            case "MONSTER_ACTION" -> hint.append("Enhanced Combat Options: 1=Attack, 2=Defend, 3=Heavy Attack (mana), 4=Quick Attack, 5=Use Item, 6=Run!");
-            case "COMBAT_ACTION" -> hint.append("Enter 1 to attack or 2 to use an item during combat.");
-            case "CLASS_SELECTION" -> hint.append("Choose a class: 1 for Warrior (tanky), 2 for Mage (high damage), or 3 for Rogue (balanced).");
-            case "DIFFICULTY" -> hint.append("Select difficulty: 1-Easy, 2-Normal, 3-Hard, or 4-Death mode!");
+            case EXPLORING -> hint.append("Enter 1 to search, 2 to move, 3 for stats, or 4 for inventory. You can also type 'use <item>' to use items quickly!");
+            case COMBAT -> hint.append("Enhanced Combat Options: 1=Attack, 2=Defend, 3=Heavy Attack (mana), 4=Quick Attack, 5=Use Item, 6=Run!");
+            case COMBAT_MENU -> hint.append("Enter 1 to attack or 2 to use an item during combat.");
+            case CLASS_SELECTION -> hint.append("Choose a class: 1 for Warrior (tanky), 2 for Mage (high damage), or 3 for Rogue (balanced).");
+            case DIFFICULTY -> hint.append("Select difficulty: 1-Easy, 2-Normal, 3-Hard, or 4-Death mode!");
             default -> hint.append("Follow the on-screen prompts and enter the corresponding number or command.");
         }
         
@@ -736,47 +865,44 @@ public class MainControllerNew implements Initializable {
         appendToGameText("   → Starting Stats: 100 HP, 20 ATK, 5 DEF (+30% Crit)\n\n");
         
         appendToGameText("🎯 Enter 1, 2, or 3: ");
-        waitingForInput = true;
-        expectedInputType = "CLASS_SELECTION";
+        flow.prompt(GameFlowState.CLASS_SELECTION);
     }
     
-    private void handleClassSelection(String input) {
-        try {
-            int classChoice = Integer.parseInt(input);
-            Player.PlayerClass chosenClass;
-            
-            switch (classChoice) {
-                case 1 -> {
-                    chosenClass = Player.PlayerClass.WARRIOR;
-                    appendToGameText("\n🛡️ You have chosen the path of the WARRIOR!\n");
-                    appendToGameText("Strong and resilient, you face danger with unwavering courage.\n");
-                }
-                case 2 -> {
-                    chosenClass = Player.PlayerClass.MAGE;
-                    appendToGameText("\n🧙 You have chosen the path of the MAGE!\n");
-                    appendToGameText("Wielding arcane power, you bend reality to your will.\n");
-                }
-                case 3 -> {
-                    chosenClass = Player.PlayerClass.ROGUE;
-                    appendToGameText("\n😏 You have chosen the path of the ROGUE!\n");
-                    appendToGameText("Swift and cunning, you strike from the shadows.\n");
-                }
-                default -> {
-                    trackInvalidInput("CLASS_SELECTION");
-                    appendToGameText("Please enter 1, 2, or 3: ");
-                    waitingForInput = true;
-                    return;
-                }
-            }
-            
-            player.setPlayerClass(chosenClass);
-            askForDifficulty();
-            
-        } catch (NumberFormatException e) {
-            trackInvalidInput("CLASS_SELECTION");
+    private void handleClassSelection(Command command) {
+        if (!command.is(CommandType.CHOICE)) {
+            trackInvalidInput(GameFlowState.CLASS_SELECTION);
             appendToGameText("Please enter a valid number (1-3): ");
-            waitingForInput = true;
+            flow.awaitInput();
+            return;
         }
+        Player.PlayerClass chosenClass;
+        
+        switch (command.value()) {
+            case 1 -> {
+                chosenClass = Player.PlayerClass.WARRIOR;
+                appendToGameText("\n🛡️ You have chosen the path of the WARRIOR!\n");
+                appendToGameText("Strong and resilient, you face danger with unwavering courage.\n");
+            }
+            case 2 -> {
+                chosenClass = Player.PlayerClass.MAGE;
+                appendToGameText("\n🧙 You have chosen the path of the MAGE!\n");
+                appendToGameText("Wielding arcane power, you bend reality to your will.\n");
+            }
+            case 3 -> {
+                chosenClass = Player.PlayerClass.ROGUE;
+                appendToGameText("\n😏 You have chosen the path of the ROGUE!\n");
+                appendToGameText("Swift and cunning, you strike from the shadows.\n");
+            }
+            default -> {
+                trackInvalidInput(GameFlowState.CLASS_SELECTION);
+                appendToGameText("Please enter 1, 2, or 3: ");
+                flow.awaitInput();
+                return;
+            }
+        }
+        
+        player.setPlayerClass(chosenClass);
+        askForDifficulty();
     }
     
     private void askForDifficulty() {
@@ -786,74 +912,74 @@ public class MainControllerNew implements Initializable {
         appendToGameText("🔥 3: HARD - Tough encounters, limited resources\n");
         appendToGameText("☠️ 4: DEATH - Only for the truly brave... or foolish\n\n");
         appendToGameText("🎯 Enter 1-4: ");
-        waitingForInput = true;
-        expectedInputType = "DIFFICULTY";
+        flow.prompt(GameFlowState.DIFFICULTY);
     }
     
-    private void handleDifficultySelection(String input) {
-        try {
-            int diffChoice = Integer.parseInt(input);
-            if (diffChoice >= 1 && diffChoice <= 4) {
-                // Show difficulty preview
-                StringBuilder preview = new StringBuilder();
-                preview.append("\n📊 Difficulty Preview:\n\n");
-                
-                switch (diffChoice) {
-                    case 1 -> {
-                        difficulty = "EASY";
-                        preview.append("🟢 EASY MODE\n");
-                        preview.append("• Monster HP: ").append((int)(Balance.EASY_HP * 100)).append("%\n");
-                        preview.append("• Monster ATK: ").append((int)(Balance.EASY_ATK * 100)).append("%\n");
-                        preview.append("• Player DEF Bonus: +").append((int)(Balance.EASY_DEF_BONUS * 100)).append("%\n");
-                        preview.append("• Healing: ").append((int)(Balance.EASY_HEAL_MOD * 100)).append("%\n");
-                    }
-                    case 2 -> {
-                        difficulty = "NORMAL";
-                        preview.append("🟡 NORMAL MODE\n");
-                        preview.append("• Monster HP: ").append((int)(Balance.NORM_HP * 100)).append("%\n");
-                        preview.append("• Monster ATK: ").append((int)(Balance.NORM_ATK * 100)).append("%\n");
-                        preview.append("• Balanced gameplay\n");
-                    }
-                    case 3 -> {
-                        difficulty = "HARD";
-                        preview.append("🔴 HARD MODE\n");
-                        preview.append("• Monster HP: ").append((int)(Balance.HARD_HP * 100)).append("%\n");
-                        preview.append("• Monster ATK: ").append((int)(Balance.HARD_ATK * 100)).append("%\n");
-                        preview.append("• Healing: ").append((int)(Balance.HARD_HEAL_MOD * 100)).append("%\n");
-                    }
-                    case 4 -> {
-                        difficulty = "DEATH";
-                        preview.append("⚫ DEATH MODE\n");
-                        preview.append("• Monster HP: 150%\n");
-                        preview.append("• Monster ATK: 130%\n");
-                        preview.append("• Healing: 80%\n");
-                        preview.append("• ⚠️ No mercy!\n");
-                    }
+    private void handleDifficultySelection(Command command) {
+        if (!command.is(CommandType.CHOICE)) {
+            appendToGameText("Please enter a valid number (1-4): ");
+            flow.awaitInput();
+            return;
+        }
+        int diffChoice = command.value();
+        if (diffChoice >= 1 && diffChoice <= 4) {
+            // Show difficulty preview
+            StringBuilder preview = new StringBuilder();
+            preview.append("\n📊 Difficulty Preview:\n\n");
+            
+            switch (diffChoice) {
+                case 1 -> {
+                    difficulty = "EASY";
+                    preview.append("🟢 EASY MODE\n");
+                    preview.append("• Monster HP: ").append((int)(Balance.EASY_HP * 100)).append("%\n");
+                    preview.append("• Monster ATK: ").append((int)(Balance.EASY_ATK * 100)).append("%\n");
+                    preview.append("• Player DEF Bonus: +").append((int)(Balance.EASY_DEF_BONUS * 100)).append("%\n");
+                    preview.append("• Healing: ").append((int)(Balance.EASY_HEAL_MOD * 100)).append("%\n");
+                }
+                case 2 -> {
+                    difficulty = "NORMAL";
+                    preview.append("🟡 NORMAL MODE\n");
+                    preview.append("• Monster HP: ").append((int)(Balance.NORM_HP * 100)).append("%\n");
+                    preview.append("• Monster ATK: ").append((int)(Balance.NORM_ATK * 100)).append("%\n");
+                    preview.append("• Balanced gameplay\n");
+                }
+                case 3 -> {
+                    difficulty = "HARD";
+                    preview.append("🔴 HARD MODE\n");
+                    preview.append("• Monster HP: ").append((int)(Balance.HARD_HP * 100)).append("%\n");
+                    preview.append("• Monster ATK: ").append((int)(Balance.HARD_ATK * 100)).append("%\n");
+                    preview.append("• Healing: ").append((int)(Balance.HARD_HEAL_MOD * 100)).append("%\n");
+                }
+                case 4 -> {
+                    difficulty = "DEATH";
+                    preview.append("⚫ DEATH MODE\n");
+                    preview.append("• Monster HP: ").append((int)(Balance.DEATH_HP * 100)).append("%\n");
+                    preview.append("• Monster ATK: ").append((int)(Balance.DEATH_ATK * 100)).append("%\n");
+                    preview.append("• Healing: ").append((int)(Balance.DEATH_HEAL_MOD * 100)).append("%\n");
+                    preview.append("• ⚠️ No mercy!\n");
                 }
-                
-                preview.append("\n⚙️ Difficulty set to ").append(difficulty).append("!\n");
-                appendToGameText(preview.toString());
-                askForPlayerName();
-            } else {
-                appendToGameText("Please enter a number between 1-4: ");
-                waitingForInput = true;
             }
-        } catch (NumberFormatException e) {
-            appendToGameText("Please enter a valid number (1-4): ");
-            waitingForInput = true;
+            
+            preview.append("\n⚙️ Difficulty set to ").append(difficulty).append("!\n");
+            appendToGameText(preview.toString());
+            askForPlayerName();
+        } else {
+            appendToGameText("Please enter a number between 1-4: ");
+            flow.awaitInput();
         }
     }
     
     private void askForPlayerName() {
         appendToGameText("\n📝 What name shall the bards sing of your deeds? ");
-        waitingForInput = true;
-        expectedInputType = "PLAYER_NAME";
+        flow.prompt(GameFlowState.PLAYER_NAME);
     }
     
     private void startGameplay() {
         appendToGameText("\n🌙 You wake up in a cold, dark dungeon. The air tastes of iron and old candles.\n");
         appendToGameText("💪 Hope you survive this ordeal, " + player.getName() + ". May fortune favor you.\n\n");
         
+        balance().applyTo(player);
+        
         // Sync player stats to legacy system for compatibility
         syncPlayerToGameState();
         
@@ -865,13 +991,14 @@ public class MainControllerNew implements Initializable {
      * Loads a saved game from disk and restores player state.
      */
     private void loadSavedGame() {
+        // Loading abandons whatever prompt was active
+        flow.reset();
         SaveManager.SaveData saveData = SaveManager.loadGame();
         
         if (saveData == null) {
             appendToGameText("\n❌ Error loading save game. Starting new game...\n\n");
             appendToGameText("🤔 Do you dare to enter the depths? (YES/NO): ");
-            waitingForInput = true;
-            expectedInputType = "START_CONFIRMATION";
+            flow.prompt(GameFlowState.START_CONFIRMATION);
             return;
         }
         
@@ -914,10 +1041,18 @@ public class MainControllerNew implements Initializable {
             }
             
             player.setDungeonLevel(saveData.dungeonLevel);
+            difficulty = saveData.difficulty != null ? saveData.difficulty : "NORMAL";
+            balance().applyTo(player);
             
             // Sync to game state
             gameState.resetGame();
             gameState.setLevel(saveData.dungeonLevel);
+            if (saveData.dungeonSeed != 0) {
+                // Same seed, same floors: the layout the player left is rebuilt (or still cached)
+                gameState.setDungeonSeed(saveData.dungeonSeed);
+                gameState.setExploration(Exploration.decode(saveData.exploredRooms));
+            }
+            restoreAchievements(saveData, achievements());
             syncPlayerToGameState();
             
             appendToGameText("\n✅ Game loaded successfully!\n");
@@ -937,8 +1072,7 @@ public class MainControllerNew implements Initializable {
             player = new Player();
             gameState.resetGame();
             appendToGameText("🤔 Do you dare to enter the depths? (YES/NO): ");
-            waitingForInput = true;
-            expectedInputType = "START_CONFIRMATION";
+            flow.prompt(GameFlowState.START_CONFIRMATION);
         }
     }
     
@@ -947,7 +1081,7 @@ public class MainControllerNew implements Initializable {
      */
     private void autoSave() {
         if (player != null && isGameRunning) {
-            boolean success = SaveManager.saveGame(player, gameState.getLevel());
+            boolean success = SaveManager.saveGame(player, gameState.getLevel(), createSaveData());
             if (success) {
                 // Optionally show save indicator (commented out to avoid spam)
                 // appendToGameText("💾 Game auto-saved.\n");
@@ -955,6 +1089,50 @@ public class MainControllerNew implements Initializable {
         }
     }
     
+    /**
+     * Extra save data for the current run.
+     */
+    private SaveManager.GameSaveData createSaveData() {
+        SaveManager.GameSaveData data = createSaveData(gameState.getDungeonSeed(), gameState.getExploration(), achievements());
+        data.difficulty = difficulty;
+        return data;
+    }
+    
+    /**
+     * Multipliers for the chosen difficulty; unknown names play as NORMAL.
+     */
+    private Balance.Profile balance() {
+        Balance.Profile profile = Balance.Profile.forDifficulty(difficulty);
+        return profile != null ? profile : Balance.Profile.NORMAL;
+    }
+    
+    /**
+     * Save data for a run: the dungeon, what has been explored of it, and the
+     * achievements. Static so the save and load path can be tested without a window.
+     */
+    static SaveManager.GameSaveData createSaveData(long dungeonSeed, Exploration exploration,
+                                                   AchievementManager achievements) {
+        SaveManager.GameSaveData data = new SaveManager.GameSaveData();
+        data.dungeonSeed = dungeonSeed;
+        data.exploredRooms = exploration.encode();
+        data.achievementBits = achievements.encodeUnlocked();
+        data.unlockedAchievements.addAll(achievements.getUnlockedIds());
+        data.achievementProgress.putAll(achievements.getProgressSnapshot());
+        return data;
+    }
+    
+    /**
+     * Put the achievements and their progress counters back the way the save
+     * left them. The bitset is preferred; saves from before it only have the id list.
+     */
+    static void restoreAchievements(SaveManager.SaveData saveData, AchievementManager achievements) {
+        if (saveData.achievementBits == null || saveData.achievementBits.isEmpty()
+                || !achievements.restoreUnlocked(saveData.achievementBits)) {
+            achievements.restoreUnlocked(saveData.unlockedAchievements);
+        }
+        achievements.restoreProgress(saveData.achievementProgress);
+    }
+    
     
     /**
      * Synchronizes player stats to the legacy GameState system.
@@ -985,6 +1163,7 @@ public class MainControllerNew implements Initializable {
             appendToGameText("⭐ You conquered all 50 floors! A legendary feat!\n\n");
             showCredits();
             isGameRunning = false;
+            flow.moveTo(GameFlowState.VICTORY);
             return;
         }
         
@@ -993,6 +1172,7 @@ public class MainControllerNew implements Initializable {
             appendToGameText("⚰️ Your adventure ends here, " + player.getName() + "...\n\n");
             showCredits();
             isGameRunning = false;
+            flow.moveTo(GameFlowState.GAME_OVER);
             return;
         }
         
@@ -1002,57 +1182,93 @@ public class MainControllerNew implements Initializable {
         // Auto-save progress
         autoSave();
         
-        int gameEvent = (int) (Math.random() * 4);
+        // The floor's layout decides what is in this room; build the next floor meanwhile
+        Floor floor = currentFloor();
+        floors.prefetch(gameState.getDungeonSeed(), gameState.getLevel() + 1);
+        currentRoom = floor.roomOnPath(gameState.getRoom());
+        gameState.getExploration().markVisited(gameState.getLevel(), currentRoom.id());
+        int gameEvent = roomEvent(currentRoom.type());
         
         if (gameEvent != 3) {
             appendToGameText("🤔 What do you want to do, " + player.getName() + "?\n");
             appendToGameText(" 1: Search the room\n 2: Move to next room\n 3: Check stats\n 4: View inventory\n");
             appendToGameText("Enter 1-4: ");
-            waitingForInput = true;
-            expectedInputType = "ROOM_ACTION";
+            flow.prompt(GameFlowState.EXPLORING);
             gameState.setCurrentEvent(gameEvent);
         } else {
             encounterMonster();
         }
     }
     
-    private void handleRoomAction(String input) {
-        try {
-            int choice = Integer.parseInt(input);
-            switch (choice) {
-                case 1 -> {
-                    if (gameState.getRoomSearches() < 3) {
-                        appendToGameText("🔍 You search the room carefully...\n");
-                        gameState.incrementRoomSearches();
-                        gameState.incrementRoom();
-                        player.recordRoomExplored();
-                        handleRoomEvent();
-                    } else {
-                        appendToGameText("👀 You've searched enough. Better move on.\n");
-                        gameState.nextLevel();
-                        player.setDungeonLevel(gameState.getLevel());
-                        handleRoomEvent();
-                    }
-                }
-                case 2 -> {
-                    appendToGameText("🚶 You move to the next room.\n");
+    private Floor currentFloor() {
+        return floors.get(gameState.getDungeonSeed(), gameState.getLevel());
+    }
+    
+    /**
+     * Event handled by {@link #handleRoomEvent()} for a room: 0 item, 1 health,
+     * 2 experience, 3 monster, 4 nothing.
+     */
+    private static int roomEvent(RoomType type) {
+        return switch (type) {
+            case TREASURE, SECRET -> 0;
+            case SPRING -> 1;
+            case SHRINE -> 2;
+            case MONSTER -> 3;
+            case EMPTY -> 4;
+        };
+    }
+    
+    /**
+     * Searching next to a secret room finds it and its better loot.
+     */
+    private void searchForSecretRoom() {
+        Room secret = currentRoom != null ? currentFloor().secretNextTo(currentRoom) : null;
+        // Already looted rooms stay empty, even after reloading an older autosave
+        if (secret == null || !gameState.getExploration().markVisited(gameState.getLevel(), secret.id())) {
+            return;
+        }
+        Item foundItem = Item.generateRandomItem(secret.lootTier());
+        appendToGameText("🗝️ A loose stone gives way... you discover a secret room!\n");
+        achievements().unlockAchievement("secret_path");
+        if (player.addItem(foundItem)) {
+            appendToGameText("✨ Hidden inside: " + foundItem.getDisplayName() + "!\n");
+        } else {
+            appendToGameText("💼 Your inventory is full! You leave " + foundItem.getName() + " behind.\n");
+        }
+    }
+    
+    private void handleRoomAction(Command command) {
+        switch (command.type()) {
+            case SEARCH -> {
+                if (gameState.getRoomSearches() < 3) {
+                    appendToGameText("🔍 You search the room carefully...\n");
+                    gameState.incrementRoomSearches();
+                    gameState.incrementRoom();
+                    player.recordRoomExplored();
+                    searchForSecretRoom();
+                    handleRoomEvent();
+                } else {
+                    appendToGameText("👀 You've searched enough. Better move on.\n");
                     gameState.nextLevel();
                     player.setDungeonLevel(gameState.getLevel());
                     handleRoomEvent();
                 }
-                case 3 -> {
-                    handleStats();
-                    continueGameplay();
-                }
-                case 4 -> showInventory();
-                default -> {
-                    appendToGameText("Please enter 1, 2, 3, or 4: ");
-                    waitingForInput = true;
-                }
             }
-        } catch (NumberFormatException e) {
-            appendToGameText("Please enter a valid number (1-4): ");
-            waitingForInput = true;
+            case MOVE -> {
+                appendToGameText("🚶 You move to the next room.\n");
+                gameState.nextLevel();
+                player.setDungeonLevel(gameState.getLevel());
+                handleRoomEvent();
+            }
+            case STATS -> {
+                handleStats();
+                continueGameplay();
+            }
+            case INVENTORY -> showInventory();
+            default -> {
+                appendToGameText("Please enter 1, 2, 3, or 4: ");
+                flow.awaitInput();
+            }
         }
     }
     
@@ -1062,7 +1278,8 @@ public class MainControllerNew implements Initializable {
         switch (event) {
             case 0 -> {
                 // Find item
-                Item foundItem = Item.generateRandomItem(gameState.getLevel());
+                int lootTier = currentRoom != null ? currentRoom.lootTier() : gameState.getLevel();
+                Item foundItem = Item.generateRandomItem(lootTier);
                 if (player.addItem(foundItem)) {
                     appendToGameText("✨ You found " + foundItem.getDisplayName() + "!\n");
                     appendToGameText("📦 " + foundItem.getDescription() + "\n");
@@ -1072,19 +1289,19 @@ public class MainControllerNew implements Initializable {
             }
             case 1 -> {
                 // Health event
-                int healthGain = 10 + (int) (Math.random() * 20);
-                int actualHealing = player.heal(healthGain);
+                int actualHealing = DungeonRules.drinkFromSpring(player, balance(), ThreadLocalRandom.current());
                 appendToGameText("❤️ You found a health spring! Restored " + actualHealing + " health.\n");
             }
             case 2 -> {
                 // Experience event
-                int expGain = 20 + gameState.getLevel() * 5;
+                int expGain = DungeonRules.shrineExperience(gameState.getLevel());
                 boolean leveledUp = player.gainExperience(expGain);
                 appendToGameText("⭐ You found ancient runes! Gained " + expGain + " experience.\n");
                 if (leveledUp) {
                     appendToGameText("🎉 LEVEL UP! You feel stronger!\n");
                 }
             }
+            default -> appendToGameText("🕸️ Nothing here but dust and cobwebs.\n");
         }
         
         syncPlayerToGameState();
@@ -1094,7 +1311,7 @@ public class MainControllerNew implements Initializable {
     
     private void encounterMonster() {
         // V4.0.0 - Enhanced monster encounter using advanced Monster system
-        audioManager.setGameStateMusic("combat");
+        audio().setGameStateMusic("combat");
         
         // Create a monster using the new factory system based on current level
         int dungeonLevel = gameState.getLevel();
@@ -1112,51 +1329,22 @@ public class MainControllerNew implements Initializable {
         
         // Show enhanced combat options
         showCombatOptions();
-        waitingForInput = true;
-        expectedInputType = "MONSTER_ACTION";
+        flow.prompt(GameFlowState.COMBAT);
         
         // Play encounter sound
-        audioManager.playEnvironmentSound("footsteps");
+        audio().playEnvironmentSound("footsteps");
     }
     
     /**
      * V4.0.0 - Create a level-appropriate monster using the new Monster system
      */
     private Monster createLevelAppropriateMonster(int dungeonLevel) {
-        // Determine monster type based on level ranges
-        if (dungeonLevel <= 3) {
-            // Early game monsters
-            return Math.random() < 0.7 ? Monster.createGoblin(dungeonLevel) : Monster.createWolf(dungeonLevel);
-        } else if (dungeonLevel <= 7) {
-            // Mid-early game monsters
-            double roll = Math.random();
-            if (roll < 0.3) return Monster.createOrc(dungeonLevel);
-            else if (roll < 0.6) return Monster.createSkeleton(dungeonLevel);
-            else return Monster.createSpider(dungeonLevel);
-        } else if (dungeonLevel <= 12) {
-            // Mid-game monsters
-            double roll = Math.random();
-            if (roll < 0.25) return Monster.createZombie(dungeonLevel);
-            else if (roll < 0.5) return Monster.createFireElemental(dungeonLevel);
-            else if (roll < 0.75) return Monster.createIceElemental(dungeonLevel);
-            else return Monster.createDemon(dungeonLevel);
-        } else {
-            // Late game - chance for boss monsters
-            if (Math.random() < 0.3) {
-                // Boss encounter!
-                return Monster.createBossMonster(dungeonLevel);
-            } else {
-                // Elite monsters
-                double roll = Math.random();
-                if (roll < 0.5) return Monster.createDemon(dungeonLevel);
-                else return Monster.createSkeleton(dungeonLevel); // Elite skeleton
-            }
-        }
+        return DungeonRules.spawnMonster(dungeonLevel, balance(), ThreadLocalRandom.current());
     }
     
-    private void handleMonsterAction(String input) {
+    private void handleMonsterAction(Command command) {
         // Use the new enhanced combat system
-        processCombatAction(input);
+        processCombatAction(command);
     }
     
     
@@ -1164,23 +1352,23 @@ public class MainControllerNew implements Initializable {
         if (!currentMonster.isAlive()) {
             // V4.0.0 - Enhanced victory handling with achievements
             appendToGameText("🏆 Victory! The " + currentMonster.getName() + " has been defeated!\n");
-            audioManager.playSound("monster_death");
+            audio().playSound("monster_death");
             
             // Reward experience and potential level up
-            int expReward = 30 + (gameState.getLevel() * 10);
+            int expReward = DungeonRules.combatExperience(gameState.getLevel());
             boolean leveledUp = player.gainExperience(expReward);
             appendToGameText("⭐ You gained " + expReward + " experience!\n");
             
             if (leveledUp) {
                 appendToGameText("🎉 LEVEL UP! You grow stronger!\n");
-                audioManager.playUISound("level_up");
-                achievementManager.checkLevelAchievements(player);
+                audio().playUISound("level_up");
+                achievements().checkLevelAchievements(player);
             }
             
             // Record kill for achievements - V4.0.0 enhanced
             player.recordMonsterKill();
-            achievementManager.checkCombatAchievements(player, currentMonster, true, false, false, 0);
-            achievementManager.checkCollectionAchievements(player);
+            achievements().checkCombatAchievements(player, currentMonster, true, false, false, 0);
+            achievements().checkCollectionAchievements(player);
             
             // Advance to next level
             gameState.nextLevel();
@@ -1194,7 +1382,7 @@ public class MainControllerNew implements Initializable {
         
         if (!player.isAlive()) {
             appendToGameText("💀 You have been defeated...\n");
-            audioManager.setGameStateMusic("game_over");
+            audio().setGameStateMusic("game_over");
             showCredits();
             isGameRunning = false;
             return;
@@ -1210,18 +1398,18 @@ public class MainControllerNew implements Initializable {
         // Enhanced combat feedback with audio
         if (playerAttackResult.result == CombatEngine.AttackResult.MISS) {
             appendToGameText("💨 Your attack misses the " + currentMonster.getName() + "!\n");
-            audioManager.playCombatSound("weapon", false, false);
+            audio().playCombatSound("weapon", false, false);
         } else if (playerAttackResult.result == CombatEngine.AttackResult.CRITICAL_HIT) {
             appendToGameText("💥 CRITICAL HIT! You deal " + playerAttackResult.damage + " damage! Monster health: " + 
                            currentMonster.getHealth() + "/" + currentMonster.getMaxHealth() + "\n");
-            audioManager.playCombatSound("weapon", true, true);
-            achievementManager.checkCombatAchievements(player, currentMonster, false, true, false, playerAttackResult.damage);
+            audio().playCombatSound("weapon", true, true);
+            achievements().checkCombatAchievements(player, currentMonster, false, true, false, playerAttackResult.damage);
         } else {
             // Normal hit or other result
             appendToGameText("⚔️ You hit for " + playerAttackResult.damage + " damage! Monster health: " + 
                            currentMonster.getHealth() + "/" + currentMonster.getMaxHealth() + "\n");
-            audioManager.playCombatSound("weapon", true, false);
-            achievementManager.checkCombatAchievements(player, currentMonster, false, false, false, playerAttackResult.damage);
+            audio().playCombatSound("weapon", true, false);
+            achievements().checkCombatAchievements(player, currentMonster, false, false, false, playerAttackResult.damage);
         }
         
         // Show combat description if available
@@ -1233,23 +1421,23 @@ public class MainControllerNew implements Initializable {
         if (!currentMonster.isAlive()) {
             // Handle victory - use early return pattern
             appendToGameText("🏆 Victory! The " + currentMonster.getName() + " has been defeated!\n");
-            audioManager.playSound("monster_death");
+            audio().playSound("monster_death");
             
             // Reward experience and potential level up
-            int expReward = 30 + (gameState.getLevel() * 10);
+            int expReward = DungeonRules.combatExperience(gameState.getLevel());
             boolean leveledUp = player.gainExperience(expReward);
             appendToGameText("⭐ You gained " + expReward + " experience!\n");
             
             if (leveledUp) {
                 appendToGameText("🎉 LEVEL UP! You grow stronger!\n");
-                audioManager.playUISound("level_up");
-                achievementManager.checkLevelAchievements(player);
+                audio().playUISound("level_up");
+                achievements().checkLevelAchievements(player);
             }
             
             // Record kill for achievements - V4.0.0 enhanced
             player.recordMonsterKill();
-            achievementManager.checkCombatAchievements(player, currentMonster, true, false, false, 0);
-            achievementManager.checkCollectionAchievements(player);
+            achievements().checkCombatAchievements(player, currentMonster, true, false, false, 0);
+            achievements().checkCollectionAchievements(player);
             
             // Advance to next level
             gameState.nextLevel();
@@ -1266,16 +1454,16 @@ public class MainControllerNew implements Initializable {
         
         if (monsterAttackResult.result == CombatEngine.AttackResult.MISS) {
             appendToGameText("🛡️ You dodge the " + currentMonster.getName() + "'s attack!\n");
-            audioManager.playSound("dodge");
-            achievementManager.checkCombatAchievements(player, currentMonster, false, false, true, 0);
+            audio().playSound("dodge");
+            achievements().checkCombatAchievements(player, currentMonster, false, false, true, 0);
         } else if (monsterAttackResult.result == CombatEngine.AttackResult.CRITICAL_HIT) {
             appendToGameText("☠️ The " + currentMonster.getName() + " lands a critical hit for " + monsterAttackResult.damage + 
                            " damage! Your health: " + player.getHealth() + "/" + player.getMaxHealth() + "\n");
-            audioManager.playSound("player_hurt");
+            audio().playSound("player_hurt");
         } else {
             appendToGameText("💢 The " + currentMonster.getName() + " hits you for " + monsterAttackResult.damage + 
                            " damage! Your health: " + player.getHealth() + "/" + player.getMaxHealth() + "\n");
-            audioManager.playSound("player_hurt");
+            audio().playSound("player_hurt");
         }
         
         // Show monster combat description if available
@@ -1295,7 +1483,7 @@ public class MainControllerNew implements Initializable {
         if (!player.isAlive()) {
             // Handle defeat - use early return pattern
             appendToGameText("💀 You have been defeated...\n");
-            audioManager.setGameStateMusic("game_over");
+            audio().setGameStateMusic("game_over");
             showCredits();
             isGameRunning = false;
             return;
@@ -1309,90 +1497,80 @@ public class MainControllerNew implements Initializable {
             appendToGameText(" 3: Cast spell (10 mana)\n");
         }
         appendToGameText("Choose 1-" + (player.getPlayerClass() == Player.PlayerClass.MAGE ? "3" : "2") + ": ");
-        waitingForInput = true;
-        expectedInputType = "COMBAT_ACTION";
+        flow.prompt(GameFlowState.COMBAT_MENU);
     }
     
-    private void handleCombatAction(String input) {
-        try {
-            int choice = Integer.parseInt(input);
-            switch (choice) {
-                case 1 -> executeCombatRound();
-                case 2 -> {
-                    if (Math.random() < 0.4) {
-                        appendToGameText("💨 You successfully escaped from combat!\n");
-                        continueGameplay();
-                    } else {
-                        appendToGameText("❌ Escape failed! Combat continues!\n");
-                        executeCombatRound();
-                    }
-                }
-                default -> {
-                    appendToGameText("Please enter 1 or 2: ");
-                    waitingForInput = true;
+    private void handleCombatAction(Command command) {
+        switch (command.value()) {
+            case 1 -> executeCombatRound();
+            case 2 -> {
+                if (Math.random() < 0.4) {
+                    appendToGameText("💨 You successfully escaped from combat!\n");
+                    continueGameplay();
+                } else {
+                    appendToGameText("❌ Escape failed! Combat continues!\n");
+                    executeCombatRound();
                 }
             }
-        } catch (NumberFormatException e) {
-            appendToGameText("Please enter a valid number (1-2): ");
-            waitingForInput = true;
+            default -> {
+                appendToGameText("Please enter 1 or 2: ");
+                flow.awaitInput();
+            }
         }
     }
     
-    private void handleInventoryAction(String input) {
-        try {
-            if (input.equalsIgnoreCase("back") || input.equalsIgnoreCase("exit")) {
-                if (currentMonster != null && currentMonster.isAlive()) {
-                    // Return to monster encounter
-                    appendToGameText("\n🤺 Back to the encounter!\n");
-                    appendToGameText(" 1: Attack\n 2: Try to run\n 3: Use item\n");
-                    appendToGameText("Choose 1-3: ");
-                    waitingForInput = true;
-                    expectedInputType = "MONSTER_ACTION";
-                } else {
-                    continueGameplay();
-                }
-                return;
-            }
-            
-            int itemIndex = Integer.parseInt(input) - 1;
-            List<Item> inventory = player.getInventory();
-            
-            if (itemIndex < 0 || itemIndex >= inventory.size()) {
-                appendToGameText("Invalid item number. Try again or type 'back': ");
-                waitingForInput = true;
-                return;
-            }
-            
-            Item selectedItem = inventory.get(itemIndex);
-            appendToGameText("\n📦 Using " + selectedItem.getName() + "...\n");
-            if (player.useItem(selectedItem.getName())) {
-                appendToGameText("✅ Item used successfully!\n");
-            } else {
-                appendToGameText("❌ Could not use item.\n");
-            }
-            
-            syncPlayerToGameState();
-            updateUI();
-            
-            // Continue based on context
-            PauseTransition pause = new PauseTransition(Duration.seconds(1.5));
+    private void handleInventoryAction(Command command) {
+        if (command.is(CommandType.BACK)) {
             if (currentMonster != null && currentMonster.isAlive()) {
-                pause.setOnFinished(e -> {
-                    appendToGameText("\n🤺 Back to the encounter!\n");
-                    appendToGameText(" 1: Attack\n 2: Try to run\n 3: Use item\n");
-                    appendToGameText("Choose 1-3: ");
-                    waitingForInput = true;
-                    expectedInputType = "MONSTER_ACTION";
-                });
+                // Return to monster encounter
+                appendToGameText("\n🤺 Back to the encounter!\n");
+                appendToGameText(" 1: Attack\n 2: Try to run\n 3: Use item\n");
+                appendToGameText("Choose 1-3: ");
+                flow.prompt(GameFlowState.COMBAT);
             } else {
-                pause.setOnFinished(e -> continueGameplay());
+                continueGameplay();
             }
-            pause.play();
-            
-        } catch (NumberFormatException e) {
+            return;
+        }
+        
+        if (!command.is(CommandType.CHOICE)) {
             appendToGameText("Please enter a valid item number or 'back': ");
-            waitingForInput = true;
+            flow.awaitInput();
+            return;
+        }
+        int itemIndex = command.value() - 1;
+        List<Item> inventory = player.getInventory();
+        
+        if (itemIndex < 0 || itemIndex >= inventory.size()) {
+            appendToGameText("Invalid item number. Try again or type 'back': ");
+            flow.awaitInput();
+            return;
+        }
+        
+        Item selectedItem = inventory.get(itemIndex);
+        appendToGameText("\n📦 Using " + selectedItem.getName() + "...\n");
+        if (DungeonRules.useItem(player, selectedItem.getName(), balance())) {
+            appendToGameText("✅ Item used successfully!\n");
+        } else {
+            appendToGameText("❌ Could not use item.\n");
         }
+        
+        syncPlayerToGameState();
+        updateUI();
+        
+        // Continue based on context
+        PauseTransition pause = new PauseTransition(Duration.seconds(1.5));
+        if (currentMonster != null && currentMonster.isAlive()) {
+            pause.setOnFinished(e -> {
+                appendToGameText("\n🤺 Back to the encounter!\n");
+                appendToGameText(" 1: Attack\n 2: Try to run\n 3: Use item\n");
+                appendToGameText("Choose 1-3: ");
+                flow.prompt(GameFlowState.COMBAT);
+            });
+        } else {
+            pause.setOnFinished(e -> continueGameplay());
+        }
+        pause.play();
     }
     
     // Legacy method - kept for compatibility
@@ -1402,8 +1580,7 @@ public class MainControllerNew implements Initializable {
         
         if (!player.getInventory().isEmpty()) {
             appendToGameText("\n🎯 Enter item number to use, or 'back' to return: ");
-            waitingForInput = true;
-            expectedInputType = "INVENTORY_ACTION";
+            flow.prompt(GameFlowState.INVENTORY);
         } else {
             // Empty inventory, return to appropriate context
             PauseTransition pause = new PauseTransition(Duration.seconds(2));
@@ -1412,8 +1589,7 @@ public class MainControllerNew implements Initializable {
                     appendToGameText("\n🤺 Back to the encounter!\n");
                     appendToGameText(" 1: Attack\n 2: Try to run\n 3: Use item\n");
                     appendToGameText("Choose 1-3: ");
-                    waitingForInput = true;
-                    expectedInputType = "MONSTER_ACTION";
+                    flow.prompt(GameFlowState.COMBAT);
                 });
             } else {
                 pause.setOnFinished(e -> continueGameplay());
@@ -1483,81 +1659,71 @@ public class MainControllerNew implements Initializable {
         player = new Player();
         gameState.resetGame();
         isGameRunning = false;
-        waitingForInput = false;
-        expectedInputType = "";
+        flow.reset();
         currentMonster = null;
-        gameTextArea.clear();
+        uiUpdates.showText("");
         displayWelcomeMessage();
         syncPlayerToGameState();
         updateUI();
     }
     
     /**
-     * Updates the UI labels with current player stats.
+     * Updates the HUD with current player stats.
      * 
-     * IMPORTANT: Always call syncPlayerToGameState() before this method
-     * to ensure GameState has the latest player stats. The UI reads from
-     * the Player object when available, but falls back to GameState if
-     * the player is not initialized (e.g., during initial UI setup).
+     * The labels and progress bars are bound to {@link #playerView} (see
+     * {@link #bindHud()}); a refresh only copies the player's stats into it, and
+     * controls whose values did not change are left untouched.
      */
     private void updateUI() {
-        if (player != null) {
-            // Update text labels
-            healthLabel.setText("❤ Health: " + player.getHealth());
-            defenseLabel.setText("🛡 Defense: " + player.getDefense());
-            attackLabel.setText("⚔ Attack: " + player.getAttack());
-            levelLabel.setText("📈 Level: " + player.getLevel());
-            
-            // V4.0.0 - Update progress bars
-            if (healthProgressBar != null) {
-                double healthPercent = (double) player.getHealth() / player.getMaxHealth();
-                healthProgressBar.setProgress(Math.max(0.0, Math.min(1.0, healthPercent)));
-            }
-            
-            if (manaProgressBar != null && player.getMaxMana() > 0) {
-                double manaPercent = (double) player.getMana() / player.getMaxMana();
-                manaProgressBar.setProgress(Math.max(0.0, Math.min(1.0, manaPercent)));
-            }
-            
-            if (experienceProgressBar != null && player.getExperienceToNextLevel() > 0) {
-                double expPercent = (double) player.getExperience() / player.getExperienceToNextLevel();
-                experienceProgressBar.setProgress(Math.max(0.0, Math.min(1.0, expPercent)));
-            }
-            
-            // V4.0.0 - Update additional stat labels
-            if (manaLabel != null) {
-                manaLabel.setText("💙 Mana: " + player.getMana());
-            }
-            if (agilityLabel != null) {
-                agilityLabel.setText("⚡ Agility: " + player.getAgility());
-            }
-            if (luckLabel != null) {
-                luckLabel.setText("🍀 Luck: " + player.getLuck());
-            }
-            if (accuracyLabel != null) {
-                // Calculate accuracy percentage
-                double accuracy = 0.85 + (player.getAgility() * 0.002);
-                int accuracyPercent = (int)(accuracy * 100);
-                accuracyLabel.setText("🎯 Accuracy: " + accuracyPercent + "%");
-            }
-            
-            // Add visual feedback for low health
-            if (player.getHealth() <= player.getMaxHealth() * 0.25) {
-                healthLabel.getStyleClass().add("low-health");
-            } else {
-                healthLabel.getStyleClass().remove("low-health");
-            }
-        } else {
-            // Fallback to GameState (only used during initialization)
-            healthLabel.setText("❤ Health: " + gameState.getHealth());
-            defenseLabel.setText("🛡 Defense: " + gameState.getDefense());
-            attackLabel.setText("⚔ Attack: " + gameState.getAttack());
-            levelLabel.setText("📈 Level: " + gameState.getLevel());
-            
-            // Set progress bars to default values when no player
-            if (healthProgressBar != null) healthProgressBar.setProgress(1.0);
-            if (manaProgressBar != null) manaProgressBar.setProgress(1.0);
-            if (experienceProgressBar != null) experienceProgressBar.setProgress(0.0);
+        uiUpdates.post(STATS_REFRESH, this::refreshStatsDisplay);
+    }
+    
+    /**
+     * Copy player stats into the HUD view model. Runs at most once per frame
+     * via {@link #updateUI()}.
+     */
+    private void refreshStatsDisplay() {
+        playerView.sync(player);
+    }
+    
+    /**
+     * Bind the stat labels and progress bars to the player view model once.
+     */
+    private void bindHud() {
+        if (healthLabel != null) {
+            healthLabel.textProperty().bind(Bindings.concat("❤ Health: ", playerView.healthProperty()));
+            gameproject.ui.PlayerViewModel.bindStyleClass(healthLabel, "low-health", playerView.lowHealthBinding());
+        }
+        if (defenseLabel != null) {
+            defenseLabel.textProperty().bind(Bindings.concat("🛡 Defense: ", playerView.defenseProperty()));
+        }
+        if (attackLabel != null) {
+            attackLabel.textProperty().bind(Bindings.concat("⚔ Attack: ", playerView.attackProperty()));
+        }
+        if (levelLabel != null) {
+            levelLabel.textProperty().bind(Bindings.concat("📈 Level: ", playerView.levelProperty()));
+        }
+        if (manaLabel != null) {
+            manaLabel.textProperty().bind(Bindings.concat("💙 Mana: ", playerView.manaProperty()));
+        }
+        if (agilityLabel != null) {
+            agilityLabel.textProperty().bind(Bindings.concat("⚡ Agility: ", playerView.agilityProperty()));
+        }
+        if (luckLabel != null) {
+            luckLabel.textProperty().bind(Bindings.concat("🍀 Luck: ", playerView.luckProperty()));
+        }
+        if (accuracyLabel != null) {
+            accuracyLabel.textProperty().bind(
+                Bindings.concat("🎯 Accuracy: ", playerView.accuracyPercentBinding(), "%"));
+        }
+        if (healthProgressBar != null) {
+            healthProgressBar.progressProperty().bind(playerView.healthFractionBinding());
+        }
+        if (manaProgressBar != null) {
+            manaProgressBar.progressProperty().bind(playerView.manaFractionBinding());
+        }
+        if (experienceProgressBar != null) {
+            experienceProgressBar.progressProperty().bind(playerView.experienceFractionBinding());
         }
     }
     
@@ -1568,13 +1734,7 @@ public class MainControllerNew implements Initializable {
      * @param text The text to display
      */
     private void showGameText(String text) {
-        Platform.runLater(() -> {
-            gameTextArea.setEditable(false);
-            gameTextArea.setWrapText(true);
-            gameTextArea.clear();
-            gameTextArea.setText(text);
-            gameTextArea.positionCaret(0); // ensure top visible
-        });
+        uiUpdates.showText(text);
     }
     
     
@@ -1588,9 +1748,38 @@ public class MainControllerNew implements Initializable {
     @Deprecated
     private void appendToGameText(String text) {
         // For now, accumulate text for gradual transition
-        Platform.runLater(() -> {
-            gameTextArea.appendText(text);
-        });
+        uiUpdates.appendText(text);
+    }
+    
+    /**
+     * Present a batch of achievements unlocked within the same frame.
+     * A single unlock gets the detailed notification; a burst collapses into one toast.
+     * 
+     * @param batch Achievements drained from the event queue, oldest first
+     */
+    private void showAchievementNotifications(List<Achievement> batch) {
+        if (batch.size() == 1) {
+            showAchievementNotification(batch.get(0));
+            return;
+        }
+        
+        StringBuilder names = new StringBuilder();
+        for (Achievement achievement : batch) {
+            names.append(achievement.getIcon()).append(" ").append(achievement.getName()).append("\n");
+        }
+        showNotification("🏆 " + batch.size() + " Achievements Unlocked!", names.toString().trim(), "INFORMATION");
+        
+        if (achievementNotificationArea != null && achievementNameLabel != null && achievementDescLabel != null) {
+            achievementNameLabel.setText("🏆 " + batch.size() + " Achievements Unlocked!");
+            achievementDescLabel.setText(names.toString().trim().replace("\n", ", "));
+            showAchievementNotificationArea();
+        } else {
+            appendToGameText("\n🎉 " + batch.size() + " ACHIEVEMENTS UNLOCKED! 🎉\n");
+            appendToGameText(names.toString());
+        }
+        
+        audio().playUISound("achievement");
+        updateStatus("Achievements: " + batch.size() + " unlocked");
     }
     
     /**
@@ -1613,19 +1802,7 @@ public class MainControllerNew implements Initializable {
                                         achievement.getRarity().getName() + " (" + 
                                         achievement.getRarity().getPointValue() + " points)");
             
-            // Show notification area
-            achievementNotificationArea.setVisible(true);
-            achievementNotificationArea.setManaged(true);
-            
-            // Auto-hide after 5 seconds
-            PauseTransition autoHide = new PauseTransition(Duration.seconds(5));
-            autoHide.setOnFinished(e -> {
-                if (achievementNotificationArea != null) {
-                    achievementNotificationArea.setVisible(false);
-                    achievementNotificationArea.setManaged(false);
-                }
-            });
-            autoHide.play();
+            showAchievementNotificationArea();
         } else {
             // Fallback to text display if UI components not available
             appendToGameText("\n🎉 ACHIEVEMENT UNLOCKED! 🎉\n");
@@ -1634,10 +1811,27 @@ public class MainControllerNew implements Initializable {
         }
         
         // Play achievement sound
-        audioManager.playUISound("achievement");
+        audio().playUISound("achievement");
         updateStatus("Achievement: " + achievement.getName());
     }
     
+    /**
+     * Show the in-game achievement area and auto-hide it after 5 seconds.
+     */
+    private void showAchievementNotificationArea() {
+        achievementNotificationArea.setVisible(true);
+        achievementNotificationArea.setManaged(true);
+        
+        PauseTransition autoHide = new PauseTransition(Duration.seconds(5));
+        autoHide.setOnFinished(e -> {
+            if (achievementNotificationArea != null) {
+                achievementNotificationArea.setVisible(false);
+                achievementNotificationArea.setManaged(false);
+            }
+        });
+        autoHide.play();
+    }
+    
     /**
      * Handles quick-use command for items (Feature 3 - v3.1.0).
      * Allows using items during exploration or combat with "use <item>" command.
@@ -1646,7 +1840,7 @@ public class MainControllerNew implements Initializable {
      */
     private void handleQuickUse(String itemName) {
         // Use player's existing useItem method
-        boolean success = player.useItem(itemName);
+        boolean success = DungeonRules.useItem(player, itemName, balance());
         
         if (!success) {
             StringBuilder message = new StringBuilder();
@@ -1668,7 +1862,7 @@ public class MainControllerNew implements Initializable {
             autoSave();
         }
         
-        waitingForInput = true;
+        flow.awaitInput();
     }
     
     /**
@@ -1732,21 +1926,17 @@ public class MainControllerNew implements Initializable {
     /**
      * Enhanced combat action processing with new attack types.
      */
-    private void processCombatAction(String action) {
-        switch (action.toLowerCase()) {
-            case "1":
-            case "attack":
+    private void processCombatAction(Command command) {
+        switch (command.type()) {
+            case ATTACK:
                 showCombatAnimation("attack", true);
                 performPlayerAttack(CombatEngine.AttackType.NORMAL_ATTACK);
                 break;
-            case "2":
-            case "defend":
+            case DEFEND:
                 showCombatAnimation("defend", true);
                 performPlayerAttack(CombatEngine.AttackType.DEFENSIVE_STANCE);
                 break;
-            case "3":
-            case "heavy attack":
-            case "heavy":
+            case HEAVY:
                 if (player.getMana() >= 10) {
                     showCombatAnimation("heavy_attack", true);
                     // Consume mana for heavy attack
@@ -1760,20 +1950,14 @@ public class MainControllerNew implements Initializable {
                     showCombatOptions();
                 }
                 break;
-            case "4":
-            case "quick":
-            case "quick attack":
+            case QUICK:
                 showCombatAnimation("attack", true);
                 performPlayerAttack(CombatEngine.AttackType.QUICK_ATTACK);
                 break;
-            case "5":
-            case "item":
-            case "use item":
+            case ITEM:
                 useItemInCombat();
                 break;
-            case "6":
-            case "run":
-            case "flee":
+            case RUN:
                 attemptToRun();
                 break;
             default:
@@ -1803,7 +1987,7 @@ public class MainControllerNew implements Initializable {
         if (player.getHealth() <= 0) {
             appendToGameText("💀 You have been defeated!\n");
             appendToGameText("🔄 Game Over - Use 'Reset' to try again.\n");
-            waitingForInput = false;
+            flow.moveTo(GameFlowState.GAME_OVER);
         } else if (currentMonster.getHealth() <= 0) {
             appendToGameText("🎉 You defeated the " + currentMonster.getName() + "!\n");
             
@@ -1824,14 +2008,14 @@ public class MainControllerNew implements Initializable {
                 // Heal player to full health on level up (using existing healing method)
                 player.heal(player.getMaxHealth());
                 appendToGameText("🎊 LEVEL UP! You are now level " + player.getLevel() + "!\n");
-                audioManager.playUISound("level_up");
+                audio().playUISound("level_up");
             }
             
             // Achievement tracking (simplified)
             // achievementManager tracks combat victories automatically
             
             currentMonster = null;
-            waitingForInput = true;
+            flow.prompt(GameFlowState.EXPLORING);
             appendToGameText("\nYou continue exploring the dungeon...\n");
             appendToGameText("Enter command: ");
         } else {
@@ -1849,27 +2033,27 @@ public class MainControllerNew implements Initializable {
             switch (result.result) {
                 case MISS:
                     appendToGameText("💨 Your attack misses!\n");
-                    audioManager.playCombatSound("miss", false, false);
+                    audio().playCombatSound("miss", false, false);
                     break;
                 case HIT:
                     appendToGameText("⚔️ You hit for " + result.damage + " damage!\n");
-                    audioManager.playCombatSound("hit", false, false);
+                    audio().playCombatSound("hit", false, false);
                     break;
                 case CRITICAL_HIT:
                     appendToGameText("✨💥 CRITICAL HIT! You deal " + result.damage + " damage!\n");
-                    audioManager.playCombatSound("critical", false, false);
+                    audio().playCombatSound("critical", false, false);
                     break;
                 case BLOCKED:
                     appendToGameText("🛡️ Your attack was blocked! Only " + result.damage + " damage dealt.\n");
-                    audioManager.playCombatSound("block", false, false);
+                    audio().playCombatSound("block", false, false);
                     break;
                 case PARRIED:
                     appendToGameText("⚡ Your attack was parried! " + result.damage + " damage dealt.\n");
-                    audioManager.playCombatSound("parry", false, false);
+                    audio().playCombatSound("parry", false, false);
                     break;
                 case COUNTERED:
                     appendToGameText("🔄 Your attack was countered! You take " + result.damage + " damage!\n");
-                    audioManager.playCombatSound("counter", false, false);
+                    audio().playCombatSound("counter", false, false);
                     break;
             }
         } else {
@@ -1877,27 +2061,27 @@ public class MainControllerNew implements Initializable {
             switch (result.result) {
                 case MISS:
                     appendToGameText("💨 The " + currentMonster.getName() + " misses!\n");
-                    audioManager.playCombatSound("miss", false, false);
+                    audio().playCombatSound("miss", false, false);
                     break;
                 case HIT:
                     appendToGameText("💔 The " + currentMonster.getName() + " hits you for " + result.damage + " damage!\n");
-                    audioManager.playCombatSound("hit", false, false);
+                    audio().playCombatSound("hit", false, false);
                     break;
                 case CRITICAL_HIT:
                     appendToGameText("💀 The " + currentMonster.getName() + " scores a critical hit for " + result.damage + " damage!\n");
-                    audioManager.playCombatSound("critical", false, false);
+                    audio().playCombatSound("critical", false, false);
                     break;
                 case BLOCKED:
                     appendToGameText("🛡️ You partially block the attack! " + result.damage + " damage taken.\n");
-                    audioManager.playCombatSound("block", false, false);
+                    audio().playCombatSound("block", false, false);
                     break;
                 case PARRIED:
                     appendToGameText("⚡ You parry the attack! " + result.damage + " damage taken.\n");
-                    audioManager.playCombatSound("parry", false, false);
+                    audio().playCombatSound("parry", false, false);
                     break;
                 case COUNTERED:
                     appendToGameText("🔄 You counter the attack! The " + currentMonster.getName() + " takes " + result.damage + " damage!\n");
-                    audioManager.playCombatSound("counter", false, false);
+                    audio().playCombatSound("counter", false, false);
                     break;
             }
         }
@@ -2159,7 +2343,7 @@ public class MainControllerNew implements Initializable {
             masterVol.setValue(settings.masterVolume);
             masterVol.valueProperty().addListener((obs, oldVal, newVal) -> {
                 settings.masterVolume = newVal.doubleValue();
-                audioManager.setMasterVolume(settings.masterVolume);
+                audio().setMasterVolume(settings.masterVolume);
                 if (masterVolLabel != null) {
                     masterVolLabel.setText((int)(newVal.doubleValue() * 100) + "%");
                 }
@@ -2172,7 +2356,7 @@ public class MainControllerNew implements Initializable {
             musicVol.setValue(settings.musicVolume);
             musicVol.valueProperty().addListener((obs, oldVal, newVal) -> {
                 settings.musicVolume = newVal.doubleValue();
-                audioManager.setMusicVolume(settings.musicVolume);
+                audio().setMusicVolume(settings.musicVolume);
                 if (musicVolLabel != null) {
                     musicVolLabel.setText((int)(newVal.doubleValue() * 100) + "%");
                 }
@@ -2185,7 +2369,7 @@ public class MainControllerNew implements Initializable {
             sfxVol.setValue(settings.sfxVolume);
             sfxVol.valueProperty().addListener((obs, oldVal, newVal) -> {
                 settings.sfxVolume = newVal.doubleValue();
-                audioManager.setSoundVolume(settings.sfxVolume);
+                audio().setSoundVolume(settings.sfxVolume);
                 if (sfxVolLabel != null) {
                     sfxVolLabel.setText((int)(newVal.doubleValue() * 100) + "%");
                 }
@@ -2343,7 +2527,7 @@ public class MainControllerNew implements Initializable {
     public void showMainMenu() {
         if (uiRouter != null) {
             uiRouter.navigateTo("MainMenu");
-            audioManager.setGameStateMusic("menu");
+            audio().setGameStateMusic("menu");
         }
     }
     
@@ -2369,7 +2553,7 @@ public class MainControllerNew implements Initializable {
         
         if (uiRouter != null) {
             uiRouter.navigateTo("GameHUD");
-            audioManager.setGameStateMusic("dungeon");
+            audio().setGameStateMusic("dungeon");
         }
         
         startGameplay();
@@ -2389,7 +2573,7 @@ public class MainControllerNew implements Initializable {
         loadSavedGame();
         if (isGameRunning && uiRouter != null) {
             uiRouter.navigateTo("GameHUD");
-            audioManager.setGameStateMusic("dungeon");
+            audio().setGameStateMusic("dungeon");
         }
     }
     
@@ -2486,6 +2670,9 @@ public class MainControllerNew implements Initializable {
      * Handle quit action.
      */
     public void handleQuit() {
+        if (gameLogView != null) {
+            gameLogView.getLog().closeSpill();
+        }
         javafx.application.Platform.exit();
     }
     
@@ -2494,7 +2681,7 @@ public class MainControllerNew implements Initializable {
      */
     public void performCombatAction(String action) {
         if (currentMonster != null && currentMonster.isAlive()) {
-            processCombatAction(action.toLowerCase());
+            processCombatAction(CommandParser.parse(action, CommandTable.COMBAT));
         }
     }
     
@@ -2519,8 +2706,12 @@ public class MainControllerNew implements Initializable {
         private int room = 0;
         private int roomSearches = 0;
         private int currentEvent = 0;
+        private long dungeonSeed = newDungeonSeed();
+        private Exploration exploration = new Exploration();
         
         public void resetGame() {
+            dungeonSeed = newDungeonSeed();
+            exploration = new Exploration();
             health = 100;
             defense = 1;
             attack = 1;
@@ -2552,5 +2743,18 @@ public class MainControllerNew implements Initializable {
         public int getRoomSearches() { return roomSearches; }
         public int getCurrentEvent() { return currentEvent; }
         public void setCurrentEvent(int event) { this.currentEvent = event; }
+        public long getDungeonSeed() { return dungeonSeed; }
+        public void setDungeonSeed(long dungeonSeed) { this.dungeonSeed = dungeonSeed; }
+        public Exploration getExploration() { return exploration; }
+        public void setExploration(Exploration exploration) { this.exploration = exploration; }
+        
+        // 0 marks saves without a seed, so never hand it out
+        private static long newDungeonSeed() {
+            long seed;
+            do {
+                seed = ThreadLocalRandom.current().nextLong();
+            } while (seed == 0);
+            return seed;
+        }
     }
 }
\ No newline at end of file
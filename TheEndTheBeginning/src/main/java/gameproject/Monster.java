@@ -1,6 +1,7 @@
 package gameproject;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import gameproject.combat.CombatEngine;
 
 /**
@@ -118,9 +119,29 @@ public class Monster {
         return health > 0;
     }
     
+    /**
+     * A fresh copy of this monster with health and attack multiplied, as a
+     * difficulty setting would (see {@link Balance.Profile})
+     */
+    public Monster scaled(double healthMultiplier, double attackMultiplier) {
+        return new Monster(name, type, family,
+            Math.max(1, (int) Math.round(maxHealth * healthMultiplier)),
+            Math.max(1, (int) Math.round(baseAttack * attackMultiplier)),
+            defense, agility, accuracy, specialAbilities,
+            specialAttackChance, specialAttackMultiplier, behavior);
+    }
+    
     public int calculateDamage() {
+        return calculateDamage(ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Rolls this monster's damage with the caller's RNG, so seeded sessions and
+     * simulations stay reproducible
+     */
+    public int calculateDamage(Random random) {
         // Base damage with some randomness
-        int baseDamage = baseAttack + (int)(Math.random() * (baseAttack / 2));
+        int baseDamage = baseAttack + (int)(random.nextDouble() * (baseAttack / 2));
         
         // Apply status effect modifiers
         if (hasStatusEffect(CombatEngine.StatusEffect.RAGE)) {
@@ -137,6 +158,10 @@ public class Monster {
      * Determines if monster uses special attack this turn
      */
     public boolean useSpecialAttack() {
+        return useSpecialAttack(ThreadLocalRandom.current());
+    }
+    
+    public boolean useSpecialAttack(Random random) {
         turnsInCombat++;
         
         if (specialAttackCooldown > 0) {
@@ -161,7 +186,7 @@ public class Monster {
             adjustedChance += 0.2;
         }
         
-        boolean willUseSpecial = Math.random() < adjustedChance;
+        boolean willUseSpecial = random.nextDouble() < adjustedChance;
         if (willUseSpecial) {
             specialAttackCooldown = maxSpecialCooldown;
         }
@@ -174,16 +199,24 @@ public class Monster {
     }
     
     public String getSpecialAbility() {
+        return getSpecialAbility(ThreadLocalRandom.current());
+    }
+    
+    public String getSpecialAbility(Random random) {
         if (specialAbilities == null || specialAbilities.length == 0) {
             return "Strike";
         }
-        return specialAbilities[(int)(Math.random() * specialAbilities.length)];
+        return specialAbilities[random.nextInt(specialAbilities.length)];
     }
     
     public List<CombatEngine.StatusEffect> getSpecialAttackEffects() {
+        return getSpecialAttackEffects(ThreadLocalRandom.current());
+    }
+    
+    public List<CombatEngine.StatusEffect> getSpecialAttackEffects(Random random) {
         List<CombatEngine.StatusEffect> effects = new ArrayList<>();
         
-        String ability = getSpecialAbility();
+        String ability = getSpecialAbility(random);
         switch (ability) {
             case "Poison Bite":
                 effects.add(CombatEngine.StatusEffect.POISON);
@@ -375,6 +408,42 @@ public class Monster {
                          abilities, 0.6, 3.0, behavior);
     }
     
+    /**
+     * Create a monster for an explored dungeon floor using the caller's RNG.
+     * Early floors favour goblins and wolves; from floor 13 on there is a
+     * 30% chance of a boss encounter.
+     * 
+     * @param dungeonLevel Current dungeon floor
+     * @param rng Random source owned by the caller (session or simulation)
+     * @return A new level-scaled monster
+     */
+    public static Monster createForDungeonLevel(int dungeonLevel, java.util.Random rng) {
+        if (dungeonLevel <= 3) {
+            // Early game monsters
+            return rng.nextDouble() < 0.7 ? createGoblin(dungeonLevel) : createWolf(dungeonLevel);
+        } else if (dungeonLevel <= 7) {
+            // Mid-early game monsters
+            double roll = rng.nextDouble();
+            if (roll < 0.3) return createOrc(dungeonLevel);
+            else if (roll < 0.6) return createSkeleton(dungeonLevel);
+            else return createSpider(dungeonLevel);
+        } else if (dungeonLevel <= 12) {
+            // Mid-game monsters
+            double roll = rng.nextDouble();
+            if (roll < 0.25) return createZombie(dungeonLevel);
+            else if (roll < 0.5) return createFireElemental(dungeonLevel);
+            else if (roll < 0.75) return createIceElemental(dungeonLevel);
+            else return createDemon(dungeonLevel);
+        } else {
+            // Late game - chance for boss monsters
+            if (rng.nextDouble() < 0.3) {
+                return createBossMonster(dungeonLevel);
+            }
+            // Elite monsters
+            return rng.nextDouble() < 0.5 ? createDemon(dungeonLevel) : createSkeleton(dungeonLevel);
+        }
+    }
+    
     /**
      * Factory method to create appropriate monster for given level
      */
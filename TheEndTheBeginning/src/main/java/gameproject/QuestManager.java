@@ -3,6 +3,8 @@ package gameproject;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import gameproject.stats.events.QuestProgressEvent;
+
 /**
  * QuestManager handles all quest-related functionality including branching storylines,
  * dynamic objectives, and quest tracking for The End The Beginning game.
@@ -117,6 +119,45 @@ public class QuestManager {
             this.currentNarrative = description;
         }
         
+        /**
+         * Per-session copy of a shared quest definition. Text, prerequisites,
+         * follow-ups and the reward are shared (read-only); status, narrative,
+         * quest data and objective progress are fresh.
+         */
+        Quest(Quest definition) {
+            this.questId = definition.questId;
+            this.title = definition.title;
+            this.description = definition.description;
+            this.type = definition.type;
+            this.difficulty = definition.difficulty;
+            this.status = definition.status;
+            this.prerequisites = Collections.unmodifiableList(definition.prerequisites);
+            this.objectives = new ArrayList<>(definition.objectives.size());
+            for (QuestObjective objective : definition.objectives) {
+                this.objectives.add(new QuestObjective(objective));
+            }
+            this.reward = definition.reward;
+            this.questData = new HashMap<>();
+            this.followUpQuests = Collections.unmodifiableList(definition.followUpQuests);
+            this.completionProgress = 0;
+            this.currentNarrative = definition.description;
+        }
+        
+        /**
+         * Return to the definition's initial state without reallocating.
+         */
+        void reset(QuestStatus initialStatus) {
+            status = initialStatus;
+            completionProgress = 0;
+            currentNarrative = description;
+            if (!questData.isEmpty()) {
+                questData.clear();
+            }
+            for (QuestObjective objective : objectives) {
+                objective.reset();
+            }
+        }
+        
         // Getters and setters
         public String getQuestId() { return questId; }
         public String getTitle() { return title; }
@@ -180,6 +221,19 @@ public class QuestManager {
             this.objectiveData = new HashMap<>();
         }
         
+        QuestObjective(QuestObjective definition) {
+            this(definition.objectiveId, definition.description, definition.targetType,
+                 definition.targetId, definition.requiredAmount);
+        }
+        
+        void reset() {
+            currentAmount = 0;
+            completed = false;
+            if (!objectiveData.isEmpty()) {
+                objectiveData.clear();
+            }
+        }
+        
         // Getters and setters
         public String getObjectiveId() { return objectiveId; }
         public String getDescription() { return description; }
@@ -252,50 +306,107 @@ public class QuestManager {
     
     // ===== MANAGER INSTANCE =====
     
-    private static QuestManager instance;
+    private static final String FIRST_MAIN_QUEST_ID = "main_001";
+    
+    /** Generated quests kept; the oldest inactive ones are dropped beyond this */
+    public static final int MAX_DYNAMIC_QUESTS = 20;
+    private static final List<String> MAIN_QUEST_CHAIN = 
+        List.of("main_001", "main_002", "main_003a", "main_003b");
+    
     private final Map<String, Quest> allQuests;
     private final Map<String, Quest> activeQuests;
     private final Map<String, Quest> completedQuests;
     private final List<String> questChain;
+    private final Deque<String> dynamicQuestIds = new ArrayDeque<>(); // oldest first
     private String currentMainQuestId;
     private final Random questRandom;
+    private int dynamicQuestCounter;
+    private volatile boolean consoleLogging = true;
+    
+    /**
+     * Quest definitions, built once per JVM. Managers copy only the mutable
+     * parts (status and objective progress) from these templates.
+     */
+    private static final class Definitions {
+        static final Map<String, Quest> QUESTS = buildDefinitions();
+    }
     
-    private QuestManager() {
-        this.allQuests = new HashMap<>();
+    /**
+     * Create a manager with its own quest progress.
+     * Cheap: quest text, rewards and structure are shared with every other instance.
+     */
+    public QuestManager() {
+        this.allQuests = new HashMap<>(Definitions.QUESTS.size() * 2);
         this.activeQuests = new HashMap<>();
         this.completedQuests = new HashMap<>();
-        this.questChain = new ArrayList<>();
+        this.questChain = MAIN_QUEST_CHAIN;
         this.questRandom = new Random();
-        initializeQuests();
+        this.currentMainQuestId = FIRST_MAIN_QUEST_ID;
+        for (Quest definition : Definitions.QUESTS.values()) {
+            allQuests.put(definition.getQuestId(), new Quest(definition));
+        }
     }
     
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class Holder {
+        private static final QuestManager INSTANCE = new QuestManager();
+    }
+    
+    /**
+     * The desktop game's process-wide manager. Sessions and simulations should
+     * own their own instance (see gameproject.GameContext) instead.
+     */
     public static QuestManager getInstance() {
-        if (instance == null) {
-            instance = new QuestManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Return every quest to its initial state and drop generated quests.
+     * Reuses the existing quest objects, so no definitions are copied again.
+     */
+    public void reset() {
+        allQuests.keySet().removeIf(questId -> !Definitions.QUESTS.containsKey(questId));
+        for (Quest quest : allQuests.values()) {
+            quest.reset(Definitions.QUESTS.get(quest.getQuestId()).getStatus());
+        }
+        activeQuests.clear();
+        completedQuests.clear();
+        currentMainQuestId = FIRST_MAIN_QUEST_ID;
+        dynamicQuestIds.clear();
+        dynamicQuestCounter = 0;
+    }
+    
+    /**
+     * Enable or disable reward printing on quest completion (off for headless sessions)
+     */
+    public void setConsoleLogging(boolean enabled) {
+        this.consoleLogging = enabled;
     }
     
     // ===== QUEST MANAGEMENT METHODS =====
     
     /**
-     * Initialize all game quests with branching storylines
+     * Build all game quest definitions with branching storylines
      */
-    private void initializeQuests() {
+    private static Map<String, Quest> buildDefinitions() {
+        Map<String, Quest> quests = new LinkedHashMap<>();
+        
         // Main Story Quests
-        createMainStoryQuests();
+        createMainStoryQuests(quests);
         
         // Side Quests
-        createSideQuests();
+        createSideQuests(quests);
         
         // Daily Challenges
-        createDailyChallenges();
+        createDailyChallenges(quests);
         
         // Special Quests
-        createSpecialQuests();
+        createSpecialQuests(quests);
+        
+        return Collections.unmodifiableMap(quests);
     }
     
-    private void createMainStoryQuests() {
+    private static void createMainStoryQuests(Map<String, Quest> quests) {
         // Chapter 1: The Escape Begins
         Quest escapeQuest = new Quest("main_001", "The Great Escape", 
             "You awaken in a dark dungeon. Find a way to escape before the guards return.",
@@ -338,16 +449,13 @@ public class QuestManager {
         combatQuest.addObjective(new QuestObjective("obj_005b", "Defeat the arena champion", "combat", "champion", 1));
         combatQuest.addObjective(new QuestObjective("obj_006b", "Survive the trials", "survive", "arena_trials", 5));
         
-        allQuests.put(escapeQuest.getQuestId(), escapeQuest);
-        allQuests.put(surfaceQuest.getQuestId(), surfaceQuest);
-        allQuests.put(peacefulQuest.getQuestId(), peacefulQuest);
-        allQuests.put(combatQuest.getQuestId(), combatQuest);
-        
-        questChain.addAll(Arrays.asList("main_001", "main_002", "main_003a", "main_003b"));
-        currentMainQuestId = "main_001";
+        quests.put(escapeQuest.getQuestId(), escapeQuest);
+        quests.put(surfaceQuest.getQuestId(), surfaceQuest);
+        quests.put(peacefulQuest.getQuestId(), peacefulQuest);
+        quests.put(combatQuest.getQuestId(), combatQuest);
     }
     
-    private void createSideQuests() {
+    private static void createSideQuests(Map<String, Quest> quests) {
         // Exploration Side Quest
         Quest treasureHunt = new Quest("side_001", "Lost Treasure", 
             "Rumors speak of a hidden treasure somewhere in the ancient ruins.",
@@ -382,12 +490,12 @@ public class QuestManager {
         herbGathering.getReward().addItemReward("healing_potion");
         herbGathering.getReward().addItemReward("mana_potion");
         
-        allQuests.put(treasureHunt.getQuestId(), treasureHunt);
-        allQuests.put(monsterHunt.getQuestId(), monsterHunt);
-        allQuests.put(herbGathering.getQuestId(), herbGathering);
+        quests.put(treasureHunt.getQuestId(), treasureHunt);
+        quests.put(monsterHunt.getQuestId(), monsterHunt);
+        quests.put(herbGathering.getQuestId(), herbGathering);
     }
     
-    private void createDailyChallenges() {
+    private static void createDailyChallenges(Map<String, Quest> quests) {
         // Daily Combat Challenge
         Quest dailyCombat = new Quest("daily_001", "Daily Combat Trial", 
             "Test your combat skills against randomly selected opponents.",
@@ -406,11 +514,11 @@ public class QuestManager {
         dailyExplore.addObjective(new QuestObjective("obj_d002", "Explore new areas", "explore", "new_areas", 2));
         dailyExplore.getReward().addItemReward("explorer_token");
         
-        allQuests.put(dailyCombat.getQuestId(), dailyCombat);
-        allQuests.put(dailyExplore.getQuestId(), dailyExplore);
+        quests.put(dailyCombat.getQuestId(), dailyCombat);
+        quests.put(dailyExplore.getQuestId(), dailyExplore);
     }
     
-    private void createSpecialQuests() {
+    private static void createSpecialQuests(Map<String, Quest> quests) {
         // Boss Hunt
         Quest dragonSlayer = new Quest("special_001", "The Ancient Dragon", 
             "An ancient dragon has awakened and threatens the entire realm. Only the bravest dare to face it.",
@@ -425,7 +533,7 @@ public class QuestManager {
         dragonSlayer.getReward().addItemReward("dragonbane_sword");
         dragonSlayer.getReward().addStatBonus("all_stats", 10);
         
-        allQuests.put(dragonSlayer.getQuestId(), dragonSlayer);
+        quests.put(dragonSlayer.getQuestId(), dragonSlayer);
     }
     
     // ===== QUEST OPERATION METHODS =====
@@ -454,11 +562,18 @@ public class QuestManager {
      * Update quest progress based on game actions
      */
     public void updateQuestProgress(String actionType, String targetId, int amount) {
-        for (Quest quest : activeQuests.values()) {
+        QuestProgressEvent event = new QuestProgressEvent();
+        event.begin();
+        int questsChecked = 0;
+        int objectivesUpdated = 0;
+        // Iterate a copy: completing a quest removes it from activeQuests
+        for (Quest quest : new ArrayList<>(activeQuests.values())) {
+            questsChecked++;
             for (QuestObjective objective : quest.getObjectives()) {
                 if (objective.getTargetType().equals(actionType) && 
                     (objective.getTargetId().equals(targetId) || objective.getTargetId().equals("any"))) {
                     objective.incrementProgress(amount);
+                    objectivesUpdated++;
                     
                     if (objective.isCompleted()) {
                         checkQuestCompletion(quest);
@@ -466,6 +581,15 @@ public class QuestManager {
                 }
             }
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = actionType;
+            event.target = targetId;
+            event.amount = amount;
+            event.questsChecked = questsChecked;
+            event.objectivesUpdated = objectivesUpdated;
+            event.commit();
+        }
     }
     
     /**
@@ -506,6 +630,9 @@ public class QuestManager {
      * Give quest rewards to the player
      */
     private void giveQuestRewards(Quest quest) {
+        if (!consoleLogging) {
+            return;
+        }
         QuestReward reward = quest.getReward();
         
         // Award experience and gold
@@ -535,6 +662,13 @@ public class QuestManager {
         return allQuests.get(questId);
     }
     
+    /**
+     * Quests known to this manager, generated ones included.
+     */
+    public int getQuestCount() {
+        return allQuests.size();
+    }
+    
     public boolean isQuestCompleted(String questId) {
         return completedQuests.containsKey(questId);
     }
@@ -593,7 +727,7 @@ public class QuestManager {
         QuestType[] dynamicTypes = {QuestType.COMBAT_TRIAL, QuestType.EXPLORATION, QuestType.COLLECTION};
         QuestType selectedType = dynamicTypes[questRandom.nextInt(dynamicTypes.length)];
         
-        String questId = "dynamic_" + System.currentTimeMillis();
+        String questId = "dynamic_" + (++dynamicQuestCounter);
         String title = "Dynamic " + selectedType.getDisplayName();
         String description = "A dynamically generated quest tailored to your current progress.";
         
@@ -630,6 +764,24 @@ public class QuestManager {
         }
         
         allQuests.put(questId, dynamicQuest);
+        dynamicQuestIds.addLast(questId);
+        pruneDynamicQuests();
         return dynamicQuest;
     }
+    
+    /**
+     * Forget the oldest generated quests that are not in progress, so a long
+     * session does not keep every quest it was ever offered. Completion history
+     * is kept: completed quests stay in the completed list and its count.
+     */
+    private void pruneDynamicQuests() {
+        Iterator<String> oldest = dynamicQuestIds.iterator();
+        while (dynamicQuestIds.size() > MAX_DYNAMIC_QUESTS && oldest.hasNext()) {
+            String questId = oldest.next();
+            if (!activeQuests.containsKey(questId)) {
+                oldest.remove();
+                allQuests.remove(questId);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package gameproject;
 
 import main.model.Player;
+import gameproject.stats.LatencyHistogram;
+import gameproject.stats.Metrics;
+import gameproject.stats.events.SaveEvent;
 import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDateTime;
@@ -16,7 +19,12 @@ import java.util.*;
  */
 public class SaveManager {
     
-    private static final int MAX_BACKUP_FILES = 5;
+    public static final int MAX_BACKUP_FILES = 5;
+    
+    private static final LatencyHistogram SAVE_TIME = Metrics.global().histogram("save.write");
+    private static final LatencyHistogram LOAD_TIME = Metrics.global().histogram("save.load");
+    private static final LatencyHistogram BACKUP_TIME = Metrics.global().histogram("save.backup");
+    private static final int SAVE_FAILURES = Metrics.global().counter("save.failures");
     
     // Save format version for compatibility
     private static final String SAVE_VERSION = "4.0.0";
@@ -45,7 +53,17 @@ public class SaveManager {
         return getSaveDirectory().resolve("autosave.txt");
     }
     
-    private static Path getBackupDirectory() {
+    /**
+     * Where the floors of saved runs are kept (see {@link gameproject.dungeon.FloorStore}).
+     */
+    public static Path getFloorDirectory() {
+        return getSaveDirectory().resolve("floors");
+    }
+    
+    /**
+     * Where {@link #saveGame} keeps copies of the previous saves.
+     */
+    public static Path getBackupDirectory() {
         return getSaveDirectory().resolve("backups");
     }
     
@@ -58,6 +76,19 @@ public class SaveManager {
      * @return true if save was successful, false otherwise
      */
     public static boolean saveGame(Player player, int dungeonLevel, GameSaveData gameData) {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean saved = writeSave(player, dungeonLevel, gameData);
+        SAVE_TIME.recordSince(start);
+        if (!saved) {
+            Metrics.global().increment(SAVE_FAILURES);
+        }
+        commit(event, "SAVE", getSaveFile(), saved);
+        return saved;
+    }
+    
+    private static boolean writeSave(Player player, int dungeonLevel, GameSaveData gameData) {
         try {
             // Create save directory and backup directory
             Path saveDir = getSaveDirectory();
@@ -107,13 +138,21 @@ public class SaveManager {
             // Game progress
             saveData.append("\n# GAME PROGRESS\n");
             saveData.append("DUNGEON_LEVEL=").append(dungeonLevel).append("\n");
+            saveData.append("DUNGEON_SEED=").append(gameData.dungeonSeed).append("\n");
+            saveData.append("EXPLORED_ROOMS=").append(gameData.exploredRooms).append("\n");
             saveData.append("ROOMS_EXPLORED=").append(player.getRoomsExplored()).append("\n");
             saveData.append("MONSTERS_DEFEATED=").append(player.getMonstersDefeated()).append("\n");
             saveData.append("PLAY_TIME=").append(gameData.playTimeMinutes).append("\n");
             
             // Achievements
-            if (gameData.unlockedAchievements != null && !gameData.unlockedAchievements.isEmpty()) {
+            boolean hasAchievementBits = gameData.achievementBits != null && !gameData.achievementBits.isEmpty();
+            if (hasAchievementBits || 
+                (gameData.unlockedAchievements != null && !gameData.unlockedAchievements.isEmpty()) ||
+                (gameData.achievementProgress != null && !gameData.achievementProgress.isEmpty())) {
                 saveData.append("\n# ACHIEVEMENTS\n");
+                if (hasAchievementBits) {
+                    saveData.append("ACHIEVEMENT_BITS=").append(gameData.achievementBits).append("\n");
+                }
                 saveData.append("UNLOCKED_ACHIEVEMENTS=").append(String.join(",", gameData.unlockedAchievements)).append("\n");
                 saveData.append("ACHIEVEMENT_PROGRESS=").append(serializeMap(gameData.achievementProgress)).append("\n");
             }
@@ -175,6 +214,32 @@ public class SaveManager {
      * @return SaveData object containing loaded data, or null if load failed
      */
     public static SaveData loadGame() {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        SaveData data = readSave();
+        LOAD_TIME.recordSince(start);
+        commit(event, "LOAD", getSaveFile(), data != null);
+        return data;
+    }
+    
+    private static void commit(SaveEvent event, String operation, Path file, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.file = file.toString();
+            event.format = "text/" + SAVE_VERSION;
+            event.success = success;
+            try {
+                event.bytes = success && Files.exists(file) ? Files.size(file) : 0;
+            } catch (IOException e) {
+                event.bytes = 0;
+            }
+            event.commit();
+        }
+    }
+    
+    private static SaveData readSave() {
         try {
             Path saveFile = getSaveFile();
             if (!Files.exists(saveFile)) {
@@ -216,6 +281,8 @@ public class SaveManager {
                         case "ARMOR" -> data.equippedArmor = value.isEmpty() ? null : value;
                         case "ACCESSORY" -> data.equippedAccessory = value.isEmpty() ? null : value;
                         case "DUNGEON_LEVEL" -> data.dungeonLevel = Integer.parseInt(value);
+                        case "DUNGEON_SEED" -> data.dungeonSeed = Long.parseLong(value);
+                        case "EXPLORED_ROOMS" -> data.exploredRooms = value;
                         case "ROOMS_EXPLORED" -> data.roomsExplored = Integer.parseInt(value);
                         case "MONSTERS_DEFEATED" -> data.monstersDefeated = Integer.parseInt(value);
                         case "PLAY_TIME" -> data.playTimeMinutes = Integer.parseInt(value);
@@ -246,6 +313,7 @@ public class SaveManager {
                                 data.activeQuests = Arrays.asList(value.split(","));
                             }
                         }
+                        case "ACHIEVEMENT_BITS" -> data.achievementBits = value;
                         case "ACHIEVEMENT_PROGRESS" -> {
                             if (!value.isEmpty()) {
                                 data.achievementProgress = deserializeMap(value);
@@ -456,20 +524,46 @@ public class SaveManager {
      * Create a backup of the current save file
      */
     private static void createBackup() {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Path backupFile = null;
         try {
             Path saveFile = getSaveFile();
             if (Files.exists(saveFile)) {
-                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
                 Path backupDir = getBackupDirectory();
                 Files.createDirectories(backupDir);
-                Path backupFile = backupDir.resolve("savegame_backup_" + timestamp + ".txt");
-                Files.copy(saveFile, backupFile);
+                backupFile = copyToBackup(saveFile, backupDir, timestamp);
                 
                 // Clean up old backups
                 cleanupOldBackups();
             }
         } catch (IOException e) {
             System.err.println("Warning: Could not create backup: " + e.getMessage());
+        } finally {
+            BACKUP_TIME.recordSince(start);
+            if (backupFile != null) {
+                commit(event, "BACKUP", backupFile, Files.exists(backupFile));
+            }
+        }
+    }
+    
+    /**
+     * Copy the save to a new backup file named by its timestamp. Saves within the
+     * same millisecond get a two-digit sequence suffix, which still sorts newest first.
+     */
+    static Path copyToBackup(Path saveFile, Path backupDir, String timestamp) throws IOException {
+        for (int sequence = 0; ; sequence++) {
+            String suffix = sequence == 0 ? "" : String.format("_%02d", sequence);
+            Path backupFile = backupDir.resolve("savegame_backup_" + timestamp + suffix + ".txt");
+            try {
+                return Files.copy(saveFile, backupFile);
+            } catch (FileAlreadyExistsException e) {
+                if (sequence == 99) {
+                    throw e;
+                }
+            }
         }
     }
     
@@ -481,10 +575,14 @@ public class SaveManager {
             Path backupDir = getBackupDirectory();
             if (!Files.exists(backupDir)) return;
             
-            List<Path> backupFiles = Files.list(backupDir)
-                .filter(path -> path.getFileName().toString().startsWith("savegame_backup_"))
-                .sorted((a, b) -> b.getFileName().compareTo(a.getFileName()))
-                .collect(java.util.stream.Collectors.toList());
+            // Files.list holds a directory handle until the stream is closed
+            List<Path> backupFiles;
+            try (java.util.stream.Stream<Path> files = Files.list(backupDir)) {
+                backupFiles = files
+                    .filter(path -> path.getFileName().toString().startsWith("savegame_backup_"))
+                    .sorted((a, b) -> b.getFileName().compareTo(a.getFileName()))
+                    .collect(java.util.stream.Collectors.toList());
+            }
             
             // Delete excess backup files
             for (int i = MAX_BACKUP_FILES; i < backupFiles.size(); i++) {
@@ -538,6 +636,8 @@ public class SaveManager {
             saveData.append("LEVEL=").append(player.getLevel()).append("\n");
             saveData.append("HEALTH=").append(player.getHealth()).append("\n");
             saveData.append("DUNGEON_LEVEL=").append(dungeonLevel).append("\n");
+            saveData.append("DUNGEON_SEED=").append(gameData.dungeonSeed).append("\n");
+            saveData.append("EXPLORED_ROOMS=").append(gameData.exploredRooms).append("\n");
             
             try (BufferedWriter writer = Files.newBufferedWriter(autoSavePath)) {
                 writer.write(saveData.toString());
@@ -581,12 +681,15 @@ public class SaveManager {
         
         // Game progress
         public int dungeonLevel;
+        public long dungeonSeed;      // 0 in saves made before floors were generated
+        public String exploredRooms = "";  // Exploration.encode() form
         public int roomsExplored;
         public int monstersDefeated;
         public int playTimeMinutes;
         
         // Achievements and quests
         public List<String> unlockedAchievements = new ArrayList<>();
+        public String achievementBits = "";   // AchievementManager.encodeUnlocked() form
         public Map<String, Object> achievementProgress = new HashMap<>();
         public List<String> activeQuests = new ArrayList<>();
         public List<String> completedQuests = new ArrayList<>();
@@ -620,6 +723,7 @@ public class SaveManager {
      */
     public static class GameSaveData {
         public List<String> unlockedAchievements = new ArrayList<>();
+        public String achievementBits = "";   // AchievementManager.encodeUnlocked() form
         public Map<String, Object> achievementProgress = new HashMap<>();
         public List<String> activeQuests = new ArrayList<>();
         public List<String> completedQuests = new ArrayList<>();
@@ -634,6 +738,8 @@ public class SaveManager {
         public String theme = "DARK";
         public boolean autoSaveEnabled = true;
         public int playTimeMinutes = 0;
+        public long dungeonSeed = 0;  // FloorGenerator seed of the current run
+        public String exploredRooms = "";  // Exploration.encode() form; floors themselves live in FloorStore
         
         public long totalDamageDealt = 0;
         public long totalDamageTaken = 0;
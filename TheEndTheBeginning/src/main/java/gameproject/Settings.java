@@ -28,6 +28,17 @@ public final class Settings {
     public double musicVolume = 0.5;
     public double sfxVolume = 0.7;
     public boolean autoSaveEnabled = true;
+    public int gameLogLines = 2000;          // lines kept in the on-screen game log
+    public boolean gameLogHistory = false;   // write the full game log to disk
+    public int screenCacheSize = 6;          // menu screens kept loaded besides main menu and HUD
+    public boolean perfOverlay = false;      // show the performance overlay (F3) at startup
+    
+    /**
+     * Directory holding the config file, saves and other per-user data.
+     */
+    public static Path getConfigDirectory() {
+        return Paths.get(CONFIG_DIR);
+    }
     
     /**
      * Loads settings from disk.
@@ -60,6 +71,10 @@ public final class Settings {
                                 case "musicVolume" -> settings.musicVolume = Double.parseDouble(value);
                                 case "sfxVolume" -> settings.sfxVolume = Double.parseDouble(value);
                                 case "autoSaveEnabled" -> settings.autoSaveEnabled = Boolean.parseBoolean(value);
+                                case "gameLogLines" -> settings.gameLogLines = Math.max(100, Integer.parseInt(value));
+                                case "gameLogHistory" -> settings.gameLogHistory = Boolean.parseBoolean(value);
+                                case "screenCacheSize" -> settings.screenCacheSize = Math.max(1, Integer.parseInt(value));
+                                case "perfOverlay" -> settings.perfOverlay = Boolean.parseBoolean(value);
                             }
                         }
                     }
@@ -98,6 +113,10 @@ public final class Settings {
                 writer.write("musicVolume=" + musicVolume + "\n");
                 writer.write("sfxVolume=" + sfxVolume + "\n");
                 writer.write("autoSaveEnabled=" + autoSaveEnabled + "\n");
+                writer.write("gameLogLines=" + gameLogLines + "\n");
+                writer.write("gameLogHistory=" + gameLogHistory + "\n");
+                writer.write("screenCacheSize=" + screenCacheSize + "\n");
+                writer.write("perfOverlay=" + perfOverlay + "\n");
             }
             
             return true;
@@ -0,0 +1,417 @@
+package gameproject;
+
+import gameproject.audio.MusicPipeline;
+import gameproject.dungeon.FloorCache;
+import gameproject.flow.GameFlowState;
+import gameproject.session.GameSession;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.management.ObjectName;
+
+/**
+ * Long-session soak test: plays scripted headless sessions for many hours of
+ * simulated time and checks that memory stays flat.
+ *
+ * Every command stands for {@link Config#secondsPerCommand} seconds of play.
+ * Alongside the {@link GameSession} the harness drives the structures a real
+ * marathon session grows: saves and their backups, music tracks (a stand-in
+ * loader counts tracks that were never disposed, as a leaked MediaPlayer
+ * would be), generated quests, the floor cache and achievement listeners. One
+ * {@link GameContext} lives for the whole soak, like the desktop game's
+ * process-wide managers. Nothing here needs JavaFX; the game log and screen
+ * cache belong to the desktop UI and are bounded by their own tests.
+ *
+ * Every {@link Config#sampleMinutes} of simulated time it records the heap
+ * after a full GC, open file descriptors, the size of each tracked structure
+ * and (optionally) a class histogram. The run fails if a structure exceeds its
+ * limit, or if heap or file handles grow by more than allowed between the
+ * first sample after warm-up and the last. Class histograms show which
+ * classes grew.
+ *
+ * Usage: {@code SoakHarness [hours] [secondsPerCommand]}; exits with 1 on failure.
+ *
+ * @version 5.0.0
+ */
+public final class SoakHarness {
+
+    /**
+     * What to run and what counts as a leak.
+     */
+    public static final class Config {
+        public double hours = 12;
+        public double secondsPerCommand = 3;
+        public int sampleMinutes = 30;
+        /** Samples before this are not used as the growth baseline */
+        public int warmupMinutes = 60;
+        public int saveMinutes = 10;
+        public int dynamicQuestMinutes = 5;
+        public long seed = 1;
+        /** Class histograms at every sample (forces a full GC each time) */
+        public boolean classHistograms = true;
+        public long maxHeapGrowthBytes = 32L << 20;
+        public long maxOpenFileGrowth = 8;
+        /** Largest allowed size per tracked structure; see {@link #defaultLimits()} */
+        public Map<String, Long> limits = defaultLimits();
+    }
+
+    /**
+     * One sample; heap in bytes after a full GC, open files -1 if the OS does not say.
+     */
+    public record Sample(long minutes, long heapUsed, long openFiles, Map<String, Long> sizes,
+                         Map<String, Long> classBytes) { }
+
+    /**
+     * Everything a soak run measured, and what went wrong.
+     */
+    public record Result(long commands, long sessions, long realMillis, List<Sample> samples,
+                         List<String> failures) {
+
+        public boolean passed() {
+            return failures.isEmpty();
+        }
+
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Soak: %d commands, %d sessions, %.1f simulated hours in %.1f s%n",
+                commands, sessions, samples.isEmpty() ? 0 : samples.get(samples.size() - 1).minutes() / 60.0,
+                realMillis / 1000.0));
+            out.append(String.format("%8s %10s %6s  %s%n", "minutes", "heap MB", "files", "tracked sizes"));
+            for (Sample sample : samples) {
+                out.append(String.format("%8d %10.1f %6d  %s%n", sample.minutes(), sample.heapUsed() / 1048576.0,
+                    sample.openFiles(), sample.sizes()));
+            }
+            List<String> growth = classGrowth(samples);
+            if (!growth.isEmpty()) {
+                out.append("Largest class growth:\n");
+                growth.forEach(line -> out.append("  ").append(line).append('\n'));
+            }
+            out.append(passed() ? "PASSED\n" : "FAILED\n");
+            failures.forEach(failure -> out.append("  ").append(failure).append('\n'));
+            return out.toString();
+        }
+    }
+
+    private static final String[] EXPLORE_COMMANDS = { "SEARCH", "SEARCH", "MOVE", "MOVE", "MOVE" };
+    private static final String[] COMBAT_COMMANDS = { "1", "1", "1", "2", "3", "4" };
+    private static final String[] MENU_COMMANDS = { "STATS", "INVENTORY", "QUESTS", "ACHIEVEMENTS", "HELP" };
+    private static final int CLASS_HISTOGRAM_ENTRIES = 40;
+    private static final int CLASS_GROWTH_SHOWN = 5;
+
+    private final Config config;
+
+    public SoakHarness(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Config config = new Config();
+        if (args.length > 0) {
+            config.hours = Double.parseDouble(args[0]);
+        }
+        if (args.length > 1) {
+            config.secondsPerCommand = Double.parseDouble(args[1]);
+        }
+        Result result = new SoakHarness(config).run();
+        System.out.print(result.format());
+        System.exit(result.passed() ? 0 : 1);
+    }
+
+    /**
+     * Limits for every tracked structure: what each is designed to hold at most.
+     */
+    public static Map<String, Long> defaultLimits() {
+        Map<String, Long> limits = new LinkedHashMap<>();
+        // Completed quests are history and grow with play, so only known quests are bounded
+        limits.put("quests", (long) new QuestManager().getQuestCount() + QuestManager.MAX_DYNAMIC_QUESTS);
+        limits.put("backup_files", (long) SaveManager.MAX_BACKUP_FILES);
+        // Playing, fading out, and prefetched
+        limits.put("music_tracks", 2L + MusicPipeline.MAX_PREFETCHED);
+        limits.put("floor_cache", (long) FloorCache.DEFAULT_CAPACITY);
+        limits.put("achievement_listeners", 1L);
+        return limits;
+    }
+
+    /**
+     * Run the soak with saves in a temporary directory, which is deleted afterwards.
+     */
+    public Result run() throws IOException {
+        Path saveDir = Files.createTempDirectory("theetb-soak-");
+        String previous = System.getProperty("theetb.save.dir");
+        System.setProperty("theetb.save.dir", saveDir.toString());
+        try {
+            return soak();
+        } finally {
+            if (previous != null) {
+                System.setProperty("theetb.save.dir", previous);
+            } else {
+                System.clearProperty("theetb.save.dir");
+            }
+            deleteRecursively(saveDir);
+        }
+    }
+
+    private Result soak() {
+        long realStart = System.nanoTime();
+        Random script = new Random(config.seed);
+        GameContext context = GameContext.create();
+        AtomicLong liveTracks = new AtomicLong();
+        MusicPipeline music = MusicPipeline.headless(path -> new CountedTrack(liveTracks));
+
+        long totalCommands = Math.round(config.hours * 3600 / config.secondsPerCommand);
+        long commandsPerMinute = Math.max(1, Math.round(60 / config.secondsPerCommand));
+        List<Sample> samples = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+
+        long sessionSeed = config.seed;
+        long sessions = 1;
+        GameSession session = startSession(context, sessionSeed);
+        GameFlowState lastPhase = null;
+        long commands = 0;
+        for (; commands < totalCommands; commands++) {
+            if (session.isFinished()) {
+                session.close();
+                session = startSession(context, ++sessionSeed);
+                sessions++;
+            }
+
+            session.handle(nextCommand(session, script));
+            if (session.getPhase() != lastPhase) {
+                lastPhase = session.getPhase();
+                music.play(trackFor(lastPhase), true, 0.5);
+                music.prefetch(List.of(trackFor(GameFlowState.COMBAT), trackFor(GameFlowState.EXPLORING)));
+            }
+
+            long simulated = commands + 1;
+            if (simulated % commandsPerMinute != 0) {
+                continue;
+            }
+            long minute = simulated / commandsPerMinute;
+            if (minute % config.dynamicQuestMinutes == 0) {
+                QuestManager quests = context.getQuests();
+                quests.startQuest(quests.generateDynamicQuest(session.getPlayer()).getQuestId());
+            }
+            if (minute % config.saveMinutes == 0) {
+                save(session);
+            }
+            if (minute % config.sampleMinutes == 0) {
+                Map<String, Long> sizes = new LinkedHashMap<>();
+                sizes.put("quests", (long) context.getQuests().getQuestCount());
+                sizes.put("backup_files", countFiles(SaveManager.getBackupDirectory()));
+                sizes.put("music_tracks", liveTracks.get());
+                sizes.put("floor_cache", (long) FloorCache.shared().size());
+                sizes.put("achievement_listeners", (long) context.getAchievements().getListenerCount());
+                Sample sample = sample(minute, sizes);
+                samples.add(sample);
+                checkLimits(sample, failures);
+            }
+        }
+        session.close();
+        music.dispose();
+        checkGrowth(samples, failures);
+        return new Result(commands, sessions, (System.nanoTime() - realStart) / 1_000_000, samples, failures);
+    }
+
+    // ===== SCRIPTED PLAYER =====
+
+    private static GameSession startSession(GameContext context, long seed) {
+        GameSession session = new GameSession("soak-" + seed, seed, context);
+        session.start();
+        int classes = main.model.Player.PlayerClass.values().length;
+        session.handle(String.valueOf(1 + Math.floorMod(seed, classes)));
+        session.handle("Soak");
+        return session;
+    }
+
+    private static String nextCommand(GameSession session, Random script) {
+        if (session.getPhase() == GameFlowState.COMBAT) {
+            return COMBAT_COMMANDS[script.nextInt(COMBAT_COMMANDS.length)];
+        }
+        if (script.nextInt(10) == 0) {
+            // A trip through the menus, as the desktop game would open a screen
+            return MENU_COMMANDS[script.nextInt(MENU_COMMANDS.length)];
+        }
+        return EXPLORE_COMMANDS[script.nextInt(EXPLORE_COMMANDS.length)];
+    }
+
+    private static String trackFor(GameFlowState phase) {
+        return switch (phase) {
+            case COMBAT -> "/audio/music/combat.mp3";
+            case VICTORY, GAME_OVER -> "/audio/music/game_over.mp3";
+            default -> "/audio/music/dungeon.mp3";
+        };
+    }
+
+    private static void save(GameSession session) {
+        SaveManager.GameSaveData data = new SaveManager.GameSaveData();
+        data.unlockedAchievements.addAll(session.getContext().getAchievements().getUnlockedIds());
+        data.achievementBits = session.getContext().getAchievements().encodeUnlocked();
+        SaveManager.saveGame(session.getPlayer(), session.getFloor(), data);
+        SaveManager.autoSave(session.getPlayer(), session.getFloor(), data);
+    }
+
+    /**
+     * Music track that counts itself until disposed.
+     */
+    private static final class CountedTrack implements MusicPipeline.Track {
+        private final AtomicLong live;
+        private boolean disposed;
+
+        CountedTrack(AtomicLong live) {
+            this.live = live;
+            live.incrementAndGet();
+        }
+
+        @Override public void play() { }
+        @Override public void stop() { }
+        @Override public void setVolume(double volume) { }
+        @Override public void setLoop(boolean loop) { }
+        @Override public void setOnError(Runnable onError) { }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                live.decrementAndGet();
+            }
+        }
+    }
+
+    // ===== SAMPLING =====
+
+    private Sample sample(long minute, Map<String, Long> sizes) {
+        Map<String, Long> classBytes = config.classHistograms ? classHistogram() : Map.of();
+        if (classBytes.isEmpty()) {
+            System.gc();
+        }
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        return new Sample(minute, heap, openFiles(), sizes, classBytes);
+    }
+
+    private static long openFiles() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean unix) {
+            return unix.getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Bytes per class for the largest classes, from the same histogram as
+     * {@code jcmd GC.class_histogram} (which runs a full GC first). Empty if unavailable.
+     */
+    static Map<String, Long> classHistogram() {
+        String text;
+        try {
+            text = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+                new Object[] { new String[0] }, new String[] { String[].class.getName() });
+        } catch (Exception | LinkageError e) {
+            return Map.of();
+        }
+        return parseClassHistogram(text, CLASS_HISTOGRAM_ENTRIES);
+    }
+
+    /**
+     * Parse "num: instances bytes class-name" rows, largest first.
+     */
+    static Map<String, Long> parseClassHistogram(String text, int limit) {
+        Map<String, Long> classBytes = new LinkedHashMap<>();
+        for (String line : text.split("\n")) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length < 4 || !columns[0].endsWith(":")) {
+                continue;
+            }
+            try {
+                classBytes.put(columns[3], Long.parseLong(columns[2]));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (classBytes.size() >= limit) {
+                break;
+            }
+        }
+        return classBytes;
+    }
+
+    private static long countFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    // ===== CHECKS =====
+
+    private void checkLimits(Sample sample, List<String> failures) {
+        sample.sizes().forEach((name, size) -> {
+            Long limit = config.limits.get(name);
+            if (limit != null && size > limit) {
+                failures.add(String.format("%s reached %d at minute %d (limit %d)", name, size, sample.minutes(), limit));
+            }
+        });
+    }
+
+    private void checkGrowth(List<Sample> samples, List<String> failures) {
+        Sample baseline = samples.stream()
+            .filter(sample -> sample.minutes() >= config.warmupMinutes)
+            .findFirst().orElse(null);
+        if (baseline == null || baseline == samples.get(samples.size() - 1)) {
+            return;
+        }
+        Sample last = samples.get(samples.size() - 1);
+        long heapGrowth = last.heapUsed() - baseline.heapUsed();
+        if (heapGrowth > config.maxHeapGrowthBytes) {
+            failures.add(String.format("heap grew by %.1f MB between minute %d and %d (limit %.1f MB)",
+                heapGrowth / 1048576.0, baseline.minutes(), last.minutes(), config.maxHeapGrowthBytes / 1048576.0));
+        }
+        if (baseline.openFiles() >= 0 && last.openFiles() - baseline.openFiles() > config.maxOpenFileGrowth) {
+            failures.add(String.format("open files grew from %d to %d (limit +%d)",
+                baseline.openFiles(), last.openFiles(), config.maxOpenFileGrowth));
+        }
+    }
+
+    /**
+     * Classes whose bytes grew most between the first and last histogram.
+     */
+    private static List<String> classGrowth(List<Sample> samples) {
+        if (samples.size() < 2 || samples.get(0).classBytes().isEmpty()) {
+            return List.of();
+        }
+        Map<String, Long> first = samples.get(0).classBytes();
+        Map<String, Long> growth = new HashMap<>();
+        samples.get(samples.size() - 1).classBytes().forEach(
+            (name, bytes) -> growth.put(name, bytes - first.getOrDefault(name, 0L)));
+        return growth.entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(CLASS_GROWTH_SHOWN)
+            .map(entry -> String.format("%-50s %+10d bytes", entry.getKey(), entry.getValue()))
+            .toList();
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("[SOAK] Could not delete " + directory + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package gameproject;
+
+import gameproject.flow.GameFlowState;
+import gameproject.session.GameSession;
+import gameproject.ui.UiRouter;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scripted training run for the class-data-sharing archive, and the startup benchmark.
+ *
+ * The {@code appcds} Maven profile runs this class once with
+ * {@code -XX:ArchiveClassesAtExit}, so every class a real session needs early
+ * ends up in the archive: it opens the main window exactly as
+ * {@link TheEndTheBeginning#start} does, visits every {@link UiRouter} screen
+ * and fights a few headless combats. It then runs it again with the archive
+ * to measure the gain.
+ *
+ * Each run appends one CSV row of timings (milliseconds) to the report file:
+ * JVM launch to first frame, toolkit start, main window to first frame, all
+ * screens, combats. Keeping the file from each release gives a startup
+ * history across versions.
+ *
+ * Needs a display (on a headless Linux box, run it under xvfb-run).
+ *
+ * Usage: {@code StartupTraining <report.csv> [label]}
+ *
+ * @version 5.0.0
+ */
+public final class StartupTraining {
+
+    /** Every screen under /ui, in a plausible visiting order */
+    static final List<String> SCREENS = List.of(
+        "MainMenu", "Onboarding", "GameHUD", "CombatOverlay", "Inventory",
+        "QuestLog", "PauseMenu", "Settings", "SaveLoad", "GameOver");
+
+    static final int COMBATS = 5;
+    private static final int MAX_COMMANDS_PER_SESSION = 2_000;
+    private static final long TIMEOUT_SECONDS = 120;
+
+    static final String CSV_HEADER = "timestamp,version,label,launch_to_first_frame_ms,toolkit_ms,"
+        + "main_window_ms,screens_ms,combats_ms";
+
+    private StartupTraining() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path report = args.length > 0 ? Path.of(args[0]) : null;
+        String label = args.length > 1 ? args[1] : "default";
+        long launchMillis = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+
+        long toolkitStart = System.nanoTime();
+        CompletableFuture<Void> toolkitReady = new CompletableFuture<>();
+        Platform.startup(() -> toolkitReady.complete(null));
+        toolkitReady.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long toolkitMillis = millisSince(toolkitStart);
+
+        long windowStart = System.nanoTime();
+        CompletableFuture<MainControllerNew> firstFrame = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                Stage stage = new Stage();
+                MainControllerNew controller = TheEndTheBeginning.openMainWindow(stage);
+                Platform.runLater(() -> TheEndTheBeginning.afterNextLayout(
+                    stage.getScene(), () -> firstFrame.complete(controller)));
+            } catch (Exception e) {
+                firstFrame.completeExceptionally(e);
+            }
+        });
+        MainControllerNew controller = firstFrame.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long windowMillis = millisSince(windowStart);
+        long launchToFirstFrameMillis = System.currentTimeMillis() - launchMillis;
+
+        long screensStart = System.nanoTime();
+        CompletableFuture<Void> screensVisited = new CompletableFuture<>();
+        Platform.runLater(() -> visitScreens(controller, 0, screensVisited));
+        screensVisited.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long screensMillis = millisSince(screensStart);
+
+        long combatsStart = System.nanoTime();
+        int combats = fightCombats(COMBATS);
+        long combatsMillis = millisSince(combatsStart);
+
+        String row = csvRow(Instant.now().toString(), System.getProperty("game.version", "dev"), label,
+            launchToFirstFrameMillis, toolkitMillis, windowMillis, screensMillis, combatsMillis);
+        System.out.println("[TRAINING] " + CSV_HEADER);
+        System.out.println("[TRAINING] " + row + " (" + combats + " combats)");
+        if (report != null) {
+            appendRow(report, row);
+        }
+
+        Platform.exit();
+        // Exit explicitly so the archive is written even if a non-daemon thread lingers
+        System.exit(0);
+    }
+
+    /**
+     * Navigate to each screen in turn, waiting for it to be laid out (and so
+     * styled and skinned) before moving on.
+     */
+    private static void visitScreens(MainControllerNew controller, int index, CompletableFuture<Void> done) {
+        UiRouter router = controller.getUiRouter();
+        if (router == null || index >= SCREENS.size()) {
+            done.complete(null);
+            return;
+        }
+        String screen = SCREENS.get(index);
+        if (!router.navigateTo(screen)) {
+            System.err.println("[TRAINING] Could not open screen " + screen);
+        }
+        Scene scene = router.getRootContainer().getScene();
+        if (scene == null) {
+            done.complete(null);
+            return;
+        }
+        TheEndTheBeginning.afterNextLayout(scene, () -> visitScreens(controller, index + 1, done));
+    }
+
+    /**
+     * Play scripted headless sessions until the given number of combats is over.
+     *
+     * @return combats fought
+     */
+    static int fightCombats(int combats) {
+        int fought = 0;
+        for (long seed = 1; fought < combats && seed <= combats * 10L; seed++) {
+            GameSession session = new GameSession("training-" + seed, seed);
+            try {
+                session.start();
+                session.handle("1");
+                session.handle("Trainee");
+                boolean inCombat = false;
+                for (int i = 0; i < MAX_COMMANDS_PER_SESSION && !session.isFinished() && fought < combats; i++) {
+                    boolean combat = session.getPhase() == GameFlowState.COMBAT;
+                    if (inCombat && !combat) {
+                        fought++;
+                    }
+                    inCombat = combat;
+                    session.handle(combat ? "ATTACK" : "MOVE");
+                }
+                if (inCombat && session.isFinished()) {
+                    fought++;
+                }
+            } finally {
+                session.close();
+            }
+        }
+        return fought;
+    }
+
+    static String csvRow(String timestamp, String version, String label, long... millis) {
+        StringBuilder row = new StringBuilder();
+        row.append(timestamp).append(',').append(version).append(',').append(label);
+        for (long value : millis) {
+            row.append(',').append(value);
+        }
+        return row.toString();
+    }
+
+    private static void appendRow(Path report, String row) {
+        try {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            if (!Files.exists(report)) {
+                Files.writeString(report, CSV_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+            }
+            Files.writeString(report, row + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("[TRAINING] Could not write " + report + ": " + e.getMessage());
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -1,10 +1,18 @@
 package gameproject;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import gameproject.ui.FxMetrics;
+import gameproject.ui.GeneratedScreen;
+import gameproject.ui.GeneratedScreens;
+import gameproject.stats.Metrics;
+import gameproject.stats.StartupProfiler;
+
+import java.nio.file.Path;
 
 /**
  * "The End The Beginning" - Main Application Class
@@ -64,14 +72,72 @@ public class TheEndTheBeginning extends Application {
      */
     @Override
     public void start(Stage primaryStage) throws Exception {
-        // FXML LOADING: Load the UI layout from external FXML file
-        // This separates UI design from Java code for better maintainability
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/game.fxml"));
-        Parent root = loader.load();
+        openMainWindow(primaryStage);
+        Scene scene = primaryStage.getScene();
+        
+        // STARTUP PROFILING: off unless -Dgame.profileStartup=true (see StartupProfiler)
+        StartupProfiler profiler = StartupProfiler.global();
+        if (profiler.isEnabled()) {
+            // The controller attaches the main menu in a runLater queued during
+            // initialize, so a runLater queued now sees the menu in place
+            Platform.runLater(() -> afterNextLayout(scene, profiler::firstFrame));
+        }
+        
+        // METRICS: frame times plus a periodic dump (-Dgame.metricsDumpSeconds=0 turns the dump off)
+        FxMetrics.startFrameMonitor();
+        Metrics.global().startDumping(metricsFile(), Metrics.configuredDumpIntervalSeconds());
+    }
+    
+    /**
+     * Write the final metrics of the session.
+     */
+    @Override
+    public void stop() {
+        Metrics.global().stopDumping();
+        if (Metrics.configuredDumpIntervalSeconds() > 0) {
+            Metrics.global().dump(metricsFile());
+        }
+    }
+    
+    /**
+     * Where the metrics of the current (or last) session are written.
+     */
+    static Path metricsFile() {
+        return Settings.getConfigDirectory().resolve("metrics.txt");
+    }
+    
+    /**
+     * Load game.fxml into the stage and show it. Shared by {@link #start(Stage)}
+     * and {@link StartupTraining}, so the training run exercises exactly the
+     * startup path of a real launch.
+     * 
+     * @return the main window's controller
+     */
+    static MainControllerNew openMainWindow(Stage primaryStage) throws Exception {
+        StartupProfiler profiler = StartupProfiler.global();
+        
+        // UI LOADING: game.fxml is compiled to Java at build time; FXMLLoader is
+        // only used in dev mode (-Dgame.dev=true) or if the generated class is missing.
+        // This also runs MainControllerNew.initialize, which profiles its own phases.
+        Parent root;
+        Object controller;
+        StartupProfiler.Phase phase = profiler.phase("load game.fxml");
+        GeneratedScreen generated = GeneratedScreens.create("/game.fxml");
+        if (generated != null) {
+            root = generated.getRoot();
+            controller = generated.getController();
+        } else {
+            FXMLLoader loader = new FXMLLoader(TheEndTheBeginning.class.getResource("/game.fxml"));
+            root = loader.load();
+            controller = loader.getController();
+        }
+        phase.end();
         
         // SCENE CREATION: Set up the game window with appropriate dimensions
         // 950x750 provides better visibility for enhanced content with proper spacing
+        phase = profiler.phase("create scene");
         Scene scene = new Scene(root, 950, 750);
+        phase.end();
         
         // WINDOW CONFIGURATION: Set up the main game window properties
         primaryStage.setTitle("The End The Beginning - Dungeon Escape v4.0.0");
@@ -81,15 +147,34 @@ public class TheEndTheBeginning extends Application {
         primaryStage.setMinHeight(650);
         
         // Try to load and set window icon
+        phase = profiler.phase("window icon");
         try {
             javafx.scene.image.Image icon = new javafx.scene.image.Image(
-                getClass().getResourceAsStream("/icons/game-icon.png"));
+                TheEndTheBeginning.class.getResourceAsStream("/icons/game-icon.png"));
             primaryStage.getIcons().add(icon);
         } catch (Exception e) {
             System.out.println("Could not load icon: " + e.getMessage());
         }
+        phase.end();
         
+        phase = profiler.phase("show window");
         primaryStage.show(); // Display the window to the user
+        phase.end();
+        return (MainControllerNew) controller;
+    }
+    
+    /**
+     * Run an action once, right after the scene's next layout pass.
+     */
+    static void afterNextLayout(Scene scene, Runnable action) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                action.run();
+            }
+        });
+        Platform.requestNextPulse();
     }
 
     /**
@@ -0,0 +1,53 @@
+package gameproject.achievements;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking hand-off between achievement unlocks and their presentation.
+ *
+ * Registered as an {@link AchievementListener}, it only enqueues the unlocked
+ * achievement, so game logic (combat resolution, level-ups) never waits on UI
+ * work. A consumer on the UI side drains the queue in batches, typically once
+ * per rendered frame, and can collapse a burst of unlocks into one notification.
+ *
+ * @version 5.0.0
+ */
+public class AchievementEventQueue implements AchievementListener {
+
+    private final Queue<Achievement> pending = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void onAchievementUnlocked(Achievement achievement) {
+        if (achievement != null) {
+            pending.offer(achievement);
+        }
+    }
+
+    /**
+     * Move every pending unlock into the given collection, oldest first.
+     *
+     * @return number of achievements drained
+     */
+    public int drainTo(Collection<? super Achievement> target) {
+        int drained = 0;
+        Achievement achievement;
+        while ((achievement = pending.poll()) != null) {
+            target.add(achievement);
+            drained++;
+        }
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Discard pending unlocks without presenting them (e.g. on reset).
+     */
+    public void clear() {
+        pending.clear();
+    }
+}
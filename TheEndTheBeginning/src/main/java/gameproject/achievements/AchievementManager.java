@@ -2,7 +2,11 @@ package gameproject.achievements;
 
 import main.model.Player;
 import gameproject.Monster;
+import gameproject.stats.CounterRegistry;
+import gameproject.stats.events.AchievementUnlockEvent;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Advanced Achievement System for "The End The Beginning" v4.0.0
@@ -22,11 +26,38 @@ import java.util.*;
  */
 public class AchievementManager {
     
-    private static AchievementManager instance;
-    private Map<String, Achievement> achievements;
-    private Map<String, Boolean> unlockedAchievements;
-    private Map<String, Integer> progressCounters;
-    private List<AchievementListener> listeners;
+    // Definitions are immutable and shared by every manager instance
+    private final Map<String, Achievement> achievements = Definitions.SHARED.achievements;
+    private final Map<String, Integer> ordinals = Definitions.SHARED.ordinals; // id -> dense bit index
+    private final List<Achievement> achievementsByOrdinal = Definitions.SHARED.byOrdinal;
+    private final int[] totalByCategory = Definitions.SHARED.totalByCategory;
+    private final int[] totalByRarity = Definitions.SHARED.totalByRarity;
+    private final int completionistThreshold = Definitions.SHARED.completionistThreshold;
+    
+    private final CounterRegistry progressCounters = new CounterRegistry();
+    private final List<AchievementListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean consoleLogging = true;
+    
+    // Counter ids resolved once so the hot combat path never hashes a name
+    private final int criticalHitsCounter = progressCounters.register("critical_hits");
+    private final int dodgesCounter = progressCounters.register("dodges");
+    private final int monstersDefeatedCounter = progressCounters.register("monsters_defeated");
+    private final int bossesDefeatedCounter = progressCounters.register("bosses_defeated");
+    private final int spellsCastCounter = progressCounters.register("spells_cast");
+    private final int backstabsCounter = progressCounters.register("backstabs");
+    private final int healingDoneCounter = progressCounters.register("healing_done");
+    private final int consecutiveHitsCounter = progressCounters.register("consecutive_hits");
+    private final int undeadRaisedCounter = progressCounters.register("undead_raised");
+    
+    // Unlocked state: one bit per achievement ordinal plus running totals,
+    // so completion stats never have to walk the achievement table
+    private final BitSet unlocked = new BitSet(achievementsByOrdinal.size());
+    private final LocalDateTime[] unlockedDates = new LocalDateTime[achievementsByOrdinal.size()];
+    private int unlockedCount;
+    private int unlockedPoints;
+    private final int[] unlockedByCategory = new int[AchievementCategory.values().length];
+    private final int[] unlockedByRarity = new int[AchievementRarity.values().length];
+    private final int[] pointsByCategory = new int[AchievementCategory.values().length];
     
     // Achievement categories
     public enum AchievementCategory {
@@ -69,144 +100,184 @@ public class AchievementManager {
         public int getPointValue() { return pointValue; }
     }
     
-    private AchievementManager() {
-        achievements = new HashMap<>();
-        unlockedAchievements = new HashMap<>();
-        progressCounters = new HashMap<>();
-        listeners = new ArrayList<>();
-        initializeAchievements();
+    /**
+     * Immutable achievement definitions, built once per JVM and shared by every
+     * manager instance. Only unlock state and counters are per instance.
+     */
+    private static final class Definitions {
+        static final Definitions SHARED = new Definitions();
+        
+        final Map<String, Achievement> achievements;
+        final Map<String, Integer> ordinals;
+        final List<Achievement> byOrdinal;
+        final int[] totalByCategory = new int[AchievementCategory.values().length];
+        final int[] totalByRarity = new int[AchievementRarity.values().length];
+        final int completionistThreshold;
+        
+        private final Map<String, Achievement> building = new HashMap<>();
+        private final Map<String, Integer> buildingOrdinals = new HashMap<>();
+        private final List<Achievement> buildingByOrdinal = new ArrayList<>();
+        
+        private Definitions() {
+            initializeAchievements(this);
+            achievements = Collections.unmodifiableMap(building);
+            ordinals = Collections.unmodifiableMap(buildingOrdinals);
+            byOrdinal = Collections.unmodifiableList(buildingByOrdinal);
+            // 90% of all achievements, rounded up so the check is a single int compare
+            completionistThreshold = (int) Math.ceil(byOrdinal.size() * 0.9);
+            System.out.println("[ACHIEVEMENTS] Initialized " + byOrdinal.size() + " achievements");
+        }
+    }
+    
+    /**
+     * Create a manager with its own unlock state and progress counters.
+     * Cheap: definitions are shared, so this only allocates per-instance state.
+     */
+    public AchievementManager() {
     }
     
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class Holder {
+        private static final AchievementManager INSTANCE = new AchievementManager();
+    }
+    
+    /**
+     * The desktop game's process-wide manager. Sessions and simulations should
+     * own their own instance (see gameproject.GameContext) instead.
+     */
     public static AchievementManager getInstance() {
-        if (instance == null) {
-            instance = new AchievementManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
     
     /**
      * Initialize all achievements in the system
      */
-    private void initializeAchievements() {
+    private static void initializeAchievements(Definitions defs) {
         // Combat Achievements
-        createAchievement("first_blood", "First Blood", 
+        createAchievement(defs, "first_blood", "First Blood", 
             "Deal your first point of damage to an enemy",
             AchievementCategory.COMBAT, AchievementRarity.COMMON, "⚔️");
             
-        createAchievement("critical_master", "Critical Master", 
+        createAchievement(defs, "critical_master", "Critical Master", 
             "Land 100 critical hits",
             AchievementCategory.COMBAT, AchievementRarity.RARE, "💥");
             
-        createAchievement("dodge_master", "Untouchable", 
+        createAchievement(defs, "dodge_master", "Untouchable", 
             "Successfully dodge 50 attacks",
             AchievementCategory.COMBAT, AchievementRarity.UNCOMMON, "💨");
             
-        createAchievement("monster_slayer", "Monster Slayer", 
+        createAchievement(defs, "monster_slayer", "Monster Slayer", 
             "Defeat 100 monsters",
             AchievementCategory.COMBAT, AchievementRarity.RARE, "🏆");
             
-        createAchievement("boss_hunter", "Boss Hunter", 
+        createAchievement(defs, "boss_hunter", "Boss Hunter", 
             "Defeat 10 boss monsters",
             AchievementCategory.COMBAT, AchievementRarity.EPIC, "👑");
             
-        createAchievement("perfect_combat", "Flawless Victory", 
+        createAchievement(defs, "perfect_combat", "Flawless Victory", 
             "Win a combat encounter without taking damage",
             AchievementCategory.COMBAT, AchievementRarity.UNCOMMON, "🛡️");
             
-        createAchievement("berserker", "Berserker", 
+        createAchievement(defs, "berserker", "Berserker", 
             "Deal over 100 damage in a single attack",
             AchievementCategory.COMBAT, AchievementRarity.EPIC, "🔥");
             
-        createAchievement("survivor", "Survivor", 
+        createAchievement(defs, "survivor", "Survivor", 
             "Survive a combat encounter with 1 HP remaining",
             AchievementCategory.SURVIVAL, AchievementRarity.RARE, "💗");
         
         // Class-Specific Achievements
-        createAchievement("warrior_champion", "Warrior Champion", 
+        createAchievement(defs, "warrior_champion", "Warrior Champion", 
             "Reach level 20 as a Warrior",
             AchievementCategory.CLASS_SPECIFIC, AchievementRarity.EPIC, "⚔️");
             
-        createAchievement("archmage", "Archmage", 
+        createAchievement(defs, "archmage", "Archmage", 
             "Cast 500 spells as a Mage",
             AchievementCategory.CLASS_SPECIFIC, AchievementRarity.EPIC, "🔮");
             
-        createAchievement("shadow_master", "Shadow Master", 
+        createAchievement(defs, "shadow_master", "Shadow Master", 
             "Successfully backstab 100 enemies as a Rogue",
             AchievementCategory.CLASS_SPECIFIC, AchievementRarity.EPIC, "🗡️");
             
-        createAchievement("holy_warrior", "Holy Warrior", 
+        createAchievement(defs, "holy_warrior", "Holy Warrior", 
             "Heal 1000 HP using Paladin abilities",
             AchievementCategory.CLASS_SPECIFIC, AchievementRarity.EPIC, "✨");
             
-        createAchievement("eagle_eye", "Eagle Eye", 
+        createAchievement(defs, "eagle_eye", "Eagle Eye", 
             "Hit 200 consecutive shots as an Archer",
             AchievementCategory.CLASS_SPECIFIC, AchievementRarity.LEGENDARY, "🏹");
             
-        createAchievement("death_lord", "Death Lord", 
+        createAchievement(defs, "death_lord", "Death Lord", 
             "Raise 50 undead minions as a Necromancer",
             AchievementCategory.CLASS_SPECIFIC, AchievementRarity.EPIC, "💀");
         
         // Progression Achievements
-        createAchievement("level_10", "Apprentice", 
+        createAchievement(defs, "level_10", "Apprentice", 
             "Reach level 10",
             AchievementCategory.PROGRESSION, AchievementRarity.COMMON, "📈");
             
-        createAchievement("level_25", "Veteran", 
+        createAchievement(defs, "level_25", "Veteran", 
             "Reach level 25",
             AchievementCategory.PROGRESSION, AchievementRarity.UNCOMMON, "🎖️");
             
-        createAchievement("level_50", "Master", 
+        createAchievement(defs, "level_50", "Master", 
             "Reach level 50",
             AchievementCategory.PROGRESSION, AchievementRarity.RARE, "🏅");
             
-        createAchievement("max_level", "Legendary Hero", 
+        createAchievement(defs, "max_level", "Legendary Hero", 
             "Reach the maximum level",
             AchievementCategory.PROGRESSION, AchievementRarity.LEGENDARY, "👑");
         
         // Collection Achievements
-        createAchievement("item_collector", "Collector", 
+        createAchievement(defs, "item_collector", "Collector", 
             "Collect 100 different items",
             AchievementCategory.COLLECTION, AchievementRarity.UNCOMMON, "📦");
             
-        createAchievement("treasure_hunter", "Treasure Hunter", 
+        createAchievement(defs, "treasure_hunter", "Treasure Hunter", 
             "Find 50 treasure chests",
             AchievementCategory.EXPLORATION, AchievementRarity.RARE, "💰");
             
-        createAchievement("wealthy", "Wealthy", 
+        createAchievement(defs, "wealthy", "Wealthy", 
             "Accumulate 10,000 gold",
             AchievementCategory.COLLECTION, AchievementRarity.RARE, "💰");
         
         // Exploration Achievements
-        createAchievement("explorer", "Explorer", 
+        createAchievement(defs, "explorer", "Explorer", 
             "Visit 20 different locations",
             AchievementCategory.EXPLORATION, AchievementRarity.UNCOMMON, "🗺️");
             
-        createAchievement("dungeon_crawler", "Dungeon Crawler", 
+        createAchievement(defs, "dungeon_crawler", "Dungeon Crawler", 
             "Complete 10 dungeons",
             AchievementCategory.EXPLORATION, AchievementRarity.RARE, "🏰");
         
         // Secret Achievements
-        createAchievement("secret_path", "Path Less Traveled", 
+        createAchievement(defs, "secret_path", "Path Less Traveled", 
             "Discover a secret area",
             AchievementCategory.SECRETS, AchievementRarity.RARE, "🗝️");
             
-        createAchievement("easter_egg", "Easter Egg Hunter", 
+        createAchievement(defs, "easter_egg", "Easter Egg Hunter", 
             "Find the developer's hidden message",
             AchievementCategory.SECRETS, AchievementRarity.MYTHIC, "🥚");
         
         // Mastery Achievements
-        createAchievement("completionist", "Completionist", 
+        createAchievement(defs, "completionist", "Completionist", 
             "Unlock 90% of all achievements",
             AchievementCategory.MASTERY, AchievementRarity.LEGENDARY, "🏆");
-        
-        System.out.println("[ACHIEVEMENTS] Initialized " + achievements.size() + " achievements");
     }
     
-    private void createAchievement(String id, String name, String description, 
+    /**
+     * Registers an achievement and assigns it the next dense ordinal.
+     * Ordinals double as bit positions in saved bitsets, so new achievements
+     * must only ever be appended to the end of initializeAchievements().
+     */
+    private static void createAchievement(Definitions defs, String id, String name, String description, 
                                  AchievementCategory category, AchievementRarity rarity, String icon) {
         Achievement achievement = new Achievement(id, name, description, category, rarity, icon);
-        achievements.put(id, achievement);
-        unlockedAchievements.put(id, false);
+        defs.building.put(id, achievement);
+        defs.buildingOrdinals.put(id, defs.buildingByOrdinal.size());
+        defs.buildingByOrdinal.add(achievement);
+        defs.totalByCategory[category.ordinal()]++;
+        defs.totalByRarity[rarity.ordinal()]++;
     }
     
     /**
@@ -221,32 +292,32 @@ public class AchievementManager {
         
         // Critical Master
         if (criticalHit) {
-            incrementProgress("critical_hits", 1);
-            if (getProgress("critical_hits") >= 100) {
+            progressCounters.increment(criticalHitsCounter);
+            if (progressCounters.get(criticalHitsCounter) >= 100) {
                 unlockAchievement("critical_master");
             }
         }
         
         // Dodge Master
         if (dodged) {
-            incrementProgress("dodges", 1);
-            if (getProgress("dodges") >= 50) {
+            progressCounters.increment(dodgesCounter);
+            if (progressCounters.get(dodgesCounter) >= 50) {
                 unlockAchievement("dodge_master");
             }
         }
         
         // Monster Slayer
         if (playerWon) {
-            incrementProgress("monsters_defeated", 1);
-            if (getProgress("monsters_defeated") >= 100) {
+            progressCounters.increment(monstersDefeatedCounter);
+            if (progressCounters.get(monstersDefeatedCounter) >= 100) {
                 unlockAchievement("monster_slayer");
             }
             
             // Boss Hunter - check if monster is a boss type
             if (monster.getType().name().contains("BOSS") || 
                 monster.getName().toLowerCase().contains("boss")) {
-                incrementProgress("bosses_defeated", 1);
-                if (getProgress("bosses_defeated") >= 10) {
+                progressCounters.increment(bossesDefeatedCounter);
+                if (progressCounters.get(bossesDefeatedCounter) >= 10) {
                     unlockAchievement("boss_hunter");
                 }
             }
@@ -285,15 +356,15 @@ public class AchievementManager {
     }
     
     private void checkSpellCasting(Player player) {
-        incrementProgress("spells_cast", 1);
-        if (getProgress("spells_cast") >= 500) {
+        progressCounters.increment(spellsCastCounter);
+        if (progressCounters.get(spellsCastCounter) >= 500) {
             unlockAchievement("archmage");
         }
     }
     
     private void checkBackstabs(Player player) {
-        incrementProgress("backstabs", 1);
-        if (getProgress("backstabs") >= 100) {
+        progressCounters.increment(backstabsCounter);
+        if (progressCounters.get(backstabsCounter) >= 100) {
             unlockAchievement("shadow_master");
         }
     }
@@ -301,14 +372,14 @@ public class AchievementManager {
     private void checkHealing(Player player) {
         // This would be called when paladin heals
         // incrementProgress("healing_done", healAmount);
-        if (getProgress("healing_done") >= 1000) {
+        if (progressCounters.get(healingDoneCounter) >= 1000) {
             unlockAchievement("holy_warrior");
         }
     }
     
     private void checkArchery(Player player) {
-        incrementProgress("consecutive_hits", 1);
-        if (getProgress("consecutive_hits") >= 200) {
+        progressCounters.increment(consecutiveHitsCounter);
+        if (progressCounters.get(consecutiveHitsCounter) >= 200) {
             unlockAchievement("eagle_eye");
         }
     }
@@ -316,7 +387,7 @@ public class AchievementManager {
     private void checkNecromancy(Player player) {
         // This would be called when necromancer raises undead
         // incrementProgress("undead_raised", 1);
-        if (getProgress("undead_raised") >= 50) {
+        if (progressCounters.get(undeadRaisedCounter) >= 50) {
             unlockAchievement("death_lord");
         }
     }
@@ -343,57 +414,114 @@ public class AchievementManager {
     /**
      * Unlock an achievement
      */
-    public boolean unlockAchievement(String achievementId) {
-        if (unlockedAchievements.containsKey(achievementId) && 
-            !unlockedAchievements.get(achievementId)) {
-            
-            unlockedAchievements.put(achievementId, true);
-            Achievement achievement = achievements.get(achievementId);
-            
-            if (achievement != null) {
-                System.out.println("[ACHIEVEMENT UNLOCKED] " + achievement.getIcon() + " " + 
-                                 achievement.getName() + " - " + achievement.getDescription());
-                
-                // Notify listeners
-                for (AchievementListener listener : listeners) {
-                    listener.onAchievementUnlocked(achievement);
-                }
-                
-                // Check for completionist achievement
-                checkCompletionist();
-                
-                return true;
-            }
+    public synchronized boolean unlockAchievement(String achievementId) {
+        AchievementUnlockEvent event = new AchievementUnlockEvent();
+        event.begin();
+        Integer ordinal = ordinals.get(achievementId);
+        if (ordinal == null || !markUnlocked(ordinal)) {
+            return false;
+        }
+        
+        Achievement achievement = achievementsByOrdinal.get(ordinal);
+        unlockedDates[ordinal] = LocalDateTime.now();
+        if (consoleLogging) {
+            System.out.println("[ACHIEVEMENT UNLOCKED] " + achievement.getIcon() + " " + 
+                             achievement.getName() + " - " + achievement.getDescription());
+        }
+        
+        // Notify listeners
+        for (AchievementListener listener : listeners) {
+            listener.onAchievementUnlocked(achievement);
+        }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.achievementId = achievementId;
+            event.name = achievement.getName();
+            event.rarity = achievement.getRarity() != null ? achievement.getRarity().name() : null;
+            event.unlockedCount = unlockedCount;
+            event.commit();
         }
-        return false;
+        
+        // Check for completionist achievement
+        checkCompletionist();
+        
+        return true;
     }
     
-    private void checkCompletionist() {
-        int totalAchievements = achievements.size();
-        int unlockedCount = (int) unlockedAchievements.values().stream()
-            .mapToInt(unlocked -> unlocked ? 1 : 0)
-            .sum();
-            
-        double completionPercentage = (double) unlockedCount / totalAchievements;
+    /**
+     * Sets the bit for an ordinal and updates the running totals.
+     * 
+     * @return true if the achievement was previously locked
+     */
+    private boolean markUnlocked(int ordinal) {
+        if (unlocked.get(ordinal)) {
+            return false;
+        }
+        unlocked.set(ordinal);
         
-        if (completionPercentage >= 0.9) { // 90%
+        Achievement achievement = achievementsByOrdinal.get(ordinal);
+        int points = achievement.getRarity().getPointValue();
+        unlockedCount++;
+        unlockedPoints += points;
+        unlockedByCategory[achievement.getCategory().ordinal()]++;
+        pointsByCategory[achievement.getCategory().ordinal()] += points;
+        unlockedByRarity[achievement.getRarity().ordinal()]++;
+        return true;
+    }
+    
+    private void checkCompletionist() {
+        if (unlockedCount >= completionistThreshold) { // 90%
             unlockAchievement("completionist");
         }
     }
     
     /**
-     * Progress tracking methods
+     * Progress tracking methods. Safe to call from any thread.
      */
     public void incrementProgress(String counter, int amount) {
-        progressCounters.put(counter, progressCounters.getOrDefault(counter, 0) + amount);
+        progressCounters.add(counter, amount);
     }
     
     public int getProgress(String counter) {
-        return progressCounters.getOrDefault(counter, 0);
+        return (int) Math.min(Integer.MAX_VALUE, progressCounters.get(counter));
     }
     
     public void resetProgress(String counter) {
-        progressCounters.put(counter, 0);
+        int id = progressCounters.idOf(counter);
+        if (id >= 0) {
+            progressCounters.reset(id);
+        }
+    }
+    
+    /**
+     * Direct access to the counter registry for id-based, allocation-free updates
+     */
+    public CounterRegistry getProgressCounters() {
+        return progressCounters;
+    }
+    
+    /**
+     * Snapshot of all progress counters for save files
+     */
+    public Map<String, Object> getProgressSnapshot() {
+        return new LinkedHashMap<>(progressCounters.snapshot());
+    }
+    
+    /**
+     * Restore counters from a save file's ACHIEVEMENT_PROGRESS map.
+     * Non-numeric values are skipped.
+     */
+    public void restoreProgress(Map<String, Object> saved) {
+        progressCounters.resetAll();
+        for (Map.Entry<String, Object> entry : saved.entrySet()) {
+            try {
+                long value = Long.parseLong(String.valueOf(entry.getValue()).trim());
+                progressCounters.set(progressCounters.register(entry.getKey()), value);
+            } catch (NumberFormatException e) {
+                System.err.println("Warning: Invalid achievement progress for " + entry.getKey());
+            }
+        }
     }
     
     /**
@@ -404,20 +532,35 @@ public class AchievementManager {
     }
     
     public int getUnlockedCount() {
-        return (int) unlockedAchievements.values().stream()
-            .mapToInt(unlocked -> unlocked ? 1 : 0)
-            .sum();
+        return unlockedCount;
     }
     
     public double getCompletionPercentage() {
-        return (double) getUnlockedCount() / getTotalAchievements() * 100.0;
+        return (double) unlockedCount / getTotalAchievements() * 100.0;
     }
     
     public int getTotalAchievementPoints() {
-        return achievements.values().stream()
-            .filter(achievement -> isUnlocked(achievement.getId()))
-            .mapToInt(achievement -> achievement.getRarity().getPointValue())
-            .sum();
+        return unlockedPoints;
+    }
+    
+    public int getTotalInCategory(AchievementCategory category) {
+        return totalByCategory[category.ordinal()];
+    }
+    
+    public int getUnlockedInCategory(AchievementCategory category) {
+        return unlockedByCategory[category.ordinal()];
+    }
+    
+    public int getPointsInCategory(AchievementCategory category) {
+        return pointsByCategory[category.ordinal()];
+    }
+    
+    public int getTotalWithRarity(AchievementRarity rarity) {
+        return totalByRarity[rarity.ordinal()];
+    }
+    
+    public int getUnlockedWithRarity(AchievementRarity rarity) {
+        return unlockedByRarity[rarity.ordinal()];
     }
     
     /**
@@ -431,30 +574,131 @@ public class AchievementManager {
     }
     
     public List<Achievement> getUnlockedAchievements() {
-        return achievements.values().stream()
-            .filter(achievement -> isUnlocked(achievement.getId()))
-            .sorted(Comparator.comparing(Achievement::getUnlockedDate).reversed())
-            .toList();
+        List<Achievement> result = new ArrayList<>(unlockedCount);
+        for (int i = unlocked.nextSetBit(0); i >= 0; i = unlocked.nextSetBit(i + 1)) {
+            result.add(achievementsByOrdinal.get(i));
+        }
+        // Restored achievements have no unlock date; list them after dated ones
+        result.sort(Comparator.comparing((Achievement achievement) -> getUnlockedDate(achievement.getId()),
+            Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed());
+        return result;
+    }
+    
+    /**
+     * When this manager unlocked an achievement during the current run.
+     * Definitions are shared between managers, so the date lives here rather
+     * than on the Achievement itself.
+     * 
+     * @return The unlock time, or null if locked or restored from a save
+     */
+    public LocalDateTime getUnlockedDate(String achievementId) {
+        Integer ordinal = ordinals.get(achievementId);
+        return ordinal != null ? unlockedDates[ordinal] : null;
     }
     
     public List<Achievement> getLockedAchievements() {
-        return achievements.values().stream()
-            .filter(achievement -> !isUnlocked(achievement.getId()))
-            .sorted(Comparator.comparing(Achievement::getName))
-            .toList();
+        List<Achievement> result = new ArrayList<>(achievementsByOrdinal.size() - unlockedCount);
+        for (int i = unlocked.nextClearBit(0); i < achievementsByOrdinal.size(); i = unlocked.nextClearBit(i + 1)) {
+            result.add(achievementsByOrdinal.get(i));
+        }
+        result.sort(Comparator.comparing(Achievement::getName));
+        return result;
     }
     
     /**
      * Check if achievement is unlocked
      */
     public boolean isUnlocked(String achievementId) {
-        return unlockedAchievements.getOrDefault(achievementId, false);
+        Integer ordinal = ordinals.get(achievementId);
+        return ordinal != null && unlocked.get(ordinal);
+    }
+    
+    /**
+     * Ids of all unlocked achievements in ordinal order, for the readable save list
+     */
+    public List<String> getUnlockedIds() {
+        List<String> ids = new ArrayList<>(unlockedCount);
+        for (int i = unlocked.nextSetBit(0); i >= 0; i = unlocked.nextSetBit(i + 1)) {
+            ids.add(achievementsByOrdinal.get(i).getId());
+        }
+        return ids;
+    }
+    
+    /**
+     * Encode the unlocked state as a compact bitset string for save files.
+     * Bit n corresponds to the n-th registered achievement; the result is
+     * URL-safe Base64 without padding (26 achievements fit in 6 characters).
+     */
+    public String encodeUnlocked() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unlocked.toByteArray());
+    }
+    
+    /**
+     * Restore unlocked state from {@link #encodeUnlocked()} output.
+     * Listeners are not notified; this is a load, not a fresh unlock.
+     * 
+     * @return true if the encoding was valid
+     */
+    public synchronized boolean restoreUnlocked(String encoded) {
+        BitSet restored;
+        try {
+            restored = BitSet.valueOf(Base64.getUrlDecoder().decode(encoded == null ? "" : encoded.trim()));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Invalid achievement bitset: " + encoded);
+            return false;
+        }
+        clearUnlocked();
+        for (int i = restored.nextSetBit(0); i >= 0 && i < achievementsByOrdinal.size(); i = restored.nextSetBit(i + 1)) {
+            markUnlocked(i);
+        }
+        return true;
+    }
+    
+    /**
+     * Restore unlocked state from a list of achievement ids (pre-bitset saves).
+     * Unknown ids are ignored.
+     */
+    public synchronized void restoreUnlocked(Collection<String> achievementIds) {
+        clearUnlocked();
+        for (String id : achievementIds) {
+            Integer ordinal = ordinals.get(id.trim());
+            if (ordinal != null) {
+                markUnlocked(ordinal);
+            }
+        }
+    }
+    
+    private void clearUnlocked() {
+        Arrays.fill(unlockedDates, null);
+        unlocked.clear();
+        unlockedCount = 0;
+        unlockedPoints = 0;
+        Arrays.fill(unlockedByCategory, 0);
+        Arrays.fill(pointsByCategory, 0);
+        Arrays.fill(unlockedByRarity, 0);
     }
     
     public Achievement getAchievement(String achievementId) {
         return achievements.get(achievementId);
     }
     
+    /**
+     * Return this manager to a fresh state: nothing unlocked, all counters zero.
+     * Listeners stay registered. Cost is proportional to what was unlocked,
+     * not to the size of the achievement table.
+     */
+    public synchronized void reset() {
+        clearUnlocked();
+        progressCounters.resetAll();
+    }
+    
+    /**
+     * Enable or disable the "[ACHIEVEMENT UNLOCKED]" console line (off for headless sessions)
+     */
+    public void setConsoleLogging(boolean enabled) {
+        this.consoleLogging = enabled;
+    }
+    
     /**
      * Add achievement listener
      */
@@ -466,6 +710,10 @@ public class AchievementManager {
         listeners.remove(listener);
     }
     
+    public int getListenerCount() {
+        return listeners.size();
+    }
+    
     /**
      * Get formatted achievement summary
      */
@@ -478,14 +726,10 @@ public class AchievementManager {
         summary.append("\n");
         
         for (AchievementCategory category : AchievementCategory.values()) {
-            List<Achievement> categoryAchievements = getAchievementsByCategory(category);
-            if (!categoryAchievements.isEmpty()) {
-                long unlockedInCategory = categoryAchievements.stream()
-                    .mapToLong(achievement -> isUnlocked(achievement.getId()) ? 1 : 0)
-                    .sum();
-                    
+            int total = totalByCategory[category.ordinal()];
+            if (total > 0) {
                 summary.append(String.format("%s: %d/%d\n", 
-                    category.getDisplayName(), unlockedInCategory, categoryAchievements.size()));
+                    category.getDisplayName(), unlockedByCategory[category.ordinal()], total));
             }
         }
         
@@ -1,10 +1,13 @@
 package gameproject.audio;
 
-import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
+
+import gameproject.stats.LatencyHistogram;
+import gameproject.stats.Metrics;
+import gameproject.stats.events.MusicSwitchEvent;
 
 /**
  * Advanced Audio System for "The End The Beginning" v4.0.0
@@ -26,21 +29,25 @@ import javafx.scene.media.MediaPlayer;
  */
 public class AudioManager {
     
-    private static AudioManager instance;
     private boolean soundEnabled;
     private boolean musicEnabled;
     private double masterVolume;
     private double soundVolume;
     private double musicVolume;
     
-    // Audio registries (paths to audio files)
-    private final Map<String, String> soundRegistry;
-    private final Map<String, String> musicRegistry;
+    // Audio registries (paths to audio files), shared by every instance
+    private final Map<String, String> soundRegistry = Registry.SOUNDS;
+    private final Map<String, String> musicRegistry = Registry.MUSIC;
     
     // Current music track
     private String currentTrack;
     private boolean isPlayingMusic;
-    private MediaPlayer currentMediaPlayer;
+    
+    // Prefetching, crossfading music player, created on the first track
+    private MusicPipeline music;
+    
+    // Decoded sound effects, created on the first sound (silent instances never create it)
+    private volatile SfxEngine sfx;
     
     // Sound effect categories
     public enum SoundCategory {
@@ -51,30 +58,61 @@ public class AudioManager {
         ACHIEVEMENT
     }
     
-    private AudioManager() {
-        this.soundEnabled = true;
-        this.musicEnabled = true;
+    private static final LatencyHistogram PLAY_MUSIC_TIME = Metrics.global().histogram("audio.play_music");
+    private static final int TRACK_SWITCHES = Metrics.global().counter("audio.track_switches");
+    
+    // Tracks usually requested after each track, prefetched while it plays
+    private static final Map<String, List<String>> NEXT_MUSIC = Map.of(
+        "main_theme", List.of("dungeon_ambient"),
+        "dungeon_ambient", List.of("combat_theme", "boss_theme"),
+        "combat_theme", List.of("dungeon_ambient", "game_over"),
+        "boss_theme", List.of("victory_theme", "game_over"),
+        "victory_theme", List.of("main_theme"),
+        "game_over", List.of("main_theme"));
+    
+    /**
+     * Sound and music paths, registered once per JVM
+     */
+    private static final class Registry {
+        static final Map<String, String> SOUNDS = new HashMap<>();
+        static final Map<String, String> MUSIC = new HashMap<>();
+        
+        static {
+            loadAudioResources();
+        }
+    }
+    
+    private AudioManager(boolean enabled) {
+        this.soundEnabled = enabled;
+        this.musicEnabled = enabled;
         this.masterVolume = 1.0;
         this.soundVolume = 0.7;
         this.musicVolume = 0.5;
-        this.soundRegistry = new HashMap<>();
-        this.musicRegistry = new HashMap<>();
         this.isPlayingMusic = false;
-        
-        loadAudioResources();
+    }
+    
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class Holder {
+        private static final AudioManager INSTANCE = new AudioManager(true);
     }
     
     public static AudioManager getInstance() {
-        if (instance == null) {
-            instance = new AudioManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Create an audio manager with sound and music disabled, for headless
+     * sessions and simulations. It never touches the media stack but still
+     * answers settings queries like a normal instance.
+     */
+    public static AudioManager createSilent() {
+        return new AudioManager(false);
     }
     
     /**
      * Initialize and register audio resource paths
      */
-    private void loadAudioResources() {
+    private static void loadAudioResources() {
         // Combat sounds
         registerSound("sword_hit", "/audio/combat/sword_hit.wav");
         registerSound("sword_miss", "/audio/combat/sword_miss.wav");
@@ -112,18 +150,19 @@ public class AudioManager {
         registerMusic("game_over", "/audio/music/game_over.mp3");
     }
     
-    private void registerSound(String name, String path) {
-        soundRegistry.put(name, path);
+    private static void registerSound(String name, String path) {
+        Registry.SOUNDS.put(name, path);
         System.out.println("Registered sound: " + name + " -> " + path);
     }
     
-    private void registerMusic(String name, String path) {
-        musicRegistry.put(name, path);
+    private static void registerMusic(String name, String path) {
+        Registry.MUSIC.put(name, path);
         System.out.println("Registered music: " + name + " -> " + path);
     }
     
     /**
-     * Play a sound effect (framework implementation)
+     * Play a sound effect. Sounds are decoded once and cached (see {@link SfxEngine}),
+     * so repeated combat sounds start immediately.
      */
     public void playSound(String soundName) {
         playSound(soundName, soundVolume);
@@ -132,31 +171,76 @@ public class AudioManager {
     public void playSound(String soundName, double volume) {
         if (!soundEnabled) return;
         
-        // Apply master volume
-        double finalVolume = volume * masterVolume;
-        
         String soundPath = soundRegistry.get(soundName);
         if (soundPath != null) {
-            // Framework implementation - would integrate with audio library
-            System.out.println("[AUDIO] Playing sound: " + soundName + 
-                             " (volume: " + String.format("%.2f", finalVolume) + ") -> " + soundPath);
+            // Apply master volume
+            sfx().play(soundPath, volume * masterVolume);
         } else {
             System.out.println("[AUDIO] Sound not found: " + soundName);
         }
     }
     
     /**
-     * Play background music using JavaFX Media API
+     * Decode sound effects ahead of their first use. Call off the FX thread.
+     */
+    public void preloadSounds(String... soundNames) {
+        if (!soundEnabled) return;
+        
+        List<String> paths = new ArrayList<>();
+        for (String soundName : soundNames) {
+            String soundPath = soundRegistry.get(soundName);
+            if (soundPath != null) {
+                paths.add(soundPath);
+            }
+        }
+        sfx().preload(paths);
+    }
+    
+    private SfxEngine sfx() {
+        SfxEngine engine = sfx;
+        if (engine == null) {
+            synchronized (this) {
+                engine = sfx;
+                if (engine == null) {
+                    engine = new SfxEngine();
+                    sfx = engine;
+                }
+            }
+        }
+        return engine;
+    }
+    
+    /**
+     * Play background music using JavaFX Media API. Returns immediately: the
+     * track is loaded in the background (or was prefetched) and crossfades in
+     * (see {@link MusicPipeline}), and the tracks likely to follow are prefetched.
      */
     public void playMusic(String musicName) {
         playMusic(musicName, true);
     }
     
     public void playMusic(String musicName, boolean loop) {
+        MusicSwitchEvent event = new MusicSwitchEvent();
+        event.begin();
+        String previousTrack = currentTrack;
+        long start = System.nanoTime();
+        startMusic(musicName, loop);
+        PLAY_MUSIC_TIME.recordSince(start);
+        event.end();
+        if (musicName.equals(currentTrack) && !musicName.equals(previousTrack) && event.shouldCommit()) {
+            event.track = musicName;
+            event.previousTrack = previousTrack;
+            event.resource = musicRegistry.get(musicName);
+            event.loop = loop;
+            event.commit();
+        }
+    }
+    
+    private void startMusic(String musicName, boolean loop) {
         if (!musicEnabled) return;
         
         // Don't restart the same track
-        if (musicName.equals(currentTrack) && isPlayingMusic && currentMediaPlayer != null) {
+        if (musicName.equals(currentTrack) && isPlayingMusic) {
             return;
         }
         
@@ -165,65 +249,61 @@ public class AudioManager {
             System.out.println("[AUDIO] Music not found: " + musicName);
             return;
         }
-        
-        // Stop current music
-        if (isPlayingMusic && currentMediaPlayer != null) {
-            stopMusic();
+        if (!audioExists(musicPath)) {
+            System.out.println("[AUDIO] Music file not found at: " + musicPath);
+            return;
         }
         
-        try {
-            // Load media from resource
-            URL mediaUrl = getClass().getResource(musicPath);
-            if (mediaUrl == null) {
-                System.out.println("[AUDIO] Music file not found at: " + musicPath);
-                return;
-            }
-            
-            Media media = new Media(mediaUrl.toExternalForm());
-            currentMediaPlayer = new MediaPlayer(media);
-            
-            // Set volume and looping (apply master volume)
-            currentMediaPlayer.setVolume(musicVolume * masterVolume);
-            if (loop) {
-                currentMediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-            } else {
-                currentMediaPlayer.setCycleCount(1);
+        music().play(musicPath, loop, musicVolume * masterVolume);
+        currentTrack = musicName;
+        isPlayingMusic = true;
+        Metrics.global().increment(TRACK_SWITCHES);
+        prefetchLikelyNext(musicName);
+        
+        System.out.println("[AUDIO] Playing music: " + musicName + 
+                         " (loop: " + loop + ", volume: " + String.format("%.2f", musicVolume) + 
+                         ") -> " + musicPath);
+    }
+    
+    private void prefetchLikelyNext(String musicName) {
+        List<String> paths = new ArrayList<>();
+        for (String next : NEXT_MUSIC.getOrDefault(musicName, List.of())) {
+            String path = musicRegistry.get(next);
+            if (path != null && audioExists(path)) {
+                paths.add(path);
             }
-            
-            // Handle playback errors gracefully
-            currentMediaPlayer.setOnError(() -> {
-                System.err.println("[AUDIO] Error playing music: " + musicName + " - " + 
-                                 currentMediaPlayer.getError().getMessage());
-                isPlayingMusic = false;
-                currentTrack = null;
-                currentMediaPlayer = null;
+        }
+        music().prefetch(paths);
+    }
+    
+    /**
+     * One index lookup when the audio pack is present; a classpath search otherwise.
+     */
+    private boolean audioExists(String resourcePath) {
+        AudioPack pack = AudioPack.shared();
+        return pack != null ? pack.find(resourcePath) != null : getClass().getResource(resourcePath) != null;
+    }
+    
+    private MusicPipeline music() {
+        if (music == null) {
+            music = new MusicPipeline();
+            music.setOnError(path -> {
+                if (path.equals(musicRegistry.get(currentTrack))) {
+                    isPlayingMusic = false;
+                    currentTrack = null;
+                }
             });
-            
-            // Start playback
-            currentMediaPlayer.play();
-            currentTrack = musicName;
-            isPlayingMusic = true;
-            
-            System.out.println("[AUDIO] Playing music: " + musicName + 
-                             " (loop: " + loop + ", volume: " + String.format("%.2f", musicVolume) + 
-                             ") -> " + musicPath);
-        } catch (Exception e) {
-            System.err.println("[AUDIO] Failed to play music: " + musicName + " - " + e.getMessage());
-            isPlayingMusic = false;
-            currentTrack = null;
-            currentMediaPlayer = null;
         }
+        return music;
     }
     
     /**
      * Stop current music
      */
     public void stopMusic() {
-        if (isPlayingMusic && currentMediaPlayer != null) {
+        if (isPlayingMusic && music != null) {
             System.out.println("[AUDIO] Stopping music: " + currentTrack);
-            currentMediaPlayer.stop();
-            currentMediaPlayer.dispose();
-            currentMediaPlayer = null;
+            music.stop();
             isPlayingMusic = false;
             currentTrack = null;
         }
@@ -343,6 +423,9 @@ public class AudioManager {
         if (!enabled && isPlayingMusic) {
             stopMusic();
         }
+        if (!enabled && sfx != null) {
+            sfx.stopAll();
+        }
         System.out.println("[AUDIO] Sound " + (enabled ? "enabled" : "disabled"));
     }
     
@@ -364,8 +447,8 @@ public class AudioManager {
         System.out.println("[AUDIO] Music volume set to: " + String.format("%.2f", this.musicVolume));
         
         // Apply volume change to current music if playing
-        if (isPlayingMusic && currentMediaPlayer != null) {
-            currentMediaPlayer.setVolume(musicVolume * masterVolume);
+        if (isPlayingMusic && music != null) {
+            music.setVolume(musicVolume * masterVolume);
             System.out.println("[AUDIO] Applied volume change to current track: " + currentTrack);
         }
     }
@@ -378,8 +461,8 @@ public class AudioManager {
         System.out.println("[AUDIO] Master volume set to: " + String.format("%.2f", this.masterVolume));
         
         // Apply to current music if playing
-        if (isPlayingMusic && currentMediaPlayer != null) {
-            currentMediaPlayer.setVolume(musicVolume * masterVolume);
+        if (isPlayingMusic && music != null) {
+            music.setVolume(musicVolume * masterVolume);
         }
     }
     
@@ -396,12 +479,16 @@ public class AudioManager {
      * Cleanup resources
      */
     public void dispose() {
-        if (isPlayingMusic && currentMediaPlayer != null) {
-            stopMusic();
+        stopMusic();
+        if (music != null) {
+            music.dispose();
+        }
+        
+        if (sfx != null) {
+            sfx.clear();
         }
         
-        soundRegistry.clear();
-        musicRegistry.clear();
+        // Registries are shared with other instances and are left intact
         System.out.println("[AUDIO] AudioManager disposed");
     }
 }
\ No newline at end of file
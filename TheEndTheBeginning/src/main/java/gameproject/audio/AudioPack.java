@@ -0,0 +1,220 @@
+package gameproject.audio;
+
+import gameproject.Settings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read side of {@code audio.pack}, the indexed audio archive built by
+ * {@code src/build/java/gameproject/build/AudioPacker.java}.
+ *
+ * The pack file is memory-mapped and its index read once into a map, so
+ * finding an asset is one hash lookup instead of a classpath resource search,
+ * and sound data is read from the mapping without a stream. Sound effects are
+ * stored as 16-bit PCM ({@link Kind#PCM}) and handed to Java Sound as is.
+ * Music is stored compressed ({@link Kind#ENCODED}); JavaFX Media can only
+ * open URLs, so each track is copied out once to a content-named file in the
+ * cache directory and played from there.
+ *
+ * When the game runs from a jar the pack is a jar entry, which cannot be
+ * mapped; it is copied to the cache directory first, once per build.
+ *
+ * @version 5.0.0
+ */
+public final class AudioPack {
+
+    static final int MAGIC = 0x47504B31;    // "GPK1", must match AudioPacker
+    static final int VERSION = 1;
+    public static final String RESOURCE = "/audio.pack";
+
+    public enum Kind {
+        /** 16-bit signed little-endian PCM */
+        PCM,
+        /** The original file's bytes (MP3 etc.) */
+        ENCODED
+    }
+
+    /**
+     * One packed asset. Several names may share the same data.
+     */
+    public record Entry(String name, Kind kind, int sampleRate, int channels, String extension,
+                        long crc, long offset, long length) {
+    }
+
+    private final Path file;
+    private final MappedByteBuffer data;
+    private final Map<String, Entry> index;
+    private final Path extractDirectory;
+
+    private AudioPack(Path file, MappedByteBuffer data, Map<String, Entry> index, Path extractDirectory) {
+        this.file = file;
+        this.data = data;
+        this.index = index;
+        this.extractDirectory = extractDirectory;
+    }
+
+    // Initialization-on-demand holder: the pack is located and mapped on first use
+    private static class Holder {
+        private static final AudioPack SHARED = locate();
+    }
+
+    /**
+     * The game's audio pack, or null if this build has none (e.g. an IDE run
+     * without the Maven resource step); callers then fall back to classpath resources.
+     */
+    public static AudioPack shared() {
+        return Holder.SHARED;
+    }
+
+    private static AudioPack locate() {
+        URL url = AudioPack.class.getResource(RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        Path cache = cacheDirectory();
+        try {
+            Path packFile;
+            if ("file".equals(url.getProtocol())) {
+                packFile = Path.of(url.toURI());
+            } else {
+                packFile = copyToCache(url, cache);
+            }
+            return open(packFile, cache);
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            System.err.println("[AUDIO] Could not open audio pack, using loose files: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Where the pack copy and extracted tracks go, respecting the theetb.cache.dir
+     * system property override (surefire points it into target/).
+     * Defaults to the config directory's cache/audio.
+     */
+    static Path cacheDirectory() {
+        String overrideDir = System.getProperty("theetb.cache.dir");
+        if (overrideDir != null && !overrideDir.isEmpty()) {
+            return Path.of(overrideDir).resolve("audio");
+        }
+        return Settings.getConfigDirectory().resolve("cache").resolve("audio");
+    }
+
+    private static Path copyToCache(URL url, Path cache) throws IOException {
+        URLConnection connection = url.openConnection();
+        // Name by size and build time, so a new build gets a fresh copy
+        Path target = cache.resolve("audio-" + connection.getContentLengthLong() + "-"
+            + connection.getLastModified() + ".pack");
+        if (!Files.exists(target)) {
+            Files.createDirectories(cache);
+            Path temp = Files.createTempFile(cache, "audio", ".tmp");
+            try (InputStream in = connection.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return target;
+    }
+
+    /**
+     * Map a pack file and read its index.
+     *
+     * @param extractDirectory Where compressed tracks are copied for playback
+     */
+    public static AudioPack open(Path packFile, Path extractDirectory) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer in = data.duplicate();
+        if (in.remaining() < 12 || in.getInt() != MAGIC) {
+            throw new IOException("Not an audio pack: " + packFile);
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported audio pack version " + version);
+        }
+        int count = in.getInt();
+        Map<String, Entry> index = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String name = readUtf(in);
+            Kind kind = in.get() == 1 ? Kind.PCM : Kind.ENCODED;
+            int sampleRate = in.getInt();
+            int channels = in.getShort();
+            String extension = readUtf(in);
+            long crc = in.getLong();
+            long offset = in.getLong();
+            long length = in.getLong();
+            if (offset < 0 || length < 0 || offset + length > data.capacity()) {
+                throw new IOException("Corrupt audio pack entry " + name);
+            }
+            index.put(name, new Entry(name, kind, sampleRate, channels, extension, crc, offset, length));
+        }
+        return new AudioPack(packFile, data, index, extractDirectory);
+    }
+
+    // DataOutputStream.writeUTF: unsigned short length, then (modified) UTF-8
+    private static String readUtf(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Look up an asset by its resource path, e.g. "/audio/music/main_theme.mp3".
+     */
+    public Entry find(String resourcePath) {
+        return index.get(resourcePath);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * A read-only view of an entry's bytes in the mapping (no copy).
+     */
+    public ByteBuffer data(Entry entry) {
+        return data.slice((int) entry.offset(), (int) entry.length()).asReadOnlyBuffer();
+    }
+
+    /**
+     * A file holding an entry's bytes, for APIs that need a URL. Written once;
+     * the name is derived from the content, so a rebuilt pack never serves a stale copy.
+     */
+    public Path extract(Entry entry) throws IOException {
+        String name = Long.toHexString(entry.crc()) + "-" + entry.length() + "." + entry.extension();
+        Path target = extractDirectory.resolve(name);
+        if (Files.exists(target) && Files.size(target) == entry.length()) {
+            return target;
+        }
+        Files.createDirectories(extractDirectory);
+        Path temp = Files.createTempFile(extractDirectory, "track", ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = data(entry);
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+}
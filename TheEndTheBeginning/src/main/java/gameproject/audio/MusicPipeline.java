@@ -0,0 +1,422 @@
+package gameproject.audio;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import gameproject.ui.FxMetrics;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Background music with prefetched players and crossfades.
+ *
+ * Building a {@link MediaPlayer} opens and probes the file, which used to
+ * happen on the FX thread in the middle of a state change, after the old track
+ * had already been stopped. The pipeline instead:
+ * <ul>
+ *   <li>builds players on a background thread, ahead of time for the tracks
+ *       the game is likely to need next ({@link #prefetch(Collection)})</li>
+ *   <li>switches instantly when the requested track is already prefetched, and
+ *       otherwise keeps the old track playing until the new one is ready</li>
+ *   <li>crossfades with an equal-power volume ramp driven by the frame pulse,
+ *       so there is no gap and no audible step</li>
+ * </ul>
+ * Nothing on the FX thread waits for media I/O.
+ *
+ * All methods except loading are called on the FX thread.
+ *
+ * @version 5.0.0
+ */
+public class MusicPipeline {
+
+    public static final long DEFAULT_CROSSFADE_MILLIS = 1200;
+    public static final int MAX_PREFETCHED = 3;
+
+    // Shared by all pipelines; media setup is I/O bound and rare
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "music-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A loaded, ready-to-play music track.
+     */
+    public interface Track {
+        void play();
+
+        void stop();
+
+        void dispose();
+
+        void setVolume(double volume);
+
+        void setLoop(boolean loop);
+
+        /** Called (on any thread) if playback fails */
+        void setOnError(Runnable onError);
+    }
+
+    /**
+     * Builds a track from a resource path. May block; runs off the FX thread.
+     */
+    @FunctionalInterface
+    public interface TrackLoader {
+        Track load(String resourcePath) throws Exception;
+    }
+
+    private final TrackLoader loader;
+    private final Executor background;
+    private final Executor fxThread;
+    private final LongSupplier clock;
+    private final long crossfadeNanos;
+    private final boolean useFramePulse;
+
+    private final Map<String, CompletableFuture<Track>> prefetched = new LinkedHashMap<>();
+    private Consumer<String> onError = path -> { };
+
+    private Track current;
+    private String currentPath;
+    private String requestedPath;
+    private Track outgoing;
+    private double outgoingVolume;
+    private double volume = 1.0;
+    private long fadeStart = -1;
+    private AnimationTimer pulse;
+
+    public MusicPipeline() {
+        this(MusicPipeline::loadMediaPlayer, LOADER, FxMetrics::runLater, System::nanoTime,
+            DEFAULT_CROSSFADE_MILLIS, true);
+    }
+
+    /**
+     * A pipeline for tools and soak runs: tracks from {@code loader} are loaded
+     * on the calling thread and switch without a fade, so no FX thread is needed.
+     */
+    public static MusicPipeline headless(TrackLoader loader) {
+        return new MusicPipeline(loader, Runnable::run, Runnable::run, System::nanoTime, 0, false);
+    }
+
+    /**
+     * @param loader          Builds tracks (called on {@code background})
+     * @param background      Runs track loading
+     * @param fxThread        Runs load completions on the FX thread
+     * @param clock           Nanosecond clock for the fade
+     * @param crossfadeMillis Crossfade length; 0 switches hard
+     * @param useFramePulse   Drive fades from an AnimationTimer; if false the
+     *                        owner calls {@link #step(long)} itself
+     */
+    MusicPipeline(TrackLoader loader, Executor background, Executor fxThread, LongSupplier clock,
+                  long crossfadeMillis, boolean useFramePulse) {
+        this.loader = loader;
+        this.background = background;
+        this.fxThread = fxThread;
+        this.clock = clock;
+        this.crossfadeNanos = Math.max(0, crossfadeMillis) * 1_000_000L;
+        this.useFramePulse = useFramePulse;
+    }
+
+    /**
+     * Called with the resource path of a track that failed to load or play.
+     */
+    public void setOnError(Consumer<String> onError) {
+        this.onError = onError != null ? onError : path -> { };
+    }
+
+    // ===== PLAYBACK =====
+
+    /**
+     * Switch to a track, crossfading from whatever is playing. Returns at once;
+     * if the track is not prefetched the current one keeps playing until it is loaded.
+     */
+    public void play(String resourcePath, boolean loop, double volume) {
+        this.volume = clamp(volume);
+        requestedPath = resourcePath;
+        if (resourcePath.equals(currentPath)) {
+            return;
+        }
+
+        CompletableFuture<Track> load = prefetched.remove(resourcePath);
+        if (load == null) {
+            load = load(resourcePath);
+        }
+        if (load.isDone()) {
+            onLoaded(resourcePath, loop, load);
+        } else {
+            CompletableFuture<Track> pending = load;
+            pending.whenComplete((track, error) -> {
+                if (!runOnFxThread(() -> onLoaded(resourcePath, loop, pending))) {
+                    discard(pending); // nobody will ever play it; release the player and its file
+                }
+            });
+        }
+    }
+
+    private void onLoaded(String resourcePath, boolean loop, CompletableFuture<Track> load) {
+        Track track;
+        try {
+            track = load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("[AUDIO] Failed to load music: " + resourcePath + " - " + cause.getMessage());
+            if (resourcePath.equals(requestedPath)) {
+                requestedPath = currentPath;
+            }
+            onError.accept(resourcePath);
+            return;
+        }
+        if (!resourcePath.equals(requestedPath)) {
+            // Superseded while loading; keep it around in case it is asked for again
+            cachePrefetched(resourcePath, load);
+            return;
+        }
+        start(resourcePath, track, loop);
+    }
+
+    private void start(String resourcePath, Track track, boolean loop) {
+        finishFade();
+        outgoing = current;
+        outgoingVolume = volume;
+        current = track;
+        currentPath = resourcePath;
+
+        track.setLoop(loop);
+        track.setOnError(() -> runOnFxThread(() -> onPlaybackError(resourcePath, track)));
+        if (outgoing == null || crossfadeNanos == 0) {
+            disposeOutgoing();
+            track.setVolume(volume);
+            track.play();
+            return;
+        }
+        track.setVolume(0.0);
+        track.play();
+        fadeStart = clock.getAsLong();
+        startPulse();
+    }
+
+    private void onPlaybackError(String resourcePath, Track track) {
+        System.err.println("[AUDIO] Error playing music: " + resourcePath);
+        if (track == current) {
+            track.stop();
+            track.dispose();
+            current = null;
+            currentPath = null;
+            requestedPath = null;
+        }
+        onError.accept(resourcePath);
+    }
+
+    /**
+     * Advance the crossfade.
+     *
+     * @return true while a fade is still running
+     */
+    public boolean step(long now) {
+        if (fadeStart < 0) {
+            return false;
+        }
+        double t = Math.min(1.0, (double) (now - fadeStart) / crossfadeNanos);
+        // Equal-power curves keep the overall loudness steady through the fade
+        if (current != null) {
+            current.setVolume(volume * Math.sin(t * Math.PI / 2));
+        }
+        if (outgoing != null) {
+            outgoing.setVolume(outgoingVolume * Math.cos(t * Math.PI / 2));
+        }
+        if (t >= 1.0) {
+            finishFade();
+            return false;
+        }
+        return true;
+    }
+
+    private void finishFade() {
+        if (fadeStart >= 0 && current != null) {
+            current.setVolume(volume);
+        }
+        fadeStart = -1;
+        disposeOutgoing();
+        stopPulse();
+    }
+
+    private void disposeOutgoing() {
+        if (outgoing != null) {
+            outgoing.stop();
+            outgoing.dispose();
+            outgoing = null;
+        }
+    }
+
+    /**
+     * Stop the music immediately. Prefetched tracks are kept.
+     */
+    public void stop() {
+        finishFade();
+        if (current != null) {
+            current.stop();
+            current.dispose();
+        }
+        current = null;
+        currentPath = null;
+        requestedPath = null;
+    }
+
+    public void setVolume(double volume) {
+        this.volume = clamp(volume);
+        if (fadeStart < 0 && current != null) {
+            current.setVolume(this.volume);
+        }
+    }
+
+    // ===== PREFETCH =====
+
+    /**
+     * Start loading tracks that are likely to be played next. Only the most
+     * recent {@link #MAX_PREFETCHED} are kept.
+     */
+    public void prefetch(Collection<String> resourcePaths) {
+        for (String path : resourcePaths) {
+            if (path.equals(currentPath) || prefetched.containsKey(path)) {
+                continue;
+            }
+            cachePrefetched(path, load(path));
+        }
+    }
+
+    public boolean isPrefetched(String resourcePath) {
+        return prefetched.containsKey(resourcePath);
+    }
+
+    private void cachePrefetched(String resourcePath, CompletableFuture<Track> load) {
+        CompletableFuture<Track> replaced = prefetched.put(resourcePath, load);
+        if (replaced != null && replaced != load) {
+            discard(replaced);
+        }
+        Iterator<CompletableFuture<Track>> eldest = prefetched.values().iterator();
+        while (prefetched.size() > MAX_PREFETCHED && eldest.hasNext()) {
+            discard(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    private static void discard(CompletableFuture<Track> load) {
+        load.thenAccept(Track::dispose);
+    }
+
+    private CompletableFuture<Track> load(String resourcePath) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.load(resourcePath);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, background);
+    }
+
+    /**
+     * Stop playback and release every player, including prefetched ones.
+     */
+    public void dispose() {
+        stop();
+        for (CompletableFuture<Track> load : prefetched.values()) {
+            discard(load);
+        }
+        prefetched.clear();
+    }
+
+    public String getCurrentPath() {
+        return currentPath;
+    }
+
+    public boolean isFading() {
+        return fadeStart >= 0;
+    }
+
+    // ===== FX THREAD PLUMBING =====
+
+    /**
+     * @return false if there is no FX thread to hand the task to
+     */
+    private boolean runOnFxThread(Runnable task) {
+        try {
+            fxThread.execute(task);
+            return true;
+        } catch (IllegalStateException e) {
+            // No FX toolkit (headless tests); there is nothing to play music on
+            System.err.println("[AUDIO] Music unavailable: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void startPulse() {
+        if (!useFramePulse) {
+            return;
+        }
+        if (pulse == null) {
+            pulse = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    step(now);
+                }
+            };
+        }
+        pulse.start();
+    }
+
+    private void stopPulse() {
+        if (pulse != null) {
+            pulse.stop();
+        }
+    }
+
+    private static double clamp(double volume) {
+        return Math.max(0.0, Math.min(1.0, volume));
+    }
+
+    // ===== DEFAULT LOADER =====
+
+    private static Track loadMediaPlayer(String resourcePath) throws IOException {
+        URL url;
+        AudioPack pack = AudioPack.shared();
+        if (pack != null) {
+            AudioPack.Entry packed = pack.find(resourcePath);
+            // Media needs a URL; the track is copied out of the pack once
+            url = packed != null ? pack.extract(packed).toUri().toURL() : null;
+        } else {
+            url = MusicPipeline.class.getResource(resourcePath);
+        }
+        if (url == null) {
+            throw new IllegalArgumentException("Music file not found at: " + resourcePath);
+        }
+        // Media and MediaPlayer may be built on any thread
+        MediaPlayer player = new MediaPlayer(new Media(url.toExternalForm()));
+        return new Track() {
+            @Override public void play() { player.play(); }
+            @Override public void stop() { player.stop(); }
+            @Override public void dispose() { player.dispose(); }
+            @Override public void setVolume(double volume) { player.setVolume(volume); }
+
+            @Override
+            public void setLoop(boolean loop) {
+                player.setCycleCount(loop ? MediaPlayer.INDEFINITE : 1);
+            }
+
+            @Override
+            public void setOnError(Runnable onError) {
+                player.setOnError(onError);
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package gameproject.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+import java.nio.ByteBuffer;
+
+/**
+ * Sound effect played from raw 16-bit PCM in the audio pack.
+ *
+ * JavaFX {@code AudioClip} can only open a URL, so packed PCM goes to Java
+ * Sound instead. Each of up to {@code maxVoices} overlapping instances gets
+ * its own {@link Clip} line, opened on first use and rewound on reuse; the
+ * samples are copied out of the mapping once and shared by all lines.
+ * {@link #prepare()} opens the first line ahead of time, so the first play
+ * on the FX thread does not wait for the sound system.
+ *
+ * @version 5.0.0
+ */
+final class PcmClip implements SfxEngine.Clip {
+
+    private final ByteBuffer source;
+    private final AudioFormat format;
+    private final long durationNanos;
+    private final Clip[] voices;
+    private byte[] samples;
+    private int nextVoice;
+
+    PcmClip(ByteBuffer source, int sampleRate, int channels, int maxVoices) {
+        this.source = source;
+        this.format = new AudioFormat(sampleRate, 16, channels, true, false);
+        long frames = source.remaining() / Math.max(1, format.getFrameSize());
+        this.durationNanos = frames * 1_000_000_000L / Math.max(1, sampleRate);
+        this.voices = new Clip[Math.max(1, maxVoices)];
+    }
+
+    @Override
+    public synchronized void play(double volume) {
+        int slot = nextVoice;
+        nextVoice = (nextVoice + 1) % voices.length;
+        try {
+            if (voices[slot] == null) {
+                voices[slot] = open();
+            }
+        } catch (LineUnavailableException e) {
+            throw new IllegalStateException("No audio line available", e);
+        }
+        Clip voice = voices[slot];
+        voice.stop();
+        voice.setFramePosition(0);
+        setGain(voice, volume);
+        voice.start();
+    }
+
+    @Override
+    public synchronized void prepare() {
+        if (voices[0] != null) {
+            return;
+        }
+        try {
+            voices[0] = open();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            // play() tries again and reports it
+            System.err.println("[AUDIO] Could not open audio line ahead of time: " + e.getMessage());
+        }
+    }
+
+    private Clip open() throws LineUnavailableException {
+        if (samples == null) {
+            samples = new byte[source.remaining()];
+            source.duplicate().get(samples);
+        }
+        Clip line = AudioSystem.getClip();
+        line.open(format, samples, 0, samples.length);
+        return line;
+    }
+
+    private static void setGain(Clip line, double volume) {
+        if (!line.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+            return;
+        }
+        FloatControl gain = (FloatControl) line.getControl(FloatControl.Type.MASTER_GAIN);
+        // Linear volume to decibels, clamped to what the line supports
+        float db = volume <= 0.0 ? gain.getMinimum() : (float) (20.0 * Math.log10(volume));
+        gain.setValue(Math.max(gain.getMinimum(), Math.min(gain.getMaximum(), db)));
+    }
+
+    @Override
+    public synchronized void stop() {
+        for (Clip voice : voices) {
+            if (voice != null) {
+                voice.stop();
+            }
+        }
+    }
+
+    @Override
+    public long sizeBytes() {
+        return source.remaining();
+    }
+
+    @Override
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public synchronized void release() {
+        for (int i = 0; i < voices.length; i++) {
+            if (voices[i] != null) {
+                voices[i].close();
+                voices[i] = null;
+            }
+        }
+        samples = null;
+    }
+}
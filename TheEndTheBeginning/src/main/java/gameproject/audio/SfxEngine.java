@@ -0,0 +1,357 @@
+package gameproject.audio;
+
+import javafx.scene.media.AudioClip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Low-latency sound effect playback from a cache of decoded clips.
+ *
+ * Short sounds are decoded once into {@link AudioClip}s, which JavaFX keeps in
+ * memory as PCM and can start immediately and overlap with themselves. Playing
+ * a cached sound allocates nothing: no Media, no MediaPlayer, no string work.
+ * Sounds stored as PCM in the {@link AudioPack} skip decoding entirely and are
+ * played through Java Sound ({@link PcmClip}).
+ *
+ * <ul>
+ *   <li>The cache is least-recently-used with a memory budget (estimated PCM
+ *       size); the coldest clips are dropped when it is exceeded.</li>
+ *   <li>Each sound may have at most {@code maxVoices} instances sounding at
+ *       once. Further plays within the sound's duration are dropped, so a burst
+ *       of hits cannot pile up into noise.</li>
+ *   <li>Sounds whose file is missing are remembered and skipped cheaply.</li>
+ *   <li>{@link #preload(Collection)} decodes sounds ahead of time, e.g. the
+ *       combat sounds from a background thread during startup.</li>
+ * </ul>
+ *
+ * Safe to use from any thread; decoding happens outside the cache lock.
+ *
+ * @version 5.0.0
+ */
+public class SfxEngine {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 8L * 1024 * 1024;
+    public static final int DEFAULT_MAX_VOICES = 3;
+
+    /** Assumed PCM rate for sounds without a readable WAV header (44.1 kHz, 16-bit stereo) */
+    static final int DEFAULT_BYTES_PER_SECOND = 44_100 * 2 * 2;
+    /** Rough decoded-to-file size ratio for compressed formats */
+    static final int COMPRESSED_EXPANSION = 10;
+    private static final int WAV_HEADER_BYTES = 44;
+
+    /**
+     * A decoded sound, ready to play.
+     */
+    public interface Clip {
+        void play(double volume);
+
+        void stop();
+
+        /** Approximate memory held by the decoded sound */
+        long sizeBytes();
+
+        /** Approximate play length, used to count overlapping voices */
+        long durationNanos();
+
+        /** Open whatever the first play would otherwise have to; called by preload */
+        default void prepare() {
+        }
+
+        /** Free any audio lines or buffers; called when the clip leaves the cache */
+        default void release() {
+        }
+    }
+
+    /**
+     * Decodes a sound resource. Returns null if the resource does not exist.
+     */
+    @FunctionalInterface
+    public interface ClipLoader {
+        Clip load(String resourcePath) throws Exception;
+    }
+
+    private static final class Entry {
+        final Clip clip;
+        final long[] voiceStarts;
+        int voices;
+        int oldestVoice;
+
+        Entry(Clip clip, int maxVoices) {
+            this.clip = clip;
+            this.voiceStarts = new long[maxVoices];
+        }
+    }
+
+    private final ClipLoader loader;
+    private final long memoryBudget;
+    private final int maxVoices;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private final LinkedHashMap<String, Entry> clips = new LinkedHashMap<>(32, 0.75f, true);
+    private long cachedBytes;
+    private long loads;
+    private long evictions;
+    private long droppedPlays;
+
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    public SfxEngine() {
+        this(SfxEngine::loadAudioClip, DEFAULT_MEMORY_BUDGET, DEFAULT_MAX_VOICES, System::nanoTime);
+    }
+
+    /**
+     * @param loader       Decodes a resource path into a clip
+     * @param memoryBudget Decoded bytes kept in the cache
+     * @param maxVoices    Concurrent instances allowed per sound (at least 1)
+     * @param clock        Nanosecond clock, {@code System::nanoTime} outside tests
+     */
+    public SfxEngine(ClipLoader loader, long memoryBudget, int maxVoices, LongSupplier clock) {
+        this.loader = loader;
+        this.memoryBudget = memoryBudget;
+        this.maxVoices = Math.max(1, maxVoices);
+        this.clock = clock;
+    }
+
+    /**
+     * Play a sound effect.
+     *
+     * @param resourcePath Classpath resource, e.g. "/audio/combat/sword_hit.wav"
+     * @param volume       0.0 - 1.0
+     * @return true if the sound started; false if it is missing or at its voice limit
+     */
+    public boolean play(String resourcePath, double volume) {
+        Entry entry = acquire(resourcePath);
+        if (entry == null) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        synchronized (entry) {
+            if (entry.voices < maxVoices) {
+                entry.voiceStarts[entry.voices++] = now;
+            } else if (now - entry.voiceStarts[entry.oldestVoice] >= entry.clip.durationNanos()) {
+                // The oldest instance has finished; reuse its slot
+                entry.voiceStarts[entry.oldestVoice] = now;
+                entry.oldestVoice = (entry.oldestVoice + 1) % maxVoices;
+            } else {
+                synchronized (this) {
+                    droppedPlays++;
+                }
+                return false;
+            }
+        }
+        try {
+            entry.clip.play(Math.max(0.0, Math.min(1.0, volume)));
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("[AUDIO] Failed to play sound " + resourcePath + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Decode the given sounds, and open their first audio line, now so their
+     * first play does not wait for it.
+     * Intended for a background thread.
+     */
+    public void preload(Collection<String> resourcePaths) {
+        for (String path : resourcePaths) {
+            Entry entry = acquire(path);
+            if (entry != null) {
+                entry.clip.prepare();
+            }
+        }
+    }
+
+    private Entry acquire(String resourcePath) {
+        synchronized (this) {
+            Entry cached = clips.get(resourcePath);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (missing.contains(resourcePath)) {
+            return null;
+        }
+
+        Clip clip;
+        try {
+            clip = loader.load(resourcePath);
+        } catch (Exception e) {
+            System.err.println("[AUDIO] Could not decode sound " + resourcePath + ": " + e.getMessage());
+            clip = null;
+        }
+        if (clip == null) {
+            if (missing.add(resourcePath)) {
+                System.out.println("[AUDIO] Sound file not found at: " + resourcePath);
+            }
+            return null;
+        }
+
+        synchronized (this) {
+            Entry raced = clips.get(resourcePath);
+            if (raced != null) {
+                return raced;    // another thread decoded it meanwhile
+            }
+            Entry entry = new Entry(clip, maxVoices);
+            clips.put(resourcePath, entry);
+            cachedBytes += clip.sizeBytes();
+            loads++;
+            evictOverBudget(resourcePath);
+            return entry;
+        }
+    }
+
+    // Guarded by this
+    private void evictOverBudget(String keep) {
+        Iterator<Map.Entry<String, Entry>> eldest = clips.entrySet().iterator();
+        while (cachedBytes > memoryBudget && eldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = eldest.next();
+            if (candidate.getKey().equals(keep)) {
+                continue;
+            }
+            cachedBytes -= candidate.getValue().clip.sizeBytes();
+            candidate.getValue().clip.release();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Stop every instance of every cached sound.
+     */
+    public synchronized void stopAll() {
+        for (Entry entry : clips.values()) {
+            entry.clip.stop();
+        }
+    }
+
+    /**
+     * Drop all cached clips and forget which files were missing.
+     */
+    public synchronized void clear() {
+        stopAll();
+        for (Entry entry : clips.values()) {
+            entry.clip.release();
+        }
+        clips.clear();
+        cachedBytes = 0;
+        missing.clear();
+    }
+
+    public synchronized boolean isCached(String resourcePath) {
+        return clips.containsKey(resourcePath);
+    }
+
+    public synchronized int getCachedCount() { return clips.size(); }
+    public synchronized long getCachedBytes() { return cachedBytes; }
+    public synchronized long getLoads() { return loads; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getDroppedPlays() { return droppedPlays; }
+    public long getMemoryBudget() { return memoryBudget; }
+    public int getMaxVoices() { return maxVoices; }
+
+    // ===== DEFAULT LOADER =====
+
+    private static Clip loadAudioClip(String resourcePath) throws IOException {
+        AudioPack pack = AudioPack.shared();
+        if (pack != null) {
+            AudioPack.Entry packed = pack.find(resourcePath);
+            if (packed == null) {
+                return null;
+            }
+            if (packed.kind() == AudioPack.Kind.PCM) {
+                return new PcmClip(pack.data(packed), packed.sampleRate(), packed.channels(), DEFAULT_MAX_VOICES);
+            }
+            // Compressed effects still need JavaFX to decode them
+            URL url = pack.extract(packed).toUri().toURL();
+            return wrap(new AudioClip(url.toExternalForm()), estimatePcm(new byte[0], packed.length()));
+        }
+
+        URL url = SfxEngine.class.getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+        return wrap(new AudioClip(url.toExternalForm()), estimatePcm(url));
+    }
+
+    private static Clip wrap(AudioClip clip, long[] estimate) {
+        long sizeBytes = estimate[0];
+        long durationNanos = estimate[1];
+        return new Clip() {
+            @Override
+            public void play(double volume) {
+                clip.play(volume);
+            }
+
+            @Override
+            public void stop() {
+                clip.stop();
+            }
+
+            @Override
+            public long sizeBytes() {
+                return sizeBytes;
+            }
+
+            @Override
+            public long durationNanos() {
+                return durationNanos;
+            }
+        };
+    }
+
+    /**
+     * @return {decoded bytes, duration in nanoseconds}, estimated from the file
+     */
+    private static long[] estimatePcm(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        long fileBytes = connection.getContentLengthLong();
+        byte[] header;
+        try (InputStream in = connection.getInputStream()) {
+            header = in.readNBytes(WAV_HEADER_BYTES);
+        }
+        return estimatePcm(header, fileBytes);
+    }
+
+    /**
+     * Estimate decoded size and duration from the first bytes of a sound file
+     * and its total length. WAV files are read from their header; anything
+     * else is assumed to be compressed CD-quality audio.
+     */
+    static long[] estimatePcm(byte[] header, long fileBytes) {
+        long length = Math.max(0, fileBytes);
+        if (isWav(header)) {
+            int byteRate = littleEndianInt(header, 28);
+            long pcmBytes = Math.max(0, length - WAV_HEADER_BYTES);
+            if (byteRate > 0) {
+                return new long[] { pcmBytes, pcmBytes * 1_000_000_000L / byteRate };
+            }
+        }
+        long pcmBytes = length * COMPRESSED_EXPANSION;
+        return new long[] { pcmBytes, pcmBytes * 1_000_000_000L / DEFAULT_BYTES_PER_SECOND };
+    }
+
+    private static boolean isWav(byte[] header) {
+        return header.length >= WAV_HEADER_BYTES
+            && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+            && header[8] == 'W' && header[9] == 'A' && header[10] == 'V' && header[11] == 'E';
+    }
+
+    private static int littleEndianInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF)
+            | (bytes[offset + 1] & 0xFF) << 8
+            | (bytes[offset + 2] & 0xFF) << 16
+            | (bytes[offset + 3] & 0xFF) << 24;
+    }
+}
@@ -3,6 +3,9 @@ package gameproject.combat;
 import java.util.*;
 import main.model.Player;
 import gameproject.Monster;
+import gameproject.stats.LatencyHistogram;
+import gameproject.stats.Metrics;
+import gameproject.stats.events.CombatRoundEvent;
 
 /**
  * Advanced Combat Engine for "The End The Beginning"
@@ -18,6 +21,11 @@ import gameproject.Monster;
  */
 public class CombatEngine {
     
+    private static final LatencyHistogram PLAYER_ATTACK_TIME = Metrics.global().histogram("combat.player_attack");
+    private static final LatencyHistogram MONSTER_ATTACK_TIME = Metrics.global().histogram("combat.monster_attack");
+    private static final int ROUNDS = Metrics.global().counter("combat.rounds");
+    private static final int CRITICAL_HITS = Metrics.global().counter("combat.critical_hits");
+    
     public enum AttackResult {
         MISS,
         HIT,
@@ -68,6 +76,34 @@ public class CombatEngine {
      * Calculates the result of a player attack on a monster
      */
     public static CombatResult playerAttackMonster(Player player, Monster monster, AttackType attackType) {
+        return playerAttackMonster(player, monster, attackType, random);
+    }
+    
+    /**
+     * Calculates the result of a player attack on a monster using the caller's RNG.
+     * Headless sessions and simulations pass their own Random so they neither
+     * contend on the shared instance nor disturb each other's sequences.
+     */
+    public static CombatResult playerAttackMonster(Player player, Monster monster, AttackType attackType, Random random) {
+        CombatRoundEvent event = new CombatRoundEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CombatResult result = resolvePlayerAttack(player, monster, attackType, random);
+        PLAYER_ATTACK_TIME.recordSince(start);
+        Metrics.global().increment(ROUNDS);
+        if (result.result == AttackResult.CRITICAL_HIT) {
+            Metrics.global().increment(CRITICAL_HITS);
+        }
+        commit(event, "PLAYER", attackType.name(), result);
+        return result;
+    }
+    
+    /**
+     * The same attack without metrics or flight-recorder events, for bulk
+     * simulation: millions of rounds on every core would otherwise all contend
+     * on the shared histograms and flood a recording.
+     */
+    public static CombatResult resolvePlayerAttack(Player player, Monster monster, AttackType attackType, Random random) {
         CombatResult result = new CombatResult();
         
         // Handle defensive stance - no attack, just defensive preparation
@@ -126,7 +162,7 @@ public class CombatEngine {
                 break;
             case SPECIAL_ABILITY:
                 baseDamage = calculateSpecialAbilityDamage(player);
-                applySpecialAbilityEffects(player, result);
+                applySpecialAbilityEffects(player, result, random);
                 break;
         }
         
@@ -162,6 +198,38 @@ public class CombatEngine {
      * Calculates the result of a monster attack on the player
      */
     public static CombatResult monsterAttackPlayer(Monster monster, Player player) {
+        return monsterAttackPlayer(monster, player, random);
+    }
+    
+    /**
+     * Calculates the result of a monster attack on the player using the caller's RNG
+     */
+    public static CombatResult monsterAttackPlayer(Monster monster, Player player, Random random) {
+        CombatRoundEvent event = new CombatRoundEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CombatResult result = resolveMonsterAttack(monster, player, random);
+        MONSTER_ATTACK_TIME.recordSince(start);
+        commit(event, "MONSTER", "MONSTER_ATTACK", result);
+        return result;
+    }
+    
+    private static void commit(CombatRoundEvent event, String attacker, String attackType, CombatResult result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.attacker = attacker;
+            event.attackType = attackType;
+            event.result = result.result != null ? result.result.name() : null;
+            event.damage = result.damage;
+            event.targetDefeated = result.targetDefeated;
+            event.commit();
+        }
+    }
+    
+    /**
+     * The same attack without metrics or flight-recorder events, for bulk simulation
+     */
+    public static CombatResult resolveMonsterAttack(Monster monster, Player player, Random random) {
         CombatResult result = new CombatResult();
         
         // Monster accuracy (varies by monster type)
@@ -190,13 +258,13 @@ public class CombatEngine {
         }
         
         // Calculate damage
-        int baseDamage = monster.calculateDamage();
+        int baseDamage = monster.calculateDamage(random);
         
         // Apply monster's special attack effects
-        if (monster.useSpecialAttack()) {
+        if (monster.useSpecialAttack(random)) {
             baseDamage = (int)(baseDamage * monster.getSpecialAttackMultiplier());
-            result.appliedEffects.addAll(monster.getSpecialAttackEffects());
-            result.description = "💀 " + monster.getName() + " uses " + monster.getSpecialAbility() + "! ";
+            result.appliedEffects.addAll(monster.getSpecialAttackEffects(random));
+            result.description = "💀 " + monster.getName() + " uses " + monster.getSpecialAbility(random) + "! ";
         } else {
             result.description = "🗡️ " + monster.getName() + " attacks! ";
         }
@@ -223,7 +291,7 @@ public class CombatEngine {
         result.description += "You take " + finalDamage + " damage!";
         
         // Apply damage and check if player is defeated
-        player.takeDamage(finalDamage);
+        player.takeDamage(finalDamage, random);
         result.targetDefeated = !player.isAlive();
         
         return result;
@@ -305,7 +373,7 @@ public class CombatEngine {
         }
     }
     
-    private static void applySpecialAbilityEffects(Player player, CombatResult result) {
+    private static void applySpecialAbilityEffects(Player player, CombatResult result, Random random) {
         switch (player.getPlayerClass()) {
             case WARRIOR:
                 // Berserker Strike: Apply Rage to self
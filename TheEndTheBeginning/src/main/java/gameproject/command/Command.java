@@ -0,0 +1,86 @@
+package gameproject.command;
+
+/**
+ * One parsed line of player input.
+ *
+ * Commands without an argument are shared constants: {@link #of(CommandType)}
+ * and small {@link #choice(int)} numbers return cached instances, so parsing
+ * the usual "1", "ATTACK" or "MOVE" allocates nothing. Only "USE &lt;item&gt;"
+ * creates a new command, to carry the item name.
+ *
+ * @version 5.0.0
+ */
+public final class Command {
+
+    private static final Command[] BY_TYPE = new Command[CommandType.values().length];
+    private static final Command[] CHOICES = new Command[64];
+
+    static {
+        for (CommandType type : CommandType.values()) {
+            BY_TYPE[type.ordinal()] = new Command(type, -1, null);
+        }
+        for (int i = 0; i < CHOICES.length; i++) {
+            CHOICES[i] = new Command(CommandType.CHOICE, i, null);
+        }
+    }
+
+    private final CommandType type;
+    private final int value;
+    private final String argument;
+
+    private Command(CommandType type, int value, String argument) {
+        this.type = type;
+        this.value = value;
+        this.argument = argument;
+    }
+
+    /**
+     * The shared command for a type without an argument.
+     */
+    public static Command of(CommandType type) {
+        return BY_TYPE[type.ordinal()];
+    }
+
+    /**
+     * A numbered menu choice.
+     */
+    public static Command choice(int number) {
+        if (number >= 0 && number < CHOICES.length) {
+            return CHOICES[number];
+        }
+        return new Command(CommandType.CHOICE, number, null);
+    }
+
+    /**
+     * Use an item by name (upper case, single spaces, as produced by the parser).
+     */
+    public static Command use(String itemName) {
+        return new Command(CommandType.USE, -1, itemName);
+    }
+
+    public CommandType type() {
+        return type;
+    }
+
+    /** The number of a {@link CommandType#CHOICE}; -1 otherwise */
+    public int value() {
+        return value;
+    }
+
+    /** The item name of a {@link CommandType#USE}; null otherwise */
+    public String argument() {
+        return argument;
+    }
+
+    public boolean is(CommandType type) {
+        return this.type == type;
+    }
+
+    @Override
+    public String toString() {
+        if (type == CommandType.CHOICE) {
+            return "CHOICE " + value;
+        }
+        return argument != null ? type + " " + argument : type.name();
+    }
+}
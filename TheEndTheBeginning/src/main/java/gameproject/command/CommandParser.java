@@ -0,0 +1,60 @@
+package gameproject.command;
+
+/**
+ * Turns a line of player input into a {@link Command} for the current game state.
+ *
+ * This is the single input path for the JavaFX controller and for headless
+ * {@link gameproject.session.GameSession}s, so scripted bots exercise exactly
+ * what players do. Parsing works in place on the input: no regular
+ * expressions, no {@code Integer.parseInt} exceptions, and no allocation
+ * unless the command carries an item name.
+ *
+ * Resolution order: the state's table, then {@link CommandTable#GLOBAL}, then
+ * a bare number (if the state takes numbered choices), then "USE &lt;item&gt;"
+ * (if the state allows items). Anything else is {@link CommandType#UNKNOWN}.
+ *
+ * @version 5.0.0
+ */
+public final class CommandParser {
+
+    private static final char[] USE = { 'U', 'S', 'E' };
+
+    private CommandParser() {
+        // Static helpers only
+    }
+
+    public static Command parse(CharSequence line, CommandTable table) {
+        if (line == null) {
+            return Command.of(CommandType.EMPTY);
+        }
+        int start = CommandTokenizer.skipSpace(line, 0, line.length());
+        int end = CommandTokenizer.trimEnd(line, start, line.length());
+        if (start == end) {
+            return Command.of(CommandType.EMPTY);
+        }
+
+        Command command = table.lookup(line, start, end);
+        if (command == null && table != CommandTable.GLOBAL) {
+            command = CommandTable.GLOBAL.lookup(line, start, end);
+        }
+        if (command != null) {
+            return command;
+        }
+
+        if (table.acceptsChoices()) {
+            int number = CommandTokenizer.parseNumber(line, start, end);
+            if (number >= 0) {
+                return Command.choice(number);
+            }
+        }
+
+        if (table.acceptsItems()) {
+            int wordEnd = CommandTokenizer.tokenEnd(line, start, end);
+            int itemStart = CommandTokenizer.skipSpace(line, wordEnd, end);
+            if (itemStart < end && CommandTokenizer.matches(line, start, wordEnd, USE)) {
+                return Command.use(CommandTokenizer.normalize(line, itemStart, end));
+            }
+        }
+        return Command.of(CommandType.UNKNOWN);
+    }
+}
@@ -0,0 +1,161 @@
+package gameproject.command;
+
+import java.util.Arrays;
+
+/**
+ * The words and numbers one game state understands, and the command each maps to.
+ *
+ * Keywords are bucketed by first letter, so a lookup compares the input
+ * against the handful of words starting with the same letter, in place, with
+ * no substring or upper-case copy. Numeric keys ("1".."6") index an array.
+ *
+ * Tables are configured once (see the constants below) and only read
+ * afterwards, so they may be shared between threads and sessions.
+ *
+ * @version 5.0.0
+ */
+public final class CommandTable {
+
+    private static final int OTHER_BUCKET = 26;
+
+    /** Understood in every state, after the state's own table */
+    public static final CommandTable GLOBAL = new CommandTable("GLOBAL")
+        .bind(CommandType.HELP, "HELP", "?")
+        .bind(CommandType.QUESTS, "QUESTS")
+        .bind(CommandType.ACHIEVEMENTS, "ACHIEVEMENTS")
+        .bind(CommandType.QUIT, "QUIT");
+
+    /** YES/NO prompts */
+    public static final CommandTable CONFIRM = new CommandTable("CONFIRM")
+        .bind(CommandType.YES, "YES", "Y")
+        .bind(CommandType.NO, "NO", "N");
+
+    /** Saved game found: LOAD or NEW */
+    public static final CommandTable LOAD_OR_NEW = new CommandTable("LOAD_OR_NEW")
+        .bind(CommandType.LOAD, "LOAD", "L")
+        .bind(CommandType.NEW, "NEW", "N");
+
+    /** Numbered menus (class, difficulty) */
+    public static final CommandTable MENU = new CommandTable("MENU").acceptChoices();
+
+    /** Between fights */
+    public static final CommandTable EXPLORING = new CommandTable("EXPLORING")
+        .bind(CommandType.SEARCH, "1", "SEARCH")
+        .bind(CommandType.MOVE, "2", "MOVE")
+        .bind(CommandType.STATS, "3", "STATS")
+        .bind(CommandType.INVENTORY, "4", "INVENTORY")
+        .acceptItems();
+
+    /** Fighting a monster */
+    public static final CommandTable COMBAT = new CommandTable("COMBAT")
+        .bind(CommandType.ATTACK, "1", "ATTACK")
+        .bind(CommandType.DEFEND, "2", "DEFEND")
+        .bind(CommandType.HEAVY, "3", "HEAVY", "HEAVY ATTACK")
+        .bind(CommandType.QUICK, "4", "QUICK", "QUICK ATTACK")
+        .bind(CommandType.ITEM, "5", "ITEM", "USE ITEM")
+        .bind(CommandType.RUN, "6", "RUN", "FLEE")
+        .bind(CommandType.STATS, "STATS")
+        .acceptItems();
+
+    /** Inventory list: an item number, or BACK */
+    public static final CommandTable INVENTORY = new CommandTable("INVENTORY")
+        .bind(CommandType.BACK, "BACK", "EXIT")
+        .acceptChoices();
+
+    private final String name;
+    private final char[][][] keywords = new char[OTHER_BUCKET + 1][0][];
+    private final Command[][] commands = new Command[OTHER_BUCKET + 1][0];
+    private Command[] numbers = new Command[0];
+    private boolean choices;
+    private boolean items;
+
+    public CommandTable(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Map keys to a command. A key made only of digits is a number; anything
+     * else is a case-insensitive word or phrase.
+     */
+    public CommandTable bind(Command command, String... keys) {
+        for (String key : keys) {
+            int number = CommandTokenizer.parseNumber(key, 0, key.length());
+            if (number >= 0) {
+                if (number >= numbers.length) {
+                    numbers = Arrays.copyOf(numbers, number + 1);
+                }
+                numbers[number] = command;
+                continue;
+            }
+            char[] phrase = CommandTokenizer.normalize(key, 0, key.length()).toCharArray();
+            int bucket = bucket(phrase[0]);
+            keywords[bucket] = Arrays.copyOf(keywords[bucket], keywords[bucket].length + 1);
+            keywords[bucket][keywords[bucket].length - 1] = phrase;
+            commands[bucket] = Arrays.copyOf(commands[bucket], commands[bucket].length + 1);
+            commands[bucket][commands[bucket].length - 1] = command;
+        }
+        return this;
+    }
+
+    public CommandTable bind(CommandType type, String... keys) {
+        return bind(Command.of(type), keys);
+    }
+
+    /** Any number not bound to a command parses as {@link CommandType#CHOICE} */
+    public CommandTable acceptChoices() {
+        choices = true;
+        return this;
+    }
+
+    /** "USE &lt;item&gt;" parses as {@link CommandType#USE} */
+    public CommandTable acceptItems() {
+        items = true;
+        return this;
+    }
+
+    /**
+     * The command bound to the whole of {@code [start, end)} (already trimmed), or null.
+     */
+    public Command lookup(CharSequence in, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        char first = in.charAt(start);
+        if (first >= '0' && first <= '9') {
+            int number = CommandTokenizer.parseNumber(in, start, end);
+            if (number >= 0 && number < numbers.length && numbers[number] != null) {
+                return numbers[number];
+            }
+            return null;
+        }
+        int bucket = bucket(CommandTokenizer.toUpper(first));
+        char[][] candidates = keywords[bucket];
+        for (int i = 0; i < candidates.length; i++) {
+            if (CommandTokenizer.matches(in, start, end, candidates[i])) {
+                return commands[bucket][i];
+            }
+        }
+        return null;
+    }
+
+    private static int bucket(char upper) {
+        return upper >= 'A' && upper <= 'Z' ? upper - 'A' : OTHER_BUCKET;
+    }
+
+    public boolean acceptsChoices() {
+        return choices;
+    }
+
+    public boolean acceptsItems() {
+        return items;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandTable[" + name + "]";
+    }
+}
@@ -0,0 +1,124 @@
+package gameproject.command;
+
+/**
+ * Character-level scanning of player input.
+ *
+ * Everything here works on index ranges of the original {@link CharSequence};
+ * nothing allocates except {@link #normalize}, which builds the one string a
+ * caller asked for. Whitespace is any character up to and including ' ', the
+ * same set {@link String#trim()} removes.
+ *
+ * @version 5.0.0
+ */
+public final class CommandTokenizer {
+
+    /** Longest number accepted as a menu choice; more digits do not parse */
+    static final int MAX_DIGITS = 9;
+
+    private CommandTokenizer() {
+        // Static helpers only
+    }
+
+    public static boolean isSpace(char c) {
+        return c <= ' ';
+    }
+
+    /** Index of the first non-space character at or after {@code start} */
+    public static int skipSpace(CharSequence in, int start, int end) {
+        while (start < end && isSpace(in.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /** One past the last non-space character before {@code end} */
+    public static int trimEnd(CharSequence in, int start, int end) {
+        while (end > start && isSpace(in.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    /** End of the word starting at {@code start} */
+    public static int tokenEnd(CharSequence in, int start, int end) {
+        while (start < end && !isSpace(in.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Parse {@code [start, end)} as a non-negative decimal number.
+     *
+     * @return the number, or -1 if the range is empty, too long or not all digits
+     */
+    public static int parseNumber(CharSequence in, int start, int end) {
+        if (start >= end || end - start > MAX_DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = in.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Case-insensitive match of {@code [start, end)} against an upper-case
+     * phrase, where each single space in the phrase matches any run of whitespace.
+     */
+    public static boolean matches(CharSequence in, int start, int end, char[] phrase) {
+        int i = start;
+        for (int p = 0; p < phrase.length; p++) {
+            if (i >= end) {
+                return false;
+            }
+            char expected = phrase[p];
+            if (expected == ' ') {
+                if (!isSpace(in.charAt(i))) {
+                    return false;
+                }
+                i = skipSpace(in, i, end);
+            } else if (toUpper(in.charAt(i++)) != expected) {
+                return false;
+            }
+        }
+        return i == end;
+    }
+
+    /** Upper case without a locale lookup for ASCII, the common case */
+    static char toUpper(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return (char) (c - ('a' - 'A'));
+        }
+        return c < 0x80 ? c : Character.toUpperCase(c);
+    }
+
+    /**
+     * {@code [start, end)} trimmed, with whitespace runs collapsed to one space,
+     * in upper case.
+     */
+    public static String normalize(CharSequence in, int start, int end) {
+        start = skipSpace(in, start, end);
+        end = trimEnd(in, start, end);
+        StringBuilder out = new StringBuilder(end - start);
+        boolean space = false;
+        for (int i = start; i < end; i++) {
+            char c = in.charAt(i);
+            if (isSpace(c)) {
+                space = true;
+                continue;
+            }
+            if (space) {
+                out.append(' ');
+                space = false;
+            }
+            out.append(c);
+        }
+        return out.toString().toUpperCase();
+    }
+}
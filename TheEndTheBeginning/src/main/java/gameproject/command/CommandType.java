@@ -0,0 +1,48 @@
+package gameproject.command;
+
+/**
+ * Every action a line of player input can be parsed into.
+ *
+ * Which words map to which type depends on the game state; see {@link CommandTable}.
+ *
+ * @version 5.0.0
+ */
+public enum CommandType {
+    // Exploration
+    SEARCH,
+    MOVE,
+    STATS,
+    INVENTORY,
+
+    // Combat
+    ATTACK,
+    DEFEND,
+    HEAVY,
+    QUICK,
+    ITEM,
+    RUN,
+
+    /** "USE &lt;item&gt;"; the item name is the command's argument */
+    USE,
+    /** Leave a sub-menu (inventory) */
+    BACK,
+
+    // Prompts
+    YES,
+    NO,
+    LOAD,
+    NEW,
+    /** A numbered menu choice; the number is the command's value */
+    CHOICE,
+
+    // Available everywhere
+    HELP,
+    QUESTS,
+    ACHIEVEMENTS,
+    QUIT,
+
+    /** Blank input */
+    EMPTY,
+    /** Not valid in the current state */
+    UNKNOWN
+}
@@ -0,0 +1,91 @@
+package gameproject.dungeon;
+
+import java.util.Arrays;
+
+/**
+ * Which rooms the player has visited, one bit per room per floor.
+ *
+ * Floors themselves are regenerated (or mapped from a {@link FloorStore}) from
+ * the dungeon seed, so this is all a save needs on top of the seed. Encoded
+ * as {@code floor:hexmask} pairs for the floors that have visited rooms,
+ * e.g. {@code 1:1f,2:3}.
+ *
+ * @version 5.0.0
+ */
+public final class Exploration {
+
+    // One mask per floor; FloorGenerator.MAX_ROOMS fits in a long
+    private long[] visited = new long[8];
+
+    /**
+     * Mark a room visited.
+     *
+     * @return true if it had not been visited before
+     */
+    public boolean markVisited(int floor, int room) {
+        if (floor < 0 || room < 0 || room >= Long.SIZE) {
+            return false;
+        }
+        if (floor >= visited.length) {
+            visited = Arrays.copyOf(visited, Math.max(floor + 1, visited.length * 2));
+        }
+        long bit = 1L << room;
+        boolean fresh = (visited[floor] & bit) == 0;
+        visited[floor] |= bit;
+        return fresh;
+    }
+
+    public boolean isVisited(int floor, int room) {
+        return floor >= 0 && floor < visited.length && room >= 0 && room < Long.SIZE
+            && (visited[floor] & (1L << room)) != 0;
+    }
+
+    public int countVisited(int floor) {
+        return floor >= 0 && floor < visited.length ? Long.bitCount(visited[floor]) : 0;
+    }
+
+    public void clear() {
+        Arrays.fill(visited, 0);
+    }
+
+    public String encode() {
+        StringBuilder out = new StringBuilder();
+        for (int floor = 0; floor < visited.length; floor++) {
+            if (visited[floor] != 0) {
+                if (out.length() > 0) {
+                    out.append(',');
+                }
+                out.append(floor).append(':').append(Long.toHexString(visited[floor]));
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Parse {@link #encode()} output; malformed pairs are skipped.
+     */
+    public static Exploration decode(String encoded) {
+        Exploration exploration = new Exploration();
+        if (encoded == null || encoded.isBlank()) {
+            return exploration;
+        }
+        for (String pair : encoded.split(",")) {
+            int colon = pair.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            try {
+                int floor = Integer.parseInt(pair.substring(0, colon).trim());
+                long mask = Long.parseUnsignedLong(pair.substring(colon + 1).trim(), 16);
+                for (int room = 0; room < Long.SIZE; room++) {
+                    if ((mask & (1L << room)) != 0) {
+                        exploration.markVisited(floor, room);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("[DUNGEON] Skipping bad explored rooms entry: " + pair);
+            }
+        }
+        return exploration;
+    }
+}
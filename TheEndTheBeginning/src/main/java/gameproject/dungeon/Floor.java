@@ -0,0 +1,252 @@
+package gameproject.dungeon;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A generated dungeon floor: a room graph with a main path from the entrance
+ * to the stairs, side rooms branching off it, and hidden secret rooms.
+ *
+ * Rooms are stored as a struct of arrays packed into one buffer rather than
+ * as objects, so a floor is a few hundred bytes and can be written to disk
+ * and mapped back without decoding (see {@link FloorStore}). Layout, big-endian:
+ * <pre>
+ *   int number, int roomCount, int exitCount, int pathLength
+ *   byte[roomCount]    room type ordinals
+ *   short[roomCount]   loot tiers
+ *   int[roomCount + 1] index of each room's first exit (the last entry is exitCount)
+ *   int[exitCount]     exit targets
+ *   int[pathLength]    room ids along the main path
+ * </pre>
+ *
+ * Floors are immutable and fully determined by (dungeon seed, floor number),
+ * so one instance can be cached and shared by every game using that seed.
+ *
+ * @version 5.0.0
+ */
+public final class Floor {
+
+    static final int HEADER_BYTES = 16;
+
+    private static final RoomType[] TYPES = RoomType.values();
+
+    private final long dungeonSeed;
+    private final ByteBuffer data;
+    private final int number;
+    private final int roomCount;
+    private final int exitCount;
+    private final int pathLength;
+    private final int tiersAt;
+    private final int exitStartAt;
+    private final int exitsAt;
+    private final int pathAt;
+
+    private Floor(long dungeonSeed, ByteBuffer data) {
+        this.dungeonSeed = dungeonSeed;
+        this.data = data;
+        this.number = data.getInt(0);
+        this.roomCount = data.getInt(4);
+        this.exitCount = data.getInt(8);
+        this.pathLength = data.getInt(12);
+        this.tiersAt = HEADER_BYTES + roomCount;
+        this.exitStartAt = tiersAt + roomCount * 2;
+        this.exitsAt = exitStartAt + (roomCount + 1) * 4;
+        this.pathAt = exitsAt + exitCount * 4;
+    }
+
+    /**
+     * Pack a floor. {@code exitStart} has one entry per room plus a final
+     * entry equal to {@code exits.length}.
+     */
+    static Floor encode(long dungeonSeed, int number, byte[] types, short[] lootTiers,
+                        int[] exitStart, int[] exits, int[] path) {
+        int roomCount = types.length;
+        ByteBuffer data = ByteBuffer.allocate(encodedSize(roomCount, exits.length, path.length));
+        data.putInt(number).putInt(roomCount).putInt(exits.length).putInt(path.length);
+        data.put(types);
+        for (short tier : lootTiers) {
+            data.putShort(tier);
+        }
+        for (int start : exitStart) {
+            data.putInt(start);
+        }
+        for (int exit : exits) {
+            data.putInt(exit);
+        }
+        for (int room : path) {
+            data.putInt(room);
+        }
+        data.flip();
+        return new Floor(dungeonSeed, data.asReadOnlyBuffer());
+    }
+
+    /**
+     * A floor backed directly by {@code data} (e.g. a mapped file region), or
+     * null if the data is not a well-formed floor.
+     */
+    static Floor decode(long dungeonSeed, ByteBuffer data) {
+        if (data.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer view = data.slice();
+        int roomCount = view.getInt(4);
+        int exitCount = view.getInt(8);
+        int pathLength = view.getInt(12);
+        if (roomCount <= 0 || exitCount < 0 || pathLength <= 0 || pathLength > roomCount
+                || view.remaining() != encodedSize(roomCount, exitCount, pathLength)) {
+            return null;
+        }
+        for (int room = 0; room < roomCount; room++) {
+            int type = view.get(HEADER_BYTES + room);
+            if (type < 0 || type >= TYPES.length) {
+                return null;
+            }
+        }
+        Floor floor = new Floor(dungeonSeed, view.asReadOnlyBuffer());
+        return floor.isWellFormed() ? floor : null;
+    }
+
+    /**
+     * Exit ranges run in order from 0 to exitCount, and every exit and path
+     * entry names a room on this floor.
+     */
+    private boolean isWellFormed() {
+        if (firstExit(0) != 0 || firstExit(roomCount) != exitCount) {
+            return false;
+        }
+        for (int room = 0; room < roomCount; room++) {
+            if (firstExit(room + 1) < firstExit(room)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < exitCount; i++) {
+            if (!isRoom(data.getInt(exitsAt + i * 4))) {
+                return false;
+            }
+        }
+        for (int step = 0; step < pathLength; step++) {
+            if (!isRoom(data.getInt(pathAt + step * 4))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isRoom(int id) {
+        return id >= 0 && id < roomCount;
+    }
+
+    private static int encodedSize(int roomCount, int exitCount, int pathLength) {
+        return HEADER_BYTES + roomCount + roomCount * 2 + (roomCount + 1) * 4 + exitCount * 4 + pathLength * 4;
+    }
+
+    /**
+     * The packed floor, positioned at its first byte.
+     */
+    ByteBuffer encoded() {
+        return data.duplicate();
+    }
+
+    public long getDungeonSeed() {
+        return dungeonSeed;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    /** Number of rooms from the entrance to the stairs, both included */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    // ===== ROOMS BY ID =====
+
+    public RoomType getType(int room) {
+        return TYPES[data.get(HEADER_BYTES + room)];
+    }
+
+    public int getLootTier(int room) {
+        return data.getShort(tiersAt + room * 2);
+    }
+
+    public int getExitCount(int room) {
+        return firstExit(room + 1) - firstExit(room);
+    }
+
+    public int getExit(int room, int index) {
+        return data.getInt(exitsAt + (firstExit(room) + index) * 4);
+    }
+
+    /**
+     * Id of the room reached after {@code step} moves along the main path;
+     * stays at the stairs once the path runs out.
+     */
+    public int pathRoom(int step) {
+        return data.getInt(pathAt + Math.max(0, Math.min(step, pathLength - 1)) * 4);
+    }
+
+    /**
+     * Id of a secret room connected to the given room, or -1.
+     */
+    public int secretNextTo(int room) {
+        int end = firstExit(room + 1);
+        for (int i = firstExit(room); i < end; i++) {
+            int neighbour = data.getInt(exitsAt + i * 4);
+            if (getType(neighbour) == RoomType.SECRET) {
+                return neighbour;
+            }
+        }
+        return -1;
+    }
+
+    public int countRooms(RoomType type) {
+        int count = 0;
+        for (int room = 0; room < roomCount; room++) {
+            if (getType(room) == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int firstExit(int room) {
+        return data.getInt(exitStartAt + room * 4);
+    }
+
+    // ===== ROOM VIEWS =====
+
+    public Room getRoom(int id) {
+        int[] exits = new int[getExitCount(id)];
+        for (int i = 0; i < exits.length; i++) {
+            exits[i] = getExit(id, i);
+        }
+        return new Room(id, getType(id), getLootTier(id), exits);
+    }
+
+    public Room getEntrance() {
+        return getRoom(pathRoom(0));
+    }
+
+    public Room getStairs() {
+        return getRoom(pathRoom(pathLength - 1));
+    }
+
+    /**
+     * @see #pathRoom(int)
+     */
+    public Room roomOnPath(int step) {
+        return getRoom(pathRoom(step));
+    }
+
+    /**
+     * A secret room connected to the given room, or null.
+     */
+    public Room secretNextTo(Room room) {
+        int secret = secretNextTo(room.id());
+        return secret >= 0 ? getRoom(secret) : null;
+    }
+}
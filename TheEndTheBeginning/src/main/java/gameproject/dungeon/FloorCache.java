@@ -0,0 +1,186 @@
+package gameproject.dungeon;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Generated floors, keyed by (dungeon seed, floor number).
+ *
+ * While the player is on floor N the game calls {@link #prefetch} for floor
+ * N+1, so the next floor is usually built before the stairs are taken.
+ * Recently used floors stay cached, so going back or reloading a save with
+ * the same seed does not generate anything; the least recently used floor is
+ * evicted once {@link #DEFAULT_CAPACITY} is reached.
+ *
+ * Thread-safe; floors are immutable and shared between games with the same seed.
+ *
+ * @version 5.0.0
+ */
+public final class FloorCache {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    // Generation is cheap and rare; one low-priority thread is plenty
+    private static final ExecutorService GENERATOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "floor-generator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Builds (or loads) one floor.
+     */
+    @FunctionalInterface
+    interface Source {
+        Floor generate(long dungeonSeed, int number);
+    }
+
+    private record Key(long dungeonSeed, int number) { }
+
+    private final Source source;
+    private final Executor background;
+    private final Map<Key, CompletableFuture<Floor>> floors;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class Holder {
+        private static final FloorCache SHARED = new FloorCache(FloorGenerator::generate, GENERATOR, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Floors generated in memory only; for headless sessions and tools.
+     */
+    public static FloorCache shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * A cache that reads floors from, and writes new floors to, a store on disk.
+     */
+    public static FloorCache persistent(FloorStore store) {
+        return new FloorCache(store::loadOrGenerate, GENERATOR, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param source     Builds floors
+     * @param background Runs prefetches
+     * @param capacity   Floors kept before the least recently used is dropped
+     */
+    FloorCache(Source source, Executor background, int capacity) {
+        this.source = source;
+        this.background = background;
+        int limit = Math.max(1, capacity);
+        this.floors = new LinkedHashMap<>(limit * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<Floor>> eldest) {
+                if (size() > limit) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The given floor. Returns the cached floor, waits for a prefetch that is
+     * still running, or generates the floor on the calling thread.
+     */
+    public Floor get(long dungeonSeed, int number) {
+        Key key = new Key(dungeonSeed, number);
+        CompletableFuture<Floor> pending;
+        CompletableFuture<Floor> created = null;
+        synchronized (this) {
+            pending = floors.get(key);
+            if (pending == null) {
+                misses++;
+                created = new CompletableFuture<>();
+                floors.put(key, created);
+                pending = created;
+            } else {
+                hits++;
+            }
+        }
+        if (created != null) {
+            // Generate outside the lock so prefetches for other floors are not held up
+            try {
+                created.complete(source.generate(dungeonSeed, number));
+            } catch (RuntimeException e) {
+                forget(key, created);
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return pending.join();
+    }
+
+    /**
+     * Start generating a floor in the background unless it is already cached
+     * or on its way.
+     */
+    public void prefetch(long dungeonSeed, int number) {
+        Key key = new Key(dungeonSeed, number);
+        CompletableFuture<Floor> created;
+        synchronized (this) {
+            if (floors.containsKey(key)) {
+                return;
+            }
+            created = new CompletableFuture<>();
+            floors.put(key, created);
+        }
+        try {
+            background.execute(() -> {
+                try {
+                    created.complete(source.generate(dungeonSeed, number));
+                } catch (RuntimeException e) {
+                    System.err.println("[DUNGEON] Could not generate floor " + number + ": " + e.getMessage());
+                    forget(key, created);
+                    created.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor rejected the task; get() will generate the floor itself
+            forget(key, created);
+        }
+    }
+
+    /**
+     * True if the floor is cached and fully generated.
+     */
+    public synchronized boolean isReady(long dungeonSeed, int number) {
+        CompletableFuture<Floor> floor = floors.get(new Key(dungeonSeed, number));
+        return floor != null && floor.isDone() && !floor.isCompletedExceptionally();
+    }
+
+    public synchronized int size() {
+        return floors.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized void clear() {
+        floors.clear();
+    }
+
+    private synchronized void forget(Key key, CompletableFuture<Floor> floor) {
+        floors.remove(key, floor);
+    }
+}
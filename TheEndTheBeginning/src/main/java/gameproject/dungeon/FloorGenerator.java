@@ -0,0 +1,146 @@
+package gameproject.dungeon;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Builds dungeon floors from a seed.
+ *
+ * Each floor gets its own seed, mixed from the dungeon seed and the floor
+ * number, so floors can be generated in any order (or in the background,
+ * ahead of the player) and still come out the same every time.
+ *
+ * Layout: a main path of {@link #BASE_PATH_LENGTH} rooms plus one per
+ * {@link #FLOORS_PER_EXTRA_ROOM} floors, side rooms branching off it, and
+ * secret rooms that become more common deeper down. Monsters become more
+ * common with depth as well.
+ *
+ * @version 5.0.0
+ */
+public final class FloorGenerator {
+
+    public static final int BASE_PATH_LENGTH = 5;
+    public static final int MAX_PATH_LENGTH = 12;
+    public static final int FLOORS_PER_EXTRA_ROOM = 5;
+
+    /** Path, at most one side room per path room, at most one secret per room */
+    static final int MAX_ROOMS = MAX_PATH_LENGTH * 4;
+
+    private static final double SIDE_ROOM_CHANCE = 0.35;
+    private static final double SECRET_BASE_CHANCE = 0.15;
+    private static final double SECRET_CHANCE_PER_FLOOR = 0.005;
+    private static final double SECRET_MAX_CHANCE = 0.4;
+    private static final int SECRET_LOOT_BONUS = 2;
+
+    private FloorGenerator() {
+        // Static helpers only
+    }
+
+    /**
+     * Generate floor {@code number} (1-based) of the dungeon with the given seed.
+     */
+    public static Floor generate(long dungeonSeed, int number) {
+        Random rng = new Random(floorSeed(dungeonSeed, number));
+        Builder rooms = new Builder();
+
+        int pathLength = Math.min(MAX_PATH_LENGTH, BASE_PATH_LENGTH + number / FLOORS_PER_EXTRA_ROOM);
+        int[] path = new int[pathLength];
+        for (int i = 0; i < pathLength; i++) {
+            path[i] = rooms.add(rollType(rng, number), number);
+            if (i > 0) {
+                rooms.connect(path[i - 1], path[i]);
+            }
+        }
+
+        for (int i = 1; i < pathLength - 1; i++) {
+            if (rng.nextDouble() < SIDE_ROOM_CHANCE) {
+                int side = rooms.add(rollType(rng, number), number + 1);
+                rooms.connect(path[i], side);
+            }
+        }
+
+        double secretChance = Math.min(SECRET_MAX_CHANCE, SECRET_BASE_CHANCE + number * SECRET_CHANCE_PER_FLOOR);
+        int regularRooms = rooms.count;
+        for (int i = 0; i < regularRooms; i++) {
+            if (rng.nextDouble() < secretChance) {
+                int secret = rooms.add(RoomType.SECRET, number + SECRET_LOOT_BONUS);
+                rooms.connect(i, secret);
+            }
+        }
+
+        return rooms.build(dungeonSeed, number, path);
+    }
+
+    /**
+     * Seed for one floor: a SplitMix64 mix of the dungeon seed and floor
+     * number, so neighbouring floors do not get correlated rolls.
+     */
+    public static long floorSeed(long dungeonSeed, int number) {
+        long z = dungeonSeed + number * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static RoomType rollType(Random rng, int number) {
+        double monster = Math.min(0.45, 0.25 + number * 0.005);
+        double roll = rng.nextDouble();
+        if (roll < monster) {
+            return RoomType.MONSTER;
+        }
+        // The rest is split evenly over loot, springs, shrines and nothing
+        double rest = (roll - monster) / (1.0 - monster);
+        if (rest < 0.3) {
+            return RoomType.TREASURE;
+        } else if (rest < 0.5) {
+            return RoomType.SPRING;
+        } else if (rest < 0.75) {
+            return RoomType.SHRINE;
+        }
+        return RoomType.EMPTY;
+    }
+
+    /**
+     * Rooms and corridors of a floor under construction, in flat arrays.
+     */
+    private static final class Builder {
+        private final byte[] types = new byte[MAX_ROOMS];
+        private final short[] tiers = new short[MAX_ROOMS];
+        private final int[] from = new int[MAX_ROOMS];
+        private final int[] to = new int[MAX_ROOMS];
+        private int count;
+        private int corridors;
+
+        int add(RoomType type, int lootTier) {
+            types[count] = (byte) type.ordinal();
+            tiers[count] = (short) lootTier;
+            return count++;
+        }
+
+        void connect(int a, int b) {
+            from[corridors] = a;
+            to[corridors] = b;
+            corridors++;
+        }
+
+        Floor build(long dungeonSeed, int number, int[] path) {
+            // Corridors go both ways; count exits per room, then fill them in order
+            int[] exitStart = new int[count + 1];
+            for (int i = 0; i < corridors; i++) {
+                exitStart[from[i] + 1]++;
+                exitStart[to[i] + 1]++;
+            }
+            for (int room = 0; room < count; room++) {
+                exitStart[room + 1] += exitStart[room];
+            }
+            int[] exits = new int[corridors * 2];
+            int[] next = Arrays.copyOf(exitStart, count);
+            for (int i = 0; i < corridors; i++) {
+                exits[next[from[i]]++] = to[i];
+                exits[next[to[i]]++] = from[i];
+            }
+            return Floor.encode(dungeonSeed, number, Arrays.copyOf(types, count), Arrays.copyOf(tiers, count),
+                exitStart, exits, path);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package gameproject.dungeon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Generated floors, kept on disk beside the saves: the floors that have been
+ * entered, plus any that {@link FloorCache#persistent} prefetched ahead of the
+ * player.
+ *
+ * One file per dungeon seed holds the packed floors ({@link Floor} layout)
+ * behind a fixed slot table, so a saved game only records its seed and what
+ * the player has explored ({@link Exploration}). Loading a save maps the
+ * current floor straight out of the file instead of generating it, and a run
+ * keeps the layout it was played on even if the generator is tuned later.
+ *
+ * File format, big-endian:
+ * <pre>
+ *   int magic ("FLR1"), int version, long seed
+ *   MAX_FLOORS x (long offset, int length)   slot per floor number, 0 = absent
+ *   packed floors, appended in the order they were first generated
+ * </pre>
+ *
+ * @version 5.0.0
+ */
+public final class FloorStore {
+
+    public static final int MAGIC = 0x464C5231; // "FLR1"
+    public static final int VERSION = 1;
+
+    /** Floor numbers 1..MAX_FLOORS-1 can be stored */
+    public static final int MAX_FLOORS = 64;
+
+    /** Files of older runs beyond this many are deleted */
+    public static final int MAX_FILES = 8;
+
+    private static final String EXTENSION = ".floors";
+    private static final int SLOT_BYTES = 12;
+    private static final int HEADER_BYTES = 16 + MAX_FLOORS * SLOT_BYTES;
+
+    private final Path directory;
+
+    public FloorStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Path fileFor(long dungeonSeed) {
+        return directory.resolve(String.format("%016x", dungeonSeed) + EXTENSION);
+    }
+
+    /**
+     * The stored floor, or generate it and store it.
+     */
+    public Floor loadOrGenerate(long dungeonSeed, int number) {
+        Floor floor = load(dungeonSeed, number);
+        if (floor == null) {
+            floor = FloorGenerator.generate(dungeonSeed, number);
+            save(floor);
+        }
+        return floor;
+    }
+
+    /**
+     * A floor mapped from disk, or null if it was never stored (or the file is unusable).
+     */
+    public synchronized Floor load(long dungeonSeed, int number) {
+        Path file = fileFor(dungeonSeed);
+        if (number <= 0 || number >= MAX_FLOORS || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                return null;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getLong(8) != dungeonSeed) {
+                System.err.println("[DUNGEON] Ignoring floor file with a wrong header: " + file);
+                return null;
+            }
+            int slot = 16 + number * SLOT_BYTES;
+            long offset = header.getLong(slot);
+            int length = header.getInt(slot + 8);
+            if (offset < HEADER_BYTES || length <= 0 || offset + length > size) {
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            Floor floor = Floor.decode(dungeonSeed, channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            if (floor == null || floor.getNumber() != number) {
+                System.err.println("[DUNGEON] Floor " + number + " in " + file + " is corrupt");
+                return null;
+            }
+            return floor;
+        } catch (IOException e) {
+            System.err.println("[DUNGEON] Could not read " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Append a floor to its seed's file unless it is already there.
+     *
+     * @return true if the floor is stored
+     */
+    public synchronized boolean save(Floor floor) {
+        int number = floor.getNumber();
+        if (number <= 0 || number >= MAX_FLOORS) {
+            return false;
+        }
+        Path file = fileFor(floor.getDungeonSeed());
+        try {
+            Files.createDirectories(directory);
+            boolean created = !Files.exists(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() < HEADER_BYTES) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                    header.putInt(MAGIC).putInt(VERSION).putLong(floor.getDungeonSeed());
+                    header.rewind();
+                    writeFully(channel, header, 0);
+                }
+                long slot = 16 + (long) number * SLOT_BYTES;
+                ByteBuffer entry = ByteBuffer.allocate(SLOT_BYTES);
+                channel.read(entry, slot);
+                if (entry.getLong(0) != 0) {
+                    return true;
+                }
+
+                // Floor first, slot last: a crash in between leaves the floor unreferenced, not half-written
+                ByteBuffer data = floor.encoded();
+                long offset = channel.size();
+                int length = data.remaining();
+                writeFully(channel, data, offset);
+                entry.clear();
+                entry.putLong(offset).putInt(length).flip();
+                writeFully(channel, entry, slot);
+            }
+            if (created) {
+                pruneOldRuns(file);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("[DUNGEON] Could not store floor " + number + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+    }
+
+    /**
+     * Keep only the most recently started runs.
+     */
+    private void pruneOldRuns(Path keep) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            stream.forEach(file -> {
+                if (!file.equals(keep)) {
+                    files.add(file);
+                }
+            });
+        } catch (IOException e) {
+            return;
+        }
+        if (files.size() < MAX_FILES) {
+            return;
+        }
+        files.sort(Comparator.comparing(FloorStore::lastModified).reversed());
+        for (Path file : files.subList(MAX_FILES - 1, files.size())) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Still mapped (Windows) or in use; try again next time
+            }
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
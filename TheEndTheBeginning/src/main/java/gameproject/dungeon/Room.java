@@ -0,0 +1,19 @@
+package gameproject.dungeon;
+
+/**
+ * One room of a generated floor. Floors store rooms packed into arrays; this
+ * is a snapshot view for callers that want a room as a value.
+ *
+ * @param id       Index of the room in its floor
+ * @param type     What the room holds
+ * @param lootTier Level used when generating items found here
+ * @param exits    Ids of connected rooms
+ *
+ * @version 5.0.0
+ */
+public record Room(int id, RoomType type, int lootTier, int[] exits) {
+
+    public boolean isSecret() {
+        return type == RoomType.SECRET;
+    }
+}
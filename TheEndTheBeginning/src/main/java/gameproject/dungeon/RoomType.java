@@ -0,0 +1,20 @@
+package gameproject.dungeon;
+
+/**
+ * What the player finds in a room.
+ *
+ * @version 5.0.0
+ */
+public enum RoomType {
+    EMPTY,
+    /** An item on the floor */
+    TREASURE,
+    /** A health spring */
+    SPRING,
+    /** Ancient runes that grant experience */
+    SHRINE,
+    /** A monster encounter */
+    MONSTER,
+    /** Hidden side room with better loot; only found by searching next to it */
+    SECRET
+}
@@ -0,0 +1,234 @@
+package gameproject.flow;
+
+import gameproject.command.Command;
+import gameproject.command.CommandParser;
+import gameproject.command.CommandTable;
+import gameproject.command.CommandType;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the game flow: which prompt is active, whether it is waiting for
+ * input, and which prompt may follow which.
+ *
+ * This replaces the controller's {@code expectedInputType} string and
+ * {@code waitingForInput} flag and has no JavaFX dependency, so GameSession
+ * uses it as well. It does not decide anything itself: the controller and
+ * GameSession each choose the next state from their own copy of the game
+ * rules, and those copies are kept in step by hand. A front end calls:
+ * <ul>
+ *   <li>{@link #prompt(GameFlowState)} enters a state and waits for input</li>
+ *   <li>{@link #parse(CharSequence)} takes one line and parses it with the
+ *       state's command table</li>
+ *   <li>{@link #awaitInput()} re-prompts after invalid input</li>
+ * </ul>
+ *
+ * The transition table ({@link #canTransition}) is advisory. An undeclared
+ * transition is still applied, but it is logged and counted, so a gap in the
+ * table shows up in logs rather than as a stuck game. Every transition is counted
+ * and timed: a {@link TransitionListener} receives how long the previous state lasted.
+ *
+ * Not thread-safe; each frontend drives its flow from one thread.
+ *
+ * @version 5.0.0
+ */
+public final class GameFlow {
+
+    private static final GameFlowState[] STATES = GameFlowState.values();
+
+    /** States every state may go to: abandon the game, or start a new one */
+    private static final Set<GameFlowState> FROM_ANYWHERE = EnumSet.of(
+        GameFlowState.IDLE, GameFlowState.LOAD_OR_NEW, GameFlowState.START_CONFIRMATION);
+
+    private static final boolean[][] TRANSITIONS = buildTransitions();
+
+    private static boolean[][] buildTransitions() {
+        Map<GameFlowState, Set<GameFlowState>> next = new EnumMap<>(GameFlowState.class);
+        next.put(GameFlowState.IDLE, EnumSet.of(
+            GameFlowState.CLASS_SELECTION, GameFlowState.EXPLORING, GameFlowState.COMBAT));
+        next.put(GameFlowState.LOAD_OR_NEW, EnumSet.of(GameFlowState.EXPLORING, GameFlowState.COMBAT));
+        next.put(GameFlowState.START_CONFIRMATION, EnumSet.of(GameFlowState.CLASS_SELECTION));
+        next.put(GameFlowState.CLASS_SELECTION, EnumSet.of(GameFlowState.DIFFICULTY, GameFlowState.PLAYER_NAME));
+        next.put(GameFlowState.DIFFICULTY, EnumSet.of(GameFlowState.PLAYER_NAME));
+        next.put(GameFlowState.PLAYER_NAME, EnumSet.of(
+            GameFlowState.EXPLORING, GameFlowState.COMBAT, GameFlowState.VICTORY, GameFlowState.GAME_OVER));
+        next.put(GameFlowState.EXPLORING, EnumSet.of(
+            GameFlowState.COMBAT, GameFlowState.COMBAT_MENU, GameFlowState.INVENTORY,
+            GameFlowState.VICTORY, GameFlowState.GAME_OVER));
+        next.put(GameFlowState.COMBAT, EnumSet.of(
+            GameFlowState.EXPLORING, GameFlowState.COMBAT_MENU, GameFlowState.INVENTORY,
+            GameFlowState.VICTORY, GameFlowState.GAME_OVER));
+        next.put(GameFlowState.COMBAT_MENU, EnumSet.of(
+            GameFlowState.COMBAT, GameFlowState.EXPLORING, GameFlowState.VICTORY, GameFlowState.GAME_OVER));
+        next.put(GameFlowState.INVENTORY, EnumSet.of(
+            GameFlowState.COMBAT, GameFlowState.EXPLORING, GameFlowState.VICTORY, GameFlowState.GAME_OVER));
+        next.put(GameFlowState.GAME_OVER, EnumSet.noneOf(GameFlowState.class));
+        next.put(GameFlowState.VICTORY, EnumSet.noneOf(GameFlowState.class));
+
+        boolean[][] table = new boolean[STATES.length][STATES.length];
+        for (GameFlowState from : STATES) {
+            table[from.ordinal()][from.ordinal()] = true;    // re-entering a state (new room, next round)
+            for (GameFlowState to : FROM_ANYWHERE) {
+                table[from.ordinal()][to.ordinal()] = true;
+            }
+            for (GameFlowState to : next.get(from)) {
+                table[from.ordinal()][to.ordinal()] = true;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Notified after every transition.
+     */
+    @FunctionalInterface
+    public interface TransitionListener {
+        /**
+         * @param nanosInPrevious How long the flow stayed in {@code from}
+         */
+        void onTransition(GameFlowState from, GameFlowState to, long nanosInPrevious);
+    }
+
+    private final LongSupplier clock;
+    private final CommandTable[] commands = new CommandTable[STATES.length];
+    private final long[][] transitionCounts = new long[STATES.length][STATES.length];
+    private TransitionListener listener;
+    private GameFlowState state = GameFlowState.IDLE;
+    private boolean awaitingInput;
+    private long enteredAt;
+    private long unexpectedTransitions;
+
+    public GameFlow() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param clock Nanosecond clock for transition timing
+     */
+    public GameFlow(LongSupplier clock) {
+        this.clock = clock;
+        for (GameFlowState s : STATES) {
+            commands[s.ordinal()] = s.getCommands();
+        }
+        this.enteredAt = clock.getAsLong();
+    }
+
+    /**
+     * Use a different command table in one state (e.g. class names as well as numbers).
+     */
+    public GameFlow withCommands(GameFlowState target, CommandTable table) {
+        commands[target.ordinal()] = table;
+        return this;
+    }
+
+    public void setTransitionListener(TransitionListener listener) {
+        this.listener = listener;
+    }
+
+    // ===== TRANSITIONS =====
+
+    /**
+     * Enter a state and wait for the player's input.
+     */
+    public void prompt(GameFlowState next) {
+        moveTo(next);
+        awaitingInput = true;
+    }
+
+    /**
+     * Enter a state without waiting for input (game over, or a pause before
+     * the next prompt).
+     */
+    public void moveTo(GameFlowState next) {
+        GameFlowState from = state;
+        if (!TRANSITIONS[from.ordinal()][next.ordinal()]) {
+            unexpectedTransitions++;
+            System.err.println("[FLOW] Undeclared transition " + from + " -> " + next);
+        }
+        long now = clock.getAsLong();
+        long elapsed = now - enteredAt;
+        transitionCounts[from.ordinal()][next.ordinal()]++;
+        state = next;
+        enteredAt = now;
+        awaitingInput = false;
+        if (listener != null) {
+            listener.onTransition(from, next, elapsed);
+        }
+    }
+
+    /**
+     * Back to {@link GameFlowState#IDLE}, from anywhere.
+     */
+    public void reset() {
+        moveTo(GameFlowState.IDLE);
+    }
+
+    /**
+     * Wait for input again in the current state (after an invalid answer).
+     */
+    public void awaitInput() {
+        awaitingInput = true;
+    }
+
+    /**
+     * Stop waiting for input (while a pause or animation plays).
+     */
+    public void holdInput() {
+        awaitingInput = false;
+    }
+
+    // ===== INPUT =====
+
+    /**
+     * Consume one line of input: stops waiting and parses it with the current
+     * state's commands. Free-text states return {@link CommandType#UNKNOWN};
+     * read the raw line instead.
+     */
+    public Command parse(CharSequence line) {
+        awaitingInput = false;
+        CommandTable table = commands[state.ordinal()];
+        if (table == null) {
+            return Command.of(CommandType.UNKNOWN);
+        }
+        return CommandParser.parse(line, table);
+    }
+
+    // ===== QUERIES =====
+
+    public GameFlowState getState() {
+        return state;
+    }
+
+    public boolean is(GameFlowState candidate) {
+        return state == candidate;
+    }
+
+    public boolean isAwaitingInput() {
+        return awaitingInput;
+    }
+
+    public CommandTable getCommands() {
+        return commands[state.ordinal()];
+    }
+
+    public static boolean canTransition(GameFlowState from, GameFlowState to) {
+        return TRANSITIONS[from.ordinal()][to.ordinal()];
+    }
+
+    public long getTransitionCount(GameFlowState from, GameFlowState to) {
+        return transitionCounts[from.ordinal()][to.ordinal()];
+    }
+
+    public long getUnexpectedTransitions() {
+        return unexpectedTransitions;
+    }
+
+    /** Nanoseconds spent in the current state so far */
+    public long getTimeInState() {
+        return clock.getAsLong() - enteredAt;
+    }
+}
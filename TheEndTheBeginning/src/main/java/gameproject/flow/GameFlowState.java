@@ -0,0 +1,55 @@
+package gameproject.flow;
+
+import gameproject.command.CommandTable;
+
+/**
+ * The prompts a game can be waiting on, each with the commands it understands.
+ *
+ * Used by the JavaFX controller and by headless sessions, which each decide
+ * their own transitions; see {@link GameFlow} for the table they are checked
+ * against.
+ *
+ * @version 5.0.0
+ */
+public enum GameFlowState {
+    /** No game in progress (main menu, credits) */
+    IDLE(CommandTable.GLOBAL),
+    /** A save exists: LOAD it or start NEW */
+    LOAD_OR_NEW(CommandTable.LOAD_OR_NEW),
+    /** "Do you dare to enter the depths?" */
+    START_CONFIRMATION(CommandTable.CONFIRM),
+    CLASS_SELECTION(CommandTable.MENU),
+    DIFFICULTY(CommandTable.MENU),
+    /** Free text; not parsed into commands */
+    PLAYER_NAME(null),
+    /** In a room, between fights */
+    EXPLORING(CommandTable.EXPLORING),
+    /** Fighting a monster */
+    COMBAT(CommandTable.COMBAT),
+    /** The older two-option fight menu (1: fight, 2: escape) */
+    COMBAT_MENU(CommandTable.MENU),
+    /** Picking an item from the inventory list */
+    INVENTORY(CommandTable.INVENTORY),
+    GAME_OVER(CommandTable.GLOBAL),
+    VICTORY(CommandTable.GLOBAL);
+
+    private final CommandTable commands;
+
+    GameFlowState(CommandTable commands) {
+        this.commands = commands;
+    }
+
+    /** Default commands for this state; null for free-text input */
+    public CommandTable getCommands() {
+        return commands;
+    }
+
+    public boolean isFreeText() {
+        return commands == null;
+    }
+
+    /** The run is over; only a new game leaves this state */
+    public boolean isFinished() {
+        return this == GAME_OVER || this == VICTORY;
+    }
+}
@@ -0,0 +1,469 @@
+package gameproject.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import gameproject.Balance;
+import gameproject.DungeonRules;
+import gameproject.GameContext;
+import gameproject.Monster;
+import gameproject.achievements.Achievement;
+import gameproject.achievements.AchievementEventQueue;
+import gameproject.combat.CombatEngine;
+import gameproject.command.Command;
+import gameproject.command.CommandTable;
+import gameproject.command.CommandType;
+import gameproject.dungeon.Floor;
+import gameproject.dungeon.FloorCache;
+import gameproject.dungeon.Room;
+import gameproject.dungeon.RoomType;
+import gameproject.flow.GameFlow;
+import gameproject.flow.GameFlowState;
+import main.model.Item;
+import main.model.Player;
+
+/**
+ * Headless game session driven entirely by text commands.
+ *
+ * This is the dungeon loop of {@link gameproject.MainControllerNew} without any
+ * JavaFX dependency: each call to {@link #handle(String)} consumes one line of
+ * player input and returns the text the player should see. A session owns its
+ * Player, current monster, Random and {@link GameContext} (quests, achievements,
+ * audio), so any number of sessions can run side by side in one JVM without
+ * sharing state (see {@link SessionHost}).
+ *
+ * A session is not thread-safe; the host drives each one from a single thread.
+ *
+ * @version 5.0.0
+ */
+public class GameSession {
+
+    /** Floor the player has to reach to escape the dungeon */
+    public static final int VICTORY_FLOOR = 50;
+
+    private static final int MAX_ROOM_SEARCHES = 3;
+    private static final int HEAVY_ATTACK_MANA = 10;
+
+    /** Class numbers, or class names mapped to the same numbers */
+    private static final CommandTable CLASS_MENU = classMenu();
+
+    private static CommandTable classMenu() {
+        CommandTable table = new CommandTable("CLASS_SELECTION").acceptChoices();
+        Player.PlayerClass[] classes = Player.PlayerClass.values();
+        for (int i = 0; i < classes.length; i++) {
+            table.bind(Command.choice(i + 1), classes[i].name());
+        }
+        return table;
+    }
+
+    private final String id;
+    private final long seed;
+    private final Random rng;
+    private final GameContext context;
+    private final AchievementEventQueue unlockedAchievements = new AchievementEventQueue();
+    private final List<Achievement> unlockBatch = new ArrayList<>();
+    private Player player;
+    private Balance.Profile difficulty = Balance.Profile.NORMAL;
+    private Monster currentMonster;
+    private final GameFlow flow = new GameFlow().withCommands(GameFlowState.CLASS_SELECTION, CLASS_MENU);
+    private int floor = 1;
+    private int roomSearches = 0;
+    private Room room;
+    private long commandsHandled = 0;
+
+    /**
+     * @param id   Identifier used in host logs
+     * @param seed Seed for this session's RNG and dungeon layout (same seed, same dungeon)
+     */
+    public GameSession(String id, long seed) {
+        this(id, seed, GameContext.create());
+    }
+
+    /**
+     * @param context Managers owned by this session; callers may pass a reused,
+     *                freshly {@link GameContext#reset() reset} context
+     */
+    public GameSession(String id, long seed, GameContext context) {
+        this.id = id;
+        this.seed = seed;
+        this.rng = new Random(seed);
+        this.context = context;
+        this.player = new Player();
+        flow.prompt(GameFlowState.CLASS_SELECTION);
+        context.getAchievements().addAchievementListener(unlockedAchievements);
+    }
+
+    /**
+     * Detach from the context so it can be reused by another session.
+     */
+    public void close() {
+        context.getAchievements().removeAchievementListener(unlockedAchievements);
+    }
+
+    /**
+     * Opening text, shown once when a player connects.
+     */
+    public String start() {
+        StringBuilder out = new StringBuilder();
+        out.append("🏰 The End The Beginning - Dungeon Escape (headless)\n");
+        out.append("Type HELP at any time for commands, QUIT to leave.\n");
+        appendClassPrompt(out);
+        return out.toString();
+    }
+
+    /**
+     * Process one line of input and return the response text.
+     */
+    public String handle(String line) {
+        if (flow.getState().isFreeText()) {
+            commandsHandled++;
+            StringBuilder out = new StringBuilder();
+            handlePlayerName(line == null ? "" : line.trim(), out);
+            appendUnlockedAchievements(out);
+            return out.toString();
+        }
+        return handle(flow.parse(line));
+    }
+
+    /**
+     * Process an already parsed command. Bots that replay the same commands
+     * can parse once and skip the text step entirely.
+     */
+    public String handle(Command command) {
+        commandsHandled++;
+        StringBuilder out = new StringBuilder();
+
+        switch (command.type()) {
+            case HELP -> {
+                appendHelp(out);
+                return out.toString();
+            }
+            case QUESTS -> {
+                return context.getQuests().getQuestSummary() + "> ";
+            }
+            case ACHIEVEMENTS -> {
+                return context.getAchievements().getAchievementSummary() + "> ";
+            }
+            default -> { }
+        }
+
+        switch (flow.getState()) {
+            case CLASS_SELECTION -> handleClassSelection(command, out);
+            case PLAYER_NAME -> out.append("📝 What name shall the bards sing of your deeds? ");
+            case EXPLORING -> handleExploring(command, out);
+            case COMBAT -> handleCombat(command, out);
+            default -> out.append("The adventure is over. Type QUIT to leave.\n");
+        }
+        appendUnlockedAchievements(out);
+        return out.toString();
+    }
+
+    private void appendUnlockedAchievements(StringBuilder out) {
+        if (unlockedAchievements.isEmpty()) {
+            return;
+        }
+        unlockBatch.clear();
+        unlockedAchievements.drainTo(unlockBatch);
+        for (Achievement achievement : unlockBatch) {
+            out.append("\n🏆 Achievement unlocked: ").append(achievement.getIcon()).append(' ')
+               .append(achievement.getName()).append('\n');
+        }
+    }
+
+    // ===== SETUP =====
+
+    private void appendClassPrompt(StringBuilder out) {
+        out.append("\n⚔️ Choose your adventurer class:\n");
+        Player.PlayerClass[] classes = Player.PlayerClass.values();
+        for (int i = 0; i < classes.length; i++) {
+            out.append(' ').append(i + 1).append(": ").append(classes[i].name()).append('\n');
+        }
+        out.append("Enter 1-").append(classes.length).append(": ");
+    }
+
+    private void handleClassSelection(Command command, StringBuilder out) {
+        Player.PlayerClass chosen = null;
+        Player.PlayerClass[] classes = Player.PlayerClass.values();
+        if (command.is(CommandType.CHOICE) && command.value() >= 1 && command.value() <= classes.length) {
+            chosen = classes[command.value() - 1];
+        }
+
+        if (chosen == null) {
+            out.append("Please enter a class number or name: ");
+            return;
+        }
+        player = new Player(player.getName(), chosen);
+        difficulty.applyTo(player);
+        out.append("You have chosen the path of the ").append(chosen.name()).append("!\n");
+        out.append("📝 What name shall the bards sing of your deeds? ");
+        flow.prompt(GameFlowState.PLAYER_NAME);
+    }
+
+    private void handlePlayerName(String name, StringBuilder out) {
+        if (name.isEmpty()) {
+            out.append("❌ Your name cannot be empty! Please enter a valid name: ");
+            return;
+        }
+        player.setName(name);
+        out.append("\n🌙 You wake up in a cold, dark dungeon, ").append(name).append(".\n");
+        context.getQuests().startQuest("daily_001");
+        context.getQuests().startQuest("daily_002");
+        flow.prompt(GameFlowState.EXPLORING);
+        enterRoom(out);
+    }
+
+    // ===== EXPLORATION =====
+
+    private void enterRoom(StringBuilder out) {
+        if (floor >= VICTORY_FLOOR) {
+            out.append("\n🎉 VICTORY! You have escaped the dungeon, ").append(player.getName()).append("!\n");
+            flow.moveTo(GameFlowState.VICTORY);
+            return;
+        }
+
+        out.append("\n📍 Floor ").append(floor).append('\n');
+        Floor current = FloorCache.shared().get(seed, floor);
+        FloorCache.shared().prefetch(seed, floor + 1);
+        room = current.roomOnPath(roomSearches);
+        if (room.type() == RoomType.MONSTER) {
+            encounterMonster(out);
+        } else {
+            out.append("1: Search  2: Move on  3: Stats  4: Inventory  (or USE <item>)\n> ");
+        }
+    }
+
+    private void handleExploring(Command command, StringBuilder out) {
+        switch (command.type()) {
+            case USE -> {
+                useItem(command.argument(), out);
+                out.append("> ");
+            }
+            case SEARCH -> {
+                if (roomSearches < MAX_ROOM_SEARCHES) {
+                    out.append("🔍 You search the room carefully...\n");
+                    roomSearches++;
+                    player.recordRoomExplored();
+                    context.getQuests().updateQuestProgress("explore", "new_areas", 1);
+                    searchForSecretRoom(out);
+                } else {
+                    out.append("👀 You've searched enough. Better move on.\n");
+                    advanceFloor();
+                }
+                resolveRoomEvent(out);
+                enterRoom(out);
+            }
+            case MOVE -> {
+                out.append("🚶 You move to the next room.\n");
+                advanceFloor();
+                resolveRoomEvent(out);
+                enterRoom(out);
+            }
+            case STATS -> out.append(statusLine()).append("> ");
+            case INVENTORY -> out.append(player.getInventoryString()).append("\n> ");
+            default -> out.append("Please enter 1-4: ");
+        }
+    }
+
+    private void searchForSecretRoom(StringBuilder out) {
+        Room secret = FloorCache.shared().get(seed, floor).secretNextTo(room);
+        if (secret == null) {
+            return;
+        }
+        Item found = Item.generateRandomItem(secret.lootTier(), rng);
+        out.append("🗝️ You discover a secret room!\n");
+        context.getAchievements().unlockAchievement("secret_path");
+        if (player.addItem(found)) {
+            out.append("✨ Hidden inside: ").append(found.getDisplayName()).append("!\n");
+        }
+    }
+
+    private void resolveRoomEvent(StringBuilder out) {
+        switch (room.type()) {
+            case TREASURE, SECRET -> {
+                Item found = Item.generateRandomItem(room.lootTier(), rng);
+                if (player.addItem(found)) {
+                    out.append("✨ You found ").append(found.getDisplayName()).append("!\n");
+                } else {
+                    out.append("💼 Your inventory is full!\n");
+                }
+            }
+            case SPRING -> {
+                int healed = DungeonRules.drinkFromSpring(player, difficulty, rng);
+                out.append("❤️ You found a health spring! Restored ").append(healed).append(" health.\n");
+            }
+            case SHRINE -> {
+                int exp = DungeonRules.shrineExperience(floor);
+                out.append("⭐ You found ancient runes! Gained ").append(exp).append(" experience.\n");
+                if (player.gainExperience(exp, rng)) {
+                    out.append("🎉 LEVEL UP! You feel stronger!\n");
+                    context.getAchievements().checkLevelAchievements(player);
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void advanceFloor() {
+        floor++;
+        roomSearches = 0;
+        player.setDungeonLevel(floor);
+    }
+
+    // ===== COMBAT =====
+
+    private void encounterMonster(StringBuilder out) {
+        currentMonster = DungeonRules.spawnMonster(floor, difficulty, rng);
+        flow.prompt(GameFlowState.COMBAT);
+        out.append("⚠️ A ").append(currentMonster.getName()).append(" appears! ");
+        out.append("HP ").append(currentMonster.getHealth()).append('/').append(currentMonster.getMaxHealth());
+        out.append(" ATK ").append(currentMonster.getAttack());
+        out.append(" DEF ").append(currentMonster.getDefense()).append('\n');
+        appendCombatOptions(out);
+    }
+
+    private void appendCombatOptions(StringBuilder out) {
+        out.append("1: Attack  2: Defend  3: Heavy (").append(HEAVY_ATTACK_MANA)
+           .append(" mana)  4: Quick  5: USE <item>  6: Run\n> ");
+    }
+
+    private void handleCombat(Command command, StringBuilder out) {
+        switch (command.type()) {
+            case USE -> {
+                useItem(command.argument(), out);
+                monsterTurn(out);
+            }
+            case ATTACK -> playerTurn(CombatEngine.AttackType.NORMAL_ATTACK, out);
+            case DEFEND -> playerTurn(CombatEngine.AttackType.DEFENSIVE_STANCE, out);
+            case HEAVY -> {
+                if (player.getMana() < HEAVY_ATTACK_MANA) {
+                    out.append("❌ Not enough mana for heavy attack!\n> ");
+                    return;
+                }
+                player.setMana(player.getMana() - HEAVY_ATTACK_MANA);
+                playerTurn(CombatEngine.AttackType.HEAVY_ATTACK, out);
+            }
+            case QUICK -> playerTurn(CombatEngine.AttackType.QUICK_ATTACK, out);
+            case ITEM -> out.append(player.getInventoryString()).append("\nType USE <item> to use one.\n> ");
+            case STATS -> out.append(statusLine()).append("> ");
+            case RUN -> {
+                if (rng.nextDouble() < 0.4) {
+                    out.append("💨 You successfully escaped from combat!\n");
+                    currentMonster = null;
+                    flow.prompt(GameFlowState.EXPLORING);
+                    advanceFloor();
+                    enterRoom(out);
+                } else {
+                    out.append("❌ Escape failed!\n");
+                    monsterTurn(out);
+                }
+            }
+            default -> {
+                out.append("❌ Invalid action!\n");
+                appendCombatOptions(out);
+            }
+        }
+    }
+
+    private void playerTurn(CombatEngine.AttackType attackType, StringBuilder out) {
+        CombatEngine.CombatResult result =
+            CombatEngine.playerAttackMonster(player, currentMonster, attackType, rng);
+        out.append(result.description).append('\n');
+        context.getAchievements().checkCombatAchievements(player, currentMonster, false,
+            result.result == CombatEngine.AttackResult.CRITICAL_HIT, false, result.damage);
+
+        if (!currentMonster.isAlive()) {
+            winCombat(out);
+            return;
+        }
+        monsterTurn(out);
+    }
+
+    private void monsterTurn(StringBuilder out) {
+        CombatEngine.CombatResult result = CombatEngine.monsterAttackPlayer(currentMonster, player, rng);
+        out.append(result.description).append('\n');
+        if (result.result == CombatEngine.AttackResult.MISS) {
+            context.getAchievements().checkCombatAchievements(player, currentMonster, false, false, true, 0);
+        }
+
+        if (!player.isAlive()) {
+            out.append("💀 You have been defeated on floor ").append(floor).append(".\n");
+            flow.moveTo(GameFlowState.GAME_OVER);
+            return;
+        }
+        out.append(statusLine());
+        appendCombatOptions(out);
+    }
+
+    private void winCombat(StringBuilder out) {
+        out.append("🏆 Victory! The ").append(currentMonster.getName()).append(" has been defeated!\n");
+        int expReward = DungeonRules.combatExperience(floor);
+        out.append("⭐ You gained ").append(expReward).append(" experience!\n");
+        if (player.gainExperience(expReward, rng)) {
+            out.append("🎉 LEVEL UP! You grow stronger!\n");
+            context.getAchievements().checkLevelAchievements(player);
+        }
+        player.recordMonsterKill();
+        context.getAchievements().checkCombatAchievements(player, currentMonster, true, false, false, 0);
+        context.getAchievements().checkCollectionAchievements(player);
+        context.getQuests().updateQuestProgress("kill", currentMonster.getName().toLowerCase(), 1);
+        context.getQuests().updateQuestProgress("combat_wins", "any", 1);
+        currentMonster = null;
+        flow.prompt(GameFlowState.EXPLORING);
+        advanceFloor();
+        enterRoom(out);
+    }
+
+    // ===== SHARED =====
+
+    private void useItem(String itemName, StringBuilder out) {
+        List<Item> inventory = player.getInventory();
+        for (Item item : inventory) {
+            if (item.getName().toUpperCase().equals(itemName)) {
+                if (DungeonRules.useItem(player, item.getName(), difficulty)) {
+                    out.append("✅ Used ").append(item.getName()).append(".\n");
+                } else {
+                    out.append("❌ Could not use ").append(item.getName()).append(".\n");
+                }
+                return;
+            }
+        }
+        out.append("❌ You don't have '").append(itemName.toLowerCase()).append("'.\n");
+    }
+
+    private String statusLine() {
+        return "❤️ " + player.getHealth() + "/" + player.getMaxHealth()
+            + "  💙 " + player.getMana() + "/" + player.getMaxMana()
+            + "  ⭐ Lv " + player.getLevel() + "  📍 Floor " + floor + "\n";
+    }
+
+    private void appendHelp(StringBuilder out) {
+        out.append("Exploring: 1/SEARCH, 2/MOVE, 3/STATS, 4/INVENTORY, USE <item>\n");
+        out.append("Combat:    1/ATTACK, 2/DEFEND, 3/HEAVY, 4/QUICK, USE <item>, 6/RUN\n");
+        out.append("Anytime:   QUESTS, ACHIEVEMENTS, HELP, QUIT\n> ");
+    }
+
+    // ===== ACCESSORS =====
+
+    public String getId() { return id; }
+    public GameContext getContext() { return context; }
+    public Player getPlayer() { return player; }
+    public GameFlowState getPhase() { return flow.getState(); }
+    public GameFlow getFlow() { return flow; }
+    public int getFloor() { return floor; }
+    public long getCommandsHandled() { return commandsHandled; }
+    public Balance.Profile getDifficulty() { return difficulty; }
+
+    /**
+     * Play on a different difficulty (NORMAL by default); applies from the next
+     * monster, heal or new character on.
+     */
+    public void setDifficulty(Balance.Profile difficulty) {
+        this.difficulty = difficulty;
+        difficulty.applyTo(player);
+    }
+
+    public boolean isFinished() {
+        return flow.getState().isFinished();
+    }
+}
@@ -0,0 +1,191 @@
+package gameproject.session;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import gameproject.command.CommandParser;
+import gameproject.command.CommandTable;
+import gameproject.command.CommandType;
+
+/**
+ * Host process that runs many headless {@link GameSession}s in one JVM.
+ *
+ * Usage:
+ * <pre>
+ *   java -cp ... gameproject.session.SessionHost              (one session on stdin/stdout)
+ *   java -cp ... gameproject.session.SessionHost --port 7777  (one session per local socket connection)
+ * </pre>
+ *
+ * Socket mode binds to the loopback address only. Every connection gets its own
+ * session on its own thread, using blocking I/O. On Java 21+ the threads are
+ * virtual threads, so thousands of idle connections cost almost nothing. The
+ * project targets Java 17, where they fall back to platform threads with a
+ * small stack.
+ *
+ * @version 5.0.0
+ */
+public class SessionHost {
+
+    private static final long PLATFORM_THREAD_STACK_BYTES = 256 * 1024;
+
+    private final ExecutorService executor;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong sessionCounter = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile ServerSocket server;
+
+    public SessionHost() {
+        this.executor = createSessionExecutor();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = -1;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) {
+                try {
+                    port = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid port: " + args[i]);
+                    return;
+                }
+            }
+        }
+
+        SessionHost host = new SessionHost();
+        if (port < 0) {
+            host.runSession(System.in, System.out);
+            host.shutdown();
+        } else {
+            Runtime.getRuntime().addShutdownHook(new Thread(host::shutdown, "session-host-shutdown"));
+            host.serve(port);
+        }
+    }
+
+    /**
+     * Accept local connections until {@link #shutdown()} is called.
+     */
+    public void serve(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 512, InetAddress.getLoopbackAddress())) {
+            this.server = server;
+            System.out.println("[SESSION HOST] Listening on " + server.getLocalSocketAddress());
+            while (running) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketException e) {
+                    if (!running) {
+                        return; // shutdown() closed the socket
+                    }
+                    throw e;
+                }
+                executor.execute(() -> {
+                    try (socket) {
+                        runSession(socket.getInputStream(), socket.getOutputStream());
+                    } catch (IOException e) {
+                        System.err.println("Session connection error: " + e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Drive one session from a line-based input stream until QUIT, EOF or game end.
+     */
+    public void runSession(InputStream in, OutputStream out) throws IOException {
+        GameSession session = new GameSession("session-" + sessionCounter.incrementAndGet(), System.nanoTime());
+        activeSessions.incrementAndGet();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(session.start());
+            writer.flush();
+
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                if (CommandParser.parse(line, CommandTable.GLOBAL).is(CommandType.QUIT)) {
+                    writer.write("👋 Farewell, adventurer.\n");
+                    break;
+                }
+                writer.write(session.handle(line));
+                writer.flush();
+                if (session.isFinished()) {
+                    break;
+                }
+            }
+            writer.flush();
+        } finally {
+            session.close();
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Port the host is listening on, or -1 before {@link #serve(int)} has bound it.
+     */
+    public int getLocalPort() {
+        ServerSocket current = server;
+        return current == null ? -1 : current.getLocalPort();
+    }
+
+    public void shutdown() {
+        running = false;
+        ServerSocket current = server;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                System.err.println("Could not close session host socket: " + e.getMessage());
+            }
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One thread per session: virtual threads when the runtime has them
+     * (looked up reflectively so the code still compiles for release 17),
+     * otherwise daemon platform threads with a reduced stack size.
+     */
+    static ExecutorService createSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadIds = new AtomicInteger();
+            ThreadFactory threads = task -> {
+                Thread thread = new Thread(null, task, "session-" + threadIds.incrementAndGet(),
+                                           PLATFORM_THREAD_STACK_BYTES);
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(threads);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package gameproject.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of named progress counters backed by dense integer ids.
+ *
+ * Callers resolve a name to an id once (typically into a final field) and then
+ * update the counter through the id. Updates and reads go straight to a
+ * {@link LongAdder} cell, so they are lock-free, never box, and are safe to
+ * call from the FX thread, a background autosave and headless worker threads
+ * at the same time. Only registering a new name takes a lock, and that happens
+ * a handful of times per run.
+ *
+ * @version 5.0.0
+ */
+public class CounterRegistry {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile LongAdder[] cells = new LongAdder[INITIAL_CAPACITY];
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+    private volatile int size;
+
+    /**
+     * Resolve a counter name to its id, registering it on first use.
+     *
+     * @param name Counter name, e.g. "critical_hits"
+     * @return Dense id usable with {@link #add(int, long)} and {@link #get(int)}
+     */
+    public int register(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int next = size;
+            if (next == cells.length) {
+                // Grow by copying references; existing cells keep accumulating
+                LongAdder[] grownCells = new LongAdder[next * 2];
+                String[] grownNames = new String[next * 2];
+                System.arraycopy(cells, 0, grownCells, 0, next);
+                System.arraycopy(names, 0, grownNames, 0, next);
+                grownCells[next] = new LongAdder();
+                grownNames[next] = name;
+                names = grownNames;
+                cells = grownCells;
+            } else {
+                cells[next] = new LongAdder();
+                names[next] = name;
+            }
+            size = next + 1;
+            ids.put(name, next);
+            return next;
+        }
+    }
+
+    /**
+     * Look up an id without registering.
+     *
+     * @return The id, or -1 if the name has never been registered
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public void add(int id, long delta) {
+        cells[id].add(delta);
+    }
+
+    public void increment(int id) {
+        cells[id].increment();
+    }
+
+    public long get(int id) {
+        return cells[id].sum();
+    }
+
+    /**
+     * Reset a counter to zero. Updates racing with the reset may survive it.
+     */
+    public void reset(int id) {
+        cells[id].reset();
+    }
+
+    /**
+     * Set a counter to an absolute value, e.g. when restoring a save.
+     * Not atomic with respect to concurrent updates of the same counter.
+     */
+    public void set(int id, long value) {
+        LongAdder cell = cells[id];
+        cell.reset();
+        cell.add(value);
+    }
+
+    public void add(String name, long delta) {
+        add(register(name), delta);
+    }
+
+    public long get(String name) {
+        int id = idOf(name);
+        return id >= 0 ? get(id) : 0;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reset every registered counter to zero. Ids stay valid.
+     */
+    public void resetAll() {
+        LongAdder[] current = cells;
+        for (int i = 0; i < size; i++) {
+            current[i].reset();
+        }
+    }
+
+    /**
+     * Point-in-time copy of all counters in registration order.
+     */
+    public Map<String, Long> snapshot() {
+        int count = size;
+        LongAdder[] currentCells = cells;
+        String[] currentNames = names;
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            result.put(currentNames[i], currentCells[i].sum());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+package gameproject.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets, in the style of HdrHistogram.
+ *
+ * Values (nanoseconds) are bucketed by power of two, and each power of two is
+ * split into {@link #SUB_BUCKETS} linear sub-buckets, so any recorded value is
+ * reported within 1/16 (about 6%) of its true value from 1 ns up to hours, in
+ * a fixed ~8 KB of counters. Recording is one array index computation and a
+ * few atomic increments: lock-free, allocation-free and safe from any thread.
+ * Percentiles are computed when a {@link #snapshot()} is taken.
+ *
+ * @version 5.0.0
+ */
+public final class LatencyHistogram {
+
+    public static final int SUB_BUCKET_BITS = 4;
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Values below SUB_BUCKETS are exact; every power of two above gets SUB_BUCKETS buckets
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Summary of a histogram at one point in time; times in nanoseconds.
+     */
+    public record Snapshot(long count, long mean, long p50, long p90, long p99, long max) {
+
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0);
+    }
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private volatile long last;
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record one value; negative values count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        last = value;
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * Record the time since {@code startNanos}, a {@link System#nanoTime()} reading.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * The most recently recorded value, or 0 if nothing has been recorded.
+     */
+    public long getLast() {
+        return last;
+    }
+
+    /**
+     * Clear all recorded values. Values recorded during the reset may survive it.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+        last = 0;
+    }
+
+    public Snapshot snapshot() {
+        // Read buckets once; the percentile walk below works on this copy
+        long[] counts = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0) {
+            return Snapshot.EMPTY;
+        }
+        long highest = max.get();
+        return new Snapshot(recorded, total.sum() / Math.max(1, count.sum()),
+            percentile(counts, recorded, 0.50, highest),
+            percentile(counts, recorded, 0.90, highest),
+            percentile(counts, recorded, 0.99, highest),
+            highest);
+    }
+
+    private static long percentile(long[] counts, long recorded, double fraction, long highest) {
+        long rank = Math.max(1, (long) Math.ceil(recorded * fraction));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestInBucket(i), highest);
+            }
+        }
+        return highest;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestInBucket(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,214 @@
+package gameproject.stats;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process performance metrics: counters, gauges and latency histograms.
+ *
+ * Hot paths look up their histogram or counter id once, into a static final
+ * field, and then only record:
+ * <pre>
+ *   private static final LatencyHistogram SAVE_TIME = Metrics.global().histogram("save.write");
+ *   ...
+ *   long start = System.nanoTime();
+ *   ...
+ *   SAVE_TIME.recordSince(start);
+ * </pre>
+ * Recording is lock-free everywhere (counters are a {@link CounterRegistry},
+ * histograms are {@link LatencyHistogram}s), so instrumentation can stay on in
+ * release builds. {@link #snapshot()} reads everything at once, and
+ * {@link #startDumping} writes the snapshot to a file every few seconds so a
+ * real play session leaves a record of where the time went.
+ *
+ * @version 5.0.0
+ */
+public final class Metrics {
+
+    /** Seconds between dumps of the global metrics; 0 turns dumping off */
+    public static final String DUMP_INTERVAL_PROPERTY = "game.metricsDumpSeconds";
+    public static final long DEFAULT_DUMP_INTERVAL_SECONDS = 60;
+
+    private static final Metrics GLOBAL = new Metrics();
+
+    private static final ScheduledExecutorService DUMPER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "metrics-dump");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Everything recorded up to one point in time; histogram values in nanoseconds.
+     */
+    public record Snapshot(Map<String, Long> counters, Map<String, Long> gauges,
+                           Map<String, LatencyHistogram.Snapshot> histograms) {
+
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            out.append("# Metrics - ")
+                .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                .append("\n\n# COUNTERS\n");
+            counters.forEach((name, value) -> out.append(name).append('=').append(value).append('\n'));
+            out.append("\n# GAUGES\n");
+            gauges.forEach((name, value) -> out.append(name).append('=').append(value).append('\n'));
+            out.append("\n# LATENCY (ms)        count       mean        p50        p90        p99        max\n");
+            histograms.forEach((name, h) -> out.append(String.format("%-20s %6d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                name, h.count(), h.mean() / 1e6, h.p50() / 1e6, h.p90() / 1e6, h.p99() / 1e6, h.max() / 1e6)));
+            return out.toString();
+        }
+    }
+
+    private final CounterRegistry counters = new CounterRegistry();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> dumping;
+
+    /**
+     * The game's metrics.
+     */
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    // ===== REGISTRATION =====
+
+    /**
+     * Id of a counter, for {@link #increment(int)} and {@link #add(int, long)}.
+     */
+    public int counter(String name) {
+        return counters.register(name);
+    }
+
+    public void increment(int counter) {
+        counters.increment(counter);
+    }
+
+    public void add(int counter, long delta) {
+        counters.add(counter, delta);
+    }
+
+    public long getCounter(String name) {
+        return counters.get(name);
+    }
+
+    /**
+     * A gauge whose value is set by the caller.
+     */
+    public AtomicLong gauge(String name) {
+        AtomicLong value = new AtomicLong();
+        LongSupplier existing = gauges.putIfAbsent(name, value::get);
+        if (existing != null) {
+            System.err.println("[METRICS] Gauge " + name + " already registered; the new one is not reported");
+        }
+        return value;
+    }
+
+    /**
+     * A gauge read from {@code reader} whenever a snapshot is taken. Replaces any
+     * gauge registered under the same name.
+     */
+    public void gauge(String name, LongSupplier reader) {
+        gauges.put(name, reader);
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    // ===== REPORTING =====
+
+    public Snapshot snapshot() {
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, reader) -> {
+            try {
+                gaugeValues.put(name, reader.getAsLong());
+            } catch (RuntimeException e) {
+                gaugeValues.put(name, -1L);
+            }
+        });
+        Map<String, LatencyHistogram.Snapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new Snapshot(new TreeMap<>(counters.snapshot()), gaugeValues, histogramValues);
+    }
+
+    /**
+     * Clear counters and histograms; gauges report live values and are kept.
+     */
+    public void reset() {
+        counters.resetAll();
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Write a snapshot to {@code file}, replacing it atomically.
+     *
+     * @return true if the file was written
+     */
+    public boolean dump(Path file) {
+        Path temp = null;
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, "metrics", ".tmp");
+            Files.writeString(temp, snapshot().format(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("[METRICS] Could not write " + file + ": " + e.getMessage());
+            deleteQuietly(temp);
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            // Nothing more to do; the next dump uses a new temp file
+        }
+    }
+
+    /**
+     * Dump to {@code file} every {@code intervalSeconds} on a background thread,
+     * replacing any earlier schedule. An interval of 0 or less stops dumping.
+     */
+    public synchronized void startDumping(Path file, long intervalSeconds) {
+        stopDumping();
+        if (intervalSeconds > 0) {
+            dumping = DUMPER.scheduleWithFixedDelay(() -> dump(file), intervalSeconds, intervalSeconds,
+                TimeUnit.SECONDS);
+        }
+    }
+
+    public synchronized void stopDumping() {
+        if (dumping != null) {
+            dumping.cancel(false);
+            dumping = null;
+        }
+    }
+
+    /**
+     * Dump interval from {@value #DUMP_INTERVAL_PROPERTY}, or the default.
+     */
+    public static long configuredDumpIntervalSeconds() {
+        return Long.getLong(DUMP_INTERVAL_PROPERTY, DEFAULT_DUMP_INTERVAL_SECONDS);
+    }
+}
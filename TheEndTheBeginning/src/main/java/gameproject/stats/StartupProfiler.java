@@ -0,0 +1,155 @@
+package gameproject.stats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wall-clock timings of the startup phases, up to the first frame of the main menu.
+ *
+ * Startup code opens each phase with {@link #phase(String)} and ends it when
+ * done; once the main menu has been laid out, {@link #firstFrame()} records the time
+ * since launch and prints one line per phase. Phases that run on a background
+ * thread are tagged with the thread name; if they finish after the first frame
+ * they are printed as they complete.
+ *
+ * Off unless requested with {@code -Dgame.profileStartup=true} or, for packaged
+ * builds whose JVM options are fixed by the launcher, the environment variable
+ * {@code GAME_PROFILE_STARTUP=1}. When off, {@link #phase(String)} returns a
+ * shared no-op and nothing is recorded, so the calls can stay in release builds.
+ *
+ * @version 5.0.0
+ */
+public final class StartupProfiler {
+
+    public static final String PROPERTY = "game.profileStartup";
+    public static final String ENVIRONMENT_VARIABLE = "GAME_PROFILE_STARTUP";
+
+    private static final StartupProfiler GLOBAL = new StartupProfiler(isRequested());
+
+    /**
+     * A running phase; ending it records the elapsed time.
+     */
+    public interface Phase {
+        void end();
+    }
+
+    /**
+     * One finished phase, with times relative to the profiler's creation.
+     */
+    public record Entry(String name, String thread, long startNanos, long durationNanos) {
+    }
+
+    private static final Phase NO_OP = () -> { };
+
+    private final boolean enabled;
+    private final long originNanos = System.nanoTime();
+    private final long launchToOriginMillis;
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean reported = new AtomicBoolean();
+    private volatile long firstFrameNanos = -1;
+
+    public StartupProfiler(boolean enabled) {
+        this.enabled = enabled;
+        this.launchToOriginMillis = enabled ? millisSinceLaunch() : -1;
+    }
+
+    /**
+     * The game's profiler, enabled by the system property or environment variable.
+     */
+    public static StartupProfiler global() {
+        return GLOBAL;
+    }
+
+    private static boolean isRequested() {
+        if (Boolean.getBoolean(PROPERTY)) {
+            return true;
+        }
+        String env = System.getenv(ENVIRONMENT_VARIABLE);
+        return "1".equals(env) || "true".equalsIgnoreCase(env);
+    }
+
+    private static long millisSinceLaunch() {
+        return ProcessHandle.current().info().startInstant()
+            .map(start -> Duration.between(start, Instant.now()).toMillis())
+            .orElse(-1L);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start timing a phase; call {@link Phase#end()} when it is done. A phase
+     * that throws is simply never recorded.
+     */
+    public Phase phase(String name) {
+        if (!enabled) {
+            return NO_OP;
+        }
+        long start = System.nanoTime();
+        String thread = Thread.currentThread().getName();
+        return () -> record(new Entry(name, thread, start - originNanos, System.nanoTime() - start));
+    }
+
+    private void record(Entry entry) {
+        entries.add(entry);
+        if (reported.get()) {
+            System.out.println("[STARTUP] " + format(entry) + " (after first frame)");
+        }
+    }
+
+    /**
+     * Mark the first frame of the main menu and print the report. Only the
+     * first call counts.
+     */
+    public void firstFrame() {
+        if (!enabled || firstFrameNanos >= 0) {
+            return;
+        }
+        firstFrameNanos = System.nanoTime() - originNanos;
+        if (reported.compareAndSet(false, true)) {
+            System.out.print(formatReport());
+        }
+    }
+
+    /**
+     * Milliseconds from the profiler's creation to the first frame, or -1 if not reached yet.
+     */
+    public long getFirstFrameMillis() {
+        long nanos = firstFrameNanos;
+        return nanos < 0 ? -1 : nanos / 1_000_000;
+    }
+
+    /**
+     * Finished phases ordered by start time.
+     */
+    public List<Entry> getEntries() {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::startNanos));
+        return sorted;
+    }
+
+    public String formatReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("[STARTUP] First frame ").append(getFirstFrameMillis()).append(" ms after start()");
+        if (launchToOriginMillis >= 0) {
+            report.append(", ").append(launchToOriginMillis + getFirstFrameMillis()).append(" ms after JVM launch");
+        }
+        report.append('\n');
+        for (Entry entry : getEntries()) {
+            report.append("[STARTUP] ").append(format(entry)).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static String format(Entry entry) {
+        return String.format("%8.1f ms at +%7.1f ms  %s [%s]",
+            entry.durationNanos() / 1e6, entry.startNanos() / 1e6, entry.name(), entry.thread());
+    }
+}
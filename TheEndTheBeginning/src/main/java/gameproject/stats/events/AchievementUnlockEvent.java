@@ -0,0 +1,32 @@
+package gameproject.stats.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An achievement unlocked by {@link gameproject.achievements.AchievementManager},
+ * timed including its listeners.
+ *
+ * @version 5.0.0
+ */
+@Name("gameproject.AchievementUnlock")
+@Label("Achievement Unlock")
+@Category({ "Game", "Achievements" })
+@StackTrace(false)
+public final class AchievementUnlockEvent extends Event {
+
+    @Label("Achievement")
+    public String achievementId;
+
+    @Label("Name")
+    public String name;
+
+    @Label("Rarity")
+    public String rarity;
+
+    @Label("Unlocked So Far")
+    public int unlockedCount;
+}
@@ -0,0 +1,37 @@
+package gameproject.stats.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One attack resolved by {@link gameproject.combat.CombatEngine}.
+ *
+ * @version 5.0.0
+ */
+@Name("gameproject.CombatRound")
+@Label("Combat Round")
+@Category({ "Game", "Combat" })
+@Description("An attack by the player or a monster")
+@StackTrace(false)
+public final class CombatRoundEvent extends Event {
+
+    @Label("Attacker")
+    @Description("PLAYER or MONSTER")
+    public String attacker;
+
+    @Label("Attack Type")
+    public String attackType;
+
+    @Label("Result")
+    public String result;
+
+    @Label("Damage")
+    public int damage;
+
+    @Label("Target Defeated")
+    public boolean targetDefeated;
+}
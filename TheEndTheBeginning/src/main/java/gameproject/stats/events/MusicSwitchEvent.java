@@ -0,0 +1,33 @@
+package gameproject.stats.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A change of background music by {@link gameproject.audio.AudioManager}.
+ * The duration covers the request only; loading and the crossfade continue
+ * in the background.
+ *
+ * @version 5.0.0
+ */
+@Name("gameproject.MusicSwitch")
+@Label("Music Switch")
+@Category({ "Game", "Audio" })
+@StackTrace(false)
+public final class MusicSwitchEvent extends Event {
+
+    @Label("Track")
+    public String track;
+
+    @Label("Previous Track")
+    public String previousTrack;
+
+    @Label("Resource")
+    public String resource;
+
+    @Label("Loop")
+    public boolean loop;
+}
@@ -0,0 +1,35 @@
+package gameproject.stats.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One progress update dispatched to the active quests by
+ * {@link gameproject.QuestManager}.
+ *
+ * @version 5.0.0
+ */
+@Name("gameproject.QuestProgress")
+@Label("Quest Progress")
+@Category({ "Game", "Quests" })
+@StackTrace(false)
+public final class QuestProgressEvent extends Event {
+
+    @Label("Action")
+    public String action;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Amount")
+    public int amount;
+
+    @Label("Quests Checked")
+    public int questsChecked;
+
+    @Label("Objectives Updated")
+    public int objectivesUpdated;
+}
@@ -0,0 +1,39 @@
+package gameproject.stats.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A save, load or backup by {@link gameproject.SaveManager}.
+ *
+ * @version 5.0.0
+ */
+@Name("gameproject.Save")
+@Label("Save Game I/O")
+@Category({ "Game", "Persistence" })
+@Description("Writing, reading or backing up a save file")
+@StackTrace(false)
+public final class SaveEvent extends Event {
+
+    @Label("Operation")
+    @Description("SAVE, LOAD or BACKUP")
+    public String operation;
+
+    @Label("File")
+    public String file;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,31 @@
+package gameproject.stats.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A screen switch by {@link gameproject.ui.UiRouter}.
+ *
+ * @version 5.0.0
+ */
+@Name("gameproject.ScreenNavigation")
+@Label("Screen Navigation")
+@Category({ "Game", "UI" })
+@StackTrace(false)
+public final class ScreenNavigationEvent extends Event {
+
+    @Label("Screen")
+    public String screen;
+
+    @Label("Previous Screen")
+    public String previousScreen;
+
+    @Label("From Cache")
+    public boolean cached;
+
+    @Label("Success")
+    public boolean success;
+}
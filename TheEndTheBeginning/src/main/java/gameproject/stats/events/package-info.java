@@ -0,0 +1,23 @@
+/**
+ * Java Flight Recorder events for game-level operations.
+ *
+ * <p>Record a play session with the standard JFR options, e.g.
+ * {@code java -XX:StartFlightRecording=filename=session.jfr,settings=profile ...},
+ * and open it in JDK Mission Control: combat rounds, saves, screen switches,
+ * music changes, quest updates and achievement unlocks appear on the same
+ * timeline as GC pauses, CPU samples and allocation. Events are only
+ * populated when {@code shouldCommit()} is true, so they cost next to nothing
+ * when no recording is running.</p>
+ *
+ * <ul>
+ *   <li>{@link gameproject.stats.events.CombatRoundEvent} - {@code gameproject.CombatRound}</li>
+ *   <li>{@link gameproject.stats.events.SaveEvent} - {@code gameproject.Save}</li>
+ *   <li>{@link gameproject.stats.events.ScreenNavigationEvent} - {@code gameproject.ScreenNavigation}</li>
+ *   <li>{@link gameproject.stats.events.MusicSwitchEvent} - {@code gameproject.MusicSwitch}</li>
+ *   <li>{@link gameproject.stats.events.QuestProgressEvent} - {@code gameproject.QuestProgress}</li>
+ *   <li>{@link gameproject.stats.events.AchievementUnlockEvent} - {@code gameproject.AchievementUnlock}</li>
+ * </ul>
+ *
+ * @version 5.0.0
+ */
+package gameproject.stats.events;
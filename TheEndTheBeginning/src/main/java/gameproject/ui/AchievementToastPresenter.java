@@ -0,0 +1,47 @@
+package gameproject.ui;
+
+import javafx.animation.AnimationTimer;
+import gameproject.achievements.Achievement;
+import gameproject.achievements.AchievementEventQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Delivers queued achievement unlocks on the FX thread, at most once per frame.
+ *
+ * Every pulse the presenter drains the {@link AchievementEventQueue}; all unlocks
+ * that arrived since the previous frame are handed to the batch handler as one
+ * list, so a burst (e.g. five unlocks from a single kill) becomes a single toast.
+ * Frames with nothing pending cost one queue check.
+ *
+ * @version 5.0.0
+ */
+public class AchievementToastPresenter extends AnimationTimer {
+
+    private final AchievementEventQueue queue;
+    private final Consumer<List<Achievement>> batchHandler;
+    private final List<Achievement> batch = new ArrayList<>();
+
+    public AchievementToastPresenter(AchievementEventQueue queue, Consumer<List<Achievement>> batchHandler) {
+        this.queue = queue;
+        this.batchHandler = batchHandler;
+    }
+
+    @Override
+    public void handle(long now) {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        batch.clear();
+        if (queue.drainTo(batch) > 0) {
+            try {
+                batchHandler.accept(List.copyOf(batch));
+            } catch (Exception e) {
+                System.err.println("Error presenting achievements: " + e.getMessage());
+            }
+        }
+    }
+}
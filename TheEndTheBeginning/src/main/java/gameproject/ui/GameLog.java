@@ -0,0 +1,247 @@
+package gameproject.ui;
+
+import javafx.collections.ObservableListBase;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded game log: the most recent lines of game text, held in a ring buffer.
+ *
+ * The log is an {@link javafx.collections.ObservableList} of lines, so a
+ * {@link GameLogView} (or any ListView) renders it directly and only creates
+ * cells for the rows on screen. Appending is O(1) regardless of how long the
+ * session has run: once the log is full the oldest line is overwritten and the
+ * list fires a single remove + add change.
+ *
+ * Text may arrive in arbitrary pieces ("Health: " then "42\n"); a piece without
+ * a trailing newline stays open and the next append continues it.
+ *
+ * When a spill file is set, every line is written to it exactly once, when it
+ * leaves memory: evicted by the cap, removed by {@link #clear()}, or still
+ * present at {@link #closeSpill()}. The file then holds the run's full history.
+ *
+ * Not thread-safe; like any ObservableList bound to a control, mutate it on the
+ * FX thread only.
+ *
+ * @version 5.0.0
+ */
+public class GameLog extends ObservableListBase<String> {
+
+    public static final int DEFAULT_CAPACITY = 2000;
+
+    private final String[] lines;
+    private int head;      // index of the oldest line
+    private int size;
+    private boolean lastLineOpen;
+    private long evictedLines;
+
+    private BufferedWriter spill;
+    private Path spillFile;
+
+    public GameLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GameLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.lines = new String[capacity];
+    }
+
+    /**
+     * Append game text. Embedded newlines start new lines.
+     */
+    public void append(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+
+        beginChange();
+        try {
+            int start = 0;
+            int newline;
+            while ((newline = text.indexOf('\n', start)) >= 0) {
+                appendPiece(text.substring(start, newline));
+                lastLineOpen = false;
+                start = newline + 1;
+            }
+            if (start < text.length()) {
+                appendPiece(text.substring(start));
+                lastLineOpen = true;
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    private void appendPiece(String piece) {
+        if (lastLineOpen && size > 0) {
+            int last = size - 1;
+            String previous = lines[physical(last)];
+            lines[physical(last)] = previous + piece;
+            nextReplace(last, last + 1, List.of(previous));
+            return;
+        }
+
+        if (size == lines.length) {
+            String oldest = lines[head];
+            spillLine(oldest);
+            lines[head] = null;
+            head = (head + 1) % lines.length;
+            size--;
+            evictedLines++;
+            nextRemove(0, oldest);
+        }
+        lines[physical(size)] = piece;
+        size++;
+        nextAdd(size - 1, size);
+    }
+
+    /**
+     * Replace the whole log with the given text.
+     */
+    public void setText(String text) {
+        clear();
+        append(text);
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            lastLineOpen = false;
+            return;
+        }
+        beginChange();
+        try {
+            List<String> removed = new ArrayList<>(this);
+            for (String line : removed) {
+                spillLine(line);
+            }
+            Arrays.fill(lines, null);
+            head = 0;
+            size = 0;
+            lastLineOpen = false;
+            nextRemove(0, removed);
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return lines[physical(index)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    /**
+     * Number of lines pushed out of the buffer since the log was created.
+     */
+    public long getEvictedLines() {
+        return evictedLines;
+    }
+
+    private int physical(int index) {
+        return (head + index) % lines.length;
+    }
+
+    // ===== DISK SPILL =====
+
+    /**
+     * Spill lines leaving memory to the given file (appending). Pass null to stop.
+     *
+     * @return true if the file could be opened
+     */
+    public boolean setSpillFile(Path file) {
+        closeWriter();
+        if (file == null) {
+            return true;
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            spill = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            spillFile = file;
+            return true;
+        } catch (IOException e) {
+            System.err.println("Could not open game log file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public Path getSpillFile() {
+        return spillFile;
+    }
+
+    private void spillLine(String line) {
+        if (spill == null) {
+            return;
+        }
+        try {
+            spill.write(line);
+            spill.newLine();
+        } catch (IOException e) {
+            System.err.println("Game log spill failed, disabling: " + e.getMessage());
+            closeWriter();
+        }
+    }
+
+    /**
+     * Push buffered spill output to disk.
+     */
+    public void flushSpill() {
+        if (spill == null) {
+            return;
+        }
+        try {
+            spill.flush();
+        } catch (IOException e) {
+            System.err.println("Game log spill failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the lines still in memory to the spill file, so it holds the
+     * complete history, then close it. The in-memory log is left as is.
+     */
+    public void closeSpill() {
+        for (int i = 0; i < size && spill != null; i++) {
+            spillLine(get(i));
+        }
+        closeWriter();
+    }
+
+    private void closeWriter() {
+        if (spill == null) {
+            return;
+        }
+        try {
+            spill.close();
+        } catch (IOException e) {
+            System.err.println("Error closing game log file: " + e.getMessage());
+        }
+        spill = null;
+        spillFile = null;
+    }
+}
@@ -0,0 +1,96 @@
+package gameproject.ui;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+/**
+ * Virtualized view of a {@link GameLog}.
+ *
+ * Replaces the old ever-growing game TextArea: the ListView only lays out the
+ * rows that are visible, so rendering cost depends on the window height, not
+ * on how much text the run has produced. Appended lines scroll into view;
+ * {@link #showText(String)} shows its text from the top.
+ *
+ * Usable from FXML ({@code <GameLogView fx:id="gameLogView"/>}); the no-arg
+ * constructor creates a log with the default capacity, and
+ * {@link #setLog(GameLog)} swaps in one sized from settings.
+ *
+ * @version 5.0.0
+ */
+public class GameLogView extends ListView<String> {
+
+    private static final String STYLE_CLASS = "game-log";
+
+    private GameLog log;
+    private boolean followTail = true;
+
+    private final ListChangeListener<String> tailFollower = change -> {
+        if (followTail && !getItems().isEmpty()) {
+            scrollTo(getItems().size() - 1);
+        }
+    };
+
+    public GameLogView() {
+        this(new GameLog());
+    }
+
+    public GameLogView(GameLog log) {
+        getStyleClass().add(STYLE_CLASS);
+        setFocusTraversable(false);
+        setCellFactory(view -> new LogLineCell());
+        setLog(log);
+    }
+
+    public GameLog getLog() {
+        return log;
+    }
+
+    public void setLog(GameLog log) {
+        if (this.log != null) {
+            this.log.removeListener(tailFollower);
+        }
+        this.log = log;
+        log.addListener(tailFollower);
+        setItems(log);
+    }
+
+    /**
+     * Append game text (FX thread only).
+     */
+    public void append(String text) {
+        followTail = true;
+        log.append(text);
+    }
+
+    /**
+     * Replace the log with the given text and show it from the top (FX thread only).
+     */
+    public void showText(String text) {
+        followTail = false;
+        log.setText(text);
+        scrollTo(0);
+    }
+
+    public void clear() {
+        log.clear();
+    }
+
+    /**
+     * One wrapped line of game text. Cells are recycled by the ListView.
+     */
+    private static class LogLineCell extends ListCell<String> {
+
+        LogLineCell() {
+            getStyleClass().add("game-log-line");
+            setWrapText(true);
+            setPrefWidth(0); // wrap to the viewport instead of widening the list
+        }
+
+        @Override
+        protected void updateItem(String line, boolean empty) {
+            super.updateItem(line, empty);
+            setText(empty || line == null ? null : line);
+        }
+    }
+}
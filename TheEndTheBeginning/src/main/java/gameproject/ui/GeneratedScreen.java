@@ -0,0 +1,20 @@
+package gameproject.ui;
+
+import javafx.scene.Parent;
+
+/**
+ * A screen compiled from FXML at build time (see {@code gameproject.build.FxmlCompiler}
+ * under src/build/java). Constructing one builds the node tree directly.
+ *
+ * @version 5.0.0
+ */
+public interface GeneratedScreen {
+
+    Parent getRoot();
+
+    /**
+     * The fx:controller instance, already injected and initialized, or null
+     * for screens without one.
+     */
+    Object getController();
+}
@@ -0,0 +1,104 @@
+package gameproject.ui;
+
+import javafx.fxml.FXML;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the build-time generated class for an FXML resource.
+ *
+ * The generated classes live in {@code gameproject.ui.generated} and only
+ * exist after the Maven {@code generate-sources} phase has run, so they are
+ * looked up by name: an IDE build without the step, or a screen the compiler
+ * skipped, simply falls back to FXMLLoader. Running with {@code -Dgame.dev=true}
+ * always uses FXMLLoader, so FXML edits show up without a rebuild.
+ *
+ * @version 5.0.0
+ */
+public final class GeneratedScreens {
+
+    private static final String PACKAGE = "gameproject.ui.generated";
+    private static final boolean DEV_MODE = Boolean.getBoolean("game.dev");
+
+    private static final ConcurrentHashMap<String, Optional<MethodHandle>> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    private GeneratedScreens() {
+    }
+
+    public static boolean isDevMode() {
+        return DEV_MODE;
+    }
+
+    /**
+     * Build the generated screen for an FXML resource path such as "/ui/MainMenu.fxml".
+     *
+     * @return the screen, or null if FXMLLoader should be used instead
+     */
+    public static GeneratedScreen create(String fxmlPath) {
+        if (DEV_MODE) {
+            return null;
+        }
+        Optional<MethodHandle> constructor = CONSTRUCTORS.computeIfAbsent(fxmlPath, GeneratedScreens::findConstructor);
+        if (constructor.isEmpty()) {
+            return null;
+        }
+        try {
+            return (GeneratedScreen) constructor.get().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Generated screen for " + fxmlPath + " failed", t);
+        }
+    }
+
+    private static Optional<MethodHandle> findConstructor(String fxmlPath) {
+        try {
+            Class<?> type = Class.forName(PACKAGE + "." + classNameFor(fxmlPath));
+            return Optional.of(MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class)));
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Unusable generated screen for " + fxmlPath + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * "/ui/MainMenu.fxml" -> "MainMenuScreen". Must match FxmlCompiler.classNameFor.
+     */
+    static String classNameFor(String fxmlPath) {
+        String file = fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1);
+        String base = file.endsWith(".fxml") ? file.substring(0, file.length() - ".fxml".length()) : file;
+        return Character.toUpperCase(base.charAt(0)) + base.substring(1) + "Screen";
+    }
+
+    /**
+     * Set a controller's {@code @FXML} field, as FXMLLoader would. Used by
+     * generated screens that declare an fx:controller; fields without @FXML
+     * (or missing) are skipped, again matching FXMLLoader.
+     */
+    public static void injectField(Object controller, String name, Object value) {
+        for (Class<?> type = controller.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                if (!field.isAnnotationPresent(FXML.class) && !Modifier.isPublic(field.getModifiers())) {
+                    return;
+                }
+                field.setAccessible(true);
+                field.set(controller, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            } catch (IllegalAccessException e) {
+                System.err.println("Cannot inject " + name + " into " + controller.getClass().getSimpleName());
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package gameproject.ui;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import gameproject.stats.LatencyHistogram;
+import gameproject.stats.Metrics;
+
+/**
+ * Performance overlay drawn in the corner of the game window (F3 toggles it).
+ *
+ * Shows frame rate and the worst frame, FX pulse time (CSS and layout),
+ * pending {@link FxMetrics#runLater} tasks, heap use, GC activity, and the
+ * last save and player attack as recorded by {@link Metrics}. Frames and
+ * pulses are only counted, and everything else is read and formatted once a
+ * second, so the overlay costs next to nothing while visible and nothing at
+ * all while hidden: its timer and pulse listeners are removed on hide.
+ *
+ * @version 5.0.0
+ */
+public final class PerfOverlay {
+
+    /** Set to true to show the overlay from startup */
+    public static final String PROPERTY = "game.perfOverlay";
+
+    private static final long SAMPLE_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final LatencyHistogram SAVE_TIME = Metrics.global().histogram("save.write");
+    private static final LatencyHistogram ATTACK_TIME = Metrics.global().histogram("combat.player_attack");
+
+    /**
+     * One second of measurements; times in nanoseconds, memory in bytes.
+     */
+    public record Sample(double fps, long worstFrame, long worstPulse, long queued,
+                         long heapUsed, long heapMax, long gcCount, long gcTime,
+                         long lastSave, long lastAttack) {
+
+        public String format() {
+            return String.format("FPS %5.1f  worst %5.1f ms%n", fps, worstFrame / 1e6)
+                + String.format("Pulse %5.2f ms  runLater %d%n", worstPulse / 1e6, queued)
+                + String.format("Heap %d / %d MB%n", heapUsed >> 20, heapMax >> 20)
+                + String.format("GC %d (%d ms)%n", gcCount, gcTime / 1_000_000)
+                + "Save " + millis(lastSave) + "  Attack " + millis(lastAttack);
+        }
+
+        private static String millis(long nanos) {
+            return nanos <= 0 ? "-" : String.format("%.2f ms", nanos / 1e6);
+        }
+    }
+
+    private final Label label = new Label();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final Runnable pulseStart = this::pulseStarted;
+    private final Runnable pulseEnd = this::pulseEnded;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            frame(now);
+        }
+    };
+
+    private Scene scene;
+    private boolean showing;
+
+    // Current one-second window, FX thread only
+    private long windowStart = -1;
+    private long lastFrame;
+    private int frames;
+    private long worstFrame;
+    private long pulseStarted;
+    private long worstPulse;
+    private long gcCountBefore;
+    private long gcTimeBefore;
+
+    public PerfOverlay() {
+        label.getStyleClass().add("perf-overlay");
+        label.setMouseTransparent(true);
+        label.setFocusTraversable(false);
+        label.setVisible(false);
+        StackPane.setAlignment(label, Pos.TOP_RIGHT);
+    }
+
+    /**
+     * The node to add on top of the screens (see {@link UiRouter#addOverlay}).
+     */
+    public Node getNode() {
+        return label;
+    }
+
+    public boolean isShowing() {
+        return showing;
+    }
+
+    public void toggle() {
+        setShowing(!showing);
+    }
+
+    /**
+     * Show or hide the overlay (FX thread).
+     */
+    public void setShowing(boolean show) {
+        if (show == showing) {
+            return;
+        }
+        showing = show;
+        label.setVisible(show);
+        if (show) {
+            scene = label.getScene();
+            if (scene != null) {
+                scene.addPreLayoutPulseListener(pulseStart);
+                scene.addPostLayoutPulseListener(pulseEnd);
+            }
+            windowStart = -1;
+            label.setText("Measuring...");
+            timer.start();
+        } else {
+            timer.stop();
+            if (scene != null) {
+                scene.removePreLayoutPulseListener(pulseStart);
+                scene.removePostLayoutPulseListener(pulseEnd);
+                scene = null;
+            }
+        }
+    }
+
+    private void pulseStarted() {
+        pulseStarted = System.nanoTime();
+    }
+
+    private void pulseEnded() {
+        worstPulse = Math.max(worstPulse, System.nanoTime() - pulseStarted);
+    }
+
+    private void frame(long now) {
+        if (windowStart < 0) {
+            startWindow(now);
+            return;
+        }
+        frames++;
+        worstFrame = Math.max(worstFrame, now - lastFrame);
+        lastFrame = now;
+        long elapsed = now - windowStart;
+        if (elapsed >= SAMPLE_INTERVAL_NANOS) {
+            label.setText(sample(elapsed).format());
+            startWindow(now);
+        }
+    }
+
+    private void startWindow(long now) {
+        windowStart = now;
+        lastFrame = now;
+        frames = 0;
+        worstFrame = 0;
+        worstPulse = 0;
+        gcCountBefore = gcCount();
+        gcTimeBefore = gcTime();
+    }
+
+    private Sample sample(long elapsed) {
+        Runtime runtime = Runtime.getRuntime();
+        return new Sample(frames * 1e9 / elapsed, worstFrame, worstPulse, FxMetrics.getQueuedCount(),
+            runtime.totalMemory() - runtime.freeMemory(), runtime.maxMemory(),
+            gcCount() - gcCountBefore, (gcTime() - gcTimeBefore) * 1_000_000,
+            SAVE_TIME.getLast(), ATTACK_TIME.getLast());
+    }
+
+    private long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    private long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
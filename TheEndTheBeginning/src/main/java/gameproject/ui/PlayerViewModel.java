@@ -0,0 +1,120 @@
+package gameproject.ui;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.scene.Node;
+import main.model.Player;
+
+/**
+ * Observable snapshot of the player's HUD-relevant stats.
+ *
+ * {@link Player} stays a plain model class; after each turn the controller calls
+ * {@link #sync(Player)}, which copies the current values into JavaFX properties.
+ * Properties only notify when their value actually changes, so HUD controls
+ * bound to them (labels, progress bars, the low-health style) are touched only
+ * for stats that moved, instead of every control being rewritten and restyled
+ * on every turn.
+ *
+ * FX thread only, like the controls bound to it.
+ *
+ * @version 5.0.0
+ */
+public class PlayerViewModel {
+
+    private final ReadOnlyStringWrapper name = new ReadOnlyStringWrapper(this, "name", "");
+    private final ReadOnlyIntegerWrapper health = new ReadOnlyIntegerWrapper(this, "health");
+    private final ReadOnlyIntegerWrapper maxHealth = new ReadOnlyIntegerWrapper(this, "maxHealth");
+    private final ReadOnlyIntegerWrapper mana = new ReadOnlyIntegerWrapper(this, "mana");
+    private final ReadOnlyIntegerWrapper maxMana = new ReadOnlyIntegerWrapper(this, "maxMana");
+    private final ReadOnlyIntegerWrapper level = new ReadOnlyIntegerWrapper(this, "level");
+    private final ReadOnlyIntegerWrapper experience = new ReadOnlyIntegerWrapper(this, "experience");
+    private final ReadOnlyIntegerWrapper experienceToNextLevel = new ReadOnlyIntegerWrapper(this, "experienceToNextLevel");
+    private final ReadOnlyIntegerWrapper attack = new ReadOnlyIntegerWrapper(this, "attack");
+    private final ReadOnlyIntegerWrapper defense = new ReadOnlyIntegerWrapper(this, "defense");
+    private final ReadOnlyIntegerWrapper agility = new ReadOnlyIntegerWrapper(this, "agility");
+    private final ReadOnlyIntegerWrapper luck = new ReadOnlyIntegerWrapper(this, "luck");
+
+    private final DoubleBinding healthFraction = fraction(health, maxHealth);
+    private final DoubleBinding manaFraction = fraction(mana, maxMana);
+    private final DoubleBinding experienceFraction = fraction(experience, experienceToNextLevel);
+    private final BooleanBinding lowHealth = Bindings.createBooleanBinding(
+        () -> health.get() <= maxHealth.get() * 0.25, health, maxHealth);
+    private final IntegerBinding accuracyPercent = Bindings.createIntegerBinding(
+        () -> (int) ((0.85 + agility.get() * 0.002) * 100), agility);
+
+    /**
+     * Copy the player's current stats. Unchanged values fire no events.
+     */
+    public void sync(Player player) {
+        if (player == null) {
+            return;
+        }
+        name.set(player.getName() == null ? "" : player.getName());
+        maxHealth.set(player.getMaxHealth());
+        health.set(player.getHealth());
+        maxMana.set(player.getMaxMana());
+        mana.set(player.getMana());
+        experienceToNextLevel.set(player.getExperienceToNextLevel());
+        experience.set(player.getExperience());
+        level.set(player.getLevel());
+        attack.set(player.getAttack());
+        defense.set(player.getDefense());
+        agility.set(player.getAgility());
+        luck.set(player.getLuck());
+    }
+
+    private static DoubleBinding fraction(ReadOnlyIntegerWrapper value, ReadOnlyIntegerWrapper max) {
+        return Bindings.createDoubleBinding(() -> {
+            if (max.get() <= 0) {
+                return 0.0;
+            }
+            return Math.max(0.0, Math.min(1.0, (double) value.get() / max.get()));
+        }, value, max);
+    }
+
+    /**
+     * Keep a style class on the node exactly while the condition holds. The
+     * class list is only modified when the condition flips.
+     */
+    public static void bindStyleClass(Node node, String styleClass, ObservableBooleanValue condition) {
+        if (node == null) {
+            return;
+        }
+        if (condition.get()) {
+            node.getStyleClass().add(styleClass);
+        }
+        condition.addListener((obs, was, is) -> {
+            if (is) {
+                node.getStyleClass().add(styleClass);
+            } else {
+                node.getStyleClass().remove(styleClass);
+            }
+        });
+    }
+
+    public ReadOnlyStringProperty nameProperty() { return name.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty healthProperty() { return health.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty maxHealthProperty() { return maxHealth.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty manaProperty() { return mana.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty maxManaProperty() { return maxMana.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty levelProperty() { return level.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty experienceProperty() { return experience.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty experienceToNextLevelProperty() { return experienceToNextLevel.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty attackProperty() { return attack.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty defenseProperty() { return defense.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty agilityProperty() { return agility.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty luckProperty() { return luck.getReadOnlyProperty(); }
+
+    public DoubleBinding healthFractionBinding() { return healthFraction; }
+    public DoubleBinding manaFractionBinding() { return manaFraction; }
+    public DoubleBinding experienceFractionBinding() { return experienceFraction; }
+    public BooleanBinding lowHealthBinding() { return lowHealth; }
+    public IntegerBinding accuracyPercentBinding() { return accuracyPercent; }
+}
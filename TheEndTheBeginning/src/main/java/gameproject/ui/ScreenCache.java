@@ -0,0 +1,87 @@
+package gameproject.ui;
+
+import javafx.scene.Node;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Least-recently-used cache of loaded screen roots for {@link UiRouter}.
+ *
+ * Holds at most {@code maxScreens} screens; opening a screen marks it as
+ * recently used, and when the cache is full the screen that has gone longest
+ * without a visit is dropped (it is simply reloaded if opened again). Pinned
+ * screens, such as the main menu and the game HUD, are never evicted and do
+ * not count against the limit.
+ *
+ * FX thread only.
+ *
+ * @version 5.0.0
+ */
+public class ScreenCache {
+
+    public static final int DEFAULT_MAX_SCREENS = 6;
+
+    private final int maxScreens;
+    private final Set<String> pinned;
+    private final Map<String, Node> pinnedScreens = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Node> recentScreens = new LinkedHashMap<>(16, 0.75f, true);
+    private long evictions;
+
+    /**
+     * @param maxScreens Unpinned screens kept in memory (at least 1)
+     * @param pinned     Screen names that are never evicted
+     */
+    public ScreenCache(int maxScreens, Set<String> pinned) {
+        this.maxScreens = Math.max(1, maxScreens);
+        this.pinned = Set.copyOf(pinned);
+    }
+
+    public Node get(String screenName) {
+        Node screen = pinnedScreens.get(screenName);
+        return screen != null ? screen : recentScreens.get(screenName);
+    }
+
+    public boolean contains(String screenName) {
+        return pinnedScreens.containsKey(screenName) || recentScreens.containsKey(screenName);
+    }
+
+    public void put(String screenName, Node screen) {
+        if (pinned.contains(screenName)) {
+            pinnedScreens.put(screenName, screen);
+            return;
+        }
+        recentScreens.put(screenName, screen);
+        while (recentScreens.size() > maxScreens) {
+            String eldest = recentScreens.keySet().iterator().next();
+            recentScreens.remove(eldest);
+            evictions++;
+        }
+    }
+
+    public void remove(String screenName) {
+        pinnedScreens.remove(screenName);
+        recentScreens.remove(screenName);
+    }
+
+    public void clear() {
+        pinnedScreens.clear();
+        recentScreens.clear();
+    }
+
+    public int size() {
+        return pinnedScreens.size() + recentScreens.size();
+    }
+
+    public int getMaxScreens() {
+        return maxScreens;
+    }
+
+    /**
+     * Screens dropped to stay within the limit since the cache was created.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+}
@@ -7,29 +7,72 @@ import javafx.scene.layout.StackPane;
 import javafx.util.Duration;
 import gameproject.Settings;
 import gameproject.MainControllerNew;
+import gameproject.stats.LatencyHistogram;
+import gameproject.stats.Metrics;
+import gameproject.stats.events.ScreenNavigationEvent;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * UI Router for managing screen navigation and transitions.
  * Handles loading FXML screens and switching between them with animations.
  * 
+ * After each navigation the router preloads the screens the player is likely
+ * to open next: FXML parsing and node creation run on a background thread,
+ * and the finished screen is wired and cached on the FX thread, so first
+ * visits no longer stall a frame. Loaded screens live in an LRU
+ * {@link ScreenCache} sized by {@code Settings.screenCacheSize}.
+ * 
  * @version 5.0.0
  */
 public class UiRouter {
     
+    /** Screens worth preloading after a given screen is shown. */
+    private static final Map<String, List<String>> LIKELY_NEXT = Map.of(
+        "MainMenu", List.of("Onboarding", "GameHUD", "SaveLoad", "Settings"),
+        "Onboarding", List.of("GameHUD"),
+        "GameHUD", List.of("PauseMenu", "Inventory", "QuestLog"),
+        "PauseMenu", List.of("Settings", "SaveLoad", "MainMenu"),
+        "Inventory", List.of("GameHUD"),
+        "QuestLog", List.of("GameHUD"));
+    
+    private static final LatencyHistogram NAVIGATION_TIME = Metrics.global().histogram("ui.navigate");
+    private static final int NAVIGATION_FAILURES = Metrics.global().counter("ui.navigate_failures");
+    
+    /** Screens visited constantly; never evicted from the cache. */
+    public static final Set<String> PINNED_SCREENS = Set.of("MainMenu", "GameHUD");
+    
+    // One low-priority daemon thread: preloading must never compete with the game
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "ui-preloader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    
     private final StackPane rootContainer;
-    private final Map<String, Node> screenCache;
+    private final ScreenCache screenCache;
+    private final Map<String, CompletableFuture<Node>> pendingLoads = new HashMap<>();
+    private boolean preloadEnabled = true;
     private final Settings settings;
     private MainControllerNew mainController;
     private String currentScreen;
+    private final List<Node> overlays = new ArrayList<>();
     
     public UiRouter(StackPane rootContainer, Settings settings) {
         this.rootContainer = rootContainer;
         this.settings = settings;
-        this.screenCache = new HashMap<>();
+        this.screenCache = new ScreenCache(
+            settings != null ? settings.screenCacheSize : ScreenCache.DEFAULT_MAX_SCREENS, PINNED_SCREENS);
         this.currentScreen = null;
     }
     
@@ -37,6 +80,23 @@ public class UiRouter {
         this.mainController = mainController;
     }
     
+    /**
+     * Keep a node on top of every screen (e.g. the performance overlay).
+     * Screen switches leave overlays in place.
+     */
+    public void addOverlay(Node overlay) {
+        if (!overlays.contains(overlay)) {
+            overlays.add(overlay);
+            rootContainer.getChildren().add(overlay);
+        }
+    }
+    
+    public void removeOverlay(Node overlay) {
+        if (overlays.remove(overlay)) {
+            rootContainer.getChildren().remove(overlay);
+        }
+    }
+    
     /**
      * Navigate to a screen by name.
      * 
@@ -44,6 +104,28 @@ public class UiRouter {
      * @return true if navigation was successful
      */
     public boolean navigateTo(String screenName) {
+        ScreenNavigationEvent event = new ScreenNavigationEvent();
+        event.begin();
+        String previousScreen = currentScreen;
+        boolean cached = screenCache.contains(screenName);
+        long start = System.nanoTime();
+        boolean shown = showScreen(screenName);
+        NAVIGATION_TIME.recordSince(start);
+        if (!shown) {
+            Metrics.global().increment(NAVIGATION_FAILURES);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.screen = screenName;
+            event.previousScreen = previousScreen;
+            event.cached = cached;
+            event.success = shown;
+            event.commit();
+        }
+        return shown;
+    }
+    
+    private boolean showScreen(String screenName) {
         try {
             Node screen = getOrLoadScreen(screenName);
             if (screen == null) {
@@ -54,6 +136,7 @@ public class UiRouter {
             // Transition to new screen
             transitionToScreen(screen);
             currentScreen = screenName;
+            preload(LIKELY_NEXT.getOrDefault(screenName, List.of()));
             return true;
         } catch (Exception e) {
             System.err.println("Error navigating to screen " + screenName + ": " + e.getMessage());
@@ -67,14 +150,52 @@ public class UiRouter {
      */
     private Node getOrLoadScreen(String screenName) throws IOException {
         // Check cache first
-        if (screenCache.containsKey(screenName)) {
-            return screenCache.get(screenName);
+        Node cached = screenCache.get(screenName);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // Use a finished preload; never wait on one still running, since the
+        // FX thread would stall for the whole build. Building here instead is
+        // no slower, and the late preload result is dropped by its completion.
+        CompletableFuture<Node> pending = pendingLoads.get(screenName);
+        Node screen = null;
+        if (pending != null) {
+            if (pending.isDone() && !pending.isCompletedExceptionally()) {
+                screen = pending.join();
+            } else {
+                pending.cancel(false); // skips the build if it has not started yet
+            }
+        }
+        if (screen == null) {
+            screen = loadScreen(screenName);
         }
         
-        // Load from FXML
+        attachScreen(screenName, screen);
+        return screen;
+    }
+    
+    /**
+     * Build a screen: from its build-time generated class when there is one,
+     * otherwise by parsing the FXML (dev mode, or a screen the FXML compiler
+     * skipped). Safe off the FX thread as long as the result is not yet part
+     * of a live scene.
+     */
+    private Node loadScreen(String screenName) throws IOException {
         String fxmlPath = "/ui/" + screenName + ".fxml";
+        GeneratedScreen generated = GeneratedScreens.create(fxmlPath);
+        if (generated != null) {
+            return generated.getRoot();
+        }
         FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-        Node screen = loader.load();
+        return loader.load();
+    }
+    
+    /**
+     * Wire a freshly loaded screen and cache it (FX thread).
+     */
+    private void attachScreen(String screenName, Node screen) {
+        pendingLoads.remove(screenName);
         
         // Wire up button handlers directly if mainController is available
         if (mainController != null) {
@@ -83,8 +204,49 @@ public class UiRouter {
         
         // Cache the screen
         screenCache.put(screenName, screen);
-        
-        return screen;
+    }
+    
+    /**
+     * Load the given screens in the background so the first visit is instant.
+     * Screens already cached or loading are skipped. FX thread only.
+     */
+    public void preload(List<String> screenNames) {
+        if (!preloadEnabled) {
+            return;
+        }
+        for (String screenName : screenNames) {
+            if (screenCache.contains(screenName) || pendingLoads.containsKey(screenName)) {
+                continue;
+            }
+            CompletableFuture<Node> load = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loadScreen(screenName);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, PRELOADER);
+            pendingLoads.put(screenName, load);
+            
+            load.whenComplete((screen, error) -> FxMetrics.runLater(() -> {
+                // Skip if navigation already attached it, or the cache was cleared meanwhile
+                if (pendingLoads.get(screenName) != load) {
+                    return;
+                }
+                if (error != null) {
+                    pendingLoads.remove(screenName);
+                    System.err.println("Failed to preload screen " + screenName + ": " + error.getMessage());
+                } else {
+                    attachScreen(screenName, screen);
+                }
+            }));
+        }
+    }
+    
+    /**
+     * Turn background preloading on or off (e.g. on low-memory machines).
+     */
+    public void setPreloadEnabled(boolean enabled) {
+        this.preloadEnabled = enabled;
     }
     
     /**
@@ -94,16 +256,17 @@ public class UiRouter {
         // Respect reduced motion setting
         boolean useAnimations = settings != null && !settings.reducedMotion;
         
-        if (!useAnimations || rootContainer.getChildren().isEmpty()) {
+        // Screens sit below the overlays
+        int screens = rootContainer.getChildren().size() - overlays.size();
+        if (!useAnimations || screens == 0) {
             // No animation - instant switch
-            rootContainer.getChildren().clear();
-            rootContainer.getChildren().add(newScreen);
+            rootContainer.getChildren().removeIf(node -> !overlays.contains(node));
+            rootContainer.getChildren().add(0, newScreen);
             return;
         }
         
         // Fade transition
-        Node oldScreen = rootContainer.getChildren().isEmpty() ? null : 
-                        rootContainer.getChildren().get(0);
+        Node oldScreen = rootContainer.getChildren().get(0);
         
         if (oldScreen != null) {
             // Fade out old screen
@@ -118,7 +281,7 @@ public class UiRouter {
         
         // Fade in new screen
         newScreen.setOpacity(0.0);
-        rootContainer.getChildren().add(newScreen);
+        rootContainer.getChildren().add(screens, newScreen);
         
         FadeTransition fadeIn = new FadeTransition(Duration.millis(200), newScreen);
         fadeIn.setFromValue(0.0);
@@ -131,6 +294,7 @@ public class UiRouter {
      */
     public void clearCache() {
         screenCache.clear();
+        pendingLoads.clear();
     }
     
     /**
@@ -138,6 +302,11 @@ public class UiRouter {
      */
     public void clearCache(String screenName) {
         screenCache.remove(screenName);
+        pendingLoads.remove(screenName);
+    }
+    
+    public ScreenCache getScreenCache() {
+        return screenCache;
     }
     
     /**
@@ -0,0 +1,189 @@
+package gameproject.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Labeled;
+import gameproject.stats.LatencyHistogram;
+import gameproject.stats.Metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces UI updates into one pulse per frame.
+ *
+ * Game logic used to post a {@code Platform.runLater} for every text append,
+ * status change and notification; a single combat round queued ten or more
+ * tiny runnables plus a full stats refresh. The scheduler collects them instead
+ * and applies everything once per frame, on the FX thread:
+ * <ul>
+ *   <li>all text appended since the last frame goes out as one append</li>
+ *   <li>a {@link #showText(String) replace} drops text queued before it</li>
+ *   <li>keyed updates ({@link #post(Object, Runnable)}, {@link #setText}) keep
+ *       only the latest value per key, so superseded label updates never run</li>
+ *   <li>one-off tasks ({@link #post(Runnable)}) run in the order they were posted</li>
+ * </ul>
+ * Every method may be called from any thread. Frames with nothing pending cost
+ * one flag check.
+ *
+ * @version 5.0.0
+ */
+public class UiUpdateScheduler {
+
+    private static final LatencyHistogram FLUSH_TIME = Metrics.global().histogram("ui.flush");
+
+    private final Consumer<String> appendSink;
+    private final Consumer<String> replaceSink;
+
+    // Guarded by this; swapped with the "applying" copies every pulse
+    private StringBuilder pendingAppend = new StringBuilder();
+    private String pendingReplace;
+    private Map<Object, Runnable> pendingKeyed = new LinkedHashMap<>();
+    private List<Runnable> pendingTasks = new ArrayList<>();
+    private volatile boolean dirty;
+
+    private StringBuilder applyingAppend = new StringBuilder();
+    private Map<Object, Runnable> applyingKeyed = new LinkedHashMap<>();
+    private List<Runnable> applyingTasks = new ArrayList<>();
+
+    private AnimationTimer pulse;
+
+    /**
+     * @param appendSink  Receives the merged text appended during one frame
+     * @param replaceSink Receives text that replaces the whole display
+     */
+    public UiUpdateScheduler(Consumer<String> appendSink, Consumer<String> replaceSink) {
+        this.appendSink = appendSink;
+        this.replaceSink = replaceSink;
+    }
+
+    /**
+     * Start applying updates on every frame (FX thread).
+     */
+    public void start() {
+        if (pulse == null) {
+            pulse = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    flush();
+                }
+            };
+        }
+        pulse.start();
+    }
+
+    public void stop() {
+        if (pulse != null) {
+            pulse.stop();
+        }
+    }
+
+    // ===== QUEUEING =====
+
+    public synchronized void appendText(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        pendingAppend.append(text);
+        dirty = true;
+    }
+
+    /**
+     * Replace the displayed text; anything appended earlier in this frame is dropped.
+     */
+    public synchronized void showText(String text) {
+        pendingAppend.setLength(0);
+        pendingReplace = text == null ? "" : text;
+        dirty = true;
+    }
+
+    /**
+     * Set a label's text; only the last value posted for a label in a frame is applied.
+     */
+    public void setText(Labeled label, String text) {
+        if (label != null) {
+            post(label, () -> label.setText(text));
+        }
+    }
+
+    /**
+     * Queue an update that supersedes any earlier update with the same key.
+     * The key keeps the position of its first post within the frame.
+     */
+    public synchronized void post(Object key, Runnable update) {
+        pendingKeyed.put(key, update);
+        dirty = true;
+    }
+
+    /**
+     * Queue a one-off task, run in order with other one-off tasks.
+     */
+    public synchronized void post(Runnable task) {
+        pendingTasks.add(task);
+        dirty = true;
+    }
+
+    // ===== APPLYING =====
+
+    /**
+     * Apply everything queued so far. Called by the frame pulse; call directly
+     * (on the FX thread) when updates must be visible immediately.
+     */
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        String replace;
+        synchronized (this) {
+            StringBuilder appendSwap = pendingAppend;
+            pendingAppend = applyingAppend;
+            applyingAppend = appendSwap;
+
+            Map<Object, Runnable> keyedSwap = pendingKeyed;
+            pendingKeyed = applyingKeyed;
+            applyingKeyed = keyedSwap;
+
+            List<Runnable> taskSwap = pendingTasks;
+            pendingTasks = applyingTasks;
+            applyingTasks = taskSwap;
+
+            replace = pendingReplace;
+            pendingReplace = null;
+            dirty = false;
+        }
+
+        try {
+            if (replace != null) {
+                replaceSink.accept(replace);
+            }
+            if (applyingAppend.length() > 0) {
+                appendSink.accept(applyingAppend.toString());
+            }
+        } catch (Exception e) {
+            System.err.println("Error updating game text: " + e.getMessage());
+        }
+        for (Runnable task : applyingTasks) {
+            run(task);
+        }
+        for (Runnable update : applyingKeyed.values()) {
+            run(update);
+        }
+
+        applyingAppend.setLength(0);
+        applyingTasks.clear();
+        applyingKeyed.clear();
+        FLUSH_TIME.recordSince(start);
+    }
+
+    private static void run(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            System.err.println("Error applying UI update: " + e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package gameproject.ui.hud;
 
+import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import gameproject.MainControllerNew;
+import gameproject.ui.GameLogView;
+import gameproject.ui.PlayerViewModel;
 import main.model.Player;
 
 import java.net.URL;
@@ -25,7 +28,7 @@ public class GameHudController implements Initializable {
     @FXML private VBox questInfoBox;
     @FXML private Label questTitleLabel;
     @FXML private ProgressBar questProgressBar;
-    @FXML private TextArea gameTextArea;
+    @FXML private GameLogView gameLogView;
     @FXML private Button attackButton;
     @FXML private Button heavyAttackButton;
     @FXML private Button defendButton;
@@ -37,6 +40,7 @@ public class GameHudController implements Initializable {
     @FXML private Button pauseButton;
     
     private MainControllerNew mainController;
+    private PlayerViewModel boundPlayer;
     
     public void setMainController(MainControllerNew mainController) {
         this.mainController = mainController;
@@ -47,52 +51,60 @@ public class GameHudController implements Initializable {
         // Controller initialization
     }
     
-    public void updatePlayerStats(Player player) {
-        if (player == null) return;
-        
+    /**
+     * Bind the HUD controls to the player view model. Controls then update
+     * only when the stat they show changes.
+     */
+    public void bindPlayer(PlayerViewModel playerView) {
+        boundPlayer = playerView;
         if (playerNameLabel != null) {
-            playerNameLabel.setText(player.getName());
-        }
-        
-        if (healthBar != null && healthLabel != null) {
-            double healthPercent = (double) player.getHealth() / player.getMaxHealth();
-            healthBar.setProgress(Math.max(0.0, Math.min(1.0, healthPercent)));
-            healthLabel.setText(player.getHealth() + "/" + player.getMaxHealth());
-        }
-        
-        if (manaBar != null && manaLabel != null && player.getMaxMana() > 0) {
-            double manaPercent = (double) player.getMana() / player.getMaxMana();
-            manaBar.setProgress(Math.max(0.0, Math.min(1.0, manaPercent)));
-            manaLabel.setText(player.getMana() + "/" + player.getMaxMana());
-        }
-        
-        if (expBar != null && levelLabel != null) {
-            if (player.getExperienceToNextLevel() > 0) {
-                double expPercent = (double) player.getExperience() / player.getExperienceToNextLevel();
-                expBar.setProgress(Math.max(0.0, Math.min(1.0, expPercent)));
-            }
-            levelLabel.setText("Level " + player.getLevel());
-        }
-        
-        // Update button states
-        updateButtonStates(player);
+            playerNameLabel.textProperty().bind(playerView.nameProperty());
+        }
+        if (healthBar != null) {
+            healthBar.progressProperty().bind(playerView.healthFractionBinding());
+        }
+        if (healthLabel != null) {
+            healthLabel.textProperty().bind(
+                Bindings.concat(playerView.healthProperty(), "/", playerView.maxHealthProperty()));
+        }
+        if (manaBar != null) {
+            manaBar.progressProperty().bind(playerView.manaFractionBinding());
+        }
+        if (manaLabel != null) {
+            manaLabel.textProperty().bind(
+                Bindings.concat(playerView.manaProperty(), "/", playerView.maxManaProperty()));
+        }
+        if (expBar != null) {
+            expBar.progressProperty().bind(playerView.experienceFractionBinding());
+        }
+        if (levelLabel != null) {
+            levelLabel.textProperty().bind(Bindings.concat("Level ", playerView.levelProperty()));
+        }
+        if (heavyAttackButton != null) {
+            heavyAttackButton.disableProperty().bind(playerView.manaProperty().lessThan(10));
+        }
     }
     
-    private void updateButtonStates(Player player) {
-        if (heavyAttackButton != null) {
-            heavyAttackButton.setDisable(player.getMana() < 10);
+    /**
+     * Sync the bound view model from the player, binding a private one on first use.
+     */
+    public void updatePlayerStats(Player player) {
+        if (player == null) return;
+        if (boundPlayer == null) {
+            bindPlayer(new PlayerViewModel());
         }
+        boundPlayer.sync(player);
     }
     
     public void appendGameText(String text) {
-        if (gameTextArea != null) {
-            gameTextArea.appendText(text);
+        if (gameLogView != null) {
+            gameLogView.append(text);
         }
     }
     
     public void setGameText(String text) {
-        if (gameTextArea != null) {
-            gameTextArea.setText(text);
+        if (gameLogView != null) {
+            gameLogView.showText(text);
         }
     }
     
@@ -246,8 +246,17 @@ public class Item {
      * @return A randomly generated item
      */
     public static Item generateRandomItem(int dungeonLevel) {
-        Random rand = new Random();
-        
+        return generateRandomItem(dungeonLevel, new Random());
+    }
+    
+    /**
+     * Generates a random item for the given dungeon level with the caller's RNG
+     * 
+     * @param dungeonLevel The current dungeon floor (affects item power)
+     * @param rand Source of every roll, so seeded runs find the same loot
+     * @return A randomly generated item
+     */
+    public static Item generateRandomItem(int dungeonLevel, Random rand) {
         // Determine rarity based on level (higher levels = better items)
         Rarity itemRarity = determineItemRarity(dungeonLevel, rand);
         
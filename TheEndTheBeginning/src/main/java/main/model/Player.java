@@ -1,6 +1,7 @@
 package main.model;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a player character in the dungeon escape game.
@@ -32,6 +33,7 @@ public class Player {
     private int accuracy;       // Hit chance bonus
     private int criticalChance; // Critical hit chance
     private int blockChance;    // Damage reduction chance
+    private double defenseBonus; // Difficulty's extra defense, as a fraction (see Balance.Profile)
     
     // Equipment slots
     private Item equippedWeapon;
@@ -189,10 +191,21 @@ public class Player {
      * @return true if player leveled up, false otherwise
      */
     public boolean gainExperience(int exp) {
+        return gainExperience(exp, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Awards experience points, rolling any level-up stat gains with the caller's RNG.
+     * 
+     * @param exp Experience points to award
+     * @param random Source of the stat rolls
+     * @return true if player leveled up, false otherwise
+     */
+    public boolean gainExperience(int exp, Random random) {
         this.experience += exp;
         
         if (this.experience >= experienceToNextLevel) {
-            return levelUp();
+            return levelUp(random);
         }
         return false;
     }
@@ -202,46 +215,46 @@ public class Player {
      * 
      * @return true when level up occurs
      */
-    private boolean levelUp() {
+    private boolean levelUp(Random random) {
         level++;
         experience -= experienceToNextLevel;
         experienceToNextLevel = (int) (experienceToNextLevel * 1.2); // 20% increase each level
         
         // Stat increases vary by class
         int healthIncrease = switch (playerClass) {
-            case WARRIOR -> 20 + (int) (Math.random() * 10);
-            case MAGE -> 10 + (int) (Math.random() * 8);
-            case ROGUE -> 15 + (int) (Math.random() * 8);
-            case PALADIN -> 25 + (int) (Math.random() * 12);
-            case ARCHER -> 12 + (int) (Math.random() * 6);
-            case NECROMANCER -> 8 + (int) (Math.random() * 6);
+            case WARRIOR -> 20 + (int) (random.nextDouble() * 10);
+            case MAGE -> 10 + (int) (random.nextDouble() * 8);
+            case ROGUE -> 15 + (int) (random.nextDouble() * 8);
+            case PALADIN -> 25 + (int) (random.nextDouble() * 12);
+            case ARCHER -> 12 + (int) (random.nextDouble() * 6);
+            case NECROMANCER -> 8 + (int) (random.nextDouble() * 6);
         };
         
         int attackIncrease = switch (playerClass) {
-            case WARRIOR -> 3 + (int) (Math.random() * 3);
-            case MAGE -> 1 + (int) (Math.random() * 2);
-            case ROGUE -> 2 + (int) (Math.random() * 3);
-            case PALADIN -> 2 + (int) (Math.random() * 2);
-            case ARCHER -> 4 + (int) (Math.random() * 3);
-            case NECROMANCER -> 1 + (int) (Math.random() * 2);
+            case WARRIOR -> 3 + (int) (random.nextDouble() * 3);
+            case MAGE -> 1 + (int) (random.nextDouble() * 2);
+            case ROGUE -> 2 + (int) (random.nextDouble() * 3);
+            case PALADIN -> 2 + (int) (random.nextDouble() * 2);
+            case ARCHER -> 4 + (int) (random.nextDouble() * 3);
+            case NECROMANCER -> 1 + (int) (random.nextDouble() * 2);
         };
         
         int defenseIncrease = switch (playerClass) {
-            case WARRIOR -> 2 + (int) (Math.random() * 2);
-            case MAGE -> 1 + (int) (Math.random() * 1);
-            case ROGUE -> 2 + (int) (Math.random() * 2);
-            case PALADIN -> 3 + (int) (Math.random() * 2);
-            case ARCHER -> 1 + (int) (Math.random() * 1);
-            case NECROMANCER -> (int) (Math.random() * 1);
+            case WARRIOR -> 2 + (int) (random.nextDouble() * 2);
+            case MAGE -> 1 + (int) (random.nextDouble() * 1);
+            case ROGUE -> 2 + (int) (random.nextDouble() * 2);
+            case PALADIN -> 3 + (int) (random.nextDouble() * 2);
+            case ARCHER -> 1 + (int) (random.nextDouble() * 1);
+            case NECROMANCER -> (int) (random.nextDouble() * 1);
         };
         
         int magicIncrease = switch (playerClass) {
-            case WARRIOR -> (int) (Math.random() * 2);
-            case MAGE -> 4 + (int) (Math.random() * 4);
-            case ROGUE -> 1 + (int) (Math.random() * 2);
-            case PALADIN -> 2 + (int) (Math.random() * 2);
-            case ARCHER -> 1 + (int) (Math.random() * 1);
-            case NECROMANCER -> 5 + (int) (Math.random() * 4);
+            case WARRIOR -> (int) (random.nextDouble() * 2);
+            case MAGE -> 4 + (int) (random.nextDouble() * 4);
+            case ROGUE -> 1 + (int) (random.nextDouble() * 2);
+            case PALADIN -> 2 + (int) (random.nextDouble() * 2);
+            case ARCHER -> 1 + (int) (random.nextDouble() * 1);
+            case NECROMANCER -> 5 + (int) (random.nextDouble() * 4);
         };
         
         // Increase secondary stats too
@@ -337,6 +350,9 @@ public class Player {
             totalDefense += level / 4; // Warrior defense bonus
         }
         
+        // Difficulty bonus
+        totalDefense += (int) Math.round(totalDefense * defenseBonus);
+        
         return Math.max(0, totalDefense);
     }
     
@@ -367,11 +383,22 @@ public class Player {
      * @return Actual damage taken after reductions
      */
     public int takeDamage(int damage) {
+        return takeDamage(damage, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Applies damage to the player, rolling the Rogue's dodge with the caller's RNG.
+     * 
+     * @param damage Raw damage amount
+     * @param random Source of the dodge roll
+     * @return Actual damage taken after reductions
+     */
+    public int takeDamage(int damage, Random random) {
         // Calculate damage reduction from defense
         int reducedDamage = Math.max(1, damage - (getDefensePower() / 2));
         
         // Apply class-specific damage reduction
-        if (playerClass == PlayerClass.ROGUE && Math.random() < 0.15) {
+        if (playerClass == PlayerClass.ROGUE && random.nextDouble() < 0.15) {
             reducedDamage = 0; // Rogue dodge chance
         }
         
@@ -636,6 +663,13 @@ public class Player {
         temporaryStats.put("defense", defense - baseDefense);
     }
     
+    public double getDefenseBonus() { return defenseBonus; }
+    
+    /**
+     * Extra defense granted by the difficulty, as a fraction of the player's own.
+     */
+    public void setDefenseBonus(double defenseBonus) { this.defenseBonus = defenseBonus; }
+    
     public void setMaxHealth(int health) {
         this.maxHealth = health;
         if (currentHealth > maxHealth) {
@@ -0,0 +1,86 @@
+package gameproject;
+
+import java.util.Random;
+
+import main.model.Player;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the balance simulator and optimizer.
+ */
+public class BalanceOptimizerTest {
+
+    private static BalanceOptimizer.Config quickSearch() {
+        BalanceOptimizer.Config config = new BalanceOptimizer.Config();
+        config.runsPerClass = 20;
+        config.confirmRunsPerClass = 20;
+        config.iterations = 3;
+        config.candidates = 3;
+        config.dungeons = 8;
+        config.threads = 2;
+        config.progress = false;
+        return config;
+    }
+
+    @Test
+    public void testWilsonInterval() {
+        double[] half = BalanceOptimizer.wilson(50, 100);
+        assertEquals(0.4038, half[0], 0.0005);
+        assertEquals(0.5962, half[1], 0.0005);
+
+        double[] none = BalanceOptimizer.wilson(0, 100);
+        assertEquals(0.0, none[0], 1e-9);
+        assertEquals(0.0370, none[1], 0.0005);
+    }
+
+    @Test
+    public void testScaledMonster() {
+        Monster monster = Monster.createForDungeonLevel(5, new Random(7));
+        Monster scaled = monster.scaled(0.5, 2.0);
+
+        assertEquals(Math.round(monster.getMaxHealth() * 0.5), scaled.getMaxHealth());
+        assertEquals(monster.getAttack() * 2, scaled.getAttack());
+        assertEquals(monster.getDefense(), scaled.getDefense());
+        assertEquals(monster.getName(), scaled.getName());
+    }
+
+    @Test
+    public void testRunsAreReproducibleAndFollowDifficulty() {
+        BalanceSimulator simulator = new BalanceSimulator(8, 42);
+        Balance.Profile gentle = Balance.Profile.NORMAL.with(0.3, 0.3, 0.5, 1.5);
+        int normalFloors = 0;
+        int gentleFloors = 0;
+        for (int run = 0; run < 120; run++) {
+            Player.PlayerClass playerClass = Player.PlayerClass.values()[run % 6];
+            BalanceSimulator.RunResult first = simulator.run(playerClass, Balance.Profile.NORMAL, run % 8, new Random(run));
+            BalanceSimulator.RunResult again = simulator.run(playerClass, Balance.Profile.NORMAL, run % 8, new Random(run));
+            assertEquals(first, again, "Same seed, same run");
+            normalFloors += first.floorReached();
+            gentleFloors += simulator.run(playerClass, gentle, run % 8, new Random(run)).floorReached();
+        }
+        assertTrue(gentleFloors > normalFloors,
+            "Weaker monsters should let runs go deeper: " + gentleFloors + " vs " + normalFloors);
+    }
+
+    @Test
+    public void testSearchIsDeterministicAndKeepsDifficultiesOrdered() {
+        BalanceOptimizer.Result result = new BalanceOptimizer(quickSearch()).run();
+        BalanceOptimizer.Result again = new BalanceOptimizer(quickSearch()).run();
+
+        assertEquals(3, result.tunings().size());
+        Balance.Profile easy = result.tunings().get(0).tuned().profile();
+        Balance.Profile normal = result.tunings().get(1).tuned().profile();
+        Balance.Profile hard = result.tunings().get(2).tuned().profile();
+        assertEquals(easy, again.tunings().get(0).tuned().profile());
+        assertEquals(normal, again.tunings().get(1).tuned().profile());
+        assertEquals(hard, again.tunings().get(2).tuned().profile());
+
+        assertTrue(easy.monsterHp() <= normal.monsterHp() && normal.monsterHp() <= hard.monsterHp());
+        assertTrue(easy.monsterAtk() <= normal.monsterAtk() && normal.monsterAtk() <= hard.monsterAtk());
+        assertTrue(easy.healMod() >= normal.healMod() && normal.healMod() >= hard.healMod());
+        assertTrue(result.fights() > 0);
+        assertTrue(result.format().contains("public static final double NORM_HP"), result.format());
+    }
+}
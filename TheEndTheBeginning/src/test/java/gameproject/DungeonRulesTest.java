@@ -0,0 +1,71 @@
+package gameproject;
+
+import java.util.Random;
+
+import gameproject.session.GameSession;
+import main.model.Item;
+import main.model.Player;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the shared dungeon rules and how they apply a difficulty.
+ */
+public class DungeonRulesTest {
+
+    @Test
+    public void testMonstersAreScaledForTheDifficulty() {
+        Monster normal = DungeonRules.spawnMonster(12, Balance.Profile.NORMAL, new Random(5));
+        Monster hard = DungeonRules.spawnMonster(12, Balance.Profile.HARD, new Random(5));
+
+        assertEquals(normal.getName(), hard.getName());
+        assertEquals(Math.round(normal.getMaxHealth() * Balance.HARD_HP), hard.getMaxHealth());
+        assertEquals(Math.round(normal.getAttack() * Balance.HARD_ATK), hard.getAttack());
+    }
+
+    @Test
+    public void testHealingIsScaledForTheDifficulty() {
+        Balance.Profile halved = Balance.Profile.NORMAL.with(1.0, 1.0, 0.0, 0.5);
+        Player full = new Player("Full", Player.PlayerClass.WARRIOR);
+        Player half = new Player("Half", Player.PlayerClass.WARRIOR);
+        full.setCurrentHealth(10);
+        half.setCurrentHealth(10);
+
+        int healed = DungeonRules.drinkFromSpring(full, Balance.Profile.NORMAL, new Random(8));
+        int halfHealed = DungeonRules.drinkFromSpring(half, halved, new Random(8));
+
+        assertTrue(healed >= 10 && healed < 30, "Springs heal 10-29: " + healed);
+        assertEquals(Math.round(healed * 0.5), halfHealed);
+        assertEquals(10 + halfHealed, half.getCurrentHealth());
+
+        half.addItem(new Item("Health Potion", "Restores health", Item.ItemType.CONSUMABLE, 30, true));
+        int before = half.getCurrentHealth();
+        assertTrue(DungeonRules.useItem(half, "Health Potion", halved));
+        assertFalse(DungeonRules.useItem(half, "Health Potion", halved), "The potion is used up");
+        assertEquals(15, half.getCurrentHealth() - before, "Potions are scaled too");
+    }
+
+    @Test
+    public void testDefenseBonusFollowsTheDifficulty() {
+        Player player = new Player("Guard", Player.PlayerClass.WARRIOR);
+        int defense = player.getDefensePower();
+
+        Balance.Profile.NORMAL.with(1.0, 1.0, 0.5, 1.0).applyTo(player);
+
+        assertEquals(Math.round(defense * 1.5), player.getDefensePower());
+    }
+
+    @Test
+    public void testSessionPlaysOnItsDifficulty() {
+        GameSession session = new GameSession("easy", 21L);
+        session.setDifficulty(Balance.Profile.EASY);
+        session.start();
+        session.handle("1");
+        session.handle("Easygoing");
+
+        assertEquals(Balance.Profile.EASY, session.getDifficulty());
+        assertEquals(Balance.EASY_DEF_BONUS, session.getPlayer().getDefenseBonus(), 1e-9);
+        assertEquals(Balance.Profile.DEATH, Balance.Profile.forDifficulty("death"));
+    }
+}
@@ -0,0 +1,88 @@
+package gameproject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for GameContext isolation and reset.
+ */
+public class GameContextTest {
+
+    @Test
+    public void testContextsDoNotShareState() {
+        GameContext first = GameContext.create();
+        GameContext second = GameContext.create();
+
+        first.getAchievements().unlockAchievement("first_blood");
+        first.getAchievements().incrementProgress("monsters_defeated", 3);
+        first.getQuests().startQuest("daily_001");
+
+        assertTrue(first.getAchievements().isUnlocked("first_blood"));
+        assertFalse(second.getAchievements().isUnlocked("first_blood"));
+        assertEquals(0, second.getAchievements().getProgress("monsters_defeated"));
+        assertTrue(first.getQuests().isQuestActive("daily_001"));
+        assertFalse(second.getQuests().isQuestActive("daily_001"));
+        assertEquals(first.getAchievements().getTotalAchievements(),
+                     second.getAchievements().getTotalAchievements(), "Definitions are shared");
+        assertNotSame(first.getQuests().getQuest("daily_001"), second.getQuests().getQuest("daily_001"));
+    }
+
+    @Test
+    public void testQuestProgressIsPerContext() {
+        GameContext first = GameContext.create();
+        GameContext second = GameContext.create();
+        first.getQuests().startQuest("daily_001");
+        second.getQuests().startQuest("daily_001");
+
+        first.getQuests().updateQuestProgress("combat_wins", "any", 1);
+
+        int firstProgress = first.getQuests().getQuest("daily_001").getObjectives().get(0).getCurrentAmount();
+        int secondProgress = second.getQuests().getQuest("daily_001").getObjectives().get(0).getCurrentAmount();
+        assertEquals(1, firstProgress);
+        assertEquals(0, secondProgress);
+    }
+
+    @Test
+    public void testResetRestoresInitialState() {
+        GameContext context = GameContext.create();
+        context.getAchievements().unlockAchievement("first_blood");
+        context.getAchievements().incrementProgress("critical_hits", 5);
+        context.getQuests().startQuest("daily_001");
+        context.getQuests().updateQuestProgress("combat_wins", "any", 1);
+        String dynamicId = context.getQuests().generateDynamicQuest(new main.model.Player()).getQuestId();
+
+        context.reset();
+
+        assertEquals(0, context.getAchievements().getUnlockedCount());
+        assertEquals(0, context.getAchievements().getProgress("critical_hits"));
+        assertFalse(context.getQuests().isQuestActive("daily_001"));
+        assertEquals(0, context.getQuests().getQuest("daily_001").getObjectives().get(0).getCurrentAmount());
+        assertNull(context.getQuests().getQuest(dynamicId), "Dynamic quests are dropped on reset");
+        assertTrue(context.getQuests().startQuest("daily_001"), "Quests can be started again after reset");
+    }
+
+    @Test
+    public void testPruningGeneratedQuestsKeepsCompletions() {
+        QuestManager quests = GameContext.create().getQuests();
+        QuestManager.Quest first = quests.generateDynamicQuest(new main.model.Player());
+        quests.startQuest(first.getQuestId());
+        QuestManager.QuestObjective objective = first.getObjectives().get(0);
+        quests.updateQuestProgress(objective.getTargetType(), objective.getTargetId(), objective.getRequiredAmount());
+        assertTrue(quests.isQuestCompleted(first.getQuestId()));
+        int completed = quests.getCompletedQuests().size();
+
+        for (int i = 0; i < QuestManager.MAX_DYNAMIC_QUESTS; i++) {
+            quests.generateDynamicQuest(new main.model.Player());
+        }
+
+        assertNull(quests.getQuest(first.getQuestId()), "Oldest generated quest is pruned");
+        assertTrue(quests.isQuestCompleted(first.getQuestId()), "Its completion is remembered");
+        assertEquals(completed, quests.getCompletedQuests().size());
+    }
+
+    @Test
+    public void testSharedContextUsesSingletons() {
+        assertSame(QuestManager.getInstance(), GameContext.shared().getQuests());
+        assertSame(GameContext.shared(), GameContext.shared());
+    }
+}
@@ -0,0 +1,82 @@
+package gameproject;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import gameproject.achievements.AchievementManager;
+import gameproject.dungeon.Exploration;
+import main.model.Player;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the save data the desktop controller writes and restores.
+ */
+public class MainControllerSaveTest {
+
+    @TempDir
+    Path saveDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("theetb.save.dir", saveDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("theetb.save.dir");
+    }
+
+    @Test
+    public void testUnlockedAchievementsSurviveSaveAndLoad() {
+        AchievementManager played = new AchievementManager();
+        played.unlockAchievement("first_blood");
+        played.unlockAchievement("boss_hunter");
+        Player player = new Player("Saver", Player.PlayerClass.PALADIN);
+
+        SaveManager.GameSaveData data = MainControllerNew.createSaveData(1234L, new Exploration(), played);
+        assertTrue(SaveManager.saveGame(player, 4, data));
+
+        AchievementManager loaded = new AchievementManager();
+        loaded.unlockAchievement("level_10");
+        MainControllerNew.restoreAchievements(SaveManager.loadGame(), loaded);
+
+        assertEquals(played.getUnlockedIds(), loaded.getUnlockedIds());
+        assertEquals(played.getTotalAchievementPoints(), loaded.getTotalAchievementPoints());
+        assertFalse(loaded.isUnlocked("level_10"), "Loading replaces what the previous run unlocked");
+    }
+
+    @Test
+    public void testIdListIsUsedWithoutBitset() {
+        SaveManager.SaveData saveData = new SaveManager.SaveData();
+        saveData.unlockedAchievements = List.of("first_blood");
+
+        AchievementManager loaded = new AchievementManager();
+        MainControllerNew.restoreAchievements(saveData, loaded);
+
+        assertEquals(List.of("first_blood"), loaded.getUnlockedIds());
+    }
+
+    @Test
+    public void testProgressCountersSurviveSaveAndLoad() {
+        AchievementManager played = new AchievementManager();
+        played.incrementProgress("monsters_defeated", 42);
+        played.incrementProgress("critical_hits", 7);
+        Player player = new Player("Counter", Player.PlayerClass.ROGUE);
+
+        SaveManager.GameSaveData data = MainControllerNew.createSaveData(99L, new Exploration(), played);
+        assertTrue(SaveManager.saveGame(player, 2, data));
+
+        AchievementManager loaded = new AchievementManager();
+        loaded.incrementProgress("spells_cast", 3);
+        MainControllerNew.restoreAchievements(SaveManager.loadGame(), loaded);
+
+        assertEquals(42, loaded.getProgress("monsters_defeated"));
+        assertEquals(7, loaded.getProgress("critical_hits"));
+        assertEquals(0, loaded.getProgress("spells_cast"), "Loading replaces the previous run's counters");
+    }
+}
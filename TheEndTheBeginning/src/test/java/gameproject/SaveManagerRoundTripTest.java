@@ -123,5 +123,19 @@ public class SaveManagerRoundTripTest {
         SaveManager.SaveData loadedData = SaveManager.loadGame();
         assertNull(loadedData, "Loading non-existent save should return null");
     }
+    
+    @Test
+    void testBackupsInSameMillisecondDoNotCollide() throws IOException {
+        Path saveFile = Files.writeString(tempSaveDir.resolve("collide.txt"), "save");
+        Path backupDir = Files.createDirectories(tempSaveDir.resolve("collide-backups"));
+        
+        Path first = SaveManager.copyToBackup(saveFile, backupDir, "20250101_120000_000");
+        Path second = SaveManager.copyToBackup(saveFile, backupDir, "20250101_120000_000");
+        Path third = SaveManager.copyToBackup(saveFile, backupDir, "20250101_120000_000");
+        
+        assertEquals(3, java.util.Set.of(first, second, third).size(), "Each save gets its own backup");
+        // Cleanup keeps the names that sort highest, so later backups must sort after earlier ones
+        assertTrue(second.getFileName().compareTo(first.getFileName()) > 0);
+        assertTrue(third.getFileName().compareTo(second.getFileName()) > 0);
+    }
 }
-
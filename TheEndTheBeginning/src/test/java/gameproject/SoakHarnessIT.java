@@ -0,0 +1,26 @@
+package gameproject;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Short soak run, executed by failsafe in {@code mvn verify}.
+ *
+ * The harness counts the open file descriptors of the whole JVM, so it runs in
+ * a fork of its own: in the surefire JVM, handles left open by earlier test
+ * classes would be charged to the soak.
+ */
+public class SoakHarnessIT {
+
+    @Test
+    public void testShortSoakStaysWithinLimits() throws IOException {
+        SoakHarness.Result result = new SoakHarness(SoakHarnessTest.shortSoak(3)).run();
+
+        assertTrue(result.passed(), result.format());
+        assertEquals(6, result.samples().size());
+        assertEquals(SoakHarness.defaultLimits().keySet(), result.samples().get(0).sizes().keySet());
+        assertTrue(result.sessions() > 1, "Finished sessions should be replaced");
+    }
+}
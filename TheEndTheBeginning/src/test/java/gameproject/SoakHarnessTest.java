@@ -0,0 +1,66 @@
+package gameproject;
+
+import java.io.IOException;
+import java.util.Map;
+
+import main.model.Player;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the soak harness and the bounds it checks. The full soak,
+ * which also checks file handles, is {@link SoakHarnessIT}.
+ */
+public class SoakHarnessTest {
+
+    static SoakHarness.Config shortSoak(double hours) {
+        SoakHarness.Config config = new SoakHarness.Config();
+        config.hours = hours;
+        config.classHistograms = false;
+        return config;
+    }
+
+    @Test
+    public void testStructureOverItsLimitFails() throws IOException {
+        SoakHarness.Config config = shortSoak(1);
+        config.limits.put("quests", 1L);
+
+        SoakHarness.Result result = new SoakHarness(config).run();
+
+        assertFalse(result.passed());
+        assertTrue(result.failures().get(0).startsWith("quests reached"), result.format());
+    }
+
+    @Test
+    public void testDynamicQuestsAreCapped() {
+        QuestManager quests = new QuestManager();
+        quests.setConsoleLogging(false);
+        int definitions = quests.getQuestCount();
+        Player player = new Player("Quester", Player.PlayerClass.ROGUE);
+
+        String kept = quests.generateDynamicQuest(player).getQuestId();
+        quests.startQuest(kept);
+        for (int i = 0; i < 200; i++) {
+            quests.generateDynamicQuest(player);
+        }
+
+        assertEquals(definitions + QuestManager.MAX_DYNAMIC_QUESTS, quests.getQuestCount());
+        assertNotNull(quests.getQuest(kept), "A quest in progress is never dropped");
+    }
+
+    @Test
+    public void testParseClassHistogram() {
+        String text = String.join("\n",
+            " num     #instances         #bytes  class name (module)",
+            "-------------------------------------------------------",
+            "   1:          1200         960000  [B (java.base@17)",
+            "   2:           800          19200  java.lang.String (java.base@17)",
+            "   3:            40           1280  gameproject.QuestManager$Quest",
+            "Total          2040         980480");
+
+        Map<String, Long> classes = SoakHarness.parseClassHistogram(text, 2);
+
+        assertEquals(Map.of("[B", 960000L, "java.lang.String", 19200L), classes);
+    }
+}
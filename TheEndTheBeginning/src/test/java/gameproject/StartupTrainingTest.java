@@ -0,0 +1,30 @@
+package gameproject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the headless parts of the CDS training run.
+ */
+public class StartupTrainingTest {
+
+    @Test
+    public void testScriptedCombatsAreFought() {
+        assertEquals(3, StartupTraining.fightCombats(3));
+    }
+
+    @Test
+    public void testCsvRowMatchesHeader() {
+        String row = StartupTraining.csvRow("2024-01-01T00:00:00Z", "4.0.0", "cds", 900, 200, 300, 150, 40);
+
+        assertEquals("2024-01-01T00:00:00Z,4.0.0,cds,900,200,300,150,40", row);
+        assertEquals(StartupTraining.CSV_HEADER.split(",").length, row.split(",").length);
+    }
+
+    @Test
+    public void testEveryScreenIsVisited() {
+        for (String screen : StartupTraining.SCREENS) {
+            assertNotNull(getClass().getResource("/ui/" + screen + ".fxml"), screen);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package gameproject.achievements;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for AchievementManager bitset state and running totals.
+ */
+public class AchievementManagerTest {
+
+    private AchievementManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = AchievementManager.getInstance();
+        // Singleton state is shared between tests; start from nothing unlocked
+        manager.restoreUnlocked(List.of());
+    }
+
+    @Test
+    public void testRunningTotalsTrackUnlocks() {
+        assertEquals(0, manager.getUnlockedCount());
+        assertEquals(0, manager.getTotalAchievementPoints());
+
+        assertTrue(manager.unlockAchievement("first_blood"));   // COMMON, 0 points
+        assertTrue(manager.unlockAchievement("boss_hunter"));   // EPIC, 50 points
+        assertFalse(manager.unlockAchievement("boss_hunter"), "Second unlock should be a no-op");
+        assertFalse(manager.unlockAchievement("no_such_achievement"));
+
+        assertEquals(2, manager.getUnlockedCount());
+        assertEquals(50, manager.getTotalAchievementPoints());
+        assertEquals(2, manager.getUnlockedInCategory(AchievementManager.AchievementCategory.COMBAT));
+        assertEquals(1, manager.getUnlockedWithRarity(AchievementManager.AchievementRarity.EPIC));
+        assertEquals(manager.getTotalAchievements(),
+            manager.getUnlockedAchievements().size() + manager.getLockedAchievements().size());
+    }
+
+    @Test
+    public void testBitsetEncodingRoundTrip() {
+        manager.unlockAchievement("first_blood");
+        manager.unlockAchievement("level_10");
+        manager.unlockAchievement("easter_egg");
+        String encoded = manager.encodeUnlocked();
+        int points = manager.getTotalAchievementPoints();
+
+        manager.restoreUnlocked(List.of());
+        assertEquals(0, manager.getUnlockedCount());
+
+        assertTrue(manager.restoreUnlocked(encoded));
+        assertEquals(3, manager.getUnlockedCount());
+        assertEquals(points, manager.getTotalAchievementPoints());
+        assertTrue(manager.isUnlocked("easter_egg"));
+        assertEquals(List.of("first_blood", "level_10", "easter_egg"), manager.getUnlockedIds());
+    }
+
+    @Test
+    public void testInvalidEncodingIsRejected() {
+        manager.unlockAchievement("first_blood");
+        assertFalse(manager.restoreUnlocked("not*base64"));
+        assertTrue(manager.isUnlocked("first_blood"), "Failed restore should keep current state");
+    }
+
+    @Test
+    public void testCompletionistUnlocksAtNinetyPercent() {
+        List<Achievement> locked = manager.getLockedAchievements();
+        int needed = (int) Math.ceil(manager.getTotalAchievements() * 0.9);
+        int unlockedSoFar = 0;
+        for (Achievement achievement : locked) {
+            if (unlockedSoFar >= needed - 1 || achievement.getId().equals("completionist")) {
+                continue;
+            }
+            manager.unlockAchievement(achievement.getId());
+            unlockedSoFar++;
+        }
+        assertFalse(manager.isUnlocked("completionist"));
+
+        // Hitting the threshold unlocks completionist on top of it
+        for (Achievement achievement : manager.getLockedAchievements()) {
+            if (!achievement.getId().equals("completionist")) {
+                manager.unlockAchievement(achievement.getId());
+                break;
+            }
+        }
+        assertTrue(manager.isUnlocked("completionist"));
+    }
+
+    @Test
+    public void testEventQueueCollectsBurstForOneDrain() {
+        AchievementEventQueue queue = new AchievementEventQueue();
+        manager.addAchievementListener(queue);
+        try {
+            manager.unlockAchievement("first_blood");
+            manager.unlockAchievement("berserker");
+            manager.unlockAchievement("survivor");
+        } finally {
+            manager.removeAchievementListener(queue);
+        }
+
+        List<Achievement> batch = new ArrayList<>();
+        assertEquals(3, queue.drainTo(batch));
+        assertEquals("first_blood", batch.get(0).getId());
+        assertTrue(queue.isEmpty(), "Drain should empty the queue");
+        assertEquals(0, queue.drainTo(batch));
+    }
+}
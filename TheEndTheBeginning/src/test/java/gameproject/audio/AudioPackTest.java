@@ -0,0 +1,194 @@
+package gameproject.audio;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for reading the packed audio archive.
+ */
+public class AudioPackTest {
+
+    private Path tempDir;
+
+    private static final byte[] PCM = { 1, 0, 2, 0, 3, 0, 4, 0 };
+    private static final byte[] MP3 = { 'I', 'D', '3', 9, 9, 9 };
+
+    @BeforeEach
+    public void createTempDirectory() throws IOException {
+        tempDir = Files.createTempDirectory("theetb-test-audio-");
+    }
+
+    @AfterEach
+    public void deleteTempDirectory() throws IOException {
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    // Ignore cleanup errors (a mapped pack may still be open on Windows)
+                }
+            });
+        }
+    }
+
+    /** Writes a pack the way AudioPacker does: index, then data; two names share the MP3 */
+    private Path writePack() throws IOException {
+        String[] names = { "/audio/ui/click.wav", "/audio/music/theme.mp3", "/audio/Theme copy.mp3" };
+        byte[] kinds = { 1, 2, 2 };
+        String[] extensions = { "wav", "mp3", "mp3" };
+
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream probe = new DataOutputStream(index);
+        for (int i = 0; i < names.length; i++) {
+            probe.writeUTF(names[i]);
+            probe.writeUTF(extensions[i]);
+        }
+        long dataStart = 12 + probe.size() + names.length * (1 + 4 + 2 + 8 + 8 + 8);
+        long[] offsets = { dataStart, dataStart + PCM.length, dataStart + PCM.length };
+        long[] lengths = { PCM.length, MP3.length, MP3.length };
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(AudioPack.MAGIC);
+        out.writeInt(AudioPack.VERSION);
+        out.writeInt(names.length);
+        for (int i = 0; i < names.length; i++) {
+            out.writeUTF(names[i]);
+            out.writeByte(kinds[i]);
+            out.writeInt(kinds[i] == 1 ? 22_050 : 0);
+            out.writeShort(kinds[i] == 1 ? 1 : 0);
+            out.writeUTF(extensions[i]);
+            out.writeLong(kinds[i] == 1 ? 0xBEEFL : 0xCAFEL);
+            out.writeLong(offsets[i]);
+            out.writeLong(lengths[i]);
+        }
+        assertEquals(dataStart, out.size());
+        out.write(PCM);
+        out.write(MP3);
+
+        Path pack = tempDir.resolve("audio.pack");
+        Files.write(pack, bytes.toByteArray());
+        return pack;
+    }
+
+    @Test
+    public void testIndexIsReadFromPack() throws IOException {
+        AudioPack pack = AudioPack.open(writePack(), tempDir.resolve("cache"));
+
+        assertEquals(3, pack.size());
+        AudioPack.Entry click = pack.find("/audio/ui/click.wav");
+        assertNotNull(click);
+        assertEquals(AudioPack.Kind.PCM, click.kind());
+        assertEquals(22_050, click.sampleRate());
+        assertEquals(1, click.channels());
+        assertNull(pack.find("/audio/ui/missing.wav"));
+    }
+
+    @Test
+    public void testDataIsSlicedFromMapping() throws IOException {
+        AudioPack pack = AudioPack.open(writePack(), tempDir.resolve("cache"));
+
+        ByteBuffer data = pack.data(pack.find("/audio/ui/click.wav"));
+        byte[] read = new byte[data.remaining()];
+        data.get(read);
+
+        assertArrayEquals(PCM, read);
+        assertTrue(data.isReadOnly());
+    }
+
+    @Test
+    public void testSharedTrackIsExtractedOnce() throws IOException {
+        AudioPack pack = AudioPack.open(writePack(), tempDir.resolve("cache"));
+
+        Path theme = pack.extract(pack.find("/audio/music/theme.mp3"));
+        Path copy = pack.extract(pack.find("/audio/Theme copy.mp3"));
+
+        assertEquals(theme, copy, "Identical contents map to the same cache file");
+        assertTrue(theme.getFileName().toString().endsWith(".mp3"));
+        assertArrayEquals(MP3, Files.readAllBytes(theme));
+    }
+
+    /** Runs the build's packer on {@code audioDir} the way the pack-audio execution does */
+    private Path runPacker(Path audioDir) throws IOException, InterruptedException {
+        Path pack = tempDir.resolve("packed.pack");
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        Process packer = new ProcessBuilder(java.toString(),
+                "src/build/java/gameproject/build/AudioPacker.java", audioDir.toString(), pack.toString())
+            .redirectErrorStream(true)
+            .start();
+        String output = new String(packer.getInputStream().readAllBytes());
+        assertTrue(packer.waitFor(60, TimeUnit.SECONDS), "Packer did not finish");
+        assertEquals(0, packer.exitValue(), output);
+        return pack;
+    }
+
+    @Test
+    public void testPackerOutputReadsBack() throws Exception {
+        Path audioDir = tempDir.resolve("audio");
+        Files.createDirectories(audioDir.resolve("ui"));
+        Files.createDirectories(audioDir.resolve("music"));
+        AudioFormat mono = new AudioFormat(22_050, 16, 1, true, false);
+        AudioInputStream samples = new AudioInputStream(new ByteArrayInputStream(PCM), mono, PCM.length / 2);
+        AudioSystem.write(samples, AudioFileFormat.Type.WAVE, audioDir.resolve("ui/click.wav").toFile());
+        Files.write(audioDir.resolve("music/theme.mp3"), MP3);
+        Files.write(audioDir.resolve("music/theme_copy.mp3"), MP3);
+        Files.writeString(audioDir.resolve("README.md"), "not audio");
+
+        AudioPack pack = AudioPack.open(runPacker(audioDir), tempDir.resolve("cache"));
+
+        assertEquals(3, pack.size(), "Only audio files are packed");
+        AudioPack.Entry click = pack.find("/audio/ui/click.wav");
+        assertEquals(AudioPack.Kind.PCM, click.kind());
+        assertEquals(22_050, click.sampleRate());
+        assertEquals(1, click.channels());
+        ByteBuffer data = pack.data(click);
+        byte[] read = new byte[data.remaining()];
+        data.get(read);
+        assertArrayEquals(PCM, read, "WAV is stored as its raw samples");
+
+        AudioPack.Entry theme = pack.find("/audio/music/theme.mp3");
+        AudioPack.Entry copy = pack.find("/audio/music/theme_copy.mp3");
+        assertEquals(AudioPack.Kind.ENCODED, theme.kind());
+        assertEquals(theme.offset(), copy.offset(), "Identical files are stored once");
+        assertArrayEquals(MP3, Files.readAllBytes(pack.extract(theme)));
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path notAPack = tempDir.resolve("song.mp3");
+        Files.write(notAPack, MP3);
+
+        assertThrows(IOException.class, () -> AudioPack.open(notAPack, tempDir));
+    }
+
+    @Test
+    public void testCacheDirectoryFollowsOverride() {
+        String previous = System.getProperty("theetb.cache.dir");
+        try {
+            System.setProperty("theetb.cache.dir", tempDir.toString());
+            assertEquals(tempDir.resolve("audio"), AudioPack.cacheDirectory());
+        } finally {
+            if (previous != null) {
+                System.setProperty("theetb.cache.dir", previous);
+            } else {
+                System.clearProperty("theetb.cache.dir");
+            }
+        }
+    }
+}
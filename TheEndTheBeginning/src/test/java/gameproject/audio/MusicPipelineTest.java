@@ -0,0 +1,157 @@
+package gameproject.audio;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for MusicPipeline prefetching and crossfades.
+ */
+public class MusicPipelineTest {
+
+    private static final long MS = 1_000_000L;
+
+    /** Track that records what was done to it */
+    private static class FakeTrack implements MusicPipeline.Track {
+        boolean playing;
+        boolean disposed;
+        boolean loop;
+        double volume = -1;
+
+        @Override public void play() { playing = true; }
+        @Override public void stop() { playing = false; }
+        @Override public void dispose() { disposed = true; }
+        @Override public void setVolume(double volume) { this.volume = volume; }
+        @Override public void setLoop(boolean loop) { this.loop = loop; }
+        @Override public void setOnError(Runnable onError) { }
+    }
+
+    private final Map<String, FakeTrack> tracks = new HashMap<>();
+    private final Map<String, Integer> loads = new HashMap<>();
+    private final Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+
+    private MusicPipeline pipeline(boolean loadInline) {
+        return new MusicPipeline(path -> {
+            loads.merge(path, 1, Integer::sum);
+            FakeTrack track = new FakeTrack();
+            tracks.put(path, track);
+            return track;
+        }, loadInline ? Runnable::run : backgroundTasks::add, Runnable::run, () -> 0L, 1000, false);
+    }
+
+    private void runBackgroundTasks() {
+        while (!backgroundTasks.isEmpty()) {
+            backgroundTasks.poll().run();
+        }
+    }
+
+    @Test
+    public void testFirstTrackStartsAtFullVolume() {
+        MusicPipeline music = pipeline(true);
+        music.play("/menu.mp3", true, 0.5);
+
+        FakeTrack menu = tracks.get("/menu.mp3");
+        assertTrue(menu.playing);
+        assertTrue(menu.loop);
+        assertEquals(0.5, menu.volume, 1e-9);
+        assertFalse(music.isFading());
+    }
+
+    @Test
+    public void testSwitchCrossfadesAndDisposesOldTrack() {
+        MusicPipeline music = pipeline(true);
+        music.play("/dungeon.mp3", true, 0.8);
+        music.play("/combat.mp3", true, 0.8);
+
+        FakeTrack dungeon = tracks.get("/dungeon.mp3");
+        FakeTrack combat = tracks.get("/combat.mp3");
+        assertTrue(music.isFading());
+        assertTrue(dungeon.playing && combat.playing, "Both tracks play during the crossfade");
+
+        assertTrue(music.step(500 * MS));
+        assertEquals(0.8 * Math.sin(Math.PI / 4), combat.volume, 1e-9);
+        assertEquals(0.8 * Math.cos(Math.PI / 4), dungeon.volume, 1e-9);
+
+        assertFalse(music.step(1000 * MS));
+        assertEquals(0.8, combat.volume, 1e-9);
+        assertFalse(dungeon.playing);
+        assertTrue(dungeon.disposed);
+        assertEquals("/combat.mp3", music.getCurrentPath());
+    }
+
+    @Test
+    public void testPrefetchedTrackIsUsedWithoutReloading() {
+        MusicPipeline music = pipeline(false);
+        music.prefetch(List.of("/combat.mp3"));
+        runBackgroundTasks();
+        assertTrue(music.isPrefetched("/combat.mp3"));
+
+        music.play("/combat.mp3", true, 1.0);
+
+        assertTrue(tracks.get("/combat.mp3").playing, "Prefetched track starts without waiting");
+        assertEquals(1, loads.get("/combat.mp3").intValue());
+        assertFalse(music.isPrefetched("/combat.mp3"));
+    }
+
+    @Test
+    public void testOldTrackKeepsPlayingUntilNewOneIsLoaded() {
+        MusicPipeline music = pipeline(false);
+        music.play("/dungeon.mp3", true, 1.0);
+        runBackgroundTasks();
+        FakeTrack dungeon = tracks.get("/dungeon.mp3");
+
+        music.play("/combat.mp3", true, 1.0);
+        assertTrue(dungeon.playing);
+        assertEquals("/dungeon.mp3", music.getCurrentPath());
+
+        runBackgroundTasks();
+        assertEquals("/combat.mp3", music.getCurrentPath());
+        assertTrue(music.isFading());
+    }
+
+    @Test
+    public void testSupersededLoadIsKeptForLater() {
+        MusicPipeline music = pipeline(false);
+        music.play("/combat.mp3", true, 1.0);
+        music.play("/boss.mp3", true, 1.0);
+        runBackgroundTasks();
+
+        assertEquals("/boss.mp3", music.getCurrentPath());
+        assertFalse(tracks.get("/combat.mp3").playing);
+        assertTrue(music.isPrefetched("/combat.mp3"));
+    }
+
+    @Test
+    public void testStopReleasesCurrentTrack() {
+        MusicPipeline music = pipeline(true);
+        music.play("/menu.mp3", true, 1.0);
+        music.stop();
+
+        assertTrue(tracks.get("/menu.mp3").disposed);
+        assertNull(music.getCurrentPath());
+    }
+
+    @Test
+    public void testLoadIsDisposedWhenFxThreadIsUnavailable() {
+        MusicPipeline music = new MusicPipeline(path -> {
+            FakeTrack track = new FakeTrack();
+            tracks.put(path, track);
+            return track;
+        }, backgroundTasks::add, task -> {
+            throw new IllegalStateException("Toolkit not initialized");
+        }, () -> 0L, 1000, false);
+
+        music.play("/dungeon.mp3", true, 1.0);
+        runBackgroundTasks();
+
+        FakeTrack dungeon = tracks.get("/dungeon.mp3");
+        assertFalse(dungeon.playing);
+        assertTrue(dungeon.disposed, "A load nobody can play must release its player");
+        assertNull(music.getCurrentPath());
+    }
+}
@@ -0,0 +1,141 @@
+package gameproject.audio;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for SfxEngine caching, memory budget and voice limiting.
+ */
+public class SfxEngineTest {
+
+    private static final long MS = 1_000_000L;
+
+    /** Clip that counts plays instead of making noise */
+    private static class FakeClip implements SfxEngine.Clip {
+        final long sizeBytes;
+        final long durationNanos;
+        int plays;
+        int stops;
+        int prepares;
+
+        FakeClip(long sizeBytes, long durationNanos) {
+            this.sizeBytes = sizeBytes;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override public void play(double volume) { plays++; }
+        @Override public void stop() { stops++; }
+        @Override public long sizeBytes() { return sizeBytes; }
+        @Override public long durationNanos() { return durationNanos; }
+        @Override public void prepare() { prepares++; }
+    }
+
+    private final Map<String, FakeClip> files = new HashMap<>();
+    private final Map<String, Integer> decodes = new HashMap<>();
+    private long now = 0;
+
+    private SfxEngine engine(long budget, int maxVoices) {
+        return new SfxEngine(path -> {
+            decodes.merge(path, 1, Integer::sum);
+            return files.get(path);
+        }, budget, maxVoices, () -> now);
+    }
+
+    @Test
+    public void testCachedSoundIsDecodedOnce() {
+        FakeClip hit = new FakeClip(1000, 100 * MS);
+        files.put("/hit.wav", hit);
+        SfxEngine sfx = engine(10_000, 3);
+
+        for (int i = 0; i < 5; i++) {
+            now += 200 * MS;
+            assertTrue(sfx.play("/hit.wav", 0.7));
+        }
+
+        assertEquals(5, hit.plays);
+        assertEquals(1, decodes.get("/hit.wav").intValue());
+        assertEquals(1, sfx.getLoads());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSoundIsEvictedOverBudget() {
+        files.put("/a.wav", new FakeClip(400, MS));
+        files.put("/b.wav", new FakeClip(400, MS));
+        files.put("/c.wav", new FakeClip(400, MS));
+        SfxEngine sfx = engine(1000, 3);
+
+        sfx.play("/a.wav", 1.0);
+        sfx.play("/b.wav", 1.0);
+        now += 10 * MS;
+        sfx.play("/a.wav", 1.0);          // b is now the coldest
+        sfx.play("/c.wav", 1.0);
+
+        assertTrue(sfx.isCached("/a.wav"));
+        assertFalse(sfx.isCached("/b.wav"));
+        assertTrue(sfx.isCached("/c.wav"));
+        assertEquals(800, sfx.getCachedBytes());
+        assertEquals(1, sfx.getEvictions());
+    }
+
+    @Test
+    public void testVoicesPerSoundAreCapped() {
+        FakeClip crit = new FakeClip(1000, 300 * MS);
+        files.put("/crit.wav", crit);
+        SfxEngine sfx = engine(10_000, 2);
+
+        assertTrue(sfx.play("/crit.wav", 1.0));
+        now += 10 * MS;
+        assertTrue(sfx.play("/crit.wav", 1.0));
+        now += 10 * MS;
+        assertFalse(sfx.play("/crit.wav", 1.0), "Third overlapping instance should be dropped");
+
+        now += 300 * MS;                  // first instance has finished
+        assertTrue(sfx.play("/crit.wav", 1.0));
+
+        assertEquals(3, crit.plays);
+        assertEquals(1, sfx.getDroppedPlays());
+    }
+
+    @Test
+    public void testMissingSoundIsLookedUpOnce() {
+        SfxEngine sfx = engine(10_000, 3);
+
+        assertFalse(sfx.play("/missing.wav", 1.0));
+        assertFalse(sfx.play("/missing.wav", 1.0));
+
+        assertEquals(1, decodes.get("/missing.wav").intValue());
+    }
+
+    @Test
+    public void testPreloadDecodesAhead() {
+        FakeClip block = new FakeClip(100, MS);
+        files.put("/block.wav", block);
+        SfxEngine sfx = engine(10_000, 3);
+
+        sfx.preload(List.of("/block.wav", "/none.wav"));
+
+        assertTrue(sfx.isCached("/block.wav"));
+        assertEquals(1, sfx.getCachedCount());
+        assertEquals(1, block.prepares, "Preloading should also open the clip's audio line");
+    }
+
+    @Test
+    public void testWavHeaderGivesSizeAndDuration() {
+        byte[] header = new byte[44];
+        header[0] = 'R'; header[1] = 'I'; header[2] = 'F'; header[3] = 'F';
+        header[8] = 'W'; header[9] = 'A'; header[10] = 'V'; header[11] = 'E';
+        int byteRate = 88_200;            // 44.1 kHz, 16-bit mono
+        header[28] = (byte) byteRate;
+        header[29] = (byte) (byteRate >> 8);
+        header[30] = (byte) (byteRate >> 16);
+
+        long[] estimate = SfxEngine.estimatePcm(header, 44 + 44_100);
+
+        assertEquals(44_100, estimate[0]);
+        assertEquals(500 * MS, estimate[1]);
+    }
+}
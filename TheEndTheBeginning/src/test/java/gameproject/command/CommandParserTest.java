@@ -0,0 +1,66 @@
+package gameproject.command;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the command tokenizer, tables and parser.
+ */
+public class CommandParserTest {
+
+    @Test
+    public void testNumbersAndWordsMapToTheSameCommand() {
+        assertSame(Command.of(CommandType.ATTACK), CommandParser.parse("1", CommandTable.COMBAT));
+        assertSame(Command.of(CommandType.ATTACK), CommandParser.parse("  attack ", CommandTable.COMBAT));
+        assertSame(Command.of(CommandType.HEAVY), CommandParser.parse("Heavy   Attack", CommandTable.COMBAT));
+        assertSame(Command.of(CommandType.SEARCH), CommandParser.parse("1", CommandTable.EXPLORING));
+    }
+
+    @Test
+    public void testSameWordMeansDifferentThingsPerState() {
+        assertEquals(CommandType.NO, CommandParser.parse("n", CommandTable.CONFIRM).type());
+        assertEquals(CommandType.NEW, CommandParser.parse("n", CommandTable.LOAD_OR_NEW).type());
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("7", CommandTable.COMBAT).type());
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("attack", CommandTable.EXPLORING).type());
+    }
+
+    @Test
+    public void testGlobalCommandsWorkEverywhere() {
+        assertEquals(CommandType.HELP, CommandParser.parse("help", CommandTable.COMBAT).type());
+        assertEquals(CommandType.QUIT, CommandParser.parse("Quit", CommandTable.MENU).type());
+        assertEquals(CommandType.BACK, CommandParser.parse("exit", CommandTable.INVENTORY).type(),
+            "A state's own binding wins over the global table");
+    }
+
+    @Test
+    public void testChoicesParseWithoutExceptions() {
+        Command choice = CommandParser.parse(" 3 ", CommandTable.MENU);
+        assertEquals(CommandType.CHOICE, choice.type());
+        assertEquals(3, choice.value());
+        assertSame(choice, CommandParser.parse("3", CommandTable.MENU), "Small choices are cached");
+
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("3a", CommandTable.MENU).type());
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("99999999999", CommandTable.MENU).type());
+        assertEquals(CommandType.EMPTY, CommandParser.parse("   ", CommandTable.MENU).type());
+        assertEquals(CommandType.EMPTY, CommandParser.parse(null, CommandTable.MENU).type());
+    }
+
+    @Test
+    public void testUseCarriesNormalizedItemName() {
+        Command use = CommandParser.parse("use   health \t potion ", CommandTable.EXPLORING);
+        assertEquals(CommandType.USE, use.type());
+        assertEquals("HEALTH POTION", use.argument());
+
+        assertEquals(CommandType.ITEM, CommandParser.parse("use item", CommandTable.COMBAT).type(),
+            "A bound phrase takes precedence over USE <item>");
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("use potion", CommandTable.MENU).type());
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("user", CommandTable.EXPLORING).type());
+    }
+
+    @Test
+    public void testNormalizeCollapsesWhitespace() {
+        String input = "  a \t b\n\nc ";
+        assertEquals("A B C", CommandTokenizer.normalize(input, 0, input.length()));
+        assertEquals("", CommandTokenizer.normalize("   ", 0, 3));
+    }
+}
@@ -0,0 +1,66 @@
+package gameproject.dungeon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the seed-keyed floor cache.
+ */
+public class FloorCacheTest {
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private int generated = 0;
+
+    private FloorCache cache(int capacity) {
+        return new FloorCache((seed, number) -> {
+            generated++;
+            return FloorGenerator.generate(seed, number);
+        }, queued::add, capacity);
+    }
+
+    @Test
+    public void testRevisitedFloorIsNotRegenerated() {
+        FloorCache floors = cache(4);
+        Floor first = floors.get(7L, 3);
+        Floor again = floors.get(7L, 3);
+
+        assertSame(first, again);
+        assertEquals(1, generated);
+        assertEquals(1, floors.getHits());
+        assertEquals(1, floors.getMisses());
+        assertNotSame(first, floors.get(8L, 3), "Floors are keyed by seed as well");
+    }
+
+    @Test
+    public void testPrefetchRunsInTheBackground() {
+        FloorCache floors = cache(4);
+        floors.prefetch(7L, 2);
+        floors.prefetch(7L, 2);
+
+        assertEquals(1, queued.size(), "One prefetch per floor");
+        assertFalse(floors.isReady(7L, 2));
+        queued.get(0).run();
+        assertTrue(floors.isReady(7L, 2));
+
+        floors.get(7L, 2);
+        assertEquals(1, generated);
+        assertEquals(0, floors.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedFloorIsEvicted() {
+        FloorCache floors = cache(2);
+        floors.get(1L, 1);
+        floors.get(1L, 2);
+        floors.get(1L, 1);
+        floors.get(1L, 3);
+
+        assertEquals(2, floors.size());
+        assertEquals(1, floors.getEvictions());
+        assertTrue(floors.isReady(1L, 1));
+        assertFalse(floors.isReady(1L, 2));
+    }
+}
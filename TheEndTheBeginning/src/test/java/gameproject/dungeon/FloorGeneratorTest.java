@@ -0,0 +1,51 @@
+package gameproject.dungeon;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for procedural floor generation.
+ */
+public class FloorGeneratorTest {
+
+    @Test
+    public void testSameSeedBuildsTheSameFloor() {
+        Floor first = FloorGenerator.generate(42L, 7);
+        Floor second = FloorGenerator.generate(42L, 7);
+
+        assertEquals(first.getRoomCount(), second.getRoomCount());
+        for (int id = 0; id < first.getRoomCount(); id++) {
+            Room a = first.getRoom(id);
+            Room b = second.getRoom(id);
+            assertEquals(a.type(), b.type());
+            assertEquals(a.lootTier(), b.lootTier());
+            assertArrayEquals(a.exits(), b.exits());
+        }
+    }
+
+    @Test
+    public void testFloorsDifferBySeedAndNumber() {
+        assertNotEquals(FloorGenerator.floorSeed(42L, 1), FloorGenerator.floorSeed(42L, 2));
+        assertNotEquals(FloorGenerator.floorSeed(42L, 1), FloorGenerator.floorSeed(43L, 1));
+    }
+
+    @Test
+    public void testPathGrowsWithDepthAndSecretsAreReachable() {
+        assertEquals(FloorGenerator.BASE_PATH_LENGTH, FloorGenerator.generate(1L, 1).getPathLength());
+        assertEquals(FloorGenerator.MAX_PATH_LENGTH, FloorGenerator.generate(1L, 49).getPathLength());
+
+        int secrets = 0;
+        for (int number = 1; number < 50; number++) {
+            Floor floor = FloorGenerator.generate(99L, number);
+            assertEquals(floor.getStairs().id(), floor.roomOnPath(1_000).id(), "Walking past the stairs stays on them");
+            for (int id = 0; id < floor.getRoomCount(); id++) {
+                if (floor.getType(id) == RoomType.SECRET) {
+                    secrets++;
+                    assertEquals(1, floor.getExitCount(id), "Secret rooms hang off one room");
+                    assertEquals(id, floor.secretNextTo(floor.getExit(id, 0)));
+                }
+            }
+        }
+        assertTrue(secrets > 0, "A whole dungeon should hide at least one secret room");
+    }
+}
@@ -0,0 +1,124 @@
+package gameproject.dungeon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for on-disk floors and explored-room deltas.
+ */
+public class FloorStoreTest {
+
+    private FloorStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        store = new FloorStore(Files.createTempDirectory("floors-test"));
+    }
+
+    private static void assertSameLayout(Floor expected, Floor actual) {
+        assertEquals(expected.getNumber(), actual.getNumber());
+        assertEquals(expected.getRoomCount(), actual.getRoomCount());
+        assertEquals(expected.getPathLength(), actual.getPathLength());
+        for (int id = 0; id < expected.getRoomCount(); id++) {
+            Room a = expected.getRoom(id);
+            Room b = actual.getRoom(id);
+            assertEquals(a.type(), b.type());
+            assertEquals(a.lootTier(), b.lootTier());
+            assertArrayEquals(a.exits(), b.exits());
+        }
+    }
+
+    @Test
+    public void testStoredFloorsAreMappedBack() {
+        long seed = 0x5EEDL;
+        for (int number = 1; number <= 30; number++) {
+            assertTrue(store.save(FloorGenerator.generate(seed, number)));
+        }
+        long size = store.fileFor(seed).toFile().length();
+        assertTrue(store.save(FloorGenerator.generate(seed, 12)), "Saving twice is a no-op");
+        assertEquals(size, store.fileFor(seed).toFile().length());
+
+        assertSameLayout(FloorGenerator.generate(seed, 25), store.load(seed, 25));
+        assertNull(store.load(seed, 31), "Never entered");
+        assertNull(store.load(seed + 1, 1), "Other runs have their own file");
+    }
+
+    @Test
+    public void testCorruptFileFallsBackToGeneration() throws IOException {
+        long seed = 77L;
+        Files.write(store.fileFor(seed), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        assertNull(store.load(seed, 1));
+        assertSameLayout(FloorGenerator.generate(seed, 1), FloorCache.persistent(store).get(seed, 1));
+    }
+
+    /** Overwrite one int of a stored floor, {@code at} bytes into its packed layout */
+    private void corruptFloor(long seed, int number, int at, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(store.fileFor(seed),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer slot = ByteBuffer.allocate(8);
+            channel.read(slot, 16 + number * 12L);
+            channel.write(ByteBuffer.allocate(4).putInt(0, value), slot.getLong(0) + at);
+        }
+    }
+
+    @Test
+    public void testFloorWithBadRoomIdsFallsBackToGeneration() throws IOException {
+        long seed = 91L;
+        Floor floor = FloorGenerator.generate(seed, 3);
+        int rooms = floor.getRoomCount();
+        int exits = floor.encoded().getInt(8);
+        int exitStartAt = Floor.HEADER_BYTES + rooms * 3;
+        int exitsAt = exitStartAt + (rooms + 1) * 4;
+        int pathAt = exitsAt + exits * 4;
+        int[][] corruptions = {
+            { exitsAt, rooms },               // exit to a room past the end
+            { pathAt + 4, -1 },               // negative room on the path
+            { exitStartAt + 4, exits },       // exit ranges out of order
+        };
+
+        for (int[] corruption : corruptions) {
+            Files.deleteIfExists(store.fileFor(seed));
+            assertTrue(store.save(floor));
+            assertNotNull(store.load(seed, 3));
+            corruptFloor(seed, 3, corruption[0], corruption[1]);
+
+            assertNull(store.load(seed, 3), "Corrupt at byte " + corruption[0]);
+            assertSameLayout(floor, FloorCache.persistent(store).get(seed, 3));
+        }
+    }
+
+    @Test
+    public void testOnlyRecentRunsAreKept() throws IOException {
+        for (long seed = 1; seed <= FloorStore.MAX_FILES + 3; seed++) {
+            store.save(FloorGenerator.generate(seed, 1));
+        }
+        try (var files = Files.list(store.getDirectory())) {
+            assertEquals(FloorStore.MAX_FILES, files.count());
+        }
+        assertTrue(Files.exists(store.fileFor(FloorStore.MAX_FILES + 3)));
+    }
+
+    @Test
+    public void testExplorationRoundTrip() {
+        Exploration explored = new Exploration();
+        assertTrue(explored.markVisited(1, 0));
+        assertFalse(explored.markVisited(1, 0));
+        explored.markVisited(1, 4);
+        explored.markVisited(40, 63);
+
+        Exploration restored = Exploration.decode(explored.encode());
+        assertEquals(explored.encode(), restored.encode());
+        assertTrue(restored.isVisited(40, 63));
+        assertEquals(2, restored.countVisited(1));
+        assertEquals("", Exploration.decode("garbage,1:zz").encode());
+    }
+}
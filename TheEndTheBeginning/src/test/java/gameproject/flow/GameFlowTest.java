@@ -0,0 +1,94 @@
+package gameproject.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import gameproject.command.CommandTable;
+import gameproject.command.CommandType;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the GameFlow state machine.
+ */
+public class GameFlowTest {
+
+    private long now = 0;
+
+    @Test
+    public void testNewGameWalksThroughSetupPrompts() {
+        GameFlow flow = new GameFlow(() -> now);
+        GameFlowState[] path = {
+            GameFlowState.START_CONFIRMATION, GameFlowState.CLASS_SELECTION, GameFlowState.DIFFICULTY,
+            GameFlowState.PLAYER_NAME, GameFlowState.EXPLORING, GameFlowState.COMBAT,
+            GameFlowState.INVENTORY, GameFlowState.COMBAT, GameFlowState.EXPLORING
+        };
+        for (GameFlowState next : path) {
+            flow.prompt(next);
+            assertTrue(flow.isAwaitingInput());
+        }
+        flow.moveTo(GameFlowState.GAME_OVER);
+
+        assertEquals(0, flow.getUnexpectedTransitions());
+        assertFalse(flow.isAwaitingInput());
+        assertTrue(flow.getState().isFinished());
+    }
+
+    @Test
+    public void testFinishedGameOnlyLeadsToANewOne() {
+        assertFalse(GameFlow.canTransition(GameFlowState.GAME_OVER, GameFlowState.COMBAT));
+        assertFalse(GameFlow.canTransition(GameFlowState.CLASS_SELECTION, GameFlowState.COMBAT));
+        assertTrue(GameFlow.canTransition(GameFlowState.GAME_OVER, GameFlowState.START_CONFIRMATION));
+        assertTrue(GameFlow.canTransition(GameFlowState.COMBAT, GameFlowState.IDLE));
+    }
+
+    @Test
+    public void testUndeclaredTransitionIsCountedButApplied() {
+        GameFlow flow = new GameFlow(() -> now);
+        flow.moveTo(GameFlowState.GAME_OVER);
+
+        assertEquals(1, flow.getUnexpectedTransitions());
+        assertEquals(GameFlowState.GAME_OVER, flow.getState());
+    }
+
+    @Test
+    public void testInputIsParsedWithTheStatesCommands() {
+        GameFlow flow = new GameFlow(() -> now);
+        flow.prompt(GameFlowState.START_CONFIRMATION);
+        assertEquals(CommandType.NO, flow.parse("n").type());
+        assertFalse(flow.isAwaitingInput(), "Parsing consumes the prompt");
+
+        flow.prompt(GameFlowState.LOAD_OR_NEW);
+        assertEquals(CommandType.NEW, flow.parse("n").type());
+
+        flow.prompt(GameFlowState.CLASS_SELECTION);
+        flow.prompt(GameFlowState.PLAYER_NAME);
+        assertEquals(CommandType.UNKNOWN, flow.parse("Aria").type(), "Names are not commands");
+    }
+
+    @Test
+    public void testCommandTableCanBeOverriddenPerState() {
+        CommandTable names = new CommandTable("NAMES").bind(CommandType.YES, "WARRIOR");
+        GameFlow flow = new GameFlow(() -> now).withCommands(GameFlowState.CLASS_SELECTION, names);
+        flow.prompt(GameFlowState.CLASS_SELECTION);
+
+        assertEquals(CommandType.YES, flow.parse("warrior").type());
+    }
+
+    @Test
+    public void testTransitionsAreCountedAndTimed() {
+        List<Long> durations = new ArrayList<>();
+        GameFlow flow = new GameFlow(() -> now);
+        flow.setTransitionListener((from, to, nanos) -> durations.add(nanos));
+
+        flow.prompt(GameFlowState.EXPLORING);
+        now += 500;
+        flow.prompt(GameFlowState.COMBAT);
+        now += 2_000;
+        flow.prompt(GameFlowState.EXPLORING);
+
+        assertEquals(List.of(0L, 500L, 2_000L), durations);
+        assertEquals(1, flow.getTransitionCount(GameFlowState.EXPLORING, GameFlowState.COMBAT));
+        assertEquals(1, flow.getTransitionCount(GameFlowState.COMBAT, GameFlowState.EXPLORING));
+    }
+}
@@ -0,0 +1,140 @@
+package gameproject.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+
+/**
+ * Time and allocation budgets for the perf test tier.
+ *
+ * Budgets are read from {@value #BASELINE} on the test classpath:
+ * <pre>
+ *   combat.rounds.maxMillis=400        whole workload, best of {@link #RUNS} runs
+ *   combat.rounds.maxBytesPerOp=4096   bytes allocated by the test thread per operation
+ * </pre>
+ * A workload runs once to warm up and then {@link #RUNS} times; the fastest run
+ * is checked, which keeps one GC pause or noisy neighbour from failing the
+ * build. Every result is appended to the report file ({@value #REPORT_PROPERTY},
+ * default target/perf-report.txt) whether it passes or not, so the numbers for
+ * a new baseline can be copied from there.
+ *
+ * Slow CI machines can scale the time budgets with -Dperf.tolerance=2.
+ */
+final class PerfBudget {
+
+    static final String BASELINE = "/perf-baseline.properties";
+    static final String REPORT_PROPERTY = "perf.report";
+    static final String TOLERANCE_PROPERTY = "perf.tolerance";
+    static final int RUNS = 3;
+
+    /**
+     * One measured workload; bytes are -1 when the JVM cannot count allocations.
+     */
+    record Result(String name, int operations, long nanos, long bytes, long maxMillis, long maxBytesPerOp) {
+
+        double millis() {
+            return nanos / 1e6;
+        }
+
+        long bytesPerOp() {
+            return bytes < 0 ? -1 : bytes / Math.max(1, operations);
+        }
+
+        boolean withinTime() {
+            return millis() <= maxMillis;
+        }
+
+        boolean withinAllocation() {
+            return bytes < 0 || maxBytesPerOp <= 0 || bytesPerOp() <= maxBytesPerOp;
+        }
+
+        String describe() {
+            return String.format("%-22s %7d ops %9.1f ms (budget %d) %7d B/op (budget %d) %s",
+                name, operations, millis(), maxMillis, bytesPerOp(), maxBytesPerOp,
+                withinTime() && withinAllocation() ? "OK" : "OVER BUDGET");
+        }
+    }
+
+    private final Properties budgets = new Properties();
+    private final double tolerance;
+    private final Path report;
+
+    PerfBudget() {
+        try (InputStream in = PerfBudget.class.getResourceAsStream(BASELINE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + BASELINE + " on the test classpath");
+            }
+            budgets.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + BASELINE, e);
+        }
+        tolerance = Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, "1.0"));
+        report = Paths.get(System.getProperty(REPORT_PROPERTY, "target/perf-report.txt"));
+    }
+
+    /**
+     * Run {@code workload} (which performs {@code operations} operations) and
+     * measure it against its budget. Does not assert; see {@link Result}.
+     */
+    Result measure(String name, int operations, Runnable workload) {
+        long maxMillis = Math.round(Long.parseLong(budget(name, "maxMillis")) * tolerance);
+        long maxBytesPerOp = Long.parseLong(budget(name, "maxBytesPerOp"));
+
+        workload.run();
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = -1;
+        for (int run = 0; run < RUNS; run++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            workload.run();
+            long nanos = System.nanoTime() - start;
+            long bytesAfter = allocatedBytes();
+            if (nanos < bestNanos) {
+                bestNanos = nanos;
+                bestBytes = bytesBefore < 0 ? -1 : bytesAfter - bytesBefore;
+            }
+        }
+
+        Result result = new Result(name, operations, bestNanos, bestBytes, maxMillis, maxBytesPerOp);
+        appendToReport(result);
+        return result;
+    }
+
+    private String budget(String name, String key) {
+        String value = budgets.getProperty(name + "." + key);
+        if (value == null) {
+            throw new IllegalStateException("No " + name + "." + key + " in " + BASELINE);
+        }
+        return value.trim();
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private void appendToReport(Result result) {
+        String line = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+            + "  " + result.describe() + System.lineSeparator();
+        System.out.print("[PERF] " + result.describe() + System.lineSeparator());
+        try {
+            Path directory = report.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Files.writeString(report, line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("[PERF] Could not write " + report + ": " + e.getMessage());
+        }
+    }
+}
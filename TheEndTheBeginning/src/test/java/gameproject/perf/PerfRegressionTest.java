@@ -0,0 +1,183 @@
+package gameproject.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import gameproject.GameContext;
+import gameproject.Monster;
+import gameproject.QuestManager;
+import gameproject.SaveManager;
+import gameproject.achievements.Achievement;
+import gameproject.achievements.AchievementManager;
+import gameproject.combat.CombatEngine;
+import gameproject.session.GameSession;
+import main.model.Item;
+import main.model.Player;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fixed-seed workloads over the game's hot paths, checked against the budgets
+ * in perf-baseline.properties (see {@link PerfBudget}).
+ *
+ * Tagged "perf" and left out of the normal build; run with {@code mvn -Pperf test}.
+ */
+@Tag("perf")
+public class PerfRegressionTest {
+
+    private static final long SEED = 20_240_601L;
+
+    private static Path saveDir;
+    private static PerfBudget budget;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        saveDir = Files.createTempDirectory("theetb-perf-saves-");
+        System.setProperty("theetb.save.dir", saveDir.toString());
+        budget = new PerfBudget();
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        System.clearProperty("theetb.save.dir");
+        try (Stream<Path> files = Files.walk(saveDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testCombatRounds() {
+        int rounds = 10_000;
+        PerfBudget.Result result = budget.measure("combat.rounds", rounds, () -> {
+            Random rng = new Random(SEED);
+            Player player = new Player("Bench", Player.PlayerClass.WARRIOR);
+            Monster monster = Monster.createForDungeonLevel(1, rng);
+            int floor = 1;
+            for (int i = 0; i < rounds; i++) {
+                CombatEngine.playerAttackMonster(player, monster, CombatEngine.AttackType.NORMAL_ATTACK, rng);
+                if (!monster.isAlive()) {
+                    floor = floor % 30 + 1;
+                    monster = Monster.createForDungeonLevel(floor, rng);
+                    continue;
+                }
+                CombatEngine.monsterAttackPlayer(monster, player, rng);
+                if (!player.isAlive()) {
+                    player = new Player("Bench", Player.PlayerClass.WARRIOR);
+                }
+            }
+        });
+        assertWithinBudget(result);
+    }
+
+    @Test
+    void testSaveLoadRoundTrips() {
+        int roundTrips = 1_000;
+        Player player = lateGamePlayer();
+        SaveManager.GameSaveData data = lateGameSaveData();
+        PerfBudget.Result result = budget.measure("save.round_trip", roundTrips, () -> {
+            for (int i = 0; i < roundTrips; i++) {
+                assertTrue(SaveManager.saveGame(player, 42, data));
+                assertNotNull(SaveManager.loadGame());
+            }
+        });
+        assertWithinBudget(result);
+    }
+
+    @Test
+    void testQuestEvents() {
+        int events = 10_000;
+        String[][] actions = {
+            { "kill", "goblin" }, { "collect", "moonflower" }, { "explore", "new_areas" },
+            { "combat_wins", "any" }, { "kill", "skeleton" }, { "discover", "town" }
+        };
+        PerfBudget.Result result = budget.measure("quest.events", events, () -> {
+            QuestManager quests = GameContext.create().getQuests();
+            for (String id : new String[] { "main_001", "side_001", "side_002", "side_003", "daily_001", "daily_002" }) {
+                quests.startQuest(id);
+            }
+            for (int i = 0; i < events; i++) {
+                String[] action = actions[i % actions.length];
+                quests.updateQuestProgress(action[0], action[1], 1);
+            }
+        });
+        assertWithinBudget(result);
+    }
+
+    @Test
+    void testSessionMenuCommands() {
+        // Text menus of the headless session; the JavaFX screens need a display to load
+        String[] menus = { "HELP", "STATS", "INVENTORY", "QUESTS", "ACHIEVEMENTS" };
+        int visits = 10_000;
+        PerfBudget.Result result = budget.measure("session.menu_commands", visits, () -> {
+            GameSession session = new GameSession("perf", SEED);
+            session.start();
+            session.handle("1");
+            session.handle("Bench");
+            for (int i = 0; i < visits; i++) {
+                assertFalse(session.handle(menus[i % menus.length]).isEmpty());
+            }
+            session.close();
+        });
+        assertWithinBudget(result);
+    }
+
+    private static void assertWithinBudget(PerfBudget.Result result) {
+        assertTrue(result.withinTime(), "Too slow: " + result.describe());
+        assertTrue(result.withinAllocation(), "Allocates too much: " + result.describe());
+    }
+
+    // ===== LATE-GAME STATE =====
+
+    private static Player lateGamePlayer() {
+        Player player = new Player("Veteran", Player.PlayerClass.MAGE);
+        Random rng = new Random(SEED);
+        for (int i = 0; i < 40; i++) {
+            player.gainExperience(player.getExperienceToNextLevel());
+        }
+        for (int i = 0; i < player.getMaxInventorySize(); i++) {
+            player.addItem(Item.generateRandomItem(30 + rng.nextInt(20)));
+        }
+        for (int i = 0; i < 500; i++) {
+            player.recordRoomExplored();
+            if (i % 3 == 0) {
+                player.recordMonsterDefeated();
+            }
+        }
+        player.setDungeonLevel(42);
+        return player;
+    }
+
+    private static SaveManager.GameSaveData lateGameSaveData() {
+        GameContext context = GameContext.create();
+        AchievementManager achievements = context.getAchievements();
+        for (Achievement achievement : achievements.getLockedAchievements()) {
+            achievements.unlockAchievement(achievement.getId());
+        }
+        achievements.incrementProgress("monsters_defeated", 167);
+        achievements.incrementProgress("critical_hits", 54);
+
+        SaveManager.GameSaveData data = new SaveManager.GameSaveData();
+        data.dungeonSeed = SEED;
+        data.exploredRooms = "1:1f,2:3f,3:ff,4:7,5:1ff";
+        data.unlockedAchievements.addAll(achievements.getUnlockedIds());
+        data.achievementBits = achievements.encodeUnlocked();
+        data.achievementProgress.putAll(achievements.getProgressSnapshot());
+        data.activeQuests.add("side_001");
+        data.activeQuests.add("special_001");
+        data.completedQuests.add("main_001");
+        data.completedQuests.add("main_002");
+        data.completedQuests.add("daily_001");
+        data.questProgress.put("obj_s001", 1);
+        data.questProgress.put("obj_sp001", 1);
+        data.playTimeMinutes = 840;
+        return data;
+    }
+}
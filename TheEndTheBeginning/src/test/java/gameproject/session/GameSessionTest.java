@@ -0,0 +1,134 @@
+package gameproject.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import gameproject.flow.GameFlowState;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the headless GameSession command loop and SessionHost stream mode.
+ */
+public class GameSessionTest {
+
+    @Test
+    public void testSetupFlow() {
+        GameSession session = new GameSession("test", 42L);
+        assertTrue(session.start().contains("Choose your adventurer class"));
+        assertEquals(GameFlowState.CLASS_SELECTION, session.getPhase());
+
+        session.handle("banana");
+        assertEquals(GameFlowState.CLASS_SELECTION, session.getPhase(), "Invalid class should re-prompt");
+
+        session.handle("mage");
+        assertEquals(GameFlowState.PLAYER_NAME, session.getPhase());
+
+        session.handle("   ");
+        assertEquals(GameFlowState.PLAYER_NAME, session.getPhase(), "Empty name should re-prompt");
+
+        session.handle("Aria");
+        assertEquals("Aria", session.getPlayer().getName());
+        assertTrue(session.getPhase() == GameFlowState.EXPLORING
+                || session.getPhase() == GameFlowState.COMBAT);
+    }
+
+    @Test
+    public void testScriptedRunReachesAnEnding() {
+        GameSession session = new GameSession("script", 7L);
+        session.start();
+        session.handle("1");
+        session.handle("Bot");
+
+        for (int i = 0; i < 20_000 && !session.isFinished(); i++) {
+            session.handle(session.getPhase() == GameFlowState.COMBAT ? "ATTACK" : "MOVE");
+        }
+
+        assertTrue(session.isFinished(), "Always moving and attacking should end in victory or defeat");
+        assertTrue(session.getFloor() > 1);
+    }
+
+    @Test
+    public void testSessionsKeepSeparateProgress() {
+        GameSession busy = new GameSession("busy", 11L);
+        GameSession idle = new GameSession("idle", 11L);
+        busy.start();
+        busy.handle("1");
+        busy.handle("Busy");
+        for (int i = 0; i < 200 && !busy.isFinished(); i++) {
+            busy.handle(busy.getPhase() == GameFlowState.COMBAT ? "ATTACK" : "SEARCH");
+        }
+
+        assertTrue(busy.getContext().getAchievements().getUnlockedCount() > 0);
+        assertEquals(0, idle.getContext().getAchievements().getUnlockedCount());
+        assertFalse(idle.getContext().getQuests().isQuestActive("daily_001"));
+        assertTrue(busy.handle("ACHIEVEMENTS").contains("ACHIEVEMENT"));
+    }
+
+    @Test
+    public void testSameSeedFindsSameLoot() {
+        assertEquals(playSearching(23L), playSearching(23L),
+                     "Sessions with the same seed should play out identically");
+    }
+
+    private static String playSearching(long seed) {
+        GameSession session = new GameSession("seeded", seed);
+        StringBuilder transcript = new StringBuilder(session.start());
+        transcript.append(session.handle("1"));
+        transcript.append(session.handle("Seeker"));
+        for (int i = 0; i < 300 && !session.isFinished(); i++) {
+            String command = session.getPhase() == GameFlowState.COMBAT ? "ATTACK" : (i % 2 == 0 ? "SEARCH" : "MOVE");
+            transcript.append(session.handle(command));
+        }
+        return transcript.append(session.getPlayer().getInventoryString()).toString();
+    }
+
+    @Test
+    public void testHostShutdownReleasesPort() throws Exception {
+        SessionHost host = new SessionHost();
+        Thread serving = new Thread(() -> {
+            try {
+                host.serve(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        serving.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (host.getLocalPort() < 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        int port = host.getLocalPort();
+        assertTrue(port > 0, "Host should have bound a port");
+
+        host.shutdown();
+        serving.join(5_000);
+
+        assertFalse(serving.isAlive(), "Accept loop should stop on shutdown");
+        try (ServerSocket rebind = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+            assertEquals(port, rebind.getLocalPort());
+        }
+    }
+
+    @Test
+    public void testHostStreamModeStopsOnQuit() throws Exception {
+        SessionHost host = new SessionHost();
+        String script = "2\nTester\nSTATS\nQUIT\nMOVE\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        host.runSession(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), out);
+        host.shutdown();
+
+        String transcript = out.toString(StandardCharsets.UTF_8);
+        assertTrue(transcript.contains("Tester"));
+        assertTrue(transcript.contains("Farewell"));
+        assertEquals(0, host.getActiveSessions());
+    }
+}
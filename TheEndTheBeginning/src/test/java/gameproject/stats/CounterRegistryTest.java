@@ -0,0 +1,77 @@
+package gameproject.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for CounterRegistry id assignment and concurrent updates.
+ */
+public class CounterRegistryTest {
+
+    @Test
+    public void testIdsAreDenseAndStable() {
+        CounterRegistry registry = new CounterRegistry();
+        int kills = registry.register("kills");
+        int crits = registry.register("crits");
+
+        assertEquals(0, kills);
+        assertEquals(1, crits);
+        assertEquals(kills, registry.register("kills"), "Registering twice should return the same id");
+        assertEquals(-1, registry.idOf("unknown"));
+        assertEquals(0, registry.get("unknown"));
+    }
+
+    @Test
+    public void testGrowthKeepsExistingValues() {
+        CounterRegistry registry = new CounterRegistry();
+        int first = registry.register("counter_0");
+        registry.add(first, 42);
+        for (int i = 1; i < 100; i++) {
+            registry.add("counter_" + i, i);
+        }
+
+        assertEquals(100, registry.size());
+        assertEquals(42, registry.get(first));
+        assertEquals(99, registry.get("counter_99"));
+        assertEquals(100, registry.snapshot().size());
+    }
+
+    @Test
+    public void testConcurrentIncrementsAreNotLost() throws InterruptedException {
+        CounterRegistry registry = new CounterRegistry();
+        int id = registry.register("monsters_defeated");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    registry.increment(id);
+                    registry.add("shared_" + (i % 4), 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, registry.get(id));
+        assertEquals(20_000, registry.get("shared_0"));
+    }
+
+    @Test
+    public void testResetAndSet() {
+        CounterRegistry registry = new CounterRegistry();
+        int id = registry.register("dodges");
+        registry.add(id, 7);
+        registry.reset(id);
+        assertEquals(0, registry.get(id));
+
+        registry.set(id, 49);
+        registry.increment(id);
+        assertEquals(50, registry.get(id));
+    }
+}
@@ -0,0 +1,104 @@
+package gameproject.stats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the metrics registry and latency histograms.
+ */
+public class MetricsTest {
+
+    @Test
+    public void testPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1_000, snapshot.count());
+        assertEquals(1_000_000, snapshot.max());
+        assertEquals(500_500, snapshot.mean());
+        double tolerance = 1.0 / LatencyHistogram.SUB_BUCKETS;
+        assertEquals(500_000, snapshot.p50(), 500_000 * tolerance);
+        assertEquals(990_000, snapshot.p99(), 990_000 * tolerance);
+        assertTrue(snapshot.p99() <= snapshot.max());
+    }
+
+    @Test
+    public void testBucketsCoverTheWholeRange() {
+        for (long value : new long[] { 0, 1, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE }) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.highestInBucket(bucket) >= value, "Bucket of " + value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestInBucket(bucket - 1) < value, "Bucket of " + value);
+        }
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        Metrics metrics = new Metrics();
+        LatencyHistogram histogram = metrics.histogram("work");
+        int counter = metrics.counter("work.items");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                    metrics.increment(counter);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(40_000, metrics.getCounter("work.items"));
+        assertSame(histogram, metrics.histogram("work"));
+    }
+
+    @Test
+    public void testSnapshotIsDumpedToFile(@TempDir Path directory) throws IOException {
+        Metrics metrics = new Metrics();
+        metrics.histogram("save.write").record(2_500_000);
+        metrics.add(metrics.counter("save.failures"), 3);
+        metrics.gauge("queue").set(7);
+        metrics.gauge("live", () -> 42);
+
+        Metrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(3L, snapshot.counters().get("save.failures").longValue());
+        assertEquals(42L, snapshot.gauges().get("live").longValue());
+        assertEquals(1, snapshot.histograms().get("save.write").count());
+
+        Path file = directory.resolve("metrics.txt");
+        assertTrue(metrics.dump(file));
+        String text = Files.readString(file);
+        assertTrue(text.contains("save.failures=3"));
+        assertTrue(text.contains("queue=7"));
+        assertTrue(text.contains("save.write"));
+
+        metrics.reset();
+        assertEquals(0, metrics.histogram("save.write").getCount());
+        assertEquals(7L, metrics.snapshot().gauges().get("queue").longValue(), "Gauges survive a reset");
+    }
+
+    @Test
+    public void testFailedDumpLeavesNoTempFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("metrics.txt");
+        Files.createDirectories(file.resolve("in-the-way"));   // a non-empty directory cannot be replaced
+
+        assertFalse(new Metrics().dump(file));
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package gameproject.stats;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for StartupProfiler phase recording.
+ */
+public class StartupProfilerTest {
+
+    @Test
+    public void testDisabledProfilerRecordsNothing() {
+        StartupProfiler profiler = new StartupProfiler(false);
+        StartupProfiler.Phase phase = profiler.phase("settings");
+        assertNotNull(phase);
+        phase.end();
+        profiler.firstFrame();
+
+        assertTrue(profiler.getEntries().isEmpty());
+        assertEquals(-1, profiler.getFirstFrameMillis());
+    }
+
+    @Test
+    public void testPhasesFromSeveralThreadsAreOrderedByStart() throws InterruptedException {
+        StartupProfiler profiler = new StartupProfiler(true);
+        StartupProfiler.Phase phase = profiler.phase("load game.fxml");
+        Thread.sleep(2);
+        phase.end();
+        Thread worker = new Thread(() -> profiler.phase("audio registry").end(), "startup-warmup");
+        worker.start();
+        worker.join();
+
+        List<StartupProfiler.Entry> entries = profiler.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("load game.fxml", entries.get(0).name());
+        assertTrue(entries.get(0).durationNanos() >= 2_000_000);
+        assertEquals("audio registry", entries.get(1).name());
+        assertEquals("startup-warmup", entries.get(1).thread());
+    }
+
+    @Test
+    public void testFirstFrameIsRecordedOnce() throws InterruptedException {
+        StartupProfiler profiler = new StartupProfiler(true);
+        profiler.phase("create scene").end();
+        profiler.firstFrame();
+        long firstFrame = profiler.getFirstFrameMillis();
+        Thread.sleep(5);
+        profiler.firstFrame();
+
+        assertTrue(firstFrame >= 0);
+        assertEquals(firstFrame, profiler.getFirstFrameMillis());
+        assertTrue(profiler.formatReport().contains("create scene"));
+    }
+}
@@ -0,0 +1,74 @@
+package gameproject.stats.events;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import gameproject.Monster;
+import gameproject.QuestManager;
+import gameproject.combat.CombatEngine;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import main.model.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the game's Flight Recorder events.
+ */
+public class GameEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<RecordedEvent> record(Runnable session, String... eventNames) throws IOException {
+        Path file = tempDir.resolve("session.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : eventNames) {
+                recording.enable(name);
+            }
+            recording.start();
+            session.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    @Test
+    public void testCombatRoundsAreRecorded() throws IOException {
+        Player player = new Player("Recorder", Player.PlayerClass.WARRIOR);
+        Monster monster = Monster.createGoblin(1);
+        Random random = new Random(3);
+
+        List<RecordedEvent> events = record(() -> {
+            CombatEngine.playerAttackMonster(player, monster, CombatEngine.AttackType.NORMAL_ATTACK, random);
+            CombatEngine.monsterAttackPlayer(monster, player, random);
+        }, "gameproject.CombatRound");
+
+        assertEquals(2, events.size());
+        assertEquals("PLAYER", events.get(0).getString("attacker"));
+        assertEquals("NORMAL_ATTACK", events.get(0).getString("attackType"));
+        assertNotNull(events.get(0).getString("result"));
+        assertEquals("MONSTER", events.get(1).getString("attacker"));
+    }
+
+    @Test
+    public void testQuestDispatchIsRecorded() throws IOException {
+        QuestManager quests = new QuestManager();
+        quests.startQuest("daily_001");
+
+        List<RecordedEvent> events = record(() -> quests.updateQuestProgress("combat_wins", "goblin", 1),
+            "gameproject.QuestProgress");
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("combat_wins", event.getString("action"));
+        assertEquals(1, event.getInt("objectivesUpdated"));
+        assertEquals(1, event.getInt("amount"));
+        assertTrue(event.getInt("questsChecked") >= 1);
+    }
+}
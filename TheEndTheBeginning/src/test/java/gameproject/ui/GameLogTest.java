@@ -0,0 +1,78 @@
+package gameproject.ui;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the bounded GameLog ring buffer.
+ */
+public class GameLogTest {
+
+    @Test
+    public void testPiecesJoinIntoLines() {
+        GameLog log = new GameLog(10);
+        log.append("Health: ");
+        log.append("42\n");
+        log.append("Mana: 7\nGold");
+        log.append(": 3\n\n");
+
+        assertEquals(List.of("Health: 42", "Mana: 7", "Gold: 3", ""), List.copyOf(log));
+    }
+
+    @Test
+    public void testCapacityEvictsOldestLines() {
+        GameLog log = new GameLog(3);
+        for (int i = 1; i <= 100; i++) {
+            log.append("line " + i + "\n");
+        }
+
+        assertEquals(3, log.size());
+        assertEquals(List.of("line 98", "line 99", "line 100"), List.copyOf(log));
+        assertEquals(97, log.getEvictedLines());
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(3));
+    }
+
+    @Test
+    public void testChangesKeepListenersInSync() {
+        GameLog log = new GameLog(4);
+        List<String> mirror = new ArrayList<>();
+        log.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                mirror.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        });
+
+        log.append("a\nb\nc\n");
+        log.append("d");
+        log.append("e\nf\ng\n");
+        log.clear();
+        log.append("h\n");
+
+        assertEquals(List.copyOf(log), mirror);
+    }
+
+    @Test
+    public void testSpillKeepsFullHistory() throws Exception {
+        Path file = Files.createTempFile("game-log", ".txt");
+        try {
+            GameLog log = new GameLog(2);
+            assertTrue(log.setSpillFile(file));
+            log.append("one\ntwo\nthree\n");
+            log.setText("four\n");
+            log.closeSpill();
+
+            assertEquals(List.of("one", "two", "three", "four"), Files.readAllLines(file));
+            assertEquals(List.of("four"), List.copyOf(log));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package gameproject.ui;
+
+import javafx.fxml.FXML;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the generated-screen lookup and controller injection.
+ */
+public class GeneratedScreensTest {
+
+    static class BaseController {
+        @FXML
+        private String inherited;
+
+        String getInherited() {
+            return inherited;
+        }
+    }
+
+    static class SampleController extends BaseController {
+        @FXML
+        private String annotated;
+        private String plain;
+    }
+
+    @Test
+    public void testClassNameForFxmlPath() {
+        assertEquals("MainMenuScreen", GeneratedScreens.classNameFor("/ui/MainMenu.fxml"));
+        assertEquals("GameScreen", GeneratedScreens.classNameFor("/game.fxml"));
+    }
+
+    @Test
+    public void testMissingScreenFallsBackToLoader() {
+        assertNull(GeneratedScreens.create("/ui/DoesNotExist.fxml"));
+    }
+
+    @Test
+    public void testInjectFieldHonoursFxmlAnnotation() {
+        SampleController controller = new SampleController();
+
+        GeneratedScreens.injectField(controller, "annotated", "a");
+        GeneratedScreens.injectField(controller, "plain", "p");
+        GeneratedScreens.injectField(controller, "inherited", "i");
+        GeneratedScreens.injectField(controller, "missing", "m");
+
+        assertEquals("a", controller.annotated);
+        assertNull(controller.plain);
+        assertEquals("i", controller.getInherited());
+    }
+}
@@ -0,0 +1,40 @@
+package gameproject.ui;
+
+import gameproject.stats.LatencyHistogram;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the performance overlay's readout.
+ */
+public class PerfOverlayTest {
+
+    @Test
+    public void testSampleFormatsEveryReading() {
+        PerfOverlay.Sample sample = new PerfOverlay.Sample(59.9, 21_000_000, 1_250_000, 3,
+            96L << 20, 512L << 20, 2, 7_000_000, 4_500_000, 0);
+        String text = sample.format();
+
+        assertTrue(text.contains("FPS  59.9"), text);
+        assertTrue(text.contains("worst  21.0 ms"), text);
+        assertTrue(text.contains("Pulse  1.25 ms"), text);
+        assertTrue(text.contains("runLater 3"), text);
+        assertTrue(text.contains("Heap 96 / 512 MB"), text);
+        assertTrue(text.contains("GC 2 (7 ms)"), text);
+        assertTrue(text.contains("Save 4.50 ms"), text);
+        // Nothing recorded yet
+        assertTrue(text.contains("Attack -"), text);
+    }
+
+    @Test
+    public void testHistogramKeepsLastValue() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        assertEquals(0, histogram.getLast());
+        histogram.record(5_000);
+        histogram.record(1_000);
+        assertEquals(1_000, histogram.getLast());
+        histogram.reset();
+        assertEquals(0, histogram.getLast());
+    }
+}
@@ -0,0 +1,61 @@
+package gameproject.ui;
+
+import main.model.Player;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for PlayerViewModel change propagation.
+ */
+public class PlayerViewModelTest {
+
+    @Test
+    public void testSyncCopiesStats() {
+        Player player = new Player();
+        PlayerViewModel view = new PlayerViewModel();
+        view.sync(player);
+
+        assertEquals(player.getHealth(), view.healthProperty().get());
+        assertEquals(player.getLevel(), view.levelProperty().get());
+        assertEquals(1.0, view.healthFractionBinding().get(), 1e-9);
+        assertFalse(view.lowHealthBinding().get());
+    }
+
+    @Test
+    public void testUnchangedStatsFireNoEvents() {
+        Player player = new Player();
+        PlayerViewModel view = new PlayerViewModel();
+        view.sync(player);
+
+        int[] healthChanges = {0};
+        int[] attackChanges = {0};
+        view.healthProperty().addListener((obs, was, is) -> healthChanges[0]++);
+        view.attackProperty().addListener((obs, was, is) -> attackChanges[0]++);
+
+        view.sync(player);
+        assertEquals(0, healthChanges[0]);
+
+        player.takeDamage(5);
+        view.sync(player);
+        assertEquals(1, healthChanges[0]);
+        assertEquals(0, attackChanges[0], "Attack did not change and must not notify");
+    }
+
+    @Test
+    public void testLowHealthFlipsOnce() {
+        Player player = new Player();
+        PlayerViewModel view = new PlayerViewModel();
+        view.sync(player);
+        int[] flips = {0};
+        view.lowHealthBinding().addListener((obs, was, is) -> flips[0]++);
+
+        player.takeDamage(player.getMaxHealth() - 1);
+        view.sync(player);
+        player.heal(0);
+        view.sync(player);
+
+        assertTrue(view.lowHealthBinding().get());
+        assertEquals(1, flips[0]);
+    }
+}
@@ -0,0 +1,43 @@
+package gameproject.ui;
+
+import java.util.Set;
+
+import javafx.scene.Group;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for ScreenCache LRU eviction and pinning.
+ */
+public class ScreenCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedScreenIsEvicted() {
+        ScreenCache cache = new ScreenCache(2, Set.of());
+        cache.put("Inventory", new Group());
+        cache.put("QuestLog", new Group());
+        cache.get("Inventory");            // QuestLog is now the eldest
+        cache.put("Settings", new Group());
+
+        assertTrue(cache.contains("Inventory"));
+        assertFalse(cache.contains("QuestLog"));
+        assertTrue(cache.contains("Settings"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testPinnedScreensAreNeverEvicted() {
+        ScreenCache cache = new ScreenCache(1, Set.of("MainMenu", "GameHUD"));
+        Group menu = new Group();
+        cache.put("MainMenu", menu);
+        cache.put("GameHUD", new Group());
+        cache.put("Inventory", new Group());
+        cache.put("QuestLog", new Group());
+
+        assertSame(menu, cache.get("MainMenu"));
+        assertTrue(cache.contains("GameHUD"));
+        assertFalse(cache.contains("Inventory"));
+        assertEquals(3, cache.size());
+    }
+}
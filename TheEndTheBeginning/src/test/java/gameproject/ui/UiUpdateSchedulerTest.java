@@ -0,0 +1,65 @@
+package gameproject.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for UiUpdateScheduler coalescing. Drives flush() directly, so no
+ * FX toolkit is needed.
+ */
+public class UiUpdateSchedulerTest {
+
+    private final List<String> appended = new ArrayList<>();
+    private final List<String> replaced = new ArrayList<>();
+    private final UiUpdateScheduler scheduler = new UiUpdateScheduler(appended::add, replaced::add);
+
+    @Test
+    public void testAppendsMergeIntoOneCall() {
+        scheduler.appendText("You attack! ");
+        scheduler.appendText("Hit for 12.\n");
+        scheduler.appendText("The goblin strikes back.\n");
+        scheduler.flush();
+
+        assertEquals(List.of("You attack! Hit for 12.\nThe goblin strikes back.\n"), appended);
+
+        scheduler.flush();
+        assertEquals(1, appended.size(), "An idle frame should not touch the display");
+    }
+
+    @Test
+    public void testReplaceDropsEarlierAppends() {
+        scheduler.appendText("stale\n");
+        scheduler.showText("fresh screen\n");
+        scheduler.appendText("after\n");
+        scheduler.flush();
+
+        assertEquals(List.of("fresh screen\n"), replaced);
+        assertEquals(List.of("after\n"), appended);
+    }
+
+    @Test
+    public void testKeyedUpdatesKeepOnlyTheLatest() {
+        List<String> applied = new ArrayList<>();
+        Object status = new Object();
+        scheduler.post(status, () -> applied.add("Exploring"));
+        scheduler.post(() -> applied.add("toast"));
+        scheduler.post(status, () -> applied.add("In combat"));
+        scheduler.post(status, () -> applied.add("Victory"));
+        scheduler.flush();
+
+        assertEquals(List.of("toast", "Victory"), applied);
+    }
+
+    @Test
+    public void testFailingUpdateDoesNotBlockOthers() {
+        List<String> applied = new ArrayList<>();
+        scheduler.post(() -> { throw new IllegalStateException("boom"); });
+        scheduler.post(() -> applied.add("ran"));
+        scheduler.flush();
+
+        assertEquals(List.of("ran"), applied);
+    }
+}